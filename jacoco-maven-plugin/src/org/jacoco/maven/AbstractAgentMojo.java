@@ -153,6 +153,15 @@ public abstract class AbstractAgentMojo extends AbstractJacocoMojo {
 	 */
 	@Parameter(property = "jacoco.jmx")
 	Boolean jmx;
+	/**
+	 * If set to true the agent omits probes whose state can be inferred from
+	 * other probes. This reduces the runtime overhead. Reports for the
+	 * resulting execution data must be created with the same setting.
+	 *
+	 * @since 0.8.15
+	 */
+	@Parameter(property = "jacoco.optimizeProbes")
+	Boolean optimizeProbes;
 
 	@Override
 	public void executeMojo() {
@@ -228,6 +237,9 @@ public abstract class AbstractAgentMojo extends AbstractJacocoMojo {
 		if (jmx != null) {
 			agentOptions.setJmx(jmx.booleanValue());
 		}
+		if (optimizeProbes != null) {
+			agentOptions.setOptimizeProbes(optimizeProbes.booleanValue());
+		}
 		return agentOptions;
 	}
 
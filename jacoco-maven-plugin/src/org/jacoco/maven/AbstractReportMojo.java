@@ -86,6 +86,52 @@ public abstract class AbstractReportMojo extends AbstractMojo
 	@Parameter
 	List<String> excludes;
 
+	/**
+	 * File describing changed source files to restrict the report to. The file
+	 * may either contain a unified diff as created by <code>git diff -U0</code>
+	 * or a list of changed source files as created by
+	 * <code>git diff --name-only</code>. Only classes compiled from changed
+	 * source files are analyzed. If the file contains a unified diff only
+	 * methods with changed lines are included in the report.
+	 *
+	 * @since 0.8.15
+	 */
+	@Parameter(property = "jacoco.diffFile")
+	File diffFile;
+
+	/**
+	 * Git revision (branch, tag or commit id) to compare the working tree of
+	 * the project with. When specified, the report is restricted to methods
+	 * with lines changed since this revision like with <code>diffFile</code>.
+	 * Requires a <code>git</code> executable on the path.
+	 *
+	 * @since 0.8.15
+	 */
+	@Parameter(property = "jacoco.diffBase")
+	String diffBase;
+
+	/**
+	 * If set, the HTML report updates an existing report in the output
+	 * directory: only pages with changed content are written and pages which
+	 * are not part of the report any more are deleted. Content hashes are kept
+	 * in a manifest file in the output directory.
+	 *
+	 * @since 0.8.15
+	 */
+	@Parameter(property = "jacoco.incrementalHtml", defaultValue = "false")
+	boolean incrementalHtml;
+
+	/**
+	 * Set to <code>true</code> if the execution data has been collected with
+	 * the <code>optimizeProbes</code> option of the agent or offline
+	 * instrumentation. The report must use the same setting as the
+	 * instrumentation.
+	 *
+	 * @since 0.8.15
+	 */
+	@Parameter(property = "jacoco.optimizeProbes", defaultValue = "false")
+	boolean optimizeProbes;
+
 	/**
 	 * Flag used to suppress execution.
 	 */
@@ -188,6 +234,8 @@ public abstract class AbstractReportMojo extends AbstractMojo
 			throws MavenReportException {
 		try {
 			final ReportSupport support = new ReportSupport(getLog());
+			support.setOptimizedProbes(optimizeProbes);
+			loadSourceDiff(support);
 			loadExecutionData(support);
 			addFormatters(support, locale);
 			final IReportVisitor visitor = support.initRootVisitor();
@@ -207,6 +255,15 @@ public abstract class AbstractReportMojo extends AbstractMojo
 		}
 	}
 
+	private void loadSourceDiff(final ReportSupport support)
+			throws IOException {
+		if (diffFile != null) {
+			support.loadSourceDiff(diffFile);
+		} else if (diffBase != null) {
+			support.loadSourceDiff(project.getBasedir(), diffBase);
+		}
+	}
+
 	abstract void loadExecutionData(final ReportSupport support)
 			throws IOException;
 
@@ -18,7 +18,13 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -63,6 +69,25 @@ public class InstrumentMojo extends AbstractJacocoMojo {
 	@Parameter
 	private List<String> excludes;
 
+	/**
+	 * Number of threads to instrument class files in parallel. By default class
+	 * files are instrumented one after another.
+	 *
+	 * @since 0.8.15
+	 */
+	@Parameter(property = "jacoco.threads", defaultValue = "1")
+	private int threads;
+
+	/**
+	 * If set to true probes whose state can be inferred from other probes are
+	 * omitted. Reports for the resulting execution data must be created with
+	 * the same setting.
+	 *
+	 * @since 0.8.15
+	 */
+	@Parameter(property = "jacoco.optimizeProbes", defaultValue = "false")
+	private boolean optimizeProbes;
+
 	@Override
 	public void executeMojo()
 			throws MojoExecutionException, MojoFailureException {
@@ -90,25 +115,76 @@ public class InstrumentMojo extends AbstractJacocoMojo {
 
 		final Instrumenter instrumenter = new Instrumenter(
 				new OfflineInstrumentationAccessGenerator());
-		for (final String fileName : fileNames) {
-			if (fileName.endsWith(".class")) {
-				final File source = new File(classesDir, fileName);
-				final File backup = new File(originalClassesDir, fileName);
-				InputStream input = null;
-				OutputStream output = null;
-				try {
-					FileUtils.copyFile(source, backup);
-					input = new FileInputStream(backup);
-					output = new FileOutputStream(source);
-					instrumenter.instrument(input, output, source.getPath());
-				} catch (final IOException e2) {
-					throw new MojoExecutionException(
-							"Unable to instrument file.", e2);
-				} finally {
-					IOUtil.close(input);
-					IOUtil.close(output);
+		instrumenter.setOptimizedProbes(optimizeProbes);
+		final ExecutorService executor = threads > 1
+				? Executors.newFixedThreadPool(threads)
+				: null;
+		instrumenter.setExecutor(executor);
+		try {
+			final List<FutureTask<Void>> tasks = new ArrayList<FutureTask<Void>>();
+			for (final String fileName : fileNames) {
+				if (fileName.endsWith(".class")) {
+					final FutureTask<Void> task = new FutureTask<Void>(
+							new Callable<Void>() {
+								public Void call() throws IOException {
+									instrument(instrumenter,
+											new File(classesDir, fileName),
+											new File(originalClassesDir,
+													fileName));
+									return null;
+								}
+							});
+					tasks.add(task);
+					if (executor != null) {
+						executor.execute(task);
+					}
 				}
 			}
+			for (final FutureTask<Void> task : tasks) {
+				complete(task);
+			}
+		} finally {
+			if (executor != null) {
+				executor.shutdown();
+			}
+		}
+	}
+
+	private static void instrument(final Instrumenter instrumenter,
+			final File source, final File backup) throws IOException {
+		InputStream input = null;
+		OutputStream output = null;
+		try {
+			FileUtils.copyFile(source, backup);
+			input = new FileInputStream(backup);
+			output = new FileOutputStream(source);
+			instrumenter.instrument(input, output, source.getPath());
+		} finally {
+			IOUtil.close(input);
+			IOUtil.close(output);
+		}
+	}
+
+	private static void complete(final FutureTask<Void> task)
+			throws MojoExecutionException {
+		// Runs the task on the current thread if it has not been started yet
+		task.run();
+		try {
+			task.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MojoExecutionException(
+					"Interrupted while instrumenting files.", e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw new MojoExecutionException("Unable to instrument file.",
+						cause);
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw (Error) cause;
 		}
 	}
 
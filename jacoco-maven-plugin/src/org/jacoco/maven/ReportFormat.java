@@ -19,6 +19,7 @@ import java.util.Locale;
 
 import org.jacoco.report.FileMultiReportOutput;
 import org.jacoco.report.IReportVisitor;
+import org.jacoco.report.IncrementalFileMultiReportOutput;
 import org.jacoco.report.csv.CSVFormatter;
 import org.jacoco.report.html.HTMLFormatter;
 import org.jacoco.report.xml.XMLFormatter;
@@ -41,8 +42,10 @@ public enum ReportFormat {
 			if (mojo.footer != null) {
 				htmlFormatter.setFooterText(mojo.footer);
 			}
-			return htmlFormatter.createVisitor(
-					new FileMultiReportOutput(mojo.getOutputDirectory()));
+			final File directory = mojo.getOutputDirectory();
+			return htmlFormatter.createVisitor(mojo.incrementalHtml
+					? new IncrementalFileMultiReportOutput(directory)
+					: new FileMultiReportOutput(directory));
 		}
 	},
 
@@ -30,11 +30,14 @@ import org.jacoco.core.analysis.Analyzer;
 import org.jacoco.core.analysis.CoverageBuilder;
 import org.jacoco.core.analysis.IBundleCoverage;
 import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.IncrementalAnalyzer;
 import org.jacoco.core.tools.ExecFileLoader;
+import org.jacoco.core.tools.SourceDiff;
 import org.jacoco.report.IReportGroupVisitor;
 import org.jacoco.report.IReportVisitor;
 import org.jacoco.report.ISourceFileLocator;
 import org.jacoco.report.MultiReportVisitor;
+import org.jacoco.report.SourceFileIndex;
 import org.jacoco.report.check.IViolationsOutput;
 import org.jacoco.report.check.Rule;
 import org.jacoco.report.check.RulesChecker;
@@ -57,6 +60,8 @@ final class ReportSupport {
 	private final Log log;
 	private final ExecFileLoader loader;
 	private final List<IReportVisitor> formatters;
+	private SourceDiff diff;
+	private boolean optimizedProbes;
 
 	/**
 	 * Construct a new instance with the given log output.
@@ -70,6 +75,18 @@ final class ReportSupport {
 		this.formatters = new ArrayList<IReportVisitor>();
 	}
 
+	/**
+	 * Sets whether the execution data has been collected with optimized probe
+	 * placement.
+	 *
+	 * @param flag
+	 *            <code>true</code> for optimized probe placement
+	 * @see Analyzer#setOptimizedProbes(boolean)
+	 */
+	public void setOptimizedProbes(final boolean flag) {
+		this.optimizedProbes = flag;
+	}
+
 	/**
 	 * Loads the given execution data file.
 	 *
@@ -83,6 +100,50 @@ final class ReportSupport {
 		loader.load(execFile);
 	}
 
+	/**
+	 * Loads changed source files from the given diff file. Subsequently only
+	 * classes with changes are included in the report.
+	 *
+	 * @param diffFile
+	 *            unified diff or list of changed files
+	 * @throws IOException
+	 *             if the file can't be read
+	 */
+	public void loadSourceDiff(final File diffFile) throws IOException {
+		log.info("Loading source diff " + diffFile);
+		final Reader reader = new InputStreamReader(
+				new FileInputStream(diffFile), "UTF-8");
+		try {
+			diff = SourceDiff.read(reader);
+		} finally {
+			reader.close();
+		}
+		logSourceDiffInfo();
+	}
+
+	/**
+	 * Determines changed source files since the given Git revision.
+	 * Subsequently only classes with changes are included in the report.
+	 *
+	 * @param workdir
+	 *            directory within the Git working tree
+	 * @param base
+	 *            base revision
+	 * @throws IOException
+	 *             if the changes can't be determined
+	 */
+	public void loadSourceDiff(final File workdir, final String base)
+			throws IOException {
+		log.info("Determining changes since " + base);
+		diff = SourceDiff.fromGit(workdir, base);
+		logSourceDiffInfo();
+	}
+
+	private void logSourceDiffInfo() {
+		log.info(format("Restricting report to %s changed source files",
+				Integer.valueOf(diff.getFiles().size())));
+	}
+
 	public void addVisitor(final IReportVisitor visitor) {
 		formatters.add(visitor);
 	}
@@ -147,7 +208,7 @@ final class ReportSupport {
 			final List<String> includes, final List<String> excludes,
 			final String srcEncoding) throws IOException {
 		processProject(visitor, bundleName, project, includes, excludes,
-				new SourceFileCollection(project, srcEncoding));
+				createSourceFileLocator(project, srcEncoding));
 	}
 
 	private void processProject(final IReportGroupVisitor visitor,
@@ -159,8 +220,7 @@ final class ReportSupport {
 				project.getBuild().getOutputDirectory());
 
 		if (classesDir.isDirectory()) {
-			final Analyzer analyzer = new Analyzer(
-					loader.getExecutionDataStore(), builder);
+			final Analyzer analyzer = createAnalyzer(builder);
 			final FileFilter filter = new FileFilter(includes, excludes);
 			for (final File file : filter.getFiles(classesDir)) {
 				analyzer.analyzeAll(file);
@@ -173,6 +233,18 @@ final class ReportSupport {
 		visitor.visitBundle(bundle, locator);
 	}
 
+	private Analyzer createAnalyzer(final CoverageBuilder builder) {
+		final Analyzer analyzer;
+		if (diff == null) {
+			analyzer = new Analyzer(loader.getExecutionDataStore(), builder);
+		} else {
+			analyzer = new IncrementalAnalyzer(loader.getExecutionDataStore(),
+					builder, diff);
+		}
+		analyzer.setOptimizedProbes(optimizedProbes);
+		return analyzer;
+	}
+
 	private void logBundleInfo(final IBundleCoverage bundle,
 			final Collection<IClassCoverage> nomatch) {
 		log.info(format("Analyzed bundle '%s' with %s classes",
@@ -207,38 +279,13 @@ final class ReportSupport {
 		}
 	}
 
-	private static class SourceFileCollection implements ISourceFileLocator {
-
-		private final List<File> sourceRoots;
-		private final String encoding;
-
-		public SourceFileCollection(final MavenProject project,
-				final String encoding) {
-			this.sourceRoots = getCompileSourceRoots(project);
-			this.encoding = encoding;
-		}
-
-		public Reader getSourceFile(final String packageName,
-				final String fileName) throws IOException {
-			final String r;
-			if (packageName.length() > 0) {
-				r = packageName + '/' + fileName;
-			} else {
-				r = fileName;
-			}
-			for (final File sourceRoot : sourceRoots) {
-				final File file = new File(sourceRoot, r);
-				if (file.exists() && file.isFile()) {
-					return new InputStreamReader(new FileInputStream(file),
-							encoding);
-				}
-			}
-			return null;
-		}
-
-		public int getTabWidth() {
-			return 4;
+	private static ISourceFileLocator createSourceFileLocator(
+			final MavenProject project, final String encoding) {
+		final SourceFileIndex index = new SourceFileIndex(encoding, 4);
+		for (final File sourceRoot : getCompileSourceRoots(project)) {
+			index.addDirectory(sourceRoot);
 		}
+		return index;
 	}
 
 	private static List<File> getCompileSourceRoots(
@@ -26,6 +26,7 @@ import java.security.ProtectionDomain;
 import java.security.cert.Certificate;
 
 import org.jacoco.core.JaCoCo;
+import org.jacoco.core.analysis.AnalyzerTest;
 import org.jacoco.core.internal.InputStreams;
 import org.jacoco.core.runtime.AbstractRuntime;
 import org.jacoco.core.runtime.AgentOptions;
@@ -237,6 +238,26 @@ public class CoverageTransformerTest {
 				protectionDomain, getClassData(target)));
 	}
 
+	@Test
+	public void should_log_methods_exceeding_max_method_size_with_probes()
+			throws Exception {
+		CoverageTransformer t = createTransformer();
+		t.transform(classLoader, "Foo", null, protectionDomain,
+				AnalyzerTest.createClassWithHugeMethod());
+		recorder.assertException(IllegalStateException.class,
+				"Method Foo.foo()V exceeds the maximum method size with probes and has been instrumented with a single probe.");
+		recorder.clear();
+	}
+
+	@Test
+	public void should_not_log_method_probes_when_max_probe_bytes_is_set()
+			throws Exception {
+		options.setMaxProbeBytes(100);
+		CoverageTransformer t = createTransformer();
+		t.transform(classLoader, "Foo", null, protectionDomain,
+				AnalyzerTest.createClassWithHugeMethod());
+	}
+
 	private CoverageTransformer createTransformer() {
 		return new CoverageTransformer(runtime, options, recorder);
 	}
@@ -17,6 +17,7 @@ import java.lang.instrument.IllegalClassFormatException;
 import java.security.CodeSource;
 import java.security.ProtectionDomain;
 
+import org.jacoco.core.instr.IMethodProbeListener;
 import org.jacoco.core.instr.Instrumenter;
 import org.jacoco.core.runtime.AgentOptions;
 import org.jacoco.core.runtime.IRuntime;
@@ -63,7 +64,24 @@ public class CoverageTransformer implements ClassFileTransformer {
 	public CoverageTransformer(final IRuntime runtime,
 			final AgentOptions options, final IExceptionLogger logger) {
 		this.instrumenter = new Instrumenter(runtime);
+		this.instrumenter.setOptimizedProbes(options.getOptimizeProbes());
+		this.instrumenter.setMaxProbeBytes(options.getMaxProbeBytes());
 		this.logger = logger;
+		if (options.getMaxProbeBytes() == Integer.MAX_VALUE) {
+			// Without explicit limit only methods exceeding the maximum method
+			// size fall back to a single probe, which is worth reporting
+			this.instrumenter
+					.setMethodProbeListener(new IMethodProbeListener() {
+						public void methodProbe(final String className,
+								final String methodName,
+								final String methodDesc, final int probeBytes) {
+							logger.logExeption(new IllegalStateException(String
+									.format("Method %s.%s%s exceeds the maximum method size with probes and has been instrumented with a single probe.",
+											className, methodName,
+											methodDesc)));
+						}
+					});
+		}
 		// Class names will be reported in VM notation:
 		includes = new WildcardMatcher(toVMName(options.getIncludes()));
 		excludes = new WildcardMatcher(toVMName(options.getExcludes()));
@@ -211,6 +211,17 @@ public class AbstractCoverageTask extends Task {
 		agentOptions.setJmx(jmx);
 	}
 
+	/**
+	 * Sets whether the agent should omit probes whose state can be inferred
+	 * from other probes.
+	 *
+	 * @param optimize
+	 *            <code>true</code> for optimized probe placement
+	 */
+	public void setOptimizeprobes(final boolean optimize) {
+		agentOptions.setOptimizeProbes(optimize);
+	}
+
 	/**
 	 * Creates JVM argument to launch with the specified JaCoCo agent jar and
 	 * the current options
@@ -40,6 +40,8 @@ public class InstrumentTask extends Task {
 
 	private boolean removesignatures = true;
 
+	private boolean optimizeprobes = false;
+
 	/**
 	 * Sets the location of the instrumented classes.
 	 *
@@ -60,6 +62,17 @@ public class InstrumentTask extends Task {
 		this.removesignatures = removesignatures;
 	}
 
+	/**
+	 * Sets whether probes whose state can be inferred from other probes should
+	 * be omitted.
+	 *
+	 * @param optimizeprobes
+	 *            <code>true</code> for optimized probe placement
+	 */
+	public void setOptimizeprobes(final boolean optimizeprobes) {
+		this.optimizeprobes = optimizeprobes;
+	}
+
 	/**
 	 * This task accepts any number of class file resources.
 	 *
@@ -80,6 +93,7 @@ public class InstrumentTask extends Task {
 		final Instrumenter instrumenter = new Instrumenter(
 				new OfflineInstrumentationAccessGenerator());
 		instrumenter.setRemoveSignatures(removesignatures);
+		instrumenter.setOptimizedProbes(optimizeprobes);
 		final Iterator<?> resourceIterator = files.iterator();
 		while (resourceIterator.hasNext()) {
 			final Resource resource = (Resource) resourceIterator.next();
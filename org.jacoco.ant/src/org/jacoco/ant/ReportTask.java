@@ -15,9 +15,12 @@ package org.jacoco.ant;
 import static java.lang.String.format;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
@@ -37,13 +40,16 @@ import org.jacoco.core.analysis.CoverageBuilder;
 import org.jacoco.core.analysis.IBundleCoverage;
 import org.jacoco.core.analysis.IClassCoverage;
 import org.jacoco.core.analysis.ICoverageNode;
+import org.jacoco.core.analysis.IncrementalAnalyzer;
 import org.jacoco.core.data.ExecutionDataStore;
 import org.jacoco.core.data.SessionInfoStore;
 import org.jacoco.core.tools.ExecFileLoader;
+import org.jacoco.core.tools.SourceDiff;
 import org.jacoco.report.FileMultiReportOutput;
 import org.jacoco.report.IMultiReportOutput;
 import org.jacoco.report.IReportGroupVisitor;
 import org.jacoco.report.IReportVisitor;
+import org.jacoco.report.IncrementalFileMultiReportOutput;
 import org.jacoco.report.MultiReportVisitor;
 import org.jacoco.report.ZipMultiReportOutput;
 import org.jacoco.report.check.IViolationsOutput;
@@ -175,6 +181,8 @@ public class ReportTask extends Task {
 
 		private Locale locale = Locale.getDefault();
 
+		private boolean incremental = false;
+
 		/**
 		 * Sets the output directory for the report.
 		 *
@@ -195,6 +203,18 @@ public class ReportTask extends Task {
 			this.destfile = destfile;
 		}
 
+		/**
+		 * Sets whether an existing report in the output directory should be
+		 * updated, i.e. only changed files are written and obsolete files are
+		 * deleted. Default is <code>false</code>.
+		 *
+		 * @param incremental
+		 *            <code>true</code> to update an existing report
+		 */
+		public void setIncremental(final boolean incremental) {
+			this.incremental = incremental;
+		}
+
 		/**
 		 * Sets an optional footer text that will be displayed on every report
 		 * page.
@@ -245,7 +265,9 @@ public class ReportTask extends Task {
 							"Destination directory or file must be supplied for html report",
 							getLocation());
 				}
-				output = new FileMultiReportOutput(destdir);
+				output = incremental
+						? new IncrementalFileMultiReportOutput(destdir)
+						: new FileMultiReportOutput(destdir);
 			}
 			final HTMLFormatter formatter = new HTMLFormatter();
 			formatter.setFooterText(footer);
@@ -424,6 +446,50 @@ public class ReportTask extends Task {
 
 	private final List<FormatterElement> formatters = new ArrayList<FormatterElement>();
 
+	private File diffFile;
+
+	private String diffBase;
+
+	private SourceDiff sourceDiff;
+
+	private boolean optimizeProbes;
+
+	/**
+	 * Sets a file describing changed source files to restrict the report to.
+	 * The file may either contain a unified diff as created by
+	 * <code>git diff -U0</code> or a list of changed source files as created by
+	 * <code>git diff --name-only</code>.
+	 *
+	 * @param diffFile
+	 *            diff file
+	 */
+	public void setDiffFile(final File diffFile) {
+		this.diffFile = diffFile;
+	}
+
+	/**
+	 * Sets a Git revision to compare the working tree of the project base
+	 * directory with. The report is then restricted to methods with changed
+	 * lines. Requires a <code>git</code> executable on the path.
+	 *
+	 * @param diffBase
+	 *            branch, tag or commit id
+	 */
+	public void setDiffBase(final String diffBase) {
+		this.diffBase = diffBase;
+	}
+
+	/**
+	 * Sets whether the execution data has been collected with optimized probe
+	 * placement. Default is <code>false</code>.
+	 *
+	 * @param optimizeProbes
+	 *            <code>true</code> for optimized probe placement
+	 */
+	public void setOptimizeprobes(final boolean optimizeProbes) {
+		this.optimizeProbes = optimizeProbes;
+	}
+
 	/**
 	 * Returns the nested resource collection for execution data files.
 	 *
@@ -488,6 +554,7 @@ public class ReportTask extends Task {
 
 	@Override
 	public void execute() throws BuildException {
+		loadSourceDiff();
 		loadExecutionData();
 		try {
 			final IReportVisitor visitor = createVisitor();
@@ -504,6 +571,32 @@ public class ReportTask extends Task {
 		}
 	}
 
+	private void loadSourceDiff() {
+		try {
+			if (diffFile != null) {
+				log(format("Loading source diff %s", diffFile));
+				final Reader reader = new InputStreamReader(
+						new FileInputStream(diffFile), "UTF-8");
+				try {
+					sourceDiff = SourceDiff.read(reader);
+				} finally {
+					reader.close();
+				}
+			} else if (diffBase != null) {
+				log(format("Determining changes since %s", diffBase));
+				sourceDiff = SourceDiff.fromGit(getProject().getBaseDir(),
+						diffBase);
+			} else {
+				return;
+			}
+		} catch (final IOException e) {
+			throw new BuildException("Unable to determine changed files", e,
+					getLocation());
+		}
+		log(format("Restricting report to %s changed source files",
+				Integer.valueOf(sourceDiff.getFiles().size())));
+	}
+
 	private void loadExecutionData() {
 		final ExecFileLoader loader = new ExecFileLoader();
 		for (final Iterator<?> i = executiondataElement.iterator(); i
@@ -563,7 +656,11 @@ public class ReportTask extends Task {
 	private IBundleCoverage createBundle(final GroupElement group)
 			throws IOException {
 		final CoverageBuilder builder = new CoverageBuilder();
-		final Analyzer analyzer = new Analyzer(executionDataStore, builder);
+		final Analyzer analyzer = sourceDiff == null
+				? new Analyzer(executionDataStore, builder)
+				: new IncrementalAnalyzer(executionDataStore, builder,
+						sourceDiff);
+		analyzer.setOptimizedProbes(optimizeProbes);
 		for (final Iterator<?> i = group.classfiles.iterator(); i.hasNext();) {
 			final Resource resource = (Resource) i.next();
 			if (resource.isDirectory() && resource instanceof FileResource) {
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.cli.internal.commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+import org.jacoco.cli.internal.CommandTestBase;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataWriter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link Delta}.
+ */
+public class DeltaTest extends CommandTestBase {
+
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	@Test
+	public void should_print_usage_when_no_options_are_given()
+			throws Exception {
+		execute("delta");
+
+		assertFailure();
+		assertContains("\"--baseline\"", err);
+		assertContains("java -jar jacococli.jar delta [<execfiles> ...]", err);
+	}
+
+	@Test
+	public void should_print_delta_summary() throws Exception {
+		File baseline = createExecFile("baseline", true, false);
+		File candidate = createExecFile("candidate", false, true);
+
+		execute("delta", "--baseline", baseline.getAbsolutePath(),
+				candidate.getAbsolutePath());
+
+		assertOk();
+		assertContains("[INFO] 1 newly covered and 1 newly uncovered probes.",
+				out);
+	}
+
+	@Test
+	public void should_print_warning_when_no_exec_files_are_provided()
+			throws Exception {
+		File baseline = createExecFile("baseline", true, false);
+
+		execute("delta", "--baseline", baseline.getAbsolutePath());
+
+		assertOk();
+		assertContains("[WARN] No execution data files provided.", out);
+		assertContains("[INFO] 0 newly covered and 1 newly uncovered probes.",
+				out);
+	}
+
+	@Test
+	public void should_create_reports() throws Exception {
+		File baseline = createExecFile("baseline", true, false);
+		File candidate = createExecFile("candidate", true, true);
+		File xml = new File(tmp.getRoot(), "delta.xml");
+		File csv = new File(tmp.getRoot(), "delta.csv");
+		File html = new File(tmp.getRoot(), "html");
+
+		execute("delta", "--baseline", baseline.getAbsolutePath(), "--xml",
+				xml.getAbsolutePath(), "--csv", csv.getAbsolutePath(), "--html",
+				html.getAbsolutePath(), candidate.getAbsolutePath());
+
+		assertOk();
+		assertTrue(xml.isFile());
+		assertTrue(new File(html, "index.html").isFile());
+		final BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(csv), "UTF-8"));
+		reader.readLine();
+		assertEquals("Foo,0000000000000001,2,1,2,1,0", reader.readLine());
+		reader.close();
+	}
+
+	private File createExecFile(String name, boolean... probes)
+			throws IOException {
+		File file = new File(tmp.getRoot(), name + ".exec");
+		final FileOutputStream execout = new FileOutputStream(file);
+		ExecutionDataWriter writer = new ExecutionDataWriter(execout);
+		writer.visitClassExecution(new ExecutionData(1, "Foo", probes));
+		execout.close();
+		return file;
+	}
+
+}
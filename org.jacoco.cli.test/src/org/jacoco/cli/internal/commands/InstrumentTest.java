@@ -95,6 +95,28 @@ public class InstrumentTest extends CommandTestBase {
 		assertInstrumented(new File(destdir, "InstrumentTest.class"));
 	}
 
+	@Test
+	public void should_instrument_files_in_parallel_when_threads_option_is_provided()
+			throws Exception {
+		File destdir = tmp.getRoot();
+
+		File src1 = new File(getClassPath(),
+				"org/jacoco/cli/internal/commands/InstrumentTest.class");
+		File src2 = new File(getClassPath(),
+				"org/jacoco/cli/internal/commands/ReportTest.class");
+
+		execute("instrument", "--dest", destdir.getAbsolutePath(), "--threads",
+				"4", src1.getAbsolutePath(), src2.getAbsolutePath());
+
+		assertOk();
+		assertContains(
+				"[INFO] 2 classes instrumented to " + destdir.getAbsolutePath(),
+				out);
+
+		assertInstrumented(new File(destdir, "InstrumentTest.class"));
+		assertInstrumented(new File(destdir, "ReportTest.class"));
+	}
+
 	@Test
 	public void should_not_instrument_anything_when_no_source_is_given()
 			throws Exception {
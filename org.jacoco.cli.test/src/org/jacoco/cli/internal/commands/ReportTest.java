@@ -12,14 +12,17 @@
  *******************************************************************************/
 package org.jacoco.cli.internal.commands;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.FileOutputStream;
 
 import org.jacoco.cli.internal.CommandTestBase;
+import org.jacoco.core.analysis.IBundleCoverage;
 import org.jacoco.core.data.ExecutionData;
 import org.jacoco.core.data.ExecutionDataWriter;
+import org.jacoco.report.binary.BinaryReportReader;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -60,6 +63,15 @@ public class ReportTest extends CommandTestBase {
 		assertContains("[INFO] Analyzing 14 classes.", out);
 	}
 
+	@Test
+	public void should_print_filter_profile_when_filterprofile_option_is_provided()
+			throws Exception {
+		execute("report", "--classfiles", getClassPath(), "--filterprofile");
+
+		assertOk();
+		assertContains("[INFO] Filter SynchronizedFilter: ", out);
+	}
+
 	@Test
 	public void should_print_warning_when_exec_data_does_not_match()
 			throws Exception {
@@ -110,6 +122,100 @@ public class ReportTest extends CommandTestBase {
 		assertTrue(csv.isFile());
 	}
 
+	@Test
+	public void should_create_binary_report_when_binary_option_is_provided()
+			throws Exception {
+		File binary = new File(tmp.getRoot(), "coverage.bin");
+
+		execute("report", "--classfiles", getClassPath(), "--binary",
+				binary.getAbsolutePath());
+
+		assertOk();
+		assertEquals(1, new BinaryReportReader(binary).getBundles().size());
+	}
+
+	@Test
+	public void should_combine_partial_reports_of_all_shards()
+			throws Exception {
+		File full = new File(tmp.getRoot(), "full.bin");
+		File shard0 = new File(tmp.getRoot(), "shard0.bin");
+		File shard1 = new File(tmp.getRoot(), "shard1.bin");
+		File combined = new File(tmp.getRoot(), "combined.bin");
+		File xml = new File(tmp.getRoot(), "combined.xml");
+
+		execute("report", "--classfiles", getClassPath(), "--binary",
+				full.getAbsolutePath());
+		execute("report", "--classfiles", getClassPath(), "--shard", "0",
+				"--shardcount", "2", "--binary", shard0.getAbsolutePath());
+		assertOk();
+		assertContains("[INFO] Analyzing packages of shard 0 of 2.", out);
+		execute("report", "--classfiles", getClassPath(), "--shard", "1",
+				"--shardcount", "2", "--binary", shard1.getAbsolutePath());
+		assertOk();
+		execute("report", "--combine", shard0.getAbsolutePath(), "--combine",
+				shard1.getAbsolutePath(), "--binary",
+				combined.getAbsolutePath(), "--xml", xml.getAbsolutePath());
+
+		assertOk();
+		assertContains("[INFO] Loading partial report "
+				+ shard0.getAbsolutePath() + ".", out);
+		assertTrue(xml.isFile());
+		final IBundleCoverage expected = new BinaryReportReader(full)
+				.getBundles().get(0);
+		final IBundleCoverage actual = new BinaryReportReader(combined)
+				.getBundles().get(0);
+		assertEquals(expected.getPackages().size(),
+				actual.getPackages().size());
+		assertEquals(expected.getClassCounter(), actual.getClassCounter());
+		assertEquals(expected.getInstructionCounter(),
+				actual.getInstructionCounter());
+	}
+
+	@Test
+	public void should_fail_when_shard_is_out_of_range() throws Exception {
+		execute("report", "--classfiles", getClassPath(), "--shard", "2",
+				"--shardcount", "2");
+
+		assertFailure();
+		assertContains("[ERROR] Invalid shard 2 of 2.", err);
+	}
+
+	@Test
+	public void should_fail_when_shards_are_analyzed_without_binary()
+			throws Exception {
+		execute("report", "--classfiles", getClassPath(), "--shard", "0",
+				"--shardcount", "2");
+
+		assertFailure();
+		assertContains(
+				"[ERROR] Option --binary is required to write the partial report of a shard.",
+				err);
+	}
+
+	@Test
+	public void should_fail_when_shardcount_and_combine_are_given()
+			throws Exception {
+		execute("report", "--combine", "shard0.bin", "--shardcount", "2",
+				"--binary", "combined.bin");
+
+		assertFailure();
+		assertContains(
+				"[ERROR] Options --shardcount and --combine can't be used together.",
+				err);
+	}
+
+	@Test
+	public void should_fail_when_classfiles_and_combine_are_given()
+			throws Exception {
+		execute("report", "--classfiles", getClassPath(), "--combine",
+				"shard0.bin");
+
+		assertFailure();
+		assertContains(
+				"[ERROR] Options --classfiles and --combine can't be used together.",
+				err);
+	}
+
 	@Test
 	public void should_create_html_report_when_html_option_is_provided()
 			throws Exception {
@@ -127,6 +233,58 @@ public class ReportTest extends CommandTestBase {
 				.isFile());
 	}
 
+	@Test
+	public void should_create_json_report_when_json_option_is_provided()
+			throws Exception {
+		File json = new File(tmp.getRoot(), "coverage");
+
+		execute("report", "--classfiles", getClassPath(), "--sourcefiles",
+				"./src", "--json", json.getAbsolutePath());
+
+		assertOk();
+		assertTrue(new File(json, "index.html").isFile());
+		assertTrue(new File(json, "data/tree.js").isFile());
+		assertTrue(new File(json, "data/p0.js").isFile());
+		assertTrue(new File(json, "data/p0s.js").isFile());
+	}
+
+	@Test
+	public void should_only_write_changed_files_when_htmlupdate_option_is_provided()
+			throws Exception {
+		File html = new File(tmp.getRoot(), "coverage");
+
+		execute("report", "--classfiles", getClassPath(), "--html",
+				html.getAbsolutePath(), "--htmlupdate");
+		assertOk();
+		before();
+		execute("report", "--classfiles", getClassPath(), "--html",
+				html.getAbsolutePath(), "--htmlupdate");
+
+		assertOk();
+		assertContains("[INFO] HTML report: 0 files written, ", out);
+		assertTrue(new File(html, ".jacoco-manifest").isFile());
+	}
+
+	@Test
+	public void should_create_all_reports_in_parallel_when_threads_option_is_provided()
+			throws Exception {
+		File xml = new File(tmp.getRoot(), "coverage.xml");
+		File csv = new File(tmp.getRoot(), "coverage.csv");
+		File html = new File(tmp.getRoot(), "coverage");
+
+		execute("report", "--classfiles", getClassPath(), "--sourcefiles",
+				"./src", "--xml", xml.getAbsolutePath(), "--csv",
+				csv.getAbsolutePath(), "--html", html.getAbsolutePath(),
+				"--threads", "4");
+
+		assertOk();
+		assertTrue(xml.isFile());
+		assertTrue(csv.isFile());
+		assertTrue(new File(html,
+				"org.jacoco.cli.internal.commands/ReportTest.java.html")
+				.isFile());
+	}
+
 	@Test
 	public void should_use_all_values_when_multiple_classfiles_options_are_provided()
 			throws Exception {
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.cli.internal.git;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * 单元测试类，用于测试{@link DiffCache}。
+ */
+public class DiffCacheTest {
+
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	private static final ObjectId TREE1 = ObjectId
+			.fromString("1111111111111111111111111111111111111111");
+
+	private static final ObjectId TREE2 = ObjectId
+			.fromString("2222222222222222222222222222222222222222");
+
+	private File dir;
+
+	private DiffCache cache;
+
+	@Before
+	public void setup() {
+		dir = new File(tmp.getRoot(), "cache");
+		cache = new DiffCache(dir);
+	}
+
+	@Test
+	public void key_should_not_depend_on_filter_order() {
+		assertEquals(
+				DiffCache.key(TREE1, TREE2, Arrays.asList("a/src", "b/src")),
+				DiffCache.key(TREE1, TREE2, Arrays.asList("b/src", "a/src")));
+	}
+
+	@Test
+	public void key_should_depend_on_trees_and_filters() {
+		final String key = DiffCache.key(TREE1, TREE2,
+				Collections.<String> emptySet());
+		assertFalse(key.equals(
+				DiffCache.key(TREE2, TREE1, Collections.<String> emptySet())));
+		assertFalse(key.equals(
+				DiffCache.key(TREE1, TREE2, Collections.singleton("a/src"))));
+	}
+
+	@Test
+	public void get_should_return_null_when_not_cached() {
+		assertNull(cache.get("missing"));
+	}
+
+	@Test
+	public void put_should_create_directory_and_store_paths() throws Exception {
+		final Set<String> paths = new HashSet<String>(
+				Arrays.asList("a/src/A.java", "b/src/B.java"));
+
+		cache.put("key", paths);
+
+		assertEquals(paths, new DiffCache(dir).get("key"));
+	}
+
+	@Test
+	public void put_should_store_empty_set() throws Exception {
+		cache.put("key", Collections.<String> emptySet());
+
+		assertEquals(Collections.emptySet(), cache.get("key"));
+	}
+
+	@Test
+	public void get_should_ignore_files_with_unknown_header() throws Exception {
+		dir.mkdirs();
+		java.nio.file.Files.write(new File(dir, "key.diff").toPath(),
+				"A.java\n".getBytes());
+
+		assertNull(cache.get("key"));
+	}
+
+}
@@ -20,6 +20,7 @@ import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.Set;
 
 import org.eclipse.jgit.api.Git;
@@ -215,4 +216,59 @@ public class GitRepositoryTest {
 		assertTrue("应该是空集合", changedFiles.isEmpty());
 	}
 
+	@Test
+	public void should_restrict_changed_java_files_to_path_filter()
+			throws Exception {
+		createTestFile("module-a/src/A.java", "public class A {}");
+		createTestFile("module-b/src/B.java", "public class B {}");
+		git.add().addFilepattern(".").call();
+		git.commit().setMessage("Add modules").call();
+		final RevCommit startCommit = gitRepo.resolveCommit("HEAD~1");
+
+		final Set<String> changedFiles = gitRepo.getChangedJavaFiles(
+				startCommit, Collections.singleton("module-a/src"));
+
+		assertEquals(Collections.singleton("module-a/src/A.java"),
+				changedFiles);
+	}
+
+	@Test
+	public void should_continue_when_disk_cache_can_not_be_written()
+			throws Exception {
+		final File cacheDir = tmp.newFile("not-a-directory");
+		gitRepo.setDiffCache(new DiffCache(cacheDir));
+		final RevCommit startCommit = gitRepo.resolveCommit("HEAD~1");
+
+		final Set<String> changedFiles = gitRepo
+				.getChangedJavaFiles(startCommit);
+
+		assertEquals(Collections.singleton("Test3.java"), changedFiles);
+		assertEquals(1, gitRepo.getWarnings().size());
+		assertTrue(gitRepo.getWarnings().get(0).contains("无法创建差异缓存目录"));
+	}
+
+	@Test
+	public void should_reuse_disk_cache_across_instances() throws Exception {
+		final File cacheDir = new File(tmp.getRoot(), "diff-cache");
+		gitRepo.setDiffCache(new DiffCache(cacheDir));
+		final RevCommit startCommit = gitRepo.resolveCommit("HEAD~1");
+		final Set<String> first = gitRepo.getChangedJavaFiles(startCommit);
+		assertEquals("应该写入一个缓存文件", 1, cacheDir.list().length);
+
+		// 篡改缓存内容，验证第二个实例读取的是缓存而不是重新计算
+		final File cacheFile = cacheDir.listFiles()[0];
+		java.nio.file.Files.write(cacheFile.toPath(),
+				"# jacoco-diff-cache 1\nCached.java\n".getBytes());
+		final GitRepository other = new GitRepository(repoDir);
+		try {
+			other.setDiffCache(new DiffCache(cacheDir));
+			final Set<String> second = other.getChangedJavaFiles(
+					other.resolveCommit(startCommit.getName()));
+			assertEquals(Collections.singleton("Test3.java"), first);
+			assertEquals(Collections.singleton("Cached.java"), second);
+		} finally {
+			other.close();
+		}
+	}
+
 }
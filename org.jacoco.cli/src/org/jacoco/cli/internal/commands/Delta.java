@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.cli.internal.commands;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jacoco.cli.internal.Command;
+import org.jacoco.core.tools.ExecDelta;
+import org.jacoco.core.tools.ExecFileLoader;
+import org.jacoco.report.FileMultiReportOutput;
+import org.jacoco.report.csv.CSVFormatter;
+import org.jacoco.report.html.HTMLFormatter;
+import org.jacoco.report.xml.XMLFormatter;
+import org.kohsuke.args4j.Argument;
+import org.kohsuke.args4j.Option;
+
+/**
+ * The <code>delta</code> command.
+ */
+public class Delta extends Command {
+
+	@Argument(usage = "list of JaCoCo *.exec files of the candidate", metaVar = "<execfiles>")
+	List<File> execfiles = new ArrayList<File>();
+
+	@Option(name = "--baseline", usage = "JaCoCo *.exec file of the baseline, can be specified multiple times", metaVar = "<file>", required = true)
+	List<File> baseline = new ArrayList<File>();
+
+	@Option(name = "--name", usage = "name used for this report", metaVar = "<name>")
+	String name = "JaCoCo Coverage Delta";
+
+	@Option(name = "--xml", usage = "output file for the XML report", metaVar = "<file>")
+	File xml;
+
+	@Option(name = "--csv", usage = "output file for the CSV report", metaVar = "<file>")
+	File csv;
+
+	@Option(name = "--html", usage = "output directory for the HTML report", metaVar = "<dir>")
+	File html;
+
+	@Override
+	public String description() {
+		return "Compares execution data with a baseline and reports newly covered and newly uncovered probes.";
+	}
+
+	@Override
+	public int execute(final PrintWriter out, final PrintWriter err)
+			throws IOException {
+		final ExecFileLoader baselineLoader = load(baseline, out);
+		final ExecFileLoader candidateLoader = load(execfiles, out);
+		final ExecDelta delta = new ExecDelta(
+				baselineLoader.getExecutionDataStore(),
+				candidateLoader.getExecutionDataStore());
+		out.printf("[INFO] %s newly covered and %s newly uncovered probes.%n",
+				Integer.valueOf(delta.getNewlyCovered()),
+				Integer.valueOf(delta.getNewlyUncovered()));
+		writeReports(delta);
+		return 0;
+	}
+
+	private ExecFileLoader load(final List<File> files, final PrintWriter out)
+			throws IOException {
+		final ExecFileLoader loader = new ExecFileLoader();
+		if (files.isEmpty()) {
+			out.println("[WARN] No execution data files provided.");
+		} else {
+			for (final File file : files) {
+				out.printf("[INFO] Loading execution data file %s.%n",
+						file.getAbsolutePath());
+				loader.load(file);
+			}
+		}
+		return loader;
+	}
+
+	private void writeReports(final ExecDelta delta) throws IOException {
+		if (xml != null) {
+			final XMLFormatter formatter = new XMLFormatter();
+			formatter.createDeltaVisitor(new FileOutputStream(xml))
+					.visitDelta(name, delta);
+		}
+		if (csv != null) {
+			final CSVFormatter formatter = new CSVFormatter();
+			formatter.createDeltaVisitor(new FileOutputStream(csv))
+					.visitDelta(name, delta);
+		}
+		if (html != null) {
+			final HTMLFormatter formatter = new HTMLFormatter();
+			formatter.createDeltaVisitor(new FileMultiReportOutput(html))
+					.visitDelta(name, delta);
+		}
+	}
+
+}
@@ -22,8 +22,14 @@ import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
 
 import org.jacoco.cli.internal.Command;
+import org.jacoco.core.instr.IMethodProbeListener;
 import org.jacoco.core.instr.Instrumenter;
 import org.jacoco.core.runtime.OfflineInstrumentationAccessGenerator;
 import org.kohsuke.args4j.Argument;
@@ -40,8 +46,19 @@ public class Instrument extends Command {
 	@Argument(usage = "list of folder or files to instrument recusively", metaVar = "<sourcefiles>")
 	List<File> source = new ArrayList<File>();
 
+	@Option(name = "--threads", usage = "number of threads to instrument files and archive entries in parallel (default 1)", metaVar = "<n>")
+	int threads = 1;
+
+	@Option(name = "--optimizeprobes", usage = "omit probes whose state can be inferred from other probes, the report has to use the same option")
+	boolean optimizeprobes = false;
+
+	@Option(name = "--maxprobebytes", usage = "maximum number of bytes probes may add to a method, larger methods get a single probe, the report has to use the same option", metaVar = "<bytes>")
+	int maxprobebytes = Integer.MAX_VALUE;
+
 	private Instrumenter instrumenter;
 
+	private final List<FutureTask<Integer>> tasks = new ArrayList<FutureTask<Integer>>();
+
 	@Override
 	public String description() {
 		return "Off-line instrumentation of Java class files and JAR files.";
@@ -53,12 +70,42 @@ public class Instrument extends Command {
 		final File absoluteDest = dest.getAbsoluteFile();
 		instrumenter = new Instrumenter(
 				new OfflineInstrumentationAccessGenerator());
+		final ExecutorService executor = threads > 1
+				? Executors.newFixedThreadPool(threads)
+				: null;
 		int total = 0;
-		for (final File s : source) {
-			if (s.isFile()) {
-				total += instrument(s, new File(absoluteDest, s.getName()));
-			} else {
-				total += instrumentRecursive(s, absoluteDest);
+		try {
+			instrumenter.setExecutor(executor);
+			instrumenter.setOptimizedProbes(optimizeprobes);
+			instrumenter.setMaxProbeBytes(maxprobebytes);
+			instrumenter.setMethodProbeListener(new IMethodProbeListener() {
+				public void methodProbe(final String className,
+						final String methodName, final String methodDesc,
+						final int probeBytes) {
+					out.printf(
+							"[INFO] Method %s.%s%s instrumented with a single probe instead of %s bytes of probes.%n",
+							className, methodName, methodDesc,
+							Integer.valueOf(probeBytes));
+				}
+			});
+			for (final File s : source) {
+				if (s.isFile()) {
+					add(s, new File(absoluteDest, s.getName()));
+				} else {
+					addRecursive(s, absoluteDest);
+				}
+			}
+			for (final FutureTask<Integer> task : tasks) {
+				if (executor != null) {
+					executor.execute(task);
+				}
+			}
+			for (final FutureTask<Integer> task : tasks) {
+				total += complete(task);
+			}
+		} finally {
+			if (executor != null) {
+				executor.shutdown();
 			}
 		}
 		out.printf("[INFO] %s classes instrumented to %s.%n",
@@ -66,18 +113,43 @@ public class Instrument extends Command {
 		return 0;
 	}
 
-	private int instrumentRecursive(final File src, final File dest)
-			throws IOException {
-		int total = 0;
+	private void addRecursive(final File src, final File dest) {
 		if (src.isDirectory()) {
 			for (final File child : src.listFiles()) {
-				total += instrumentRecursive(child,
-						new File(dest, child.getName()));
+				addRecursive(child, new File(dest, child.getName()));
 			}
 		} else {
-			total += instrument(src, dest);
+			add(src, dest);
+		}
+	}
+
+	private void add(final File src, final File dest) {
+		tasks.add(new FutureTask<Integer>(new Callable<Integer>() {
+			public Integer call() throws IOException {
+				return Integer.valueOf(instrument(src, dest));
+			}
+		}));
+	}
+
+	private static int complete(final FutureTask<Integer> task)
+			throws IOException {
+		// Runs the task on the current thread if it has not been started yet
+		task.run();
+		try {
+			return task.get().intValue();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while instrumenting files.");
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw (Error) cause;
 		}
-		return total;
 	}
 
 	private int instrument(final File src, final File dest) throws IOException {
@@ -20,25 +20,38 @@ import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.jacoco.cli.internal.Command;
+import org.jacoco.cli.internal.git.DiffCache;
 import org.jacoco.cli.internal.git.GitException;
 import org.jacoco.cli.internal.git.GitRepository;
 import org.jacoco.cli.internal.git.IncrementalFileFilter;
 import org.jacoco.core.analysis.Analyzer;
 import org.jacoco.core.analysis.CoverageBuilder;
+import org.jacoco.core.analysis.FilterProfile;
 import org.jacoco.core.analysis.IBundleCoverage;
 import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.IPackageCoverage;
+import org.jacoco.core.analysis.ShardAnalyzer;
 import org.jacoco.core.data.ExecutionDataStore;
 import org.jacoco.core.tools.ExecFileLoader;
-import org.jacoco.report.DirectorySourceFileLocator;
 import org.jacoco.report.FileMultiReportOutput;
+import org.jacoco.report.IMultiReportOutput;
 import org.jacoco.report.IReportVisitor;
 import org.jacoco.report.ISourceFileLocator;
+import org.jacoco.report.IncrementalFileMultiReportOutput;
 import org.jacoco.report.MultiReportVisitor;
-import org.jacoco.report.MultiSourceFileLocator;
+import org.jacoco.report.PrefetchSourceFileLocator;
+import org.jacoco.report.SourceFileIndex;
+import org.jacoco.report.binary.BinaryFormatter;
+import org.jacoco.report.binary.BinaryReportCombiner;
+import org.jacoco.report.binary.BinaryReportReader;
 import org.jacoco.report.csv.CSVFormatter;
 import org.jacoco.report.html.HTMLFormatter;
+import org.jacoco.report.json.JSONFormatter;
 import org.jacoco.report.xml.XMLFormatter;
 import org.kohsuke.args4j.Argument;
 import org.kohsuke.args4j.Option;
@@ -48,10 +61,13 @@ import org.kohsuke.args4j.Option;
  */
 public class Report extends Command {
 
+	/** number of source files read ahead of HTML and JSON rendering */
+	private static final int PREFETCH_CAPACITY = 64;
+
 	@Argument(usage = "list of JaCoCo *.exec files to read", metaVar = "<execfiles>")
 	List<File> execfiles = new ArrayList<File>();
 
-	@Option(name = "--classfiles", usage = "location of Java class files", metaVar = "<path>", required = true)
+	@Option(name = "--classfiles", usage = "location of Java class files, required unless partial reports are combined", metaVar = "<path>")
 	List<File> classfiles = new ArrayList<File>();
 
 	@Option(name = "--sourcefiles", usage = "location of the source files", metaVar = "<path>")
@@ -72,15 +88,50 @@ public class Report extends Command {
 	@Option(name = "--csv", usage = "output file for the CSV report", metaVar = "<file>")
 	File csv;
 
+	@Option(name = "--binary", usage = "output file for the binary report which can be read with BinaryReportReader", metaVar = "<file>")
+	File binary;
+
+	@Option(name = "--shard", usage = "only analyze the packages assigned to the shard with this index, starting with 0 (default 0)", metaVar = "<index>")
+	int shard = 0;
+
+	@Option(name = "--shardcount", usage = "total number of shards the analysis is split into, partial reports are written with --binary (default 1)", metaVar = "<n>")
+	int shardcount = 1;
+
+	@Option(name = "--combine", usage = "binary partial report to combine instead of analyzing class files", metaVar = "<file>")
+	List<File> combine = new ArrayList<File>();
+
 	@Option(name = "--html", usage = "output directory for the HTML report", metaVar = "<dir>")
 	File html;
 
+	@Option(name = "--htmlupdate", usage = "only rewrite changed files of an existing HTML report and delete obsolete ones")
+	boolean htmlupdate = false;
+
+	@Option(name = "--json", usage = "output directory for the JSON report with a single page viewer", metaVar = "<dir>")
+	File json;
+
+	@Option(name = "--threads", usage = "number of threads to write report formats and HTML packages in parallel (default 1)", metaVar = "<n>")
+	int threads = 1;
+
+	@Option(name = "--optimizeprobes", usage = "analyze execution data which has been collected with optimized probe placement")
+	boolean optimizeprobes = false;
+
+	@Option(name = "--maxprobebytes", usage = "analyze execution data which has been collected with a limit for bytes added by probes per method", metaVar = "<bytes>")
+	int maxprobebytes = Integer.MAX_VALUE;
+
+	@Option(name = "--filterprofile", usage = "print invocations and time spent for every filter applied during analysis")
+	boolean filterprofile = false;
+
 	@Option(name = "--branch", usage = "Git分支名称，用于增量分析", metaVar = "<branch>")
 	String branch;
 
 	@Option(name = "--commit", usage = "Git提交标识（格式与git checkout兼容），用于增量分析起始点", metaVar = "<commit>")
 	String commit;
 
+	@Option(name = "--diffcache", usage = "Git差异结果的缓存目录，相同基准和目标的增量分析在多次运行之间复用", metaVar = "<dir>")
+	File diffcache;
+
+	private IncrementalFileMultiReportOutput htmlOutput;
+
 	@Override
 	public String description() {
 		return "Generate reports in different formats by reading exec and Java class files. "
@@ -90,6 +141,38 @@ public class Report extends Command {
 	@Override
 	public int execute(final PrintWriter out, final PrintWriter err)
 			throws IOException {
+		if (!combine.isEmpty() && !classfiles.isEmpty()) {
+			err.println(
+					"[ERROR] Options --classfiles and --combine can't be used together.");
+			return -1;
+		}
+		if (combine.isEmpty() && classfiles.isEmpty()) {
+			printHelp(err);
+			err.println();
+			err.println(
+					"Either option \"--classfiles\" or \"--combine\" is required");
+			return -1;
+		}
+		if (shardcount < 1 || shard < 0 || shard >= shardcount) {
+			err.printf("[ERROR] Invalid shard %s of %s.%n",
+					Integer.valueOf(shard), Integer.valueOf(shardcount));
+			return -1;
+		}
+		if (shardcount > 1 && !combine.isEmpty()) {
+			err.println(
+					"[ERROR] Options --shardcount and --combine can't be used together.");
+			return -1;
+		}
+		if (shardcount > 1 && binary == null) {
+			err.println(
+					"[ERROR] Option --binary is required to write the partial report of a shard.");
+			return -1;
+		}
+		if (!combine.isEmpty()) {
+			combineReports(out);
+			return 0;
+		}
+
 		// 如果指定了增量分析参数，进行文件过滤
 		if (branch != null || commit != null) {
 			try {
@@ -129,6 +212,9 @@ public class Report extends Command {
 		}
 
 		final GitRepository gitRepo = new GitRepository(repoDir);
+		if (diffcache != null) {
+			gitRepo.setDiffCache(new DiffCache(diffcache));
+		}
 		try {
 			if (!gitRepo.isGitRepository()) {
 				throw new GitException(
@@ -166,9 +252,13 @@ public class Report extends Command {
 
 			// 获取变更的Java文件列表
 			final java.util.Set<String> changedJavaFiles = gitRepo
-					.getChangedJavaFiles(startCommit);
+					.getChangedJavaFiles(startCommit,
+							getSourceRootFilters(repoDir));
 			out.printf("[INFO] 发现 %d 个变更的Java文件%n",
 					Integer.valueOf(changedJavaFiles.size()));
+			for (final String warning : gitRepo.getWarnings()) {
+				out.printf("[WARN] %s%n", warning);
+			}
 
 			// 过滤文件列表
 			final IncrementalFileFilter filter = new IncrementalFileFilter();
@@ -208,6 +298,31 @@ public class Report extends Command {
 		}
 	}
 
+	/**
+	 * 计算源码目录相对于仓库根目录的路径，用于将差异计算限制在当前模块内。 如果任一源码目录不在仓库内，则返回空列表（不过滤）。
+	 *
+	 * @param repoDir
+	 *            Git仓库根目录
+	 * @return 仓库相对路径列表
+	 */
+	private List<String> getSourceRootFilters(final File repoDir) {
+		final List<String> filters = new ArrayList<String>();
+		final String root = repoDir.getAbsoluteFile().toPath().normalize()
+				.toString();
+		for (final File f : sourcefiles) {
+			final String path = f.getAbsoluteFile().toPath().normalize()
+					.toString();
+			if (path.equals(root)) {
+				return new ArrayList<String>();
+			}
+			if (!path.startsWith(root + File.separator)) {
+				return new ArrayList<String>();
+			}
+			filters.add(path.substring(root.length() + 1).replace('\\', '/'));
+		}
+		return filters;
+	}
+
 	/**
 	 * 查找Git仓库根目录。 从classfiles或sourcefiles目录向上查找，直到找到包含.git的目录。
 	 *
@@ -275,14 +390,39 @@ public class Report extends Command {
 	private IBundleCoverage analyze(final ExecutionDataStore data,
 			final PrintWriter out) throws IOException {
 		final CoverageBuilder builder = new CoverageBuilder();
-		final Analyzer analyzer = new Analyzer(data, builder);
+		final Analyzer analyzer;
+		if (shardcount > 1) {
+			out.printf("[INFO] Analyzing packages of shard %s of %s.%n",
+					Integer.valueOf(shard), Integer.valueOf(shardcount));
+			analyzer = new ShardAnalyzer(data, builder, shard, shardcount);
+		} else {
+			analyzer = new Analyzer(data, builder);
+		}
+		analyzer.setOptimizedProbes(optimizeprobes);
+		analyzer.setMaxProbeBytes(maxprobebytes);
+		final FilterProfile profile = filterprofile ? new FilterProfile()
+				: null;
+		analyzer.setFilterProfile(profile);
 		for (final File f : classfiles) {
 			analyzer.analyzeAll(f);
 		}
+		if (profile != null) {
+			printFilterProfile(profile, out);
+		}
 		printNoMatchWarning(builder.getNoMatchClasses(), out);
 		return builder.getBundle(name);
 	}
 
+	private void printFilterProfile(final FilterProfile profile,
+			final PrintWriter out) {
+		for (final FilterProfile.Entry e : profile.getEntries()) {
+			out.printf("[INFO] Filter %s: %s invocations, %s skipped, %s ms.%n",
+					e.getName(), Long.valueOf(e.getInvocations()),
+					Long.valueOf(e.getSkips()),
+					Long.valueOf(e.getTime() / 1000000));
+		}
+	}
+
 	private void printNoMatchWarning(final Collection<IClassCoverage> nomatch,
 			final PrintWriter out) {
 		if (!nomatch.isEmpty()) {
@@ -298,19 +438,61 @@ public class Report extends Command {
 		}
 	}
 
+	private void combineReports(final PrintWriter out) throws IOException {
+		final BinaryReportCombiner combiner = new BinaryReportCombiner();
+		for (final File file : combine) {
+			out.printf("[INFO] Loading partial report %s.%n",
+					file.getAbsolutePath());
+			combiner.add(new BinaryReportReader(file));
+		}
+		final ExecutorService executor = threads > 1
+				? Executors.newFixedThreadPool(threads)
+				: null;
+		try {
+			combiner.accept(createReportVisitor(executor),
+					getSourceLocator(executor, null));
+			printHtmlStatistics(out);
+		} finally {
+			if (executor != null) {
+				executor.shutdown();
+			}
+		}
+	}
+
 	private void writeReports(final IBundleCoverage bundle,
 			final ExecFileLoader loader, final PrintWriter out)
 			throws IOException {
 		out.printf("[INFO] Analyzing %s classes.%n",
 				Integer.valueOf(bundle.getClassCounter().getTotalCount()));
-		final IReportVisitor visitor = createReportVisitor();
-		visitor.visitInfo(loader.getSessionInfoStore().getInfos(),
-				loader.getExecutionDataStore().getContents());
-		visitor.visitBundle(bundle, getSourceLocator());
-		visitor.visitEnd();
+		final ExecutorService executor = threads > 1
+				? Executors.newFixedThreadPool(threads)
+				: null;
+		try {
+			final IReportVisitor visitor = createReportVisitor(executor);
+			visitor.visitInfo(loader.getSessionInfoStore().getInfos(),
+					loader.getExecutionDataStore().getContents());
+			visitor.visitBundle(bundle, getSourceLocator(executor, bundle));
+			visitor.visitEnd();
+			printHtmlStatistics(out);
+		} finally {
+			if (executor != null) {
+				executor.shutdown();
+			}
+		}
+	}
+
+	private void printHtmlStatistics(final PrintWriter out) {
+		if (htmlOutput != null) {
+			out.printf(
+					"[INFO] HTML report: %s files written, %s unchanged, %s deleted.%n",
+					Integer.valueOf(htmlOutput.getWrittenFiles()),
+					Integer.valueOf(htmlOutput.getUnchangedFiles()),
+					Integer.valueOf(htmlOutput.getDeletedFiles()));
+		}
 	}
 
-	private IReportVisitor createReportVisitor() throws IOException {
+	private IReportVisitor createReportVisitor(final Executor executor)
+			throws IOException {
 		final List<IReportVisitor> visitors = new ArrayList<IReportVisitor>();
 
 		if (xml != null) {
@@ -323,22 +505,52 @@ public class Report extends Command {
 			visitors.add(formatter.createVisitor(new FileOutputStream(csv)));
 		}
 
+		if (binary != null) {
+			final BinaryFormatter formatter = new BinaryFormatter();
+			visitors.add(formatter.createVisitor(new FileOutputStream(binary)));
+		}
+
 		if (html != null) {
 			final HTMLFormatter formatter = new HTMLFormatter();
+			formatter.setExecutor(executor);
+			final IMultiReportOutput output;
+			if (htmlupdate) {
+				htmlOutput = new IncrementalFileMultiReportOutput(html);
+				output = htmlOutput;
+			} else {
+				output = new FileMultiReportOutput(html);
+			}
+			visitors.add(formatter.createVisitor(output));
+		}
+
+		if (json != null) {
+			final JSONFormatter formatter = new JSONFormatter();
 			visitors.add(
-					formatter.createVisitor(new FileMultiReportOutput(html)));
+					formatter.createVisitor(new FileMultiReportOutput(json)));
 		}
 
-		return new MultiReportVisitor(visitors);
+		return new MultiReportVisitor(visitors, executor);
 	}
 
-	private ISourceFileLocator getSourceLocator() {
-		final MultiSourceFileLocator multi = new MultiSourceFileLocator(
-				tabwidth);
+	private ISourceFileLocator getSourceLocator(final Executor executor,
+			final IBundleCoverage bundle) throws IOException {
+		final SourceFileIndex index = new SourceFileIndex(encoding, tabwidth);
 		for (final File f : sourcefiles) {
-			multi.add(new DirectorySourceFileLocator(f, encoding, tabwidth));
+			index.addDirectory(f);
+		}
+		if (executor == null || html == null && json == null
+				|| bundle == null) {
+			return index;
+		}
+		final List<String> packageNames = new ArrayList<String>();
+		for (final IPackageCoverage p : bundle.getPackages()) {
+			packageNames.add(p.getName());
 		}
-		return multi;
+		index.scan(packageNames, executor);
+		final PrefetchSourceFileLocator prefetch = new PrefetchSourceFileLocator(
+				index, executor, PREFETCH_CAPACITY);
+		prefetch.prefetch(bundle);
+		return prefetch;
 	}
 
 }
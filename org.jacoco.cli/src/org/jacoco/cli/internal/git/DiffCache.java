@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.cli.internal.git;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.jgit.lib.ObjectId;
+
+/**
+ * 磁盘上的差异结果缓存。 以（起始树ID、目标树ID、路径过滤器）为键保存变更文件列表， 使同一流水线中的多次CLI调用只需计算一次差异。
+ */
+public class DiffCache {
+
+	private static final String HEADER = "# jacoco-diff-cache 1";
+
+	private static final String SUFFIX = ".diff";
+
+	private final File directory;
+
+	/**
+	 * 创建缓存实例。
+	 *
+	 * @param directory
+	 *            缓存目录，不存在时会在首次写入时创建
+	 */
+	public DiffCache(final File directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * 计算缓存键。 路径过滤器会先排序，因此顺序不同的相同过滤器得到相同的键。
+	 *
+	 * @param baseTree
+	 *            起始提交的树ID
+	 * @param headTree
+	 *            目标提交的树ID
+	 * @param pathFilters
+	 *            仓库相对路径过滤器，空集合表示不过滤
+	 * @return 十六进制缓存键
+	 */
+	public static String key(final ObjectId baseTree, final ObjectId headTree,
+			final Collection<String> pathFilters) {
+		final List<String> sorted = new ArrayList<String>(pathFilters);
+		Collections.sort(sorted);
+		final StringBuilder buffer = new StringBuilder();
+		buffer.append(baseTree.getName()).append('\n');
+		buffer.append(headTree.getName()).append('\n');
+		for (final String filter : sorted) {
+			buffer.append(filter).append('\n');
+		}
+		final MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-1");
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		final byte[] hash = digest
+				.digest(buffer.toString().getBytes(StandardCharsets.UTF_8));
+		final StringBuilder hex = new StringBuilder(hash.length * 2);
+		for (final byte b : hash) {
+			hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+			hex.append(Character.forDigit(b & 0xF, 16));
+		}
+		return hex.toString();
+	}
+
+	/**
+	 * 读取缓存的变更文件列表。
+	 *
+	 * @param key
+	 *            由{@link #key(ObjectId, ObjectId, Collection)}计算的缓存键
+	 * @return 变更文件集合，如果缓存不存在或已损坏则返回null
+	 */
+	public Set<String> get(final String key) {
+		final File file = new File(directory, key + SUFFIX);
+		if (!file.isFile()) {
+			return null;
+		}
+		final Set<String> paths = new HashSet<String>();
+		try {
+			final BufferedReader reader = new BufferedReader(
+					new InputStreamReader(new FileInputStream(file),
+							StandardCharsets.UTF_8));
+			try {
+				if (!HEADER.equals(reader.readLine())) {
+					return null;
+				}
+				String line;
+				while ((line = reader.readLine()) != null) {
+					if (line.length() > 0) {
+						paths.add(line);
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (final IOException e) {
+			// 缓存不可读时按未命中处理
+			return null;
+		}
+		return paths;
+	}
+
+	/**
+	 * 写入变更文件列表。 先写入临时文件再重命名，并发运行的进程不会读到不完整的内容。
+	 *
+	 * @param key
+	 *            缓存键
+	 * @param paths
+	 *            变更文件集合
+	 * @throws GitException
+	 *             如果无法写入缓存
+	 */
+	public void put(final String key, final Set<String> paths)
+			throws GitException {
+		if (!directory.isDirectory() && !directory.mkdirs()
+				&& !directory.isDirectory()) {
+			throw new GitException(
+					"无法创建差异缓存目录: " + directory.getAbsolutePath());
+		}
+		final List<String> sorted = new ArrayList<String>(paths);
+		Collections.sort(sorted);
+		final File target = new File(directory, key + SUFFIX);
+		try {
+			final File temp = File.createTempFile(key, ".tmp", directory);
+			final Writer writer = new OutputStreamWriter(
+					new FileOutputStream(temp), StandardCharsets.UTF_8);
+			try {
+				writer.write(HEADER);
+				writer.write('\n');
+				for (final String path : sorted) {
+					writer.write(path);
+					writer.write('\n');
+				}
+			} finally {
+				writer.close();
+			}
+			if (!temp.renameTo(target)) {
+				target.delete();
+				if (!temp.renameTo(target)) {
+					temp.delete();
+					throw new GitException(
+							"无法写入差异缓存: " + target.getAbsolutePath());
+				}
+			}
+		} catch (final IOException e) {
+			throw new GitException("无法写入差异缓存: " + target.getAbsolutePath(), e);
+		}
+	}
+
+}
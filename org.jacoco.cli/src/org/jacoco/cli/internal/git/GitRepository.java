@@ -14,19 +14,25 @@ package org.jacoco.cli.internal.git;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
+import org.eclipse.jgit.api.DiffCommand;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.diff.DiffEntry;
 import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.lib.RepositoryBuilder;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevWalk;
-import org.eclipse.jgit.treewalk.AbstractTreeIterator;
 import org.eclipse.jgit.treewalk.CanonicalTreeParser;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
 
 /**
  * Git仓库操作类。 封装Git仓库操作，提供增量文件识别功能。
@@ -36,7 +42,9 @@ public class GitRepository {
 	private Repository repository;
 	private final File repositoryDir;
 	private final java.util.Map<String, org.eclipse.jgit.revwalk.RevCommit> commitCache = new java.util.HashMap<String, org.eclipse.jgit.revwalk.RevCommit>();
-	private final java.util.Map<org.eclipse.jgit.revwalk.RevCommit, Set<String>> changedFilesCache = new java.util.HashMap<org.eclipse.jgit.revwalk.RevCommit, Set<String>>();
+	private final java.util.Map<String, Set<String>> changedFilesCache = new java.util.HashMap<String, Set<String>>();
+	private DiffCache diffCache;
+	private final List<String> warnings = new ArrayList<String>();
 
 	/**
 	 * 创建GitRepository实例。
@@ -185,6 +193,25 @@ public class GitRepository {
 		}
 	}
 
+	/**
+	 * 设置磁盘差异缓存。 设置后，相同起始树、目标树和路径过滤器的差异结果会在多次运行之间复用。
+	 *
+	 * @param diffCache
+	 *            差异缓存，null表示仅使用内存缓存
+	 */
+	public void setDiffCache(final DiffCache diffCache) {
+		this.diffCache = diffCache;
+	}
+
+	/**
+	 * 返回操作过程中出现的非致命问题，例如无法写入磁盘差异缓存。
+	 *
+	 * @return 警告信息列表
+	 */
+	public List<String> getWarnings() {
+		return Collections.unmodifiableList(warnings);
+	}
+
 	/**
 	 * 获取自指定提交以来的变更文件列表（仅Java源文件）。
 	 *
@@ -196,94 +223,135 @@ public class GitRepository {
 	 */
 	public Set<String> getChangedJavaFiles(final RevCommit commit)
 			throws GitException {
+		return getChangedJavaFiles(commit, Collections.<String> emptySet());
+	}
+
+	/**
+	 * 获取自指定提交以来的变更文件列表（仅Java源文件），差异计算仅限于给定路径。
+	 *
+	 * @param commit
+	 *            起始提交（包含该提交）
+	 * @param pathFilters
+	 *            仓库相对路径（如模块的源码目录），空集合表示整个仓库
+	 * @return 变更的Java源文件路径集合（相对于仓库根目录）
+	 * @throws GitException
+	 *             如果Git操作失败
+	 */
+	public Set<String> getChangedJavaFiles(final RevCommit commit,
+			final Collection<String> pathFilters) throws GitException {
 		ensureRepository();
-		// 检查缓存
-		if (changedFilesCache.containsKey(commit)) {
-			return new HashSet<String>(changedFilesCache.get(commit));
-		}
 		final Set<String> changedFiles = new HashSet<String>();
 		try {
-			final Git git = new Git(repository);
+			// 获取HEAD提交
+			final ObjectId headId = repository.resolve("HEAD");
+			if (headId == null) {
+				return changedFiles; // 空仓库，没有变更
+			}
+			final RevWalk walk = new RevWalk(repository);
 			try {
-				// 获取HEAD提交
-				final ObjectId headId = repository.resolve("HEAD");
-				if (headId == null) {
-					return changedFiles; // 空仓库，没有变更
-				}
-				final RevWalk walk = new RevWalk(repository);
-				try {
-					final RevCommit headCommit = walk.parseCommit(headId);
+				final ObjectId baseTree = walk.parseCommit(commit).getTree()
+						.getId();
+				final ObjectId headTree = walk.parseCommit(headId).getTree()
+						.getId();
+				final String key = DiffCache.key(baseTree, headTree,
+						pathFilters);
 
-					// 准备树迭代器
-					final AbstractTreeIterator oldTree = prepareTreeParser(
-							repository, commit.getName());
-					final AbstractTreeIterator newTree = prepareTreeParser(
-							repository, headCommit.getName());
+				// 检查内存缓存和磁盘缓存
+				Set<String> cached = changedFilesCache.get(key);
+				if (cached == null && diffCache != null) {
+					cached = diffCache.get(key);
+					if (cached != null) {
+						changedFilesCache.put(key, cached);
+					}
+				}
+				if (cached != null) {
+					return new HashSet<String>(cached);
+				}
 
-					// 获取差异，启用重命名检测
-					final java.util.List<DiffEntry> diffs = git.diff()
-							.setOldTree(oldTree).setNewTree(newTree)
-							.setShowNameAndStatusOnly(true).call();
-					// 注意：JGit默认会检测重命名，无需额外设置
+				collectChangedJavaFiles(baseTree, headTree, pathFilters,
+						changedFiles);
 
-					// 过滤Java文件（新增和修改的文件）
-					for (final DiffEntry entry : diffs) {
-						final String path = getChangedPath(entry);
-						if (path != null && path.endsWith(".java")) {
-							// 只包含新增、修改和重命名的文件，排除删除的文件
-							final DiffEntry.ChangeType changeType = entry
-									.getChangeType();
-							if (changeType != DiffEntry.ChangeType.DELETE) {
-								changedFiles.add(path);
-								// 对于重命名，也添加旧路径（如果存在）
-								if (changeType == DiffEntry.ChangeType.RENAME
-										&& entry.getOldPath() != null
-										&& entry.getOldPath()
-												.endsWith(".java")) {
-									changedFiles.add(entry.getOldPath());
-								}
-							}
-						}
+				// 缓存结果
+				changedFilesCache.put(key, new HashSet<String>(changedFiles));
+				if (diffCache != null) {
+					try {
+						diffCache.put(key, changedFiles);
+					} catch (final GitException e) {
+						// 缓存只是优化，写入失败时继续使用刚计算的差异
+						warnings.add(e.getMessage());
 					}
-				} finally {
-					walk.close();
 				}
 			} finally {
-				git.close();
+				walk.close();
 			}
 		} catch (final IOException e) {
 			throw new GitException("获取变更文件列表时出错", e);
 		} catch (final GitAPIException e) {
 			throw new GitException("Git操作失败", e);
 		}
-		// 缓存结果
-		changedFilesCache.put(commit, new HashSet<String>(changedFiles));
 		return changedFiles;
 	}
 
 	/**
-	 * 准备树解析器。
+	 * 计算两棵树之间的差异并收集变更的Java文件。
 	 *
-	 * @param repository
-	 *            Git仓库
-	 * @param objectId
-	 *            对象ID
-	 * @return 树迭代器
+	 * @param baseTree
+	 *            起始树ID
+	 * @param headTree
+	 *            目标树ID
+	 * @param pathFilters
+	 *            仓库相对路径过滤器，空集合表示不过滤
+	 * @param changedFiles
+	 *            收集结果的集合
 	 * @throws IOException
 	 *             如果读取失败
+	 * @throws GitAPIException
+	 *             如果Git操作失败
 	 */
-	private AbstractTreeIterator prepareTreeParser(final Repository repository,
-			final String objectId) throws IOException {
-		try (RevWalk walk = new RevWalk(repository)) {
-			final RevCommit commit = walk
-					.parseCommit(repository.resolve(objectId));
-			final CanonicalTreeParser treeParser = new CanonicalTreeParser();
-			try (org.eclipse.jgit.lib.ObjectReader reader = repository
-					.newObjectReader()) {
-				treeParser.reset(reader, commit.getTree().getId());
+	private void collectChangedJavaFiles(final ObjectId baseTree,
+			final ObjectId headTree, final Collection<String> pathFilters,
+			final Set<String> changedFiles)
+			throws IOException, GitAPIException {
+		final Git git = new Git(repository);
+		final ObjectReader reader = repository.newObjectReader();
+		try {
+			// 准备树迭代器
+			final CanonicalTreeParser oldTree = new CanonicalTreeParser();
+			oldTree.reset(reader, baseTree);
+			final CanonicalTreeParser newTree = new CanonicalTreeParser();
+			newTree.reset(reader, headTree);
+
+			final DiffCommand diff = git.diff().setOldTree(oldTree)
+					.setNewTree(newTree).setShowNameAndStatusOnly(true);
+			// 仅比较模块的源码目录，避免在大型仓库中遍历整棵树
+			if (!pathFilters.isEmpty()) {
+				diff.setPathFilter(PathFilterGroup.createFromStrings(
+						pathFilters.toArray(new String[pathFilters.size()])));
+			}
+			final List<DiffEntry> diffs = diff.call();
+			// 注意：JGit默认会检测重命名，无需额外设置
+
+			// 过滤Java文件（新增和修改的文件）
+			for (final DiffEntry entry : diffs) {
+				final String path = getChangedPath(entry);
+				if (path != null && path.endsWith(".java")) {
+					// 只包含新增、修改和重命名的文件，排除删除的文件
+					final DiffEntry.ChangeType changeType = entry
+							.getChangeType();
+					if (changeType != DiffEntry.ChangeType.DELETE) {
+						changedFiles.add(path);
+						// 对于重命名，也添加旧路径（如果存在）
+						if (changeType == DiffEntry.ChangeType.RENAME
+								&& entry.getOldPath() != null
+								&& entry.getOldPath().endsWith(".java")) {
+							changedFiles.add(entry.getOldPath());
+						}
+					}
+				}
 			}
-			walk.dispose();
-			return treeParser;
+		} finally {
+			reader.close();
+			git.close();
 		}
 	}
 
@@ -31,6 +31,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32;
 import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
@@ -38,9 +40,12 @@ import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
 import org.jacoco.core.JaCoCo;
+import org.jacoco.core.data.ExecutionData;
 import org.jacoco.core.data.ExecutionDataStore;
 import org.jacoco.core.internal.Pack200Streams;
+import org.jacoco.core.internal.analysis.CounterImpl;
 import org.jacoco.core.internal.data.CRC64;
+import org.jacoco.core.test.InstrumentingLoader;
 import org.jacoco.core.test.TargetLoader;
 import org.jacoco.core.test.validation.JavaVersion;
 import org.junit.AssumptionViolatedException;
@@ -49,6 +54,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 
 /**
@@ -81,6 +88,148 @@ public class AnalyzerTest {
 		analyzer = new Analyzer(executionData, new EmptyStructureVisitor());
 	}
 
+	public static class OptimizedProbesTarget implements Runnable {
+
+		public void run() {
+			int x = nop(1);
+			if (x > 0) {
+				nop(2);
+			} else {
+				nop(3);
+			}
+			for (int i = 0; i < 3; i++) {
+				nop(i);
+			}
+		}
+
+		private static int nop(int i) {
+			return i;
+		}
+	}
+
+	@Test
+	public void analyzeClass_should_report_same_coverage_with_optimized_probes()
+			throws Exception {
+		final ExecutionDataStore regularData = execute(false);
+		final ExecutionDataStore optimizedData = execute(true);
+
+		final IClassCoverage regular = analyze(regularData, false);
+		final IClassCoverage optimized = analyze(optimizedData, true);
+
+		final long id = regular.getId();
+		assertTrue(optimizedData.get(id).getProbes().length < regularData
+				.get(id).getProbes().length);
+		for (final ICoverageNode.CounterEntity entity : ICoverageNode.CounterEntity
+				.values()) {
+			assertEquals(entity.name(), regular.getCounter(entity),
+					optimized.getCounter(entity));
+		}
+		assertEquals(1, optimized.getLineCounter().getMissedCount());
+		for (int i = regular.getFirstLine(); i <= regular.getLastLine(); i++) {
+			assertEquals(regular.getLine(i).getStatus(),
+					optimized.getLine(i).getStatus());
+		}
+	}
+
+	@Test
+	public void analyzeClass_should_throw_exception_when_probe_placement_does_not_match()
+			throws Exception {
+		final ExecutionDataStore optimizedData = execute(true);
+		try {
+			analyze(optimizedData, false);
+			fail("exception expected");
+		} catch (IOException e) {
+			assertTrue(e.getCause().getMessage(), e.getCause().getMessage()
+					.contains("different probe placement"));
+		}
+	}
+
+	@Test
+	public void analyzeClass_should_report_methods_with_method_probe_as_covered()
+			throws Exception {
+		final InstrumentingLoader loader = new InstrumentingLoader(
+				OptimizedProbesTarget.class);
+		loader.getInstrumenter().setMaxProbeBytes(50);
+		final ExecutionDataStore data = execute(loader);
+
+		final CoverageBuilder builder = new CoverageBuilder();
+		final Analyzer analyzer = new Analyzer(data, builder);
+		analyzer.setMaxProbeBytes(50);
+		analyzer.analyzeClass(
+				TargetLoader.getClassDataAsBytes(OptimizedProbesTarget.class),
+				"Target");
+		final IClassCoverage coverage = builder.getClasses().iterator().next();
+
+		assertEquals(0, coverage.getLineCounter().getMissedCount());
+		assertEquals(4, coverage.getBranchCounter().getMissedCount());
+		assertEquals(0, coverage.getBranchCounter().getCoveredCount());
+	}
+
+	@Test
+	public void analyzeClass_should_detect_methods_exceeding_max_method_size_with_probes()
+			throws IOException {
+		final byte[] bytes = createClassWithHugeMethod();
+		executionData.put(new ExecutionData(CRC64.classId(bytes), "Foo",
+				new boolean[] { true }));
+
+		analyzer.analyzeClass(bytes, "");
+
+		final IClassCoverage coverage = classes.get("Foo");
+		assertEquals(CounterImpl.getInstance(0, 6500 * 3 + 1),
+				coverage.getInstructionCounter());
+		assertEquals(CounterImpl.getInstance(6500 * 2, 0),
+				coverage.getBranchCounter());
+	}
+
+	/**
+	 * @return class with a method which exceeds the maximum method size of the
+	 *         JVM when instrumented with regular probes
+	 */
+	public static byte[] createClassWithHugeMethod() {
+		final ClassWriter cw = new ClassWriter(0);
+		cw.visit(Opcodes.V1_5, 0, "Foo", null, "java/lang/Object", null);
+		final MethodVisitor mv = cw.visitMethod(0, "foo", "()V", null, null);
+		mv.visitCode();
+		// Fits into the maximum method size only without probes:
+		for (int i = 0; i < 6500; i++) {
+			mv.visitInsn(Opcodes.ICONST_0);
+			final Label l = new Label();
+			mv.visitJumpInsn(Opcodes.IFEQ, l);
+			mv.visitInsn(Opcodes.NOP);
+			mv.visitLabel(l);
+		}
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(1, 1);
+		mv.visitEnd();
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	private ExecutionDataStore execute(final boolean optimizedProbes)
+			throws Exception {
+		return execute(new InstrumentingLoader(OptimizedProbesTarget.class,
+				optimizedProbes));
+	}
+
+	private ExecutionDataStore execute(final InstrumentingLoader loader)
+			throws Exception {
+		final Runnable target = (Runnable) loader
+				.loadClass(OptimizedProbesTarget.class.getName()).newInstance();
+		target.run();
+		return loader.collect();
+	}
+
+	private IClassCoverage analyze(final ExecutionDataStore data,
+			final boolean optimizedProbes) throws IOException {
+		final CoverageBuilder builder = new CoverageBuilder();
+		final Analyzer analyzer = new Analyzer(data, builder);
+		analyzer.setOptimizedProbes(optimizedProbes);
+		analyzer.analyzeClass(
+				TargetLoader.getClassDataAsBytes(OptimizedProbesTarget.class),
+				"Target");
+		return builder.getClasses().iterator().next();
+	}
+
 	@Test
 	public void should_ignore_module_info() throws Exception {
 		final ClassWriter cw = new ClassWriter(0);
@@ -477,6 +626,138 @@ public class AnalyzerTest {
 		}
 	}
 
+	@Test
+	public void testAnalyzeAll_ZipFile() throws IOException {
+		final ByteArrayOutputStream nested = new ByteArrayOutputStream();
+		final ZipOutputStream nestedZip = new ZipOutputStream(nested);
+		nestedZip.putNextEntry(
+				new ZipEntry("org/jacoco/core/analysis/Analyzer.class"));
+		nestedZip.write(TargetLoader.getClassDataAsBytes(Analyzer.class));
+		nestedZip.close();
+
+		final File file = new File(folder.getRoot(), "test.jar");
+		final ZipOutputStream zip = new ZipOutputStream(
+				new FileOutputStream(file));
+		zip.putNextEntry(
+				new ZipEntry("org/jacoco/core/analysis/AnalyzerTest.class"));
+		zip.write(TargetLoader.getClassDataAsBytes(AnalyzerTest.class));
+		putStoredEntry(zip, "lib/nested.jar", nested.toByteArray());
+		zip.close();
+
+		final int count = analyzer.analyzeAll(file);
+		assertEquals(2, count);
+		assertClasses("org/jacoco/core/analysis/Analyzer",
+				"org/jacoco/core/analysis/AnalyzerTest");
+	}
+
+	@Test
+	public void testAnalyzeAll_ZipFileWithLargeEntry() throws IOException {
+		final ByteArrayOutputStream nested = new ByteArrayOutputStream();
+		final ZipOutputStream nestedZip = new ZipOutputStream(nested);
+		final byte[] padding = new byte[2 * 1024 * 1024];
+		new Random(42).nextBytes(padding);
+		putStoredEntry(nestedZip, "padding.bin", padding);
+		nestedZip.putNextEntry(
+				new ZipEntry("org/jacoco/core/analysis/AnalyzerTest.class"));
+		nestedZip.write(TargetLoader.getClassDataAsBytes(AnalyzerTest.class));
+		nestedZip.close();
+
+		final File file = new File(folder.getRoot(), "test.jar");
+		final ZipOutputStream zip = new ZipOutputStream(
+				new FileOutputStream(file));
+		zip.putNextEntry(new ZipEntry("lib/nested.jar"));
+		zip.write(nested.toByteArray());
+		zip.close();
+
+		final int count = analyzer.analyzeAll(file);
+		assertEquals(1, count);
+		assertClasses("org/jacoco/core/analysis/AnalyzerTest");
+	}
+
+	@Test
+	public void testAnalyzeAll_ZipFileShouldOnlyInflateClassesAndArchives()
+			throws IOException {
+		final ByteArrayOutputStream nested = new ByteArrayOutputStream();
+		final ZipOutputStream nestedZip = new ZipOutputStream(nested);
+		nestedZip.putNextEntry(new ZipEntry("data.txt"));
+		for (int i = 0; i < 10000; i++) {
+			nestedZip.write(("line " + i + "\n").getBytes("UTF-8"));
+		}
+		nestedZip.close();
+		final byte[] bytes = nested.toByteArray();
+		// Corrupt the deflated data behind the beginning of the content
+		Arrays.fill(bytes, 200, 300, (byte) 0xff);
+
+		final File file = new File(folder.getRoot(), "test.jar");
+		final ZipOutputStream zip = new ZipOutputStream(
+				new FileOutputStream(file));
+		putStoredEntry(zip, "lib/nested.jar", bytes);
+		zip.close();
+
+		assertEquals(0, analyzer.analyzeAll(file));
+	}
+
+	@Test
+	public void testAnalyzeAll_BrokenClassFileInZipFile() throws IOException {
+		final File file = new File(folder.getRoot(), "test.jar");
+		final ZipOutputStream zip = new ZipOutputStream(
+				new FileOutputStream(file));
+		zip.putNextEntry(
+				new ZipEntry("org/jacoco/core/analysis/AnalyzerTest.class"));
+		final byte[] brokenclass = TargetLoader
+				.getClassDataAsBytes(AnalyzerTest.class);
+		brokenclass[10] = 0x23;
+		zip.write(brokenclass);
+		zip.close();
+
+		try {
+			analyzer.analyzeAll(file);
+			fail("expected exception");
+		} catch (IOException e) {
+			assertExceptionMessage(
+					file.getPath()
+							+ "@org/jacoco/core/analysis/AnalyzerTest.class",
+					e);
+		}
+	}
+
+	@Test
+	public void testAnalyzeAll_BrokenDeflatedEntryInZipFile()
+			throws IOException {
+		final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		final ZipOutputStream zip = new ZipOutputStream(buffer);
+		zip.putNextEntry(new ZipEntry("broken.class"));
+		zip.write(TargetLoader.getClassDataAsBytes(AnalyzerTest.class));
+		zip.close();
+		final byte[] bytes = buffer.toByteArray();
+		// Invalid block type in deflated data after the local header
+		bytes[30 + "broken.class".length()] = (byte) 0xff;
+		final File file = new File(folder.getRoot(), "test.jar");
+		final OutputStream out = new FileOutputStream(file);
+		out.write(bytes);
+		out.close();
+
+		try {
+			analyzer.analyzeAll(file);
+			fail("expected exception");
+		} catch (IOException e) {
+			assertExceptionMessage(file.getPath() + "@broken.class", e);
+		}
+	}
+
+	private static void putStoredEntry(final ZipOutputStream zip,
+			final String name, final byte[] content) throws IOException {
+		final ZipEntry entry = new ZipEntry(name);
+		entry.setMethod(ZipEntry.STORED);
+		entry.setSize(content.length);
+		final CRC32 crc = new CRC32();
+		crc.update(content);
+		entry.setCrc(crc.getValue());
+		zip.putNextEntry(entry);
+		zip.write(content);
+		zip.closeEntry();
+	}
+
 	private void createClassfile(final String dir, final Class<?> source)
 			throws IOException {
 		File file = new File(folder.getRoot(), dir);
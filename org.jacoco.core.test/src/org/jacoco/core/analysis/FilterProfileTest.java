@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link FilterProfile}.
+ */
+public class FilterProfileTest {
+
+	private FilterProfile profile;
+
+	@Before
+	public void setup() {
+		profile = new FilterProfile();
+	}
+
+	@Test
+	public void should_be_empty_initially() {
+		assertTrue(profile.getEntries().isEmpty());
+	}
+
+	@Test
+	public void should_sum_up_counters() {
+		profile.invoked("A", 10);
+		profile.invoked("A", 5);
+		profile.skipped("A");
+
+		final FilterProfile.Entry e = profile.getEntries().iterator().next();
+		assertEquals("A", e.getName());
+		assertEquals(2, e.getInvocations());
+		assertEquals(1, e.getSkips());
+		assertEquals(15, e.getTime());
+	}
+
+	@Test
+	public void should_order_entries_by_descending_time_and_name() {
+		profile.invoked("A", 10);
+		profile.invoked("B", 20);
+		profile.skipped("D");
+		profile.skipped("C");
+
+		final Iterator<FilterProfile.Entry> i = profile.getEntries().iterator();
+		assertEquals("B", i.next().getName());
+		assertEquals("A", i.next().getName());
+		assertEquals("C", i.next().getName());
+		assertEquals("D", i.next().getName());
+	}
+
+}
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.tools.SourceDiff;
+import org.junit.Before;
+import org.junit.Test;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Unit tests for {@link IncrementalAnalyzer}.
+ */
+public class IncrementalAnalyzerTest {
+
+	private SourceDiff diff;
+
+	private Map<String, IClassCoverage> classes;
+
+	private IncrementalAnalyzer analyzer;
+
+	@Before
+	public void setup() {
+		diff = new SourceDiff();
+		classes = new HashMap<String, IClassCoverage>();
+		analyzer = new IncrementalAnalyzer(new ExecutionDataStore(),
+				new ICoverageVisitor() {
+					public void visitCoverage(final IClassCoverage coverage) {
+						classes.put(coverage.getName(), coverage);
+					}
+				}, diff);
+	}
+
+	@Test
+	public void should_skip_classes_without_changes() throws Exception {
+		diff.addFile("src/main/java/org/example/Other.java");
+
+		analyzer.analyzeClass(createClass("org/example/Foo", "Foo.java"), "");
+
+		assertTrue(classes.isEmpty());
+	}
+
+	@Test
+	public void should_skip_classes_without_source_file() throws Exception {
+		diff.addFile("src/main/java/org/example/Foo.java");
+
+		analyzer.analyzeClass(createClass("org/example/Foo", null), "");
+
+		assertTrue(classes.isEmpty());
+	}
+
+	@Test
+	public void should_analyze_all_methods_of_changed_files() throws Exception {
+		diff.addFile("src/main/java/org/example/Foo.java");
+
+		analyzer.analyzeClass(createClass("org/example/Foo", "Foo.java"), "");
+		analyzer.analyzeClass(createClass("org/example/Foo$Inner", "Foo.java"),
+				"");
+
+		assertEquals(2, classes.size());
+		assertEquals(2, classes.get("org/example/Foo").getMethods().size());
+	}
+
+	@Test
+	public void should_only_report_methods_with_changed_lines()
+			throws Exception {
+		diff.addLines("module/src/main/java/org/example/Foo.java", 20, 21);
+
+		analyzer.analyzeClass(createClass("org/example/Foo", "Foo.java"), "");
+
+		final IClassCoverage c = classes.get("org/example/Foo");
+		assertEquals(1, c.getMethods().size());
+		assertEquals("b", c.getMethods().iterator().next().getName());
+		assertEquals(1, c.getMethodCounter().getTotalCount());
+		assertEquals("Foo.java", c.getSourceFileName());
+	}
+
+	@Test
+	public void should_skip_classes_without_changed_methods() throws Exception {
+		diff.addLines("org/example/Foo.java", 30, 30);
+
+		analyzer.analyzeClass(createClass("org/example/Foo", "Foo.java"), "");
+
+		assertTrue(classes.isEmpty());
+	}
+
+	private static byte[] createClass(final String name, final String source) {
+		final ClassWriter cw = new ClassWriter(0);
+		cw.visit(Opcodes.V1_5, 0, name, null, "java/lang/Object", null);
+		cw.visitSource(source, null);
+		createMethod(cw, "a", 10);
+		createMethod(cw, "b", 20);
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	private static void createMethod(final ClassWriter cw, final String name,
+			final int line) {
+		final MethodVisitor mv = cw.visitMethod(0, name, "()V", null, null);
+		mv.visitCode();
+		final Label label = new Label();
+		mv.visitLabel(label);
+		mv.visitLineNumber(line, label);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 1);
+		mv.visitEnd();
+	}
+
+}
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jacoco.core.data.ExecutionDataStore;
+import org.junit.Test;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Unit tests for {@link ShardAnalyzer}.
+ */
+public class ShardAnalyzerTest {
+
+	private static final String[] CLASSES = { "Foo", "org/Foo", "org/Bar",
+			"org/example/Foo", "org/example/Foo$Inner", "com/example/Bar",
+			"com/example/util/Baz", "net/Qux" };
+
+	@Test
+	public void should_analyze_every_class_in_exactly_one_shard()
+			throws IOException {
+		final int count = 3;
+		final Set<String> all = new HashSet<String>();
+		for (int index = 0; index < count; index++) {
+			final Set<String> shard = analyze(index, count);
+			for (final String name : shard) {
+				assertTrue(name, all.add(name));
+				final int pos = name.lastIndexOf('/');
+				final String pkg = pos == -1 ? "" : name.substring(0, pos);
+				assertEquals(index, ShardAnalyzer.getShard(pkg, count));
+			}
+		}
+		assertEquals(CLASSES.length, all.size());
+	}
+
+	@Test
+	public void should_analyze_all_classes_with_single_shard()
+			throws IOException {
+		assertEquals(CLASSES.length, analyze(0, 1).size());
+	}
+
+	@Test
+	public void should_keep_classes_of_a_package_together() {
+		for (int count = 1; count < 10; count++) {
+			final int shard = ShardAnalyzer.getShard("org/example", count);
+			assertTrue(shard >= 0 && shard < count);
+			assertEquals(shard, ShardAnalyzer.getShard("org/example", count));
+		}
+	}
+
+	@Test
+	public void should_report_malformed_class_files() {
+		final ShardAnalyzer analyzer = new ShardAnalyzer(
+				new ExecutionDataStore(), new CoverageBuilder(), 0, 2);
+		try {
+			analyzer.analyzeClass(new byte[] { 1, 2, 3 }, "Broken.class");
+			fail("IOException expected");
+		} catch (final IOException e) {
+			assertTrue(e.getMessage(), e.getMessage()
+					.startsWith("Error while analyzing Broken.class with"));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void should_reject_negative_index() {
+		new ShardAnalyzer(new ExecutionDataStore(), new CoverageBuilder(), -1,
+				2);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void should_reject_index_out_of_range() {
+		new ShardAnalyzer(new ExecutionDataStore(), new CoverageBuilder(), 2,
+				2);
+	}
+
+	private static Set<String> analyze(final int index, final int count)
+			throws IOException {
+		final Set<String> names = new HashSet<String>();
+		final ShardAnalyzer analyzer = new ShardAnalyzer(
+				new ExecutionDataStore(), new ICoverageVisitor() {
+					public void visitCoverage(final IClassCoverage coverage) {
+						names.add(coverage.getName());
+					}
+				}, index, count);
+		for (final String name : CLASSES) {
+			analyzer.analyzeClass(createClass(name), name);
+		}
+		return names;
+	}
+
+	private static byte[] createClass(final String name) {
+		final ClassWriter cw = new ClassWriter(0);
+		cw.visit(Opcodes.V1_5, 0, name, null, "java/lang/Object", null);
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+}
@@ -26,6 +26,8 @@ import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.zip.CRC32;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
@@ -35,6 +37,7 @@ import java.util.zip.ZipOutputStream;
 
 import org.jacoco.core.JaCoCo;
 import org.jacoco.core.analysis.AnalyzerTest;
+import org.jacoco.core.internal.InputStreams;
 import org.jacoco.core.internal.Pack200Streams;
 import org.jacoco.core.internal.data.CRC64;
 import org.jacoco.core.internal.instr.InstrSupport;
@@ -77,10 +80,13 @@ public class InstrumenterTest {
 
 		long classId;
 
+		int probeCount;
+
 		public int generateDataAccessor(final long classId,
 				final String classname, final int probeCount,
 				final MethodVisitor mv) {
 			this.classId = classId;
+			this.probeCount = probeCount;
 			InstrSupport.push(mv, probeCount);
 			mv.visitIntInsn(Opcodes.NEWARRAY, Opcodes.T_BOOLEAN);
 			return 1;
@@ -147,6 +153,25 @@ public class InstrumenterTest {
 	/**
 	 * Triggers exception in {@link Instrumenter#instrument(byte[], String)}.
 	 */
+	@Test
+	public void instrument_should_use_method_probe_when_method_exceeds_max_method_size()
+			throws IOException {
+		final StringBuilder log = new StringBuilder();
+		instrumenter.setMethodProbeListener(new IMethodProbeListener() {
+			public void methodProbe(String className, String methodName,
+					String methodDesc, int probeBytes) {
+				log.append(className).append('.').append(methodName)
+						.append(methodDesc).append(';');
+			}
+		});
+
+		instrumenter.instrument(AnalyzerTest.createClassWithHugeMethod(),
+				"Foo");
+
+		assertEquals("Foo.foo()V;", log.toString());
+		assertEquals(1, accessorGenerator.probeCount);
+	}
+
 	@Test
 	public void testInstrumentBrokenClass1() throws IOException {
 		final byte[] brokenclass = TargetLoader
@@ -282,6 +307,115 @@ public class InstrumenterTest {
 		assertNull(zipin.getNextEntry());
 	}
 
+	@Test
+	public void instrumentAll_should_create_identical_archive_when_executor_is_set()
+			throws IOException {
+		final byte[] classBytes = TargetLoader.getClassDataAsBytes(getClass());
+		final ByteArrayOutputStream nested = new ByteArrayOutputStream();
+		final ZipOutputStream nestedout = new ZipOutputStream(nested);
+		for (int i = 0; i < 10; i++) {
+			nestedout.putNextEntry(new ZipEntry("Nested" + i + ".class"));
+			nestedout.write(classBytes);
+		}
+		nestedout.finish();
+
+		final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		final ZipOutputStream zipout = new ZipOutputStream(buffer);
+		zipout.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+		zipout.write("Manifest-Version: 1.0\r\n".getBytes("UTF-8"));
+		zipout.putNextEntry(new ZipEntry("META-INF/TEST.SF"));
+		for (int i = 0; i < 150; i++) {
+			final ZipEntry entry = new ZipEntry("Test" + i + ".class");
+			if (i % 3 == 0) {
+				entry.setMethod(ZipEntry.STORED);
+				entry.setSize(classBytes.length);
+				final CRC32 crc = new CRC32();
+				crc.update(classBytes);
+				entry.setCrc(crc.getValue());
+			}
+			zipout.putNextEntry(entry);
+			zipout.write(classBytes);
+		}
+		zipout.putNextEntry(new ZipEntry("nested.jar"));
+		zipout.write(nested.toByteArray());
+		zipout.putNextEntry(new ZipEntry("readme.txt"));
+		zipout.write("Hello".getBytes("UTF-8"));
+		zipout.finish();
+
+		final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		final int expectedCount = instrumenter.instrumentAll(
+				new ByteArrayInputStream(buffer.toByteArray()), expected,
+				"Test");
+
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+		final int count;
+		try {
+			instrumenter.setExecutor(executor);
+			count = instrumenter.instrumentAll(
+					new ByteArrayInputStream(buffer.toByteArray()), actual,
+					"Test");
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(160, expectedCount);
+		assertEquals(expectedCount, count);
+		assertSameEntries(expected.toByteArray(), actual.toByteArray());
+	}
+
+	/**
+	 * Compares archives ignoring time stamps, which are set when entries are
+	 * written.
+	 */
+	private static void assertSameEntries(final byte[] expected,
+			final byte[] actual) throws IOException {
+		final ZipInputStream expectedin = new ZipInputStream(
+				new ByteArrayInputStream(expected));
+		final ZipInputStream actualin = new ZipInputStream(
+				new ByteArrayInputStream(actual));
+		ZipEntry entry;
+		while ((entry = expectedin.getNextEntry()) != null) {
+			final ZipEntry actualEntry = actualin.getNextEntry();
+			assertEquals(entry.getName(), actualEntry.getName());
+			assertEquals(entry.getMethod(), actualEntry.getMethod());
+			final byte[] expectedContent = InputStreams.readFully(expectedin);
+			final byte[] actualContent = InputStreams.readFully(actualin);
+			if (entry.getName().endsWith(".jar")) {
+				assertSameEntries(expectedContent, actualContent);
+			} else {
+				assertArrayEquals(entry.getName(), expectedContent,
+						actualContent);
+			}
+		}
+		assertNull(actualin.getNextEntry());
+	}
+
+	@Test
+	public void instrumentAll_should_report_broken_class_in_zip_when_executor_is_set()
+			throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		ZipOutputStream zipout = new ZipOutputStream(buffer);
+		zipout.putNextEntry(new ZipEntry("Test.class"));
+		final byte[] brokenclass = TargetLoader.getClassDataAsBytes(getClass());
+		brokenclass[10] = 0x23;
+		zipout.write(brokenclass);
+		zipout.finish();
+
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			instrumenter.setExecutor(executor);
+			instrumenter.instrumentAll(
+					new ByteArrayInputStream(buffer.toByteArray()),
+					new ByteArrayOutputStream(), "test.zip");
+			fail();
+		} catch (IOException e) {
+			assertExceptionMessage("test.zip@Test.class", e);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 	/**
 	 * Triggers exception in
 	 * {@link org.jacoco.core.internal.ContentTypeDetector#ContentTypeDetector(InputStream)}.
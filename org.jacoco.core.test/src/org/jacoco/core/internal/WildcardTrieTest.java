@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link WildcardTrie}.
+ */
+public class WildcardTrieTest {
+
+	private WildcardTrie<String> trie;
+
+	@Before
+	public void setup() {
+		trie = new WildcardTrie<String>();
+	}
+
+	@Test
+	public void isSupported_should_accept_literals_prefixes_and_suffixes() {
+		assertTrue(WildcardTrie.isSupported(""));
+		assertTrue(WildcardTrie.isSupported("foo"));
+		assertTrue(WildcardTrie.isSupported("foo*"));
+		assertTrue(WildcardTrie.isSupported("*foo"));
+		assertTrue(WildcardTrie.isSupported("*"));
+	}
+
+	@Test
+	public void isSupported_should_reject_other_expressions() {
+		assertFalse(WildcardTrie.isSupported("f?o"));
+		assertFalse(WildcardTrie.isSupported("f*o"));
+		assertFalse(WildcardTrie.isSupported("*foo*"));
+		assertFalse(WildcardTrie.isSupported("**"));
+	}
+
+	@Test
+	public void get_should_return_value_of_expression() {
+		trie.put("foo", "literal");
+		trie.put("foo*", "prefix");
+		trie.put("*foo", "suffix");
+
+		assertEquals("literal", trie.get("foo"));
+		assertEquals("prefix", trie.get("foo*"));
+		assertEquals("suffix", trie.get("*foo"));
+		assertNull(trie.get("fo"));
+		assertNull(trie.get("fo*"));
+		assertNull(trie.get("*oo"));
+	}
+
+	@Test
+	public void matches_should_match_literals() {
+		trie.put("foo", "a");
+
+		assertTrue(trie.matches("foo"));
+		assertFalse(trie.matches("fo"));
+		assertFalse(trie.matches("fooo"));
+		assertFalse(trie.matches(""));
+	}
+
+	@Test
+	public void matches_should_match_prefixes() {
+		trie.put("foo*", "a");
+
+		assertTrue(trie.matches("foo"));
+		assertTrue(trie.matches("foobar"));
+		assertFalse(trie.matches("fo"));
+	}
+
+	@Test
+	public void matches_should_match_suffixes() {
+		trie.put("*Test", "a");
+
+		assertTrue(trie.matches("Test"));
+		assertTrue(trie.matches("FooTest"));
+		assertFalse(trie.matches("TestFoo"));
+	}
+
+	@Test
+	public void matches_should_match_everything_with_single_wildcard() {
+		trie.put("*", "a");
+
+		assertTrue(trie.matches(""));
+		assertTrue(trie.matches("foo"));
+	}
+
+	@Test
+	public void collect_should_add_values_of_all_matching_expressions() {
+		trie.put("org/foo", "literal");
+		trie.put("org/*", "prefix1");
+		trie.put("org/foo*", "prefix2");
+		trie.put("*foo", "suffix");
+		trie.put("com/*", "other");
+
+		final List<String> values = new ArrayList<String>();
+		trie.collect("org/foo", values);
+		Collections.sort(values);
+
+		assertEquals(Arrays.asList("literal", "prefix1", "prefix2", "suffix"),
+				values);
+	}
+
+	@Test
+	public void collect_should_add_nothing_without_match() {
+		trie.put("org/*", "a");
+
+		final List<String> values = new ArrayList<String>();
+		trie.collect("com/foo", values);
+
+		assertEquals(Collections.emptyList(), values);
+	}
+
+}
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link ZipDirectory}.
+ */
+public class ZipDirectoryTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void read_should_return_entries() throws IOException {
+		final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		final ZipOutputStream zip = new ZipOutputStream(buffer);
+		zip.setComment("comment");
+		zip.putNextEntry(new ZipEntry("a.txt"));
+		zip.write("hello".getBytes("UTF-8"));
+		putStoredEntry(zip, "dir/ä.bin", new byte[] { 1, 2, 3 });
+		zip.close();
+
+		final List<ZipDirectory.Entry> entries = ZipDirectory
+				.read(ByteBuffer.wrap(buffer.toByteArray()));
+
+		assertEquals(2, entries.size());
+		assertEquals("a.txt", entries.get(0).getName());
+		assertEquals(ZipEntry.DEFLATED, entries.get(0).getMethod());
+		assertEquals(5, entries.get(0).getSize());
+		assertEquals("dir/ä.bin", entries.get(1).getName());
+		assertEquals(ZipEntry.STORED, entries.get(1).getMethod());
+		assertEquals(3, entries.get(1).getSize());
+		assertEquals(3, entries.get(1).getCompressedSize());
+		final byte[] content = new byte[3];
+		System.arraycopy(buffer.toByteArray(), entries.get(1).getOffset(),
+				content, 0, 3);
+		assertArrayEquals(new byte[] { 1, 2, 3 }, content);
+	}
+
+	@Test
+	public void read_should_use_offsets_relative_to_buffer_position()
+			throws IOException {
+		final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		buffer.write(new byte[] { 9, 9, 9 });
+		final ZipOutputStream zip = new ZipOutputStream(buffer);
+		putStoredEntry(zip, "a.bin", new byte[] { 1, 2, 3 });
+		zip.close();
+		final ByteBuffer archive = ByteBuffer.wrap(buffer.toByteArray());
+		archive.position(3);
+
+		final List<ZipDirectory.Entry> entries = ZipDirectory
+				.read(archive.slice());
+
+		assertEquals(1, entries.size());
+		assertEquals(1, archive.get(3 + entries.get(0).getOffset()));
+		assertEquals(3, archive.position());
+	}
+
+	@Test
+	public void read_should_return_entries_of_file() throws IOException {
+		final File file = folder.newFile("test.zip");
+		final FileOutputStream out = new FileOutputStream(file);
+		final ZipOutputStream zip = new ZipOutputStream(out);
+		zip.setComment("comment");
+		zip.putNextEntry(new ZipEntry("a.txt"));
+		zip.write("hello".getBytes("UTF-8"));
+		putStoredEntry(zip, "b.bin", new byte[] { 1, 2, 3 });
+		zip.close();
+
+		final RandomAccessFile in = new RandomAccessFile(file, "r");
+		try {
+			final List<ZipDirectory.Entry> entries = ZipDirectory
+					.read(in.getChannel());
+
+			assertEquals(2, entries.size());
+			assertEquals("a.txt", entries.get(0).getName());
+			assertEquals(ZipEntry.DEFLATED, entries.get(0).getMethod());
+			assertEquals("b.bin", entries.get(1).getName());
+			in.seek(entries.get(1).getOffset());
+			assertEquals(1, in.read());
+			assertEquals(2, in.read());
+			assertEquals(3, in.read());
+		} finally {
+			in.close();
+		}
+	}
+
+	@Test
+	public void read_should_return_null_for_non_zip_file() throws IOException {
+		final File file = folder.newFile("test.txt");
+		final FileOutputStream out = new FileOutputStream(file);
+		out.write(new byte[100]);
+		out.close();
+
+		final RandomAccessFile in = new RandomAccessFile(file, "r");
+		try {
+			assertNull(ZipDirectory.read(in.getChannel()));
+		} finally {
+			in.close();
+		}
+	}
+
+	@Test
+	public void read_should_return_empty_list_for_empty_archive()
+			throws IOException {
+		final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		new ZipOutputStream(buffer).close();
+
+		assertEquals(Collections.emptyList(),
+				ZipDirectory.read(ByteBuffer.wrap(buffer.toByteArray())));
+	}
+
+	@Test
+	public void read_should_return_null_for_non_zip_content() {
+		assertNull(ZipDirectory.read(ByteBuffer.wrap(new byte[0])));
+		assertNull(ZipDirectory.read(ByteBuffer.wrap(new byte[100])));
+	}
+
+	@Test
+	public void read_should_return_null_for_truncated_archive()
+			throws IOException {
+		final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		final ZipOutputStream zip = new ZipOutputStream(buffer);
+		zip.putNextEntry(new ZipEntry("a.txt"));
+		zip.write("hello".getBytes("UTF-8"));
+		zip.close();
+		final byte[] bytes = buffer.toByteArray();
+		final ByteBuffer truncated = ByteBuffer.wrap(bytes, 10,
+				bytes.length - 10);
+
+		assertNull(ZipDirectory.read(truncated.slice()));
+	}
+
+	@Test
+	public void read_should_return_null_for_unsupported_method()
+			throws IOException {
+		final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		final ZipOutputStream zip = new ZipOutputStream(buffer);
+		putStoredEntry(zip, "a.bin", new byte[] { 1, 2, 3 });
+		zip.close();
+		final byte[] bytes = buffer.toByteArray();
+		// compression method in the central directory header
+		final int central = bytes.length - 22 - 46 - "a.bin".length();
+		bytes[central + 10] = 12;
+
+		assertNull(ZipDirectory.read(ByteBuffer.wrap(bytes)));
+	}
+
+	private static void putStoredEntry(final ZipOutputStream zip,
+			final String name, final byte[] content) throws IOException {
+		final ZipEntry entry = new ZipEntry(name);
+		entry.setMethod(ZipEntry.STORED);
+		entry.setSize(content.length);
+		final CRC32 crc = new CRC32();
+		crc.update(content);
+		entry.setCrc(crc.getValue());
+		zip.putNextEntry(entry);
+		zip.write(content);
+		zip.closeEntry();
+	}
+
+}
@@ -55,6 +55,35 @@ public class ClassAnalyzerTest {
 				null, null);
 	}
 
+	@Test
+	public void should_accept_execution_data_with_matching_number_of_probes() {
+		analyzer = new ClassAnalyzer(coverage, new boolean[3],
+				new StringPool());
+		analyzer.visitTotalProbeCount(3);
+	}
+
+	@Test(expected = ProbeCountMismatchException.class)
+	public void should_throw_ProbeCountMismatchException_when_execution_data_has_less_probes() {
+		analyzer = new ClassAnalyzer(coverage, new boolean[2],
+				new StringPool());
+		analyzer.visitTotalProbeCount(3);
+	}
+
+	@Test
+	public void should_accept_execution_data_with_more_probes() {
+		analyzer = new ClassAnalyzer(coverage, new boolean[4],
+				new StringPool());
+		analyzer.visitTotalProbeCount(3);
+	}
+
+	@Test(expected = ProbeCountMismatchException.class)
+	public void should_throw_ProbeCountMismatchException_when_execution_data_has_more_probes_and_exact_count_is_required() {
+		analyzer = new ClassAnalyzer(coverage, new boolean[4],
+				new StringPool());
+		analyzer.setExactProbeCount(true);
+		analyzer.visitTotalProbeCount(3);
+	}
+
 	/**
 	 * @see #should_add_non_empty_methods()
 	 */
@@ -144,6 +144,31 @@ public class InstructionTest {
 				instruction.getInstructionCounter());
 	}
 
+	@Test
+	public void setExecuted_should_mark_instruction_but_no_branches_as_covered() {
+		instruction.addBranch(false, 0);
+		instruction.addBranch(false, 1);
+
+		instruction.setExecuted();
+
+		assertEquals(CounterImpl.COUNTER_0_1,
+				instruction.getInstructionCounter());
+		assertEquals(CounterImpl.getInstance(2, 0),
+				instruction.getBranchCounter());
+	}
+
+	@Test
+	public void merge_should_keep_executed_status() {
+		final Instruction i1 = new Instruction(124);
+		final Instruction i2 = new Instruction(124);
+		i2.setExecuted();
+
+		assertEquals(CounterImpl.COUNTER_0_1,
+				i1.merge(i2).getInstructionCounter());
+		assertEquals(CounterImpl.COUNTER_0_1,
+				i2.merge(i1).getInstructionCounter());
+	}
+
 	@Test
 	public void merge_should_calculate_superset_of_covered_branches() {
 		final Instruction i1 = new Instruction(124);
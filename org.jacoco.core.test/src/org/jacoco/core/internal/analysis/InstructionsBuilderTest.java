@@ -187,4 +187,41 @@ public class InstructionsBuilderTest {
 				map.get(i1).getInstructionCounter());
 	}
 
+	@Test
+	public void executed_method_probe_should_mark_all_instructions_but_no_branches_as_covered() {
+		builder.setMethodProbe(1);
+		InsnNode i1 = new InsnNode(Opcodes.NOP);
+		builder.addInstruction(i1);
+		Label l2 = new Label();
+		builder.addJump(l2, 1);
+		InsnNode i2 = new InsnNode(Opcodes.NOP);
+		builder.addInstruction(i2);
+		builder.noSuccessor();
+
+		builder.addLabel(l2);
+		InsnNode i3 = new InsnNode(Opcodes.RETURN);
+		builder.addInstruction(i3);
+
+		Map<AbstractInsnNode, Instruction> map = builder.getInstructions();
+		assertEquals(CounterImpl.COUNTER_0_1,
+				map.get(i1).getInstructionCounter());
+		assertEquals(CounterImpl.getInstance(2, 0),
+				map.get(i1).getBranchCounter());
+		assertEquals(CounterImpl.COUNTER_0_1,
+				map.get(i2).getInstructionCounter());
+		assertEquals(CounterImpl.COUNTER_0_1,
+				map.get(i3).getInstructionCounter());
+	}
+
+	@Test
+	public void not_executed_method_probe_should_not_mark_instructions_as_covered() {
+		builder.setMethodProbe(0);
+		InsnNode i1 = new InsnNode(Opcodes.RETURN);
+		builder.addInstruction(i1);
+
+		Map<AbstractInsnNode, Instruction> map = builder.getInstructions();
+		assertEquals(CounterImpl.COUNTER_1_0,
+				map.get(i1).getInstructionCounter());
+	}
+
 }
@@ -47,6 +47,8 @@ public class MethodAnalyzerTest implements IProbeIdGenerator {
 
 	private boolean[] probes;
 
+	private boolean optimizedProbes;
+
 	private MethodNode method;
 
 	private IMethodCoverage result;
@@ -57,6 +59,7 @@ public class MethodAnalyzerTest implements IProbeIdGenerator {
 		method = new MethodNode();
 		method.tryCatchBlocks = new ArrayList<TryCatchBlockNode>();
 		probes = new boolean[32];
+		optimizedProbes = false;
 	}
 
 	public int nextId() {
@@ -1035,6 +1038,98 @@ public class MethodAnalyzerTest implements IProbeIdGenerator {
 		assertLine(1003, 3, 0, 0, 0);
 	}
 
+	// === Scenario: optimized probes implied by jump targets ===
+
+	private void createImpliedProbes() {
+		final Label l0 = new Label();
+		method.visitLabel(l0);
+		method.visitLineNumber(1001, l0);
+		method.visitVarInsn(Opcodes.ILOAD, 1);
+		final Label l1 = new Label();
+		method.visitJumpInsn(Opcodes.IFEQ, l1);
+		method.visitVarInsn(Opcodes.ILOAD, 2);
+		method.visitJumpInsn(Opcodes.IFEQ, l1);
+		final Label l2 = new Label();
+		method.visitLabel(l2);
+		method.visitLineNumber(1002, l2);
+		final Label l3 = new Label();
+		method.visitJumpInsn(Opcodes.GOTO, l3);
+		method.visitLabel(l1);
+		method.visitLineNumber(1003, l1);
+		method.visitIincInsn(1, 1);
+		method.visitJumpInsn(Opcodes.GOTO, l3);
+		method.visitLabel(l3);
+		method.visitLineNumber(1004, l3);
+		method.visitInsn(Opcodes.RETURN);
+	}
+
+	@Test
+	public void implied_probes_should_create_5_probes_without_optimization() {
+		createImpliedProbes();
+		runMethodAnalzer();
+		assertEquals(5, nextProbeId);
+	}
+
+	@Test
+	public void implied_probes_should_create_3_probes_with_optimization() {
+		optimizedProbes = true;
+		createImpliedProbes();
+		runMethodAnalzer();
+		assertEquals(3, nextProbeId);
+	}
+
+	@Test
+	public void implied_probes_should_show_missed_when_no_probes_are_executed() {
+		optimizedProbes = true;
+		createImpliedProbes();
+		runMethodAnalzer();
+
+		assertLine(1001, 4, 0, 4, 0);
+		assertLine(1002, 1, 0, 0, 0);
+		assertLine(1003, 2, 0, 0, 0);
+		assertLine(1004, 1, 0, 0, 0);
+	}
+
+	@Test
+	public void implied_probes_should_show_covered_when_jump_target_is_reached() {
+		optimizedProbes = true;
+		createImpliedProbes();
+		probes[0] = true;
+		runMethodAnalzer();
+
+		assertLine(1001, 2, 2, 3, 1);
+		assertLine(1002, 1, 0, 0, 0);
+		assertLine(1003, 0, 2, 0, 0);
+		assertLine(1004, 0, 1, 0, 0);
+	}
+
+	@Test
+	public void implied_probes_should_show_same_coverage_as_regular_probes() {
+		createImpliedProbes();
+		probes[0] = true;
+		probes[3] = true;
+		probes[4] = true;
+		runMethodAnalzer();
+
+		assertLine(1001, 2, 2, 3, 1);
+		assertLine(1002, 1, 0, 0, 0);
+		assertLine(1003, 0, 2, 0, 0);
+		assertLine(1004, 0, 1, 0, 0);
+	}
+
+	@Test
+	public void implied_probes_should_show_covered_when_other_jump_is_executed() {
+		optimizedProbes = true;
+		createImpliedProbes();
+		probes[2] = true;
+		runMethodAnalzer();
+
+		assertLine(1001, 0, 4, 2, 2);
+		assertLine(1002, 0, 1, 0, 0);
+		assertLine(1003, 2, 0, 0, 0);
+		assertLine(1004, 0, 1, 0, 0);
+	}
+
 	private void runMethodAnalzer() {
 		runMethodAnalzer(Filters.NONE);
 	}
@@ -1045,7 +1140,7 @@ public class MethodAnalyzerTest implements IProbeIdGenerator {
 		final MethodAnalyzer analyzer = new MethodAnalyzer(builder);
 
 		final MethodProbesAdapter probesAdapter = new MethodProbesAdapter(
-				analyzer, this);
+				analyzer, this, false, optimizedProbes);
 		// note that CheckMethodAdapter verifies that this test does not violate
 		// contracts of ASM API
 		analyzer.accept(method, new CheckMethodAdapter(probesAdapter));
@@ -224,6 +224,72 @@ public class SourceNodeImplTest {
 		assertEquals(CounterImpl.getInstance(0, 1), node.getLineCounter());
 	}
 
+	@Test
+	public void testIncrementLineOverflow() {
+		final SourceNodeImpl node = new SourceNodeImpl(ElementType.CLASS,
+				"Foo");
+		node.increment(CounterImpl.getInstance(15, 15),
+				CounterImpl.getInstance(15, 15), 10);
+		node.increment(CounterImpl.getInstance(300, 2),
+				CounterImpl.getInstance(0, 16), 12);
+		node.increment(CounterImpl.getInstance(1, 0), CounterImpl.COUNTER_0_0,
+				11);
+		node.increment(CounterImpl.getInstance(0, 20), CounterImpl.COUNTER_0_0,
+				11);
+		node.increment(CounterImpl.getInstance(15, 14), CounterImpl.COUNTER_0_0,
+				5);
+
+		assertLine(node, 5, 15, 14, 0, 0);
+		assertLine(node, 10, 15, 15, 15, 15);
+		assertLine(node, 11, 1, 20, 0, 0);
+		assertLine(node, 12, 300, 2, 0, 16);
+		assertEquals(CounterImpl.getInstance(0, 4), node.getLineCounter());
+	}
+
+	@Test
+	public void testIncrementChildShared() {
+		final SourceNodeImpl child = new SourceNodeImpl(ElementType.METHOD,
+				"foo");
+		child.increment(CounterImpl.getInstance(1, 0), CounterImpl.COUNTER_0_0,
+				1);
+		child.increment(CounterImpl.getInstance(0, 42), CounterImpl.COUNTER_0_0,
+				3);
+		final SourceNodeImpl node = new SourceNodeImpl(ElementType.CLASS,
+				"Foo");
+		node.increment(child);
+
+		node.increment(CounterImpl.getInstance(0, 1), CounterImpl.COUNTER_0_0,
+				3);
+		child.increment(CounterImpl.getInstance(0, 1), CounterImpl.COUNTER_0_0,
+				1);
+
+		assertLine(child, 1, 1, 1, 0, 0);
+		assertLine(child, 3, 0, 42, 0, 0);
+		assertEquals(CounterImpl.getInstance(0, 2), child.getLineCounter());
+		assertLine(node, 1, 1, 0, 0, 0);
+		assertLine(node, 3, 0, 43, 0, 0);
+		assertEquals(CounterImpl.getInstance(1, 1), node.getLineCounter());
+	}
+
+	@Test
+	public void testIncrementChildOverflow() {
+		final SourceNodeImpl child = new SourceNodeImpl(ElementType.METHOD,
+				"foo");
+		child.increment(CounterImpl.getInstance(10, 0), CounterImpl.COUNTER_0_0,
+				5);
+		child.increment(CounterImpl.getInstance(20, 0),
+				CounterImpl.getInstance(2, 0), 7);
+		final SourceNodeImpl node = new SourceNodeImpl(ElementType.CLASS,
+				"Foo");
+		node.increment(CounterImpl.getInstance(0, 10), CounterImpl.COUNTER_0_0,
+				5);
+		node.increment(child);
+
+		assertLine(node, 5, 10, 10, 0, 0);
+		assertLine(node, 7, 20, 0, 2, 0);
+		assertEquals(CounterImpl.getInstance(1, 1), node.getLineCounter());
+	}
+
 	/**
 	 * {@link SourceNodeImpl#applyFragment(SourceNodeImpl)}
 	 */
@@ -249,4 +315,29 @@ public class SourceNodeImplTest {
 		assertEquals(CounterImpl.COUNTER_0_0, line.getBranchCounter());
 	}
 
+	@Test
+	public void testApplyFragmentOverflow() {
+		final SourceNodeImpl node = new SourceNodeImpl(ElementType.CLASS,
+				"Foo");
+		node.increment(CounterImpl.getInstance(100, 0),
+				CounterImpl.getInstance(20, 0), 42);
+		final SourceNodeImpl fragment = new SourceNodeImpl(null, "fragment");
+		fragment.increment(CounterImpl.COUNTER_0_1, CounterImpl.COUNTER_0_0,
+				42);
+
+		assertTrue(node.applyFragment(fragment));
+
+		assertLine(node, 42, 0, 1, 0, 0);
+		assertEquals(CounterImpl.COUNTER_0_1, node.getInstructionCounter());
+		assertEquals(CounterImpl.COUNTER_0_0, node.getBranchCounter());
+	}
+
+	private static void assertLine(final SourceNodeImpl node, final int nr,
+			final int im, final int ic, final int bm, final int bc) {
+		final LineImpl line = node.getLine(nr);
+		assertEquals(CounterImpl.getInstance(im, ic),
+				line.getInstructionCounter());
+		assertEquals(CounterImpl.getInstance(bm, bc), line.getBranchCounter());
+	}
+
 }
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.internal.analysis.filter;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.jacoco.core.analysis.FilterProfile;
+import org.junit.Test;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.MethodNode;
+
+/**
+ * Unit tests for {@link FilterSet}.
+ */
+public class FilterSetTest extends FilterTestBase {
+
+	private final List<String> invoked = new ArrayList<String>();
+
+	private class RecordingFilter implements IFilter {
+
+		private final String name;
+
+		RecordingFilter(final String name) {
+			this.name = name;
+		}
+
+		public void filter(final MethodNode methodNode,
+				final IFilterContext context, final IFilterOutput output) {
+			invoked.add(name);
+		}
+	}
+
+	private class SwitchFilter extends RecordingFilter
+			implements IOpcodeFilter {
+
+		SwitchFilter() {
+			super("switch");
+		}
+
+		public int[] getOpcodes() {
+			return new int[] { Opcodes.TABLESWITCH, Opcodes.LOOKUPSWITCH };
+		}
+	}
+
+	@Test
+	public void should_invoke_all_filters_in_order() {
+		final MethodNode m = new MethodNode(0, "m", "()V", null, null);
+		m.visitInsn(Opcodes.RETURN);
+
+		new FilterSet(new RecordingFilter("a"), new RecordingFilter("b"))
+				.filter(m, context, output);
+
+		assertEquals("[a, b]", invoked.toString());
+	}
+
+	@Test
+	public void should_skip_opcode_filters_for_methods_without_opcode() {
+		final MethodNode m = new MethodNode(0, "m", "()V", null, null);
+		m.visitInsn(Opcodes.RETURN);
+
+		new FilterSet(new RecordingFilter("a"), new SwitchFilter()).filter(m,
+				context, output);
+
+		assertEquals("[a]", invoked.toString());
+	}
+
+	@Test
+	public void should_invoke_opcode_filters_for_methods_with_opcode() {
+		final MethodNode m = new MethodNode(0, "m", "()V", null, null);
+		final Label label = new Label();
+		m.visitVarInsn(Opcodes.ILOAD, 1);
+		m.visitLookupSwitchInsn(label, new int[0], new Label[0]);
+		m.visitLabel(label);
+		m.visitInsn(Opcodes.RETURN);
+
+		new FilterSet(new RecordingFilter("a"), new SwitchFilter()).filter(m,
+				context, output);
+
+		assertEquals("[a, switch]", invoked.toString());
+	}
+
+	@Test
+	public void should_record_profile() {
+		final MethodNode m = new MethodNode(0, "m", "()V", null, null);
+		m.visitInsn(Opcodes.RETURN);
+		final FilterProfile profile = new FilterProfile();
+		final FilterSet filter = new FilterSet(profile,
+				new RecordingFilter("a"), new SwitchFilter());
+
+		filter.filter(m, context, output);
+		filter.filter(m, context, output);
+
+		final Iterator<FilterProfile.Entry> entries = profile.getEntries()
+				.iterator();
+		final FilterProfile.Entry e1 = entries.next();
+		final FilterProfile.Entry e2 = entries.next();
+		assertEquals("RecordingFilter", e1.getName());
+		assertEquals(2, e1.getInvocations());
+		assertEquals(0, e1.getSkips());
+		assertEquals("SwitchFilter", e2.getName());
+		assertEquals(0, e2.getInvocations());
+		assertEquals(2, e2.getSkips());
+		assertEquals(0, e2.getTime());
+	}
+
+}
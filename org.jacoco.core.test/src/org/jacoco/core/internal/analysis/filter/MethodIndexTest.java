@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.internal.analysis.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+
+/**
+ * Unit tests for {@link MethodIndex}.
+ */
+public class MethodIndexTest {
+
+	private MethodNode m;
+
+	private MethodIndex index;
+
+	@Before
+	public void setup() {
+		m = new MethodNode(0, "m", "()V", null, null);
+		index = new MethodIndex(m);
+	}
+
+	@Test
+	public void containsAny_should_check_opcodes() {
+		m.visitInsn(Opcodes.NOP);
+		m.visitInsn(Opcodes.RETURN);
+
+		assertTrue(index.containsAny(new int[] { Opcodes.RETURN }));
+		assertTrue(
+				index.containsAny(new int[] { Opcodes.ATHROW, Opcodes.NOP }));
+		assertFalse(index.containsAny(new int[] { Opcodes.ATHROW }));
+		assertFalse(index.containsAny(new int[] { Opcodes.IFNULL }));
+	}
+
+	@Test
+	public void getInstructions_should_return_instructions_in_order() {
+		final Label label = new Label();
+		m.visitInsn(Opcodes.ACONST_NULL);
+		m.visitJumpInsn(Opcodes.IFNULL, label);
+		m.visitInsn(Opcodes.ACONST_NULL);
+		m.visitJumpInsn(Opcodes.IFNONNULL, label);
+		m.visitInsn(Opcodes.ACONST_NULL);
+		m.visitJumpInsn(Opcodes.IFNULL, label);
+		m.visitLabel(label);
+		m.visitInsn(Opcodes.RETURN);
+
+		assertEquals(Arrays.asList(get(1), get(5)),
+				index.getInstructions(Opcodes.IFNULL));
+		assertEquals(Arrays.asList(get(1), get(3), get(5)),
+				index.getInstructions(Opcodes.IFNONNULL, Opcodes.IFNULL));
+		assertEquals(Collections.emptyList(),
+				index.getInstructions(Opcodes.ATHROW));
+	}
+
+	@Test
+	public void getTryCatchBlocks_should_return_blocks_by_handler() {
+		final Label l0 = new Label();
+		final Label l1 = new Label();
+		final Label h1 = new Label();
+		final Label h2 = new Label();
+		m.visitTryCatchBlock(l0, l1, h1, null);
+		m.visitTryCatchBlock(l0, l1, h2, "java/lang/Exception");
+		m.visitTryCatchBlock(l1, h1, h1, null);
+		m.visitLabel(l0);
+		m.visitInsn(Opcodes.NOP);
+		m.visitLabel(l1);
+		m.visitInsn(Opcodes.NOP);
+		m.visitLabel(h1);
+		m.visitInsn(Opcodes.ATHROW);
+		m.visitLabel(h2);
+		m.visitInsn(Opcodes.ATHROW);
+
+		assertEquals(
+				Arrays.asList(m.tryCatchBlocks.get(0), m.tryCatchBlocks.get(2)),
+				index.getTryCatchBlocks(m.tryCatchBlocks.get(0).handler));
+		assertEquals(Arrays.asList(m.tryCatchBlocks.get(1)),
+				index.getTryCatchBlocks(m.tryCatchBlocks.get(1).handler));
+		assertEquals(Collections.emptyList(),
+				index.getTryCatchBlocks(m.tryCatchBlocks.get(0).start));
+	}
+
+	@Test
+	public void getLine_should_return_line_of_preceding_line_number() {
+		final Label l1 = new Label();
+		final Label l2 = new Label();
+		m.visitInsn(Opcodes.NOP);
+		m.visitLabel(l1);
+		m.visitLineNumber(42, l1);
+		m.visitInsn(Opcodes.NOP);
+		m.visitLabel(l2);
+		m.visitLineNumber(43, l2);
+		m.visitInsn(Opcodes.RETURN);
+
+		assertEquals(-1, index.getLine(get(0)));
+		assertEquals(42, index.getLine(get(3)));
+		assertEquals(43, index.getLine(get(6)));
+	}
+
+	private AbstractInsnNode get(final int i) {
+		return m.instructions.get(i);
+	}
+
+}
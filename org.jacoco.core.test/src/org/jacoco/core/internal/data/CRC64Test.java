@@ -15,6 +15,7 @@ package org.jacoco.core.internal.data;
 import static org.junit.Assert.assertEquals;
 
 import java.io.UnsupportedEncodingException;
+import java.util.Random;
 
 import org.jacoco.core.data.ExecutionDataWriter;
 import org.junit.Test;
@@ -95,4 +96,30 @@ public class CRC64Test {
 		assertEquals(0xD8016B38AAD48308L, sum);
 	}
 
+	@Test
+	public void classId_should_calculate_same_checksum_for_all_lengths() {
+		final byte[] bytes = new byte[100];
+		new Random(42).nextBytes(bytes);
+		for (int length = 0; length <= bytes.length; length++) {
+			final byte[] copy = new byte[length];
+			System.arraycopy(bytes, 0, copy, 0, length);
+			assertEquals(reference(copy), CRC64.classId(copy));
+		}
+	}
+
+	/**
+	 * Straightforward implementation which processes one byte at a time.
+	 */
+	private static long reference(final byte[] bytes) {
+		long sum = 0;
+		for (final byte b : bytes) {
+			long v = (sum ^ b) & 0xff;
+			for (int j = 0; j < 8; j++) {
+				v = (v & 1) == 1 ? (v >>> 1) ^ 0xd800000000000000L : v >>> 1;
+			}
+			sum = (sum >>> 8) ^ v;
+		}
+		return sum;
+	}
+
 }
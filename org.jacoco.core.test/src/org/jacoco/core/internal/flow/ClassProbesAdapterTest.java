@@ -16,6 +16,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Collections;
+
+import org.jacoco.core.instr.IMethodProbeListener;
 import org.junit.Test;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.Label;
@@ -31,6 +34,15 @@ public class ClassProbesAdapterTest {
 
 		boolean frame = false;
 
+		int frameType = -2;
+
+		int methodProbe = -1;
+
+		@Override
+		public void visitMethodProbe(int probeId) {
+			methodProbe = probeId;
+		}
+
 		@Override
 		public void visitJumpInsnWithProbe(int opcode, Label label, int probeId,
 				IFrame frame) {
@@ -53,6 +65,7 @@ public class ClassProbesAdapterTest {
 		public void visitFrame(int type, int nLocal, Object[] local, int nStack,
 				Object[] stack) {
 			frame = true;
+			frameType = type;
 		}
 	}
 
@@ -147,6 +160,136 @@ public class ClassProbesAdapterTest {
 		assertFalse(mv.frame);
 	}
 
+	@Test
+	public void testVisitWithFramesExpandsFramesOfMethodsWithBranchProbes() {
+		final MockMethodVisitor mv = new MockMethodVisitor();
+		final MockClassVisitor cv = new MockClassVisitor() {
+			@Override
+			public MethodProbesVisitor visitMethod(int access, String name,
+					String desc, String signature, String[] exceptions) {
+				return mv;
+			}
+		};
+		final ClassProbesAdapter adapter = new ClassProbesAdapter(cv, true);
+		adapter.visit(Opcodes.V1_8, 0, "Foo", null, "java/lang/Object", null);
+		writeMethodWithBranchAndFrame(adapter);
+		assertEquals(Opcodes.F_NEW, mv.frameType);
+	}
+
+	@Test
+	public void testVisitWithFramesKeepsCompressedFramesOfMethodsWithoutBranchProbes() {
+		final MockMethodVisitor mv = new MockMethodVisitor();
+		final MockClassVisitor cv = new MockClassVisitor() {
+			@Override
+			public MethodProbesVisitor visitMethod(int access, String name,
+					String desc, String signature, String[] exceptions) {
+				return mv;
+			}
+		};
+		final ClassProbesAdapter adapter = new ClassProbesAdapter(cv, true);
+		adapter.visit(Opcodes.V1_8, 0, "Foo", null, "java/lang/Object", null);
+		writeMethodWithFrames(adapter);
+		assertEquals(Opcodes.F_SAME, mv.frameType);
+	}
+
+	@Test
+	public void should_use_method_probe_when_probes_exceed_max_probe_bytes() {
+		final MockMethodVisitor mv = new MockMethodVisitor();
+		final MockClassVisitor cv = new MockClassVisitor() {
+			@Override
+			public MethodProbesVisitor visitMethod(int access, String name,
+					String desc, String signature, String[] exceptions) {
+				return mv;
+			}
+		};
+		final ClassProbesAdapter adapter = new ClassProbesAdapter(cv, true,
+				false, 50);
+		final StringBuilder log = new StringBuilder();
+		adapter.setMethodProbeListener(new IMethodProbeListener() {
+			public void methodProbe(String className, String methodName,
+					String methodDesc, int probeBytes) {
+				log.append(className).append('.').append(methodName)
+						.append(methodDesc);
+			}
+		});
+		adapter.visit(Opcodes.V1_8, 0, "Foo", null, "java/lang/Object", null);
+		writeMethodWithBranchAndFrame(adapter);
+		adapter.visitEnd();
+
+		assertEquals(0, mv.methodProbe);
+		assertEquals(1, cv.count);
+		assertEquals(Opcodes.F_FULL, mv.frameType);
+		assertEquals("Foo.foo()V", log.toString());
+	}
+
+	@Test
+	public void should_not_use_method_probe_when_probes_are_within_max_probe_bytes() {
+		final MockMethodVisitor mv = new MockMethodVisitor();
+		final MockClassVisitor cv = new MockClassVisitor() {
+			@Override
+			public MethodProbesVisitor visitMethod(int access, String name,
+					String desc, String signature, String[] exceptions) {
+				return mv;
+			}
+		};
+		final ClassProbesAdapter adapter = new ClassProbesAdapter(cv, false,
+				false, 100);
+		writeMethodWithBranch(adapter);
+		adapter.visitEnd();
+
+		assertEquals(-1, mv.methodProbe);
+		assertEquals(3, cv.count);
+	}
+
+	@Test
+	public void should_not_use_method_probe_for_large_method_without_limit() {
+		final MockMethodVisitor mv = new MockMethodVisitor();
+		final MockClassVisitor cv = new MockClassVisitor() {
+			@Override
+			public MethodProbesVisitor visitMethod(int access, String name,
+					String desc, String signature, String[] exceptions) {
+				return mv;
+			}
+		};
+		final ClassProbesAdapter adapter = new ClassProbesAdapter(cv, false);
+		final MethodVisitor m = adapter.visitMethod(0, "foo", "()V", null,
+				null);
+		m.visitCode();
+		for (int i = 0; i < 6500; i++) {
+			m.visitInsn(Opcodes.ICONST_0);
+			final Label l = new Label();
+			m.visitJumpInsn(Opcodes.IFEQ, l);
+			m.visitInsn(Opcodes.NOP);
+			m.visitLabel(l);
+		}
+		m.visitInsn(Opcodes.RETURN);
+		m.visitMaxs(1, 1);
+		m.visitEnd();
+		adapter.visitEnd();
+
+		assertEquals(-1, mv.methodProbe);
+		assertTrue(cv.count > 6500);
+	}
+
+	@Test
+	public void should_use_method_probe_for_given_methods() {
+		final MockMethodVisitor mv = new MockMethodVisitor();
+		final MockClassVisitor cv = new MockClassVisitor() {
+			@Override
+			public MethodProbesVisitor visitMethod(int access, String name,
+					String desc, String signature, String[] exceptions) {
+				return mv;
+			}
+		};
+		final ClassProbesAdapter adapter = new ClassProbesAdapter(cv, false);
+		adapter.setMethodProbes(Collections.singleton("foo()V"));
+		writeMethodWithBranch(adapter);
+		adapter.visitEnd();
+
+		assertEquals(0, mv.methodProbe);
+		assertEquals(1, cv.count);
+	}
+
 	private void writeMethod(final ClassVisitor cv) {
 		MethodVisitor mv = cv.visitMethod(0, "foo", "()V", null, null);
 		mv.visitCode();
@@ -168,6 +311,37 @@ public class ClassProbesAdapterTest {
 		mv.visitEnd();
 	}
 
+	private void writeMethodWithBranchAndFrame(final ClassVisitor cv) {
+		MethodVisitor mv = cv.visitMethod(0, "foo", "()V", null, null);
+		mv.visitCode();
+		mv.visitInsn(Opcodes.ICONST_0);
+		Label l = new Label();
+		mv.visitJumpInsn(Opcodes.IFEQ, l);
+		mv.visitInsn(Opcodes.NOP);
+		mv.visitLabel(l);
+		mv.visitFrame(Opcodes.F_SAME, 0, null, 0, null);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(1, 1);
+		mv.visitEnd();
+	}
+
+	private void writeMethodWithFrames(final ClassVisitor cv) {
+		MethodVisitor mv = cv.visitMethod(0, "foo", "()V", null, null);
+		mv.visitCode();
+		Label l1 = new Label();
+		mv.visitJumpInsn(Opcodes.GOTO, l1);
+		mv.visitLabel(l1);
+		mv.visitFrame(Opcodes.F_SAME, 0, null, 0, null);
+		mv.visitInsn(Opcodes.NOP);
+		Label l2 = new Label();
+		mv.visitJumpInsn(Opcodes.GOTO, l2);
+		mv.visitLabel(l2);
+		mv.visitFrame(Opcodes.F_SAME, 0, null, 0, null);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(1, 1);
+		mv.visitEnd();
+	}
+
 	private void writeMethodWithTableSwitch(final ClassVisitor cv) {
 		MethodVisitor mv = cv.visitMethod(0, "foo", "()V", null, null);
 		mv.visitCode();
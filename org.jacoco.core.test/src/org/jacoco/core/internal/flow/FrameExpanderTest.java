@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.internal.flow;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.FrameNode;
+import org.objectweb.asm.tree.MethodNode;
+
+/**
+ * Unit tests for {@link FrameExpander}.
+ */
+public class FrameExpanderTest {
+
+	private MethodNode method;
+
+	@Before
+	public void setup() {
+		method = new MethodNode(0, "doit", "(JZ[ILjava/lang/String;)V", null,
+				null);
+	}
+
+	@Test
+	public void expandAll_should_expand_compressed_frames() {
+		frame(Opcodes.F_SAME, 0, null, 0, null);
+		frame(Opcodes.F_APPEND, 2, arr(Opcodes.INTEGER, "Bar"), 0, null);
+		frame(Opcodes.F_SAME1, 0, null, 1, arr(Opcodes.FLOAT));
+		frame(Opcodes.F_CHOP, 1, null, 0, null);
+		frame(Opcodes.F_FULL, 1, arr("Foo"), 1, arr(Opcodes.LONG));
+		frame(Opcodes.F_APPEND, 1, arr(Opcodes.DOUBLE), 0, null);
+
+		FrameExpander.expandAll("Foo", method);
+
+		assertFrame(0, Opcodes.F_NEW, list("Foo", Opcodes.LONG, Opcodes.INTEGER,
+				"[I", "java/lang/String"), list());
+		assertFrame(
+				1, Opcodes.F_NEW, list("Foo", Opcodes.LONG, Opcodes.INTEGER,
+						"[I", "java/lang/String", Opcodes.INTEGER, "Bar"),
+				list());
+		assertFrame(2, Opcodes.F_NEW,
+				list("Foo", Opcodes.LONG, Opcodes.INTEGER, "[I",
+						"java/lang/String", Opcodes.INTEGER, "Bar"),
+				list(Opcodes.FLOAT));
+		assertFrame(3, Opcodes.F_NEW, list("Foo", Opcodes.LONG, Opcodes.INTEGER,
+				"[I", "java/lang/String", Opcodes.INTEGER), list());
+		assertFrame(4, Opcodes.F_NEW, list("Foo"), list(Opcodes.LONG));
+		assertFrame(5, Opcodes.F_NEW, list("Foo", Opcodes.DOUBLE), list());
+	}
+
+	@Test
+	public void expandAll_should_use_uninitialized_this_in_constructors() {
+		method = new MethodNode(0, "<init>", "(I)V", null, null);
+		frame(Opcodes.F_SAME, 0, null, 0, null);
+
+		FrameExpander.expandAll("Foo", method);
+
+		assertFrame(0, Opcodes.F_NEW,
+				list(Opcodes.UNINITIALIZED_THIS, Opcodes.INTEGER), list());
+	}
+
+	@Test
+	public void expandAll_should_not_add_this_in_static_methods() {
+		method = new MethodNode(Opcodes.ACC_STATIC, "doit", "(FD)V", null,
+				null);
+		frame(Opcodes.F_SAME, 0, null, 0, null);
+
+		FrameExpander.expandAll("Foo", method);
+
+		assertFrame(0, Opcodes.F_NEW, list(Opcodes.FLOAT, Opcodes.DOUBLE),
+				list());
+	}
+
+	@Test
+	public void expandAll_should_not_modify_expanded_frames() {
+		frame(Opcodes.F_NEW, 1, arr("Foo"), 0, arr());
+		frame(Opcodes.F_NEW, 0, arr(), 0, arr());
+
+		FrameExpander.expandAll("Foo", method);
+
+		assertFrame(0, Opcodes.F_NEW, list("Foo"), list());
+		assertFrame(1, Opcodes.F_NEW, list(), list());
+	}
+
+	@Test
+	public void expandFirst_should_only_convert_first_frame_to_full_frame() {
+		frame(Opcodes.F_APPEND, 1, arr(Opcodes.INTEGER), 0, null);
+		frame(Opcodes.F_SAME, 0, null, 0, null);
+
+		FrameExpander.expandFirst("Foo", method);
+
+		assertFrame(0, Opcodes.F_FULL, list("Foo", Opcodes.LONG,
+				Opcodes.INTEGER, "[I", "java/lang/String", Opcodes.INTEGER),
+				list());
+		assertEquals(Opcodes.F_SAME, getFrame(1).type);
+	}
+
+	private void frame(final int type, final int nLocal, final Object[] local,
+			final int nStack, final Object[] stack) {
+		method.visitInsn(Opcodes.NOP);
+		method.visitLabel(new Label());
+		method.visitFrame(type, nLocal, local, nStack, stack);
+	}
+
+	private FrameNode getFrame(final int index) {
+		int i = 0;
+		for (int j = 0; j < method.instructions.size(); j++) {
+			if (method.instructions.get(j) instanceof FrameNode
+					&& i++ == index) {
+				return (FrameNode) method.instructions.get(j);
+			}
+		}
+		throw new AssertionError("No frame " + index);
+	}
+
+	private void assertFrame(final int index, final int type,
+			final List<Object> locals, final List<Object> stack) {
+		final FrameNode frame = getFrame(index);
+		assertEquals(type, frame.type);
+		assertEquals(locals, frame.local);
+		assertEquals(stack, frame.stack);
+	}
+
+	private static Object[] arr(final Object... elements) {
+		return elements;
+	}
+
+	private static List<Object> list(final Object... elements) {
+		return Arrays.asList(elements);
+	}
+
+}
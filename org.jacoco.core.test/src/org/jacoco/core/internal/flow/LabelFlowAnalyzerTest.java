@@ -24,6 +24,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LineNumberNode;
+import org.objectweb.asm.tree.MethodNode;
 
 /**
  * Unit tests for {@link LabelFlowAnalyzer}.
@@ -72,7 +75,7 @@ public class LabelFlowAnalyzerTest {
 	public void testFlowScenario04() {
 		analyzer.visitLabel(label);
 		assertFalse(LabelInfo.isMultiTarget(label));
-		assertFalse(LabelInfo.isSuccessor(label));
+		assertFalse(LabelInfo.isSuccessor(label));		assertTrue(LabelInfo.isImplicitTarget(label));
 	}
 
 	@Test
@@ -81,6 +84,7 @@ public class LabelFlowAnalyzerTest {
 		analyzer.visitJumpInsn(GOTO, label);
 		assertTrue(LabelInfo.isMultiTarget(label));
 		assertFalse(LabelInfo.isSuccessor(label));
+		assertTrue(LabelInfo.isImplicitTarget(label));
 	}
 
 	@Test
@@ -39,6 +39,7 @@ public class LabelInfoTest {
 	public void testDefaults() {
 		assertFalse(LabelInfo.isMultiTarget(label));
 		assertFalse(LabelInfo.isSuccessor(label));
+		assertFalse(LabelInfo.isImplicitTarget(label));
 		assertFalse(LabelInfo.isMethodInvocationLine(label));
 		assertFalse(LabelInfo.isDone(label));
 		assertEquals(LabelInfo.NO_PROBE, LabelInfo.getProbeId(label));
@@ -92,6 +93,17 @@ public class LabelInfoTest {
 		assertTrue(LabelInfo.isSuccessor(label));
 	}
 
+	@Test
+	public void testImplicitTarget() {
+		LabelInfo.setImplicitTarget(label);
+		assertTrue(LabelInfo.isImplicitTarget(label));
+		assertFalse(LabelInfo.isMultiTarget(label));
+
+		LabelInfo.setTarget(label);
+		assertTrue(LabelInfo.isImplicitTarget(label));
+		assertTrue(LabelInfo.isMultiTarget(label));
+	}
+
 	@Test
 	public void testMethodInvocationLine() {
 		LabelInfo.setMethodInvocationLine(label);
@@ -57,6 +57,11 @@ public class MethodProbesAdapterTest implements IProbeIdGenerator {
 			rec("visitProbe", Integer.valueOf(probeId));
 		}
 
+		@Override
+		public void visitMethodProbe(int probeId) {
+			rec("visitMethodProbe", Integer.valueOf(probeId));
+		}
+
 		@Override
 		public void visitInsnWithProbe(int opcode, int probeId) {
 			rec("visitInsnWithProbe", Integer.valueOf(opcode),
@@ -71,6 +76,23 @@ public class MethodProbesAdapterTest implements IProbeIdGenerator {
 			frame.accept(this);
 		}
 
+		@Override
+		public void visitImpliedProbe(Label start) {
+			rec("visitImpliedProbe", start);
+		}
+
+		@Override
+		public void visitInsnWithImpliedProbe(int opcode, Label start) {
+			rec("visitInsnWithImpliedProbe", Integer.valueOf(opcode), start);
+		}
+
+		@Override
+		public void visitJumpInsnWithImpliedProbe(int opcode, Label label,
+				Label start) {
+			rec("visitJumpInsnWithImpliedProbe", Integer.valueOf(opcode), label,
+					start);
+		}
+
 		@Override
 		public void visitTableSwitchInsnWithProbes(int min, int max, Label dflt,
 				Label[] labels, IFrame frame) {
@@ -146,6 +168,27 @@ public class MethodProbesAdapterTest implements IProbeIdGenerator {
 		expectedVisitor.visitLabel(label);
 	}
 
+	@Test
+	public void should_only_emit_method_probe_when_method_probe_is_set() {
+		adapter = new MethodProbesAdapter(new TraceAdapter(actual), this, true);
+		LabelInfo.setTarget(label);
+		LabelInfo.setTarget(label);
+		LabelInfo.setSuccessor(label);
+
+		adapter.visitCode();
+		adapter.visitInsn(Opcodes.ICONST_0);
+		adapter.visitJumpInsn(Opcodes.IFEQ, label);
+		adapter.visitLabel(label);
+		adapter.visitInsn(Opcodes.RETURN);
+
+		expectedVisitor.visitCode();
+		expectedVisitor.visitMethodProbe(1000);
+		expectedVisitor.visitInsn(Opcodes.ICONST_0);
+		expectedVisitor.visitJumpInsn(Opcodes.IFEQ, label);
+		expectedVisitor.visitLabel(label);
+		expectedVisitor.visitInsn(Opcodes.RETURN);
+	}
+
 	@Test
 	public void testVisitInsn1() {
 		adapter.visitInsn(Opcodes.RETURN);
@@ -449,6 +492,98 @@ public class MethodProbesAdapterTest implements IProbeIdGenerator {
 		expectedVisitor.visitLabel(after);
 	}
 
+	@Test
+	public void should_emit_implied_probes_after_jump_target_when_probes_are_optimized() {
+		adapter = new MethodProbesAdapter(new TraceAdapter(actual), this, false,
+				true);
+		LabelInfo.setTarget(label);
+		LabelInfo.setTarget(label);
+		final Label next = new Label();
+		LabelInfo.setTarget(next);
+		LabelInfo.setSuccessor(next);
+
+		adapter.visitLabel(label);
+		adapter.visitVarInsn(Opcodes.ILOAD, 1);
+		adapter.visitIincInsn(1, 1);
+		adapter.visitLabel(next);
+		adapter.visitInsn(Opcodes.POP);
+		adapter.visitInsn(Opcodes.RETURN);
+
+		expectedVisitor.visitLabel(label);
+		expectedVisitor.visitVarInsn(Opcodes.ILOAD, 1);
+		expectedVisitor.visitIincInsn(1, 1);
+		expectedVisitor.visitImpliedProbe(label);
+		expectedVisitor.visitLabel(next);
+		expectedVisitor.visitInsn(Opcodes.POP);
+		expectedVisitor.visitInsnWithImpliedProbe(Opcodes.RETURN, next);
+	}
+
+	@Test
+	public void should_emit_implied_probe_for_goto_when_probes_are_optimized() {
+		adapter = new MethodProbesAdapter(new TraceAdapter(actual), this, false,
+				true);
+		LabelInfo.setTarget(label);
+		LabelInfo.setTarget(label);
+
+		adapter.visitLabel(label);
+		adapter.visitJumpInsn(Opcodes.GOTO, label);
+
+		expectedVisitor.visitLabel(label);
+		expectedVisitor.visitJumpInsnWithImpliedProbe(Opcodes.GOTO, label,
+				label);
+	}
+
+	@Test
+	public void should_emit_probe_for_conditional_jump_when_probes_are_optimized() {
+		adapter = new MethodProbesAdapter(new TraceAdapter(actual), this, false,
+				true);
+		LabelInfo.setTarget(label);
+		LabelInfo.setTarget(label);
+
+		adapter.visitLabel(label);
+		adapter.visitVarInsn(Opcodes.ILOAD, 1);
+		adapter.visitJumpInsn(Opcodes.IFEQ, label);
+		adapter.visitInsn(Opcodes.RETURN);
+
+		expectedVisitor.visitLabel(label);
+		expectedVisitor.visitVarInsn(Opcodes.ILOAD, 1);
+		expectedVisitor.visitJumpInsnWithProbe(Opcodes.IFEQ, label, 1000,
+				frame);
+		expectedVisitor.visitInsnWithProbe(Opcodes.RETURN, 1001);
+	}
+
+	@Test
+	public void should_emit_probe_after_instruction_which_may_throw_when_probes_are_optimized() {
+		adapter = new MethodProbesAdapter(new TraceAdapter(actual), this, false,
+				true);
+		LabelInfo.setTarget(label);
+		LabelInfo.setTarget(label);
+
+		adapter.visitLabel(label);
+		adapter.visitMethodInsn(Opcodes.INVOKESTATIC, "Foo", "doit", "()V",
+				false);
+		adapter.visitInsn(Opcodes.RETURN);
+
+		expectedVisitor.visitLabel(label);
+		expectedVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, "Foo", "doit",
+				"()V", false);
+		expectedVisitor.visitInsnWithProbe(Opcodes.RETURN, 1000);
+	}
+
+	@Test
+	public void should_emit_probe_after_exception_handler_when_probes_are_optimized() {
+		adapter = new MethodProbesAdapter(new TraceAdapter(actual), this, false,
+				true);
+		LabelInfo.setImplicitTarget(label);
+		LabelInfo.setTarget(label);
+
+		adapter.visitLabel(label);
+		adapter.visitInsn(Opcodes.ATHROW);
+
+		expectedVisitor.visitLabel(label);
+		expectedVisitor.visitInsnWithProbe(Opcodes.ATHROW, 1000);
+	}
+
 	// === IProbeIdGenerator ===
 
 	public int nextId() {
@@ -36,6 +36,7 @@ public class ProbeCounterTest {
 	@Test
 	public void testInitial() {
 		assertFalse(counter.hasMethods());
+		assertFalse(counter.hasCode());
 		assertEquals(0, counter.getCount());
 	}
 
@@ -49,18 +50,28 @@ public class ProbeCounterTest {
 	public void testVisitClinitMethod() {
 		assertNull(counter.visitMethod(0, "<clinit>", null, null, null));
 		assertFalse(counter.hasMethods());
+		assertTrue(counter.hasCode());
 	}
 
 	@Test
 	public void testVisitAbstractMethod() {
 		counter.visitMethod(Opcodes.ACC_ABSTRACT, "foo", null, null, null);
 		assertFalse(counter.hasMethods());
+		assertFalse(counter.hasCode());
+	}
+
+	@Test
+	public void testVisitNativeMethod() {
+		counter.visitMethod(Opcodes.ACC_NATIVE, "foo", null, null, null);
+		assertTrue(counter.hasMethods());
+		assertFalse(counter.hasCode());
 	}
 
 	@Test
 	public void testVisitMethod() {
 		assertNull(counter.visitMethod(0, "foo", null, null, null));
 		assertTrue(counter.hasMethods());
+		assertTrue(counter.hasCode());
 	}
 
 }
@@ -366,8 +366,103 @@ public class ProbeInserterTest {
 		}, 0, new Object[] {});
 	}
 
+	@Test
+	public void visitFrame_should_insert_safety_slot_and_probe_variable_in_full_frames() {
+		ProbeInserter pi = new ProbeInserter(0, "m", "(J)V", actualVisitor,
+				arrayStrategy);
+
+		pi.visitFrame(Opcodes.F_FULL, 3,
+				new Object[] { "Foo", Opcodes.LONG, "java/lang/String" }, 1,
+				new Object[] { "Bar" });
+
+		expectedVisitor.visitFrame(Opcodes.F_FULL, 5, new Object[] { //
+				"Foo", //
+				Opcodes.LONG, //
+				Opcodes.TOP, // safety slot
+				"[Z", // probe array
+				"java/lang/String" //
+		}, 1, new Object[] { "Bar" });
+	}
+
+	@Test
+	public void visitFrame_should_keep_compressed_frames_when_arguments_are_not_affected() {
+		ProbeInserter pi = new ProbeInserter(0, "m", "(J)V", actualVisitor,
+				arrayStrategy);
+
+		pi.visitFrame(Opcodes.F_FULL, 2, new Object[] { "Foo", Opcodes.LONG },
+				0, new Object[0]);
+		pi.visitFrame(Opcodes.F_APPEND, 2,
+				new Object[] { Opcodes.INTEGER, "Bar" }, 0, null);
+		pi.visitFrame(Opcodes.F_SAME1, 0, null, 1, new Object[] { "Baz" });
+		pi.visitFrame(Opcodes.F_CHOP, 2, null, 0, null);
+		pi.visitFrame(Opcodes.F_SAME, 0, null, 0, null);
+
+		expectedVisitor.visitFrame(Opcodes.F_FULL, 4, new Object[] { //
+				"Foo", //
+				Opcodes.LONG, //
+				Opcodes.TOP, // safety slot
+				"[Z", // probe array
+		}, 0, new Object[0]);
+		expectedVisitor.visitFrame(Opcodes.F_APPEND, 2,
+				new Object[] { Opcodes.INTEGER, "Bar" }, 0, null);
+		expectedVisitor.visitFrame(Opcodes.F_SAME1, 0, null, 1,
+				new Object[] { "Baz" });
+		expectedVisitor.visitFrame(Opcodes.F_CHOP, 2, null, 0, null);
+		expectedVisitor.visitFrame(Opcodes.F_SAME, 0, null, 0, null);
+	}
+
+	@Test
+	public void visitFrame_should_create_full_frame_when_compressed_frame_chops_arguments() {
+		ProbeInserter pi = new ProbeInserter(0, "m", "(I)V", actualVisitor,
+				arrayStrategy);
+
+		pi.visitFrame(Opcodes.F_FULL, 3,
+				new Object[] { "Foo", Opcodes.INTEGER, "Bar" }, 0,
+				new Object[0]);
+		pi.visitFrame(Opcodes.F_CHOP, 2, null, 0, null);
+
+		expectedVisitor.visitFrame(Opcodes.F_FULL, 5, new Object[] { //
+				"Foo", //
+				Opcodes.INTEGER, //
+				Opcodes.TOP, // safety slot
+				"[Z", // probe array
+				"Bar" //
+		}, 0, new Object[0]);
+		expectedVisitor.visitFrame(Opcodes.F_FULL, 4, new Object[] { //
+				"Foo", //
+				Opcodes.TOP, //
+				Opcodes.TOP, // safety slot
+				"[Z", // probe array
+		}, 0, new Object[0]);
+	}
+
+	@Test
+	public void visitFrame_should_create_full_frame_when_compressed_frame_appends_to_incomplete_arguments() {
+		ProbeInserter pi = new ProbeInserter(0, "m", "(I)V", actualVisitor,
+				arrayStrategy);
+
+		pi.visitFrame(Opcodes.F_FULL, 1, new Object[] { "Foo" }, 0,
+				new Object[0]);
+		pi.visitFrame(Opcodes.F_APPEND, 2,
+				new Object[] { Opcodes.INTEGER, "Bar" }, 0, null);
+
+		expectedVisitor.visitFrame(Opcodes.F_FULL, 4, new Object[] { //
+				"Foo", //
+				Opcodes.TOP, //
+				Opcodes.TOP, // safety slot
+				"[Z", // probe array
+		}, 0, new Object[0]);
+		expectedVisitor.visitFrame(Opcodes.F_FULL, 5, new Object[] { //
+				"Foo", //
+				Opcodes.INTEGER, //
+				Opcodes.TOP, // safety slot
+				"[Z", // probe array
+				"Bar" //
+		}, 0, new Object[0]);
+	}
+
 	@Test(expected = IllegalArgumentException.class)
-	public void visitFrame_must_only_support_resolved_frames() {
+	public void visitFrame_must_not_support_compressed_frames_without_preceding_full_frame() {
 		ProbeInserter pi = new ProbeInserter(0, "m", "()V", actualVisitor,
 				arrayStrategy);
 		pi.visitFrame(Opcodes.F_SAME, 0, null, 0, null);
@@ -46,6 +46,8 @@ public class AgentOptionsTest {
 				options.getExclClassloader());
 		assertFalse(options.getInclBootstrapClasses());
 		assertFalse(options.getInclNoLocationClasses());
+		assertFalse(options.getOptimizeProbes());
+		assertEquals(Integer.MAX_VALUE, options.getMaxProbeBytes());
 		assertNull(options.getSessionId());
 		assertTrue(options.getDumpOnExit());
 		assertEquals(AgentOptions.OutputMode.file, options.getOutput());
@@ -79,6 +81,8 @@ public class AgentOptionsTest {
 		properties.put("exclclassloader", "org.jacoco.test.TestLoader");
 		properties.put("inclbootstrapclasses", "true");
 		properties.put("inclnolocationclasses", "true");
+		properties.put("optimizeprobes", "true");
+		properties.put("maxprobebytes", "300");
 		properties.put("sessionid", "testsession");
 		properties.put("dumponexit", "false");
 		properties.put("output", "tcpserver");
@@ -97,6 +101,8 @@ public class AgentOptionsTest {
 				options.getExclClassloader());
 		assertTrue(options.getInclBootstrapClasses());
 		assertTrue(options.getInclNoLocationClasses());
+		assertTrue(options.getOptimizeProbes());
+		assertEquals(300, options.getMaxProbeBytes());
 		assertEquals("testsession", options.getSessionId());
 		assertFalse(options.getDumpOnExit());
 		assertEquals(AgentOptions.OutputMode.tcpserver, options.getOutput());
@@ -256,6 +262,34 @@ public class AgentOptionsTest {
 		assertEquals("inclnolocationclasses=false", options.toString());
 	}
 
+	@Test
+	public void testGetOptimizeProbesTrue() {
+		AgentOptions options = new AgentOptions("optimizeprobes=true");
+		assertTrue(options.getOptimizeProbes());
+	}
+
+	@Test
+	public void testSetOptimizeProbesTrue() {
+		AgentOptions options = new AgentOptions();
+		options.setOptimizeProbes(true);
+		assertTrue(options.getOptimizeProbes());
+		assertEquals("optimizeprobes=true", options.toString());
+	}
+
+	@Test
+	public void testGetMaxProbeBytes() {
+		AgentOptions options = new AgentOptions("maxprobebytes=300");
+		assertEquals(300, options.getMaxProbeBytes());
+	}
+
+	@Test
+	public void testSetMaxProbeBytes() {
+		AgentOptions options = new AgentOptions();
+		options.setMaxProbeBytes(300);
+		assertEquals(300, options.getMaxProbeBytes());
+		assertEquals("maxprobebytes=300", options.toString());
+	}
+
 	@Test
 	public void testGetSessionId() {
 		AgentOptions options = new AgentOptions("sessionid=testsession");
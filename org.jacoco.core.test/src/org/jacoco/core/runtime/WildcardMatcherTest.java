@@ -75,4 +75,55 @@ public class WildcardMatcherTest {
 				.matches("org/example/Enity$$$generated123"));
 	}
 
+	@Test
+	public void should_match_prefix_expressions() {
+		final WildcardMatcher matcher = new WildcardMatcher(
+				"com/foo/*:com/foobar/Main:com/foo/bar/*:org/*");
+		assertTrue(matcher.matches("com/foo/"));
+		assertTrue(matcher.matches("com/foo/Main"));
+		assertTrue(matcher.matches("com/foo/bar/Main"));
+		assertTrue(matcher.matches("com/foobar/Main"));
+		assertTrue(matcher.matches("org/Main"));
+		assertFalse(matcher.matches("com/foo"));
+		assertFalse(matcher.matches("com/foobar/Main2"));
+		assertFalse(matcher.matches("com/foobar/Mai"));
+		assertFalse(matcher.matches("or"));
+		assertFalse(matcher.matches("net/Main"));
+	}
+
+	@Test
+	public void should_match_suffix_expressions() {
+		final WildcardMatcher matcher = new WildcardMatcher(
+				"*Test:*IT:*$Proxy");
+		assertTrue(matcher.matches("Test"));
+		assertTrue(matcher.matches("com/foo/MainTest"));
+		assertTrue(matcher.matches("com/foo/MainIT"));
+		assertTrue(matcher.matches("com/foo/Main$Proxy"));
+		assertFalse(matcher.matches("com/foo/MainTests"));
+		assertFalse(matcher.matches("est"));
+		assertFalse(matcher.matches(""));
+	}
+
+	@Test
+	public void should_match_mixed_expressions() {
+		final WildcardMatcher matcher = new WildcardMatcher(
+				"com/foo/*:*Test:com/*/Main:com/??/Other:exact");
+		assertTrue(matcher.matches("com/foo/Bar"));
+		assertTrue(matcher.matches("org/BarTest"));
+		assertTrue(matcher.matches("com/bar/Main"));
+		assertTrue(matcher.matches("com/ab/Other"));
+		assertTrue(matcher.matches("exact"));
+		assertFalse(matcher.matches("com/bar/Main2"));
+		assertFalse(matcher.matches("com/abc/Other"));
+		assertFalse(matcher.matches("exactly"));
+	}
+
+	@Test
+	public void should_match_empty_string_for_empty_parts() {
+		assertTrue(new WildcardMatcher(":").matches(""));
+		assertFalse(new WildcardMatcher(":").matches("a"));
+		assertTrue(new WildcardMatcher("a::b").matches(""));
+		assertTrue(new WildcardMatcher("a::b").matches("b"));
+	}
+
 }
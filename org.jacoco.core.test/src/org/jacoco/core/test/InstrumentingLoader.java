@@ -49,6 +49,16 @@ public final class InstrumentingLoader extends ClassLoader {
 				target.getClassLoader());
 	}
 
+	public InstrumentingLoader(Class<?> target, boolean optimizedProbes)
+			throws Exception {
+		this(target);
+		instrumenter.setOptimizedProbes(optimizedProbes);
+	}
+
+	public Instrumenter getInstrumenter() {
+		return instrumenter;
+	}
+
 	@Override
 	protected synchronized Class<?> loadClass(String name, boolean resolve)
 			throws ClassNotFoundException {
@@ -33,6 +33,7 @@ public class PerformanceSuite implements IPerfScenario {
 		new InstrumentationSizeSzenario(Target03.class).run(output);
 		new InstrumentationTimeScenario(Target03.class, 1000).run(output);
 		new AnalysisTimeScenario(Target03.class, 1000).run(output);
+		new WildcardMatcherScenario(400, 1000).run(output);
 	}
 
 	public static void main(String[] args) throws Exception {
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.test.perf;
+
+import java.util.concurrent.Callable;
+import java.util.regex.Pattern;
+
+import org.jacoco.core.runtime.WildcardMatcher;
+
+/**
+ * Scenario to measure the time for matching class names against a large number
+ * of exclude expressions. The reference is a single regular expression for all
+ * expressions.
+ */
+public class WildcardMatcherScenario extends TimedScenario {
+
+	private final String expression;
+
+	private final String[] names;
+
+	private final int count;
+
+	protected WildcardMatcherScenario(final int patterns, final int count) {
+		super(String.format("matching %s patterns", Integer.valueOf(patterns)));
+		final StringBuilder expression = new StringBuilder();
+		for (int i = 0; i < patterns; i++) {
+			if (i > 0) {
+				expression.append(':');
+			}
+			if (i % 10 == 0) {
+				expression.append("*Generated").append(i);
+			} else {
+				expression.append("com/example/module").append(i).append("/*");
+			}
+		}
+		this.expression = expression.toString();
+		this.names = new String[] { "com/example/module1/Main",
+				"com/example/module399/impl/Service", "com/example/other/Main",
+				"org/example/Main$Generated10", "java/lang/String" };
+		this.count = count;
+	}
+
+	@Override
+	protected Callable<Void> getInstrumentedCallable() throws Exception {
+		final WildcardMatcher matcher = new WildcardMatcher(expression);
+		return new Callable<Void>() {
+			public Void call() throws Exception {
+				for (int i = 0; i < count; i++) {
+					for (final String name : names) {
+						matcher.matches(name);
+					}
+				}
+				return null;
+			}
+		};
+	}
+
+	@Override
+	protected Callable<Void> getReferenceCallable() throws Exception {
+		final StringBuilder regex = new StringBuilder();
+		for (final String part : expression.split("\\:")) {
+			if (regex.length() > 0) {
+				regex.append('|');
+			}
+			regex.append('(');
+			for (final char c : part.toCharArray()) {
+				if (c == '*') {
+					regex.append(".*");
+				} else {
+					regex.append(Pattern.quote(String.valueOf(c)));
+				}
+			}
+			regex.append(')');
+		}
+		final Pattern pattern = Pattern.compile(regex.toString());
+		return new Callable<Void>() {
+			public Void call() throws Exception {
+				for (int i = 0; i < count; i++) {
+					for (final String name : names) {
+						pattern.matcher(name).matches();
+					}
+				}
+				return null;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.tools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ExecDelta}.
+ */
+public class ExecDeltaTest {
+
+	private ExecutionDataStore baseline;
+
+	private ExecutionDataStore candidate;
+
+	@Before
+	public void setup() {
+		baseline = new ExecutionDataStore();
+		candidate = new ExecutionDataStore();
+	}
+
+	@Test
+	public void should_report_no_delta_for_empty_stores() {
+		final ExecDelta delta = new ExecDelta(baseline, candidate);
+
+		assertTrue(delta.getClasses().isEmpty());
+		assertEquals(0, delta.getNewlyCovered());
+		assertEquals(0, delta.getNewlyUncovered());
+	}
+
+	@Test
+	public void should_compare_probes_of_same_class() {
+		baseline.put(new ExecutionData(1, "Foo",
+				new boolean[] { true, true, false, false }));
+		candidate.put(new ExecutionData(1, "Foo",
+				new boolean[] { true, false, true, true }));
+
+		final ExecDelta delta = new ExecDelta(baseline, candidate);
+
+		final ClassDelta c = delta.getClasses().get(0);
+		assertEquals(1, c.getId());
+		assertEquals("Foo", c.getName());
+		assertEquals(4, c.getProbeCount());
+		assertEquals(2, c.getBaselineCovered());
+		assertEquals(3, c.getCandidateCovered());
+		assertEquals(2, c.getNewlyCovered());
+		assertEquals(1, c.getNewlyUncovered());
+		assertTrue(c.isChanged());
+		assertEquals(2, delta.getNewlyCovered());
+		assertEquals(1, delta.getNewlyUncovered());
+	}
+
+	@Test
+	public void should_report_unchanged_class() {
+		baseline.put(new ExecutionData(1, "Foo", new boolean[] { true }));
+		candidate.put(new ExecutionData(1, "Foo", new boolean[] { true }));
+
+		final ExecDelta delta = new ExecDelta(baseline, candidate);
+
+		assertFalse(delta.getClasses().get(0).isChanged());
+		assertEquals(0, delta.getNewlyCovered());
+		assertEquals(0, delta.getNewlyUncovered());
+	}
+
+	@Test
+	public void should_report_classes_only_contained_in_one_store() {
+		baseline.put(new ExecutionData(1, "Foo", new boolean[] { true, true }));
+		candidate.put(new ExecutionData(2, "Foo", new boolean[] { true }));
+		candidate.put(new ExecutionData(3, "Bar", new boolean[] { false }));
+
+		final ExecDelta delta = new ExecDelta(baseline, candidate);
+
+		final List<ClassDelta> classes = delta.getClasses();
+		assertEquals(3, classes.size());
+		assertEquals("Bar", classes.get(0).getName());
+		assertFalse(classes.get(0).isChanged());
+		assertEquals(1, classes.get(1).getId());
+		assertEquals(2, classes.get(1).getNewlyUncovered());
+		assertEquals(2, classes.get(2).getId());
+		assertEquals(1, classes.get(2).getNewlyCovered());
+		assertEquals(1, delta.getNewlyCovered());
+		assertEquals(2, delta.getNewlyUncovered());
+	}
+
+}
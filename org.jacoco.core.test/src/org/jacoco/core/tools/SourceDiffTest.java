@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.tools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link SourceDiff}.
+ */
+public class SourceDiffTest {
+
+	@Test
+	public void should_match_files_by_package_suffix() {
+		final SourceDiff diff = new SourceDiff();
+		diff.addFile("module/src/main/java/org/example/Foo.java");
+
+		assertTrue(diff.containsFile("org/example", "Foo.java"));
+		assertTrue(diff.containsFile("example", "Foo.java"));
+		assertFalse(diff.containsFile("org/other", "Foo.java"));
+		assertFalse(diff.containsFile("org/example", "Bar.java"));
+		assertFalse(diff.containsFile("ample", "Foo.java"));
+	}
+
+	@Test
+	public void should_match_files_in_default_package() {
+		final SourceDiff diff = new SourceDiff();
+		diff.addFile("Foo.java");
+
+		assertTrue(diff.containsFile("", "Foo.java"));
+	}
+
+	@Test
+	public void should_normalize_backslashes() {
+		final SourceDiff diff = new SourceDiff();
+		diff.addFile("src\\org\\example\\Foo.java");
+
+		assertTrue(diff.containsFile("org/example", "Foo.java"));
+		assertEquals(Arrays.asList("src/org/example/Foo.java"),
+				diff.getFiles());
+	}
+
+	@Test
+	public void should_check_line_ranges() {
+		final SourceDiff diff = new SourceDiff();
+		diff.addLines("org/example/Foo.java", 10, 12);
+
+		assertFalse(diff.isFileChanged("org/example", "Foo.java"));
+		assertTrue(diff.containsLines("org/example", "Foo.java", 12, 20));
+		assertTrue(diff.containsLines("org/example", "Foo.java", 1, 10));
+		assertFalse(diff.containsLines("org/example", "Foo.java", 1, 9));
+		assertFalse(diff.containsLines("org/example", "Foo.java", 13, 20));
+		assertFalse(diff.containsLines("org/example", "Bar.java", 1, 20));
+	}
+
+	@Test
+	public void addFile_should_override_line_ranges() {
+		final SourceDiff diff = new SourceDiff();
+		diff.addLines("Foo.java", 10, 12);
+		diff.addFile("Foo.java");
+		diff.addLines("Foo.java", 10, 12);
+
+		assertTrue(diff.isFileChanged("", "Foo.java"));
+		assertTrue(diff.containsLines("", "Foo.java", 100, 200));
+		assertEquals(1, diff.getFiles().size());
+	}
+
+	@Test
+	public void read_should_parse_file_list() throws IOException {
+		final SourceDiff diff = SourceDiff.read(new StringReader(
+				"\nsrc/org/example/Foo.java\n\nsrc/org/example/Bar.java\n"));
+
+		assertEquals(Arrays.asList("src/org/example/Foo.java",
+				"src/org/example/Bar.java"), diff.getFiles());
+		assertTrue(diff.isFileChanged("org/example", "Foo.java"));
+	}
+
+	@Test
+	public void read_should_parse_unified_diff() throws IOException {
+		final SourceDiff diff = SourceDiff.read(new StringReader(""
+				+ "diff --git a/src/org/example/Foo.java b/src/org/example/Foo.java\n"
+				+ "index 1111111..2222222 100644\n"
+				+ "--- a/src/org/example/Foo.java\n"
+				+ "+++ b/src/org/example/Foo.java\n" //
+				+ "@@ -5 +5 @@ class Foo {\n" //
+				+ "-a\n" //
+				+ "+b\n" //
+				+ "@@ -20,0 +21,3 @@ class Foo {\n" //
+				+ "+c\n" //
+				+ "@@ -40,2 +42,0 @@ class Foo {\n" //
+				+ "diff --git a/Removed.java b/Removed.java\n"
+				+ "deleted file mode 100644\n" //
+				+ "--- a/Removed.java\n" //
+				+ "+++ /dev/null\n" //
+				+ "@@ -1,3 +0,0 @@\n" //
+				+ "diff --git a/Binary.java b/Binary.java\n"
+				+ "Binary files differ\n" //
+				+ "@@ -1 +1 @@\n"));
+
+		assertEquals(Arrays.asList("src/org/example/Foo.java"),
+				diff.getFiles());
+		assertTrue(diff.containsLines("org/example", "Foo.java", 5, 5));
+		assertFalse(diff.containsLines("org/example", "Foo.java", 6, 20));
+		assertTrue(diff.containsLines("org/example", "Foo.java", 23, 23));
+		assertFalse(diff.containsLines("org/example", "Foo.java", 24, 41));
+		assertTrue(diff.containsLines("org/example", "Foo.java", 42, 42));
+	}
+
+	@Test
+	public void read_should_fail_for_malformed_hunk() {
+		try {
+			SourceDiff.read(new StringReader(
+					"--- a/Foo.java\n+++ b/Foo.java\n@@ -1 +x @@\n"));
+			fail("exception expected");
+		} catch (final IOException e) {
+			assertEquals("Malformed hunk header: @@ -1 +x @@", e.getMessage());
+		}
+	}
+
+	@Test
+	public void fromGit_should_fail_outside_of_repository() throws Exception {
+		final java.io.File dir = java.io.File.createTempFile("sourcediff", "");
+		dir.delete();
+		dir.mkdirs();
+		try {
+			SourceDiff.fromGit(dir, "HEAD");
+			fail("exception expected");
+		} catch (final IOException e) {
+			// expected: either git is missing or dir is no repository
+			if (e.getMessage().startsWith("git diff HEAD failed")) {
+				// error output of git is reported, not parsed
+				assertTrue(e.getMessage(), e.getMessage().matches(
+						"(?s)git diff HEAD failed with exit code \\d+: .+"));
+			}
+		} finally {
+			dir.delete();
+		}
+	}
+
+}
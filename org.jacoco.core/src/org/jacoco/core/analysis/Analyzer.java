@@ -12,27 +12,47 @@
  *******************************************************************************/
 package org.jacoco.core.analysis;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.zip.DataFormatException;
 import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipInputStream;
 
 import org.jacoco.core.JaCoCo;
 import org.jacoco.core.data.ExecutionData;
 import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.instr.IMethodProbeListener;
+import org.jacoco.core.instr.Instrumenter;
+import org.jacoco.core.internal.ByteBufferInputStream;
+import org.jacoco.core.internal.ChannelInputStream;
 import org.jacoco.core.internal.ContentTypeDetector;
 import org.jacoco.core.internal.InputStreams;
 import org.jacoco.core.internal.Pack200Streams;
+import org.jacoco.core.internal.ZipDirectory;
 import org.jacoco.core.internal.analysis.ClassAnalyzer;
 import org.jacoco.core.internal.analysis.ClassCoverageImpl;
+import org.jacoco.core.internal.analysis.ProbeCountMismatchException;
 import org.jacoco.core.internal.analysis.StringPool;
 import org.jacoco.core.internal.data.CRC64;
 import org.jacoco.core.internal.flow.ClassProbesAdapter;
 import org.jacoco.core.internal.instr.InstrSupport;
+import org.jacoco.core.runtime.OfflineInstrumentationAccessGenerator;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.Opcodes;
@@ -53,6 +73,24 @@ public class Analyzer {
 
 	private final StringPool stringPool;
 
+	private boolean optimizedProbes;
+
+	private int maxProbeBytes = Integer.MAX_VALUE;
+
+	private FilterProfile filterProfile;
+
+	/**
+	 * Maximum size of compressed archive entries which are inflated into memory
+	 * at once. Larger entries are streamed.
+	 */
+	private static final int MAX_INFLATED_SIZE = 1024 * 1024;
+
+	/** Inflater reused while analyzing an archive. */
+	private Inflater inflater;
+
+	/** Buffer for compressed data reused while analyzing an archive. */
+	private byte[] compressed;
+
 	/**
 	 * Creates a new analyzer reporting to the given output.
 	 *
@@ -69,6 +107,47 @@ public class Analyzer {
 		this.stringPool = new StringPool();
 	}
 
+	/**
+	 * Determines whether the execution data has been collected from classes
+	 * instrumented with optimized probe placement, see
+	 * {@link org.jacoco.core.instr.Instrumenter#setOptimizedProbes(boolean)}.
+	 * The state of the omitted probes is inferred from the recorded probes.
+	 * Execution data which does not match the probe placement is rejected with
+	 * an exception. Default is <code>false</code>.
+	 *
+	 * @param flag
+	 *            <code>true</code> for optimized probe placement
+	 */
+	public void setOptimizedProbes(final boolean flag) {
+		this.optimizedProbes = flag;
+	}
+
+	/**
+	 * Sets the maximum number of bytes probes may add to a single method which
+	 * has been used for instrumentation, see
+	 * {@link org.jacoco.core.instr.Instrumenter#setMaxProbeBytes(int)}. Methods
+	 * which exceeded the maximum method size of the JVM with regular probes are
+	 * detected independently of this setting. Default is
+	 * {@link Integer#MAX_VALUE}.
+	 *
+	 * @param bytes
+	 *            maximum number of bytes added by probes per method
+	 */
+	public void setMaxProbeBytes(final int bytes) {
+		this.maxProbeBytes = bytes;
+	}
+
+	/**
+	 * Sets a profile which records invocations and time spent for every filter
+	 * applied during analysis. By default no profile is recorded.
+	 *
+	 * @param profile
+	 *            profile to record to or <code>null</code>
+	 */
+	public void setFilterProfile(final FilterProfile profile) {
+		this.filterProfile = profile;
+	}
+
 	/**
 	 * Creates an ASM class visitor for analysis.
 	 *
@@ -76,10 +155,13 @@ public class Analyzer {
 	 *            id of the class calculated with {@link CRC64}
 	 * @param className
 	 *            VM name of the class
+	 * @param methodProbes
+	 *            methods instrumented with a single method level probe
+	 *            independently of the limit
 	 * @return ASM visitor to write class definition to
 	 */
 	private ClassVisitor createAnalyzingVisitor(final long classid,
-			final String className) {
+			final String className, final Set<String> methodProbes) {
 		final ExecutionData data = executionData.get(classid);
 		final boolean[] probes;
 		final boolean noMatch;
@@ -93,14 +175,20 @@ public class Analyzer {
 		final ClassCoverageImpl coverage = new ClassCoverageImpl(className,
 				classid, noMatch);
 		final ClassAnalyzer analyzer = new ClassAnalyzer(coverage, probes,
-				stringPool) {
+				stringPool, filterProfile) {
 			@Override
 			public void visitEnd() {
 				super.visitEnd();
 				coverageVisitor.visitCoverage(coverage);
 			}
 		};
-		return new ClassProbesAdapter(analyzer, false);
+		// Different probe placements can only be detected with exact counts
+		analyzer.setExactProbeCount(
+				optimizedProbes || maxProbeBytes != Integer.MAX_VALUE);
+		final ClassProbesAdapter adapter = new ClassProbesAdapter(analyzer,
+				false, optimizedProbes, maxProbeBytes);
+		adapter.setMethodProbes(methodProbes);
+		return adapter;
 	}
 
 	private void analyzeClass(final byte[] source) {
@@ -112,9 +200,46 @@ public class Analyzer {
 		if ((reader.getAccess() & Opcodes.ACC_SYNTHETIC) != 0) {
 			return;
 		}
-		final ClassVisitor visitor = createAnalyzingVisitor(classId,
-				reader.getClassName());
-		reader.accept(visitor, 0);
+		try {
+			reader.accept(createAnalyzingVisitor(classId, reader.getClassName(),
+					Collections.<String> emptySet()), 0);
+		} catch (final ProbeCountMismatchException e) {
+			// Methods exceeding the maximum method size with regular probes
+			// have been instrumented with a method level probe
+			final Set<String> methodProbes = getMethodProbes(source, e);
+			if (methodProbes.isEmpty()) {
+				throw e;
+			}
+			reader.accept(createAnalyzingVisitor(classId, reader.getClassName(),
+					methodProbes), 0);
+		}
+	}
+
+	/**
+	 * Determines the methods which instrumentation of the given class falls
+	 * back to a method level probe for, because they would exceed the maximum
+	 * method size of the JVM with regular probes.
+	 */
+	private Set<String> getMethodProbes(final byte[] source,
+			final ProbeCountMismatchException cause) {
+		final Set<String> methods = new HashSet<String>();
+		final Instrumenter instrumenter = new Instrumenter(
+				new OfflineInstrumentationAccessGenerator());
+		instrumenter.setOptimizedProbes(optimizedProbes);
+		instrumenter.setMaxProbeBytes(maxProbeBytes);
+		instrumenter.setMethodProbeListener(new IMethodProbeListener() {
+			public void methodProbe(final String className,
+					final String methodName, final String methodDesc,
+					final int probeBytes) {
+				methods.add(methodName + methodDesc);
+			}
+		});
+		try {
+			instrumenter.instrument(source, "");
+		} catch (final IOException e) {
+			throw cause;
+		}
+		return methods;
 	}
 
 	/**
@@ -208,7 +333,9 @@ public class Analyzer {
 	/**
 	 * Analyzes all class files contained in the given file or folder. Class
 	 * files as well as ZIP files are considered. Folders are searched
-	 * recursively.
+	 * recursively. Entries of ZIP files are accessed randomly and streamed,
+	 * nested archives stored without compression are mapped into memory and
+	 * analyzed in place.
 	 *
 	 * @param file
 	 *            file or folder to look for class files
@@ -223,9 +350,17 @@ public class Analyzer {
 				count += analyzeAll(f);
 			}
 		} else {
-			final InputStream in = new FileInputStream(file);
+			final RandomAccessFile in = new RandomAccessFile(file, "r");
 			try {
-				count += analyzeAll(in, file.getPath());
+				final FileChannel channel = in.getChannel();
+				final List<ZipDirectory.Entry> entries = readZipDirectory(
+						channel);
+				if (entries != null) {
+					count += analyzeZip(channel, entries, file.getPath());
+				} else {
+					count += analyzeAll(Channels.newInputStream(channel),
+							file.getPath());
+				}
 			} finally {
 				in.close();
 			}
@@ -233,6 +368,203 @@ public class Analyzer {
 		return count;
 	}
 
+	/**
+	 * Reads the directory of the given file if it is a ZIP archive.
+	 *
+	 * @return entries of the archive or <code>null</code> if the file is not a
+	 *         ZIP archive or can't be accessed randomly
+	 */
+	private static List<ZipDirectory.Entry> readZipDirectory(
+			final FileChannel channel) {
+		try {
+			final ByteBuffer magic = ByteBuffer.allocate(4);
+			while (magic.hasRemaining()) {
+				if (channel.read(magic, magic.position()) == -1) {
+					return null;
+				}
+			}
+			if (magic.getInt(0) != ContentTypeDetector.ZIPFILE) {
+				return null;
+			}
+			return ZipDirectory.read(channel);
+		} catch (final IOException e) {
+			// Errors are reported when the file is read as a stream
+			return null;
+		}
+	}
+
+	private int analyzeZip(final FileChannel channel,
+			final List<ZipDirectory.Entry> entries, final String location)
+			throws IOException {
+		inflater = new Inflater(true);
+		try {
+			int count = 0;
+			for (final ZipDirectory.Entry entry : entries) {
+				count += analyzeEntry(channel, entry,
+						location + "@" + entry.getName());
+			}
+			return count;
+		} finally {
+			inflater.end();
+			inflater = null;
+			compressed = null;
+		}
+	}
+
+	/**
+	 * Analyzes an entry of a ZIP file. The content type is detected from the
+	 * beginning of the entry, nested archives stored without compression are
+	 * mapped into memory, all other entries are streamed.
+	 */
+	private int analyzeEntry(final FileChannel channel,
+			final ZipDirectory.Entry entry, final String location)
+			throws IOException {
+		InputStream input = new ChannelInputStream(channel, entry.getOffset(),
+				entry.getCompressedSize());
+		if (entry.getMethod() == ZipEntry.DEFLATED) {
+			inflater.reset();
+			// Additional dummy byte required by the inflater without header
+			input = new InflaterInputStream(new SequenceInputStream(input,
+					new ByteArrayInputStream(new byte[1])), inflater);
+		}
+		final ContentTypeDetector detector;
+		try {
+			detector = new ContentTypeDetector(input);
+		} catch (final IOException e) {
+			throw analyzerError(location, e);
+		}
+		if (entry.getMethod() == ZipEntry.STORED
+				&& detector.getType() == ContentTypeDetector.ZIPFILE) {
+			final ByteBuffer archive;
+			try {
+				archive = channel.map(FileChannel.MapMode.READ_ONLY,
+						entry.getOffset(), entry.getCompressedSize());
+			} catch (final IOException e) {
+				throw analyzerError(location, e);
+			}
+			return analyzeAll(archive, location);
+		}
+		// Streamed content is not analyzed from buffers, so the inflater is
+		// not used concurrently
+		return analyzeAll(detector.getInputStream(), location);
+	}
+
+	private int analyzeZip(final ByteBuffer archive,
+			final List<ZipDirectory.Entry> entries, final String location)
+			throws IOException {
+		int count = 0;
+		for (final ZipDirectory.Entry entry : entries) {
+			final String entryLocation = location + "@" + entry.getName();
+			final ByteBuffer data = archive.duplicate();
+			data.position(archive.position() + entry.getOffset());
+			data.limit(data.position() + entry.getCompressedSize());
+			if (entry.getMethod() == ZipEntry.STORED) {
+				count += analyzeAll(data.slice(), entryLocation);
+			} else {
+				count += analyzeDeflated(data, entry, entryLocation);
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Analyzes a deflated archive entry. The content type is detected from the
+	 * beginning of the entry, so only class files and nested archives are
+	 * inflated completely.
+	 */
+	private int analyzeDeflated(final ByteBuffer data,
+			final ZipDirectory.Entry entry, final String location)
+			throws IOException {
+		inflater.reset();
+		final ContentTypeDetector detector;
+		try {
+			detector = new ContentTypeDetector(
+					new InflaterInputStream(inflaterInput(data), inflater));
+		} catch (final IOException e) {
+			throw analyzerError(location, e);
+		}
+		switch (detector.getType()) {
+		case ContentTypeDetector.CLASSFILE:
+		case ContentTypeDetector.ZIPFILE:
+			if (entry.getSize() <= MAX_INFLATED_SIZE) {
+				return analyzeAll(
+						ByteBuffer.wrap(inflate(data, entry, location)),
+						location);
+			}
+			break;
+		}
+		// Streamed content is not analyzed from buffers, so the inflater is
+		// not used concurrently
+		return analyzeAll(detector.getInputStream(), location);
+	}
+
+	private int analyzeAll(final ByteBuffer content, final String location)
+			throws IOException {
+		final ContentTypeDetector detector = new ContentTypeDetector(
+				new ByteBufferInputStream(content));
+		switch (detector.getType()) {
+		case ContentTypeDetector.CLASSFILE:
+			final byte[] bytes;
+			if (content.hasArray() && content.arrayOffset() == 0
+					&& content.position() == 0
+					&& content.remaining() == content.array().length) {
+				bytes = content.array();
+			} else {
+				bytes = new byte[content.remaining()];
+				content.duplicate().get(bytes);
+			}
+			analyzeClass(bytes, location);
+			return 1;
+		case ContentTypeDetector.ZIPFILE:
+			final List<ZipDirectory.Entry> entries = ZipDirectory.read(content);
+			if (entries != null) {
+				return analyzeZip(content, entries, location);
+			}
+			break;
+		}
+		return analyzeAll(detector.getInputStream(), location);
+	}
+
+	private byte[] inflate(final ByteBuffer data,
+			final ZipDirectory.Entry entry, final String location)
+			throws IOException {
+		final int length = data.remaining();
+		if (compressed == null || compressed.length < length + 1) {
+			compressed = new byte[Math.max(length + 1, 8192)];
+		}
+		data.duplicate().get(compressed, 0, length);
+		// Additional dummy byte required by the inflater without header
+		compressed[length] = 0;
+		inflater.reset();
+		inflater.setInput(compressed, 0, length + 1);
+		final byte[] content = new byte[entry.getSize()];
+		int pos = 0;
+		try {
+			while (pos < content.length) {
+				final int n = inflater.inflate(content, pos,
+						content.length - pos);
+				if (n == 0 && (inflater.finished() || inflater.needsInput()
+						|| inflater.needsDictionary())) {
+					break;
+				}
+				pos += n;
+			}
+		} catch (final DataFormatException e) {
+			throw analyzerError(location, e);
+		}
+		if (pos != content.length) {
+			throw analyzerError(location,
+					new ZipException("Invalid entry size"));
+		}
+		return content;
+	}
+
+	private static InputStream inflaterInput(final ByteBuffer data) {
+		// Additional dummy byte required by the inflater without header
+		return new SequenceInputStream(new ByteBufferInputStream(data),
+				new ByteArrayInputStream(new byte[1]));
+	}
+
 	/**
 	 * Analyzes all classes from the given class path. Directories containing
 	 * class files as well as archive files are considered.
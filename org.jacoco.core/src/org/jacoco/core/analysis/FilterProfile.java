@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.analysis;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects per filter counters during analysis to show where the time for
+ * filtering is spent, see {@link Analyzer#setFilterProfile(FilterProfile)}.
+ * Instances are not thread safe.
+ */
+public class FilterProfile {
+
+	private final Map<String, Entry> entries = new HashMap<String, Entry>();
+
+	/**
+	 * Counters of a single filter.
+	 */
+	public static final class Entry {
+
+		private final String name;
+
+		private long invocations;
+
+		private long skips;
+
+		private long time;
+
+		Entry(final String name) {
+			this.name = name;
+		}
+
+		/**
+		 * @return simple class name of the filter
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return number of methods the filter has been invoked for
+		 */
+		public long getInvocations() {
+			return invocations;
+		}
+
+		/**
+		 * @return number of methods the filter has been skipped for as it does
+		 *         not apply to them
+		 */
+		public long getSkips() {
+			return skips;
+		}
+
+		/**
+		 * @return total time spent in the filter in nanoseconds
+		 */
+		public long getTime() {
+			return time;
+		}
+
+	}
+
+	/**
+	 * Records an invocation of a filter.
+	 *
+	 * @param name
+	 *            name of the filter
+	 * @param nanos
+	 *            time spent in the filter in nanoseconds
+	 */
+	public void invoked(final String name, final long nanos) {
+		final Entry entry = getEntry(name);
+		entry.invocations++;
+		entry.time += nanos;
+	}
+
+	/**
+	 * Records that a filter has been skipped for a method.
+	 *
+	 * @param name
+	 *            name of the filter
+	 */
+	public void skipped(final String name) {
+		getEntry(name).skips++;
+	}
+
+	private Entry getEntry(final String name) {
+		Entry entry = entries.get(name);
+		if (entry == null) {
+			entry = new Entry(name);
+			entries.put(name, entry);
+		}
+		return entry;
+	}
+
+	/**
+	 * Returns the counters of all filters ordered by descending time.
+	 *
+	 * @return counters of all filters
+	 */
+	public Collection<Entry> getEntries() {
+		final List<Entry> list = new ArrayList<Entry>(entries.values());
+		Collections.sort(list, new Comparator<Entry>() {
+			public int compare(final Entry e1, final Entry e2) {
+				if (e1.time != e2.time) {
+					return e1.time > e2.time ? -1 : 1;
+				}
+				return e1.name.compareTo(e2.name);
+			}
+		});
+		return list;
+	}
+
+}
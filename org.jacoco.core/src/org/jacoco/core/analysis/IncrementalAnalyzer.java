@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.analysis;
+
+import java.io.IOException;
+
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.internal.analysis.ClassCoverageImpl;
+import org.jacoco.core.internal.instr.InstrSupport;
+import org.jacoco.core.tools.SourceDiff;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+
+/**
+ * An {@link Analyzer} which only analyzes classes compiled from source files
+ * contained in a given {@link SourceDiff}. All other classes are skipped after
+ * reading their header and <code>SourceFile</code> attribute, so the analysis
+ * cost is proportional to the size of the change rather than to the size of the
+ * code base. If the diff provides line level information, only methods with at
+ * least one changed line are reported.
+ */
+public class IncrementalAnalyzer extends Analyzer {
+
+	private final SourceDiff diff;
+
+	/**
+	 * Creates a new analyzer reporting to the given output.
+	 *
+	 * @param executionData
+	 *            execution data
+	 * @param coverageVisitor
+	 *            the output instance that will receive coverage data for every
+	 *            analyzed class with changes
+	 * @param diff
+	 *            changed source files and lines
+	 */
+	public IncrementalAnalyzer(final ExecutionDataStore executionData,
+			final ICoverageVisitor coverageVisitor, final SourceDiff diff) {
+		super(executionData, new ChangedLinesFilter(diff, coverageVisitor));
+		this.diff = diff;
+	}
+
+	@Override
+	public void analyzeClass(final byte[] buffer, final String location)
+			throws IOException {
+		final boolean changed;
+		try {
+			changed = isChanged(buffer);
+		} catch (final RuntimeException e) {
+			// Let the regular analysis report malformed class files
+			super.analyzeClass(buffer, location);
+			return;
+		}
+		if (changed) {
+			super.analyzeClass(buffer, location);
+		}
+	}
+
+	private boolean isChanged(final byte[] buffer) {
+		final ClassReader reader = InstrSupport.classReaderFor(buffer);
+		final SourceFileReader source = new SourceFileReader();
+		reader.accept(source, ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES);
+		if (source.name == null) {
+			return false;
+		}
+		final String className = reader.getClassName();
+		final int pos = className.lastIndexOf('/');
+		final String packageName = pos == -1 ? "" : className.substring(0, pos);
+		return diff.containsFile(packageName, source.name);
+	}
+
+	private static class SourceFileReader extends ClassVisitor {
+
+		String name;
+
+		SourceFileReader() {
+			super(InstrSupport.ASM_API_VERSION);
+		}
+
+		@Override
+		public void visitSource(final String source, final String debug) {
+			this.name = source;
+		}
+	}
+
+	/**
+	 * Removes methods without changed lines from class coverage nodes if line
+	 * level information is available for the corresponding source file.
+	 */
+	private static class ChangedLinesFilter implements ICoverageVisitor {
+
+		private final SourceDiff diff;
+
+		private final ICoverageVisitor delegate;
+
+		ChangedLinesFilter(final SourceDiff diff,
+				final ICoverageVisitor delegate) {
+			this.diff = diff;
+			this.delegate = delegate;
+		}
+
+		public void visitCoverage(final IClassCoverage coverage) {
+			final String packageName = coverage.getPackageName();
+			final String source = coverage.getSourceFileName();
+			if (diff.isFileChanged(packageName, source)) {
+				delegate.visitCoverage(coverage);
+				return;
+			}
+			final ClassCoverageImpl original = (ClassCoverageImpl) coverage;
+			final ClassCoverageImpl filtered = new ClassCoverageImpl(
+					coverage.getName(), coverage.getId(), coverage.isNoMatch());
+			filtered.setSourceFileName(source);
+			filtered.setSignature(coverage.getSignature());
+			filtered.setSuperName(coverage.getSuperName());
+			filtered.setInterfaces(coverage.getInterfaceNames());
+			filtered.setFragments(original.getFragments());
+			for (final IMethodCoverage m : coverage.getMethods()) {
+				if (m.getFirstLine() != ISourceNode.UNKNOWN_LINE
+						&& diff.containsLines(packageName, source,
+								m.getFirstLine(), m.getLastLine())) {
+					filtered.addMethod(m);
+				}
+			}
+			if (!filtered.getMethods().isEmpty()) {
+				delegate.visitCoverage(filtered);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.analysis;
+
+import java.io.IOException;
+
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.internal.instr.InstrSupport;
+
+/**
+ * An {@link Analyzer} which only analyzes the classes of packages assigned to
+ * one of several shards. Packages are assigned by the hash code of their name,
+ * so every package belongs to exactly one shard independently of the class
+ * files and their order. Classes of other shards are skipped after reading
+ * their name. This allows to split the analysis of a large code base across
+ * several machines and to combine the partial results afterwards.
+ * <p>
+ * Line coverage which is applied from fragments of other classes, like inlined
+ * Kotlin functions, is only considered if both classes belong to the same
+ * shard.
+ */
+public class ShardAnalyzer extends Analyzer {
+
+	private final int index;
+
+	private final int count;
+
+	/**
+	 * Creates a new analyzer reporting to the given output.
+	 *
+	 * @param executionData
+	 *            execution data
+	 * @param coverageVisitor
+	 *            the output instance that will receive coverage data for every
+	 *            analyzed class of the shard
+	 * @param index
+	 *            index of the shard to analyze, starting with 0
+	 * @param count
+	 *            total number of shards
+	 */
+	public ShardAnalyzer(final ExecutionDataStore executionData,
+			final ICoverageVisitor coverageVisitor, final int index,
+			final int count) {
+		super(executionData, coverageVisitor);
+		if (count < 1 || index < 0 || index >= count) {
+			throw new IllegalArgumentException(
+					String.format("Invalid shard %s of %s.",
+							Integer.valueOf(index), Integer.valueOf(count)));
+		}
+		this.index = index;
+		this.count = count;
+	}
+
+	/**
+	 * Calculates the shard a package is assigned to.
+	 *
+	 * @param packageName
+	 *            VM name of the package, separated with slashes
+	 * @param count
+	 *            total number of shards
+	 * @return index of the shard, starting with 0
+	 */
+	public static int getShard(final String packageName, final int count) {
+		return (packageName.hashCode() & Integer.MAX_VALUE) % count;
+	}
+
+	@Override
+	public void analyzeClass(final byte[] buffer, final String location)
+			throws IOException {
+		final String className;
+		try {
+			className = InstrSupport.classReaderFor(buffer).getClassName();
+		} catch (final RuntimeException e) {
+			// Let the regular analysis report malformed class files
+			super.analyzeClass(buffer, location);
+			return;
+		}
+		final int pos = className.lastIndexOf('/');
+		final String packageName = pos == -1 ? "" : className.substring(0, pos);
+		if (getShard(packageName, count) == index) {
+			super.analyzeClass(buffer, location);
+		}
+	}
+
+}
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.instr;
+
+/**
+ * Callback interface to get notified about methods which are instrumented with
+ * a single method level probe instead of regular probes.
+ *
+ * @see Instrumenter#setMethodProbeListener(IMethodProbeListener)
+ */
+public interface IMethodProbeListener {
+
+	/**
+	 * Called for every method which is instrumented with a single probe at the
+	 * method entry, because its regular probes would exceed the configured
+	 * limit or instrumentation with regular probes exceeded the maximum method
+	 * size of the JVM. It is only called for the final instrumentation of a
+	 * class. This method may be called concurrently if classes are
+	 * instrumented in parallel.
+	 *
+	 * @param className
+	 *            VM name of the class
+	 * @param methodName
+	 *            name of the method
+	 * @param methodDesc
+	 *            descriptor of the method
+	 * @param probeBytes
+	 *            estimated number of bytes the regular probes would have added
+	 */
+	void methodProbe(String className, String methodName, String methodDesc,
+			int probeBytes);
+
+}
@@ -12,10 +12,22 @@
  *******************************************************************************/
 package org.jacoco.core.instr;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.zip.CRC32;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
@@ -36,8 +48,8 @@ import org.jacoco.core.internal.instr.ProbeArrayStrategyFactory;
 import org.jacoco.core.internal.instr.SignatureRemover;
 import org.jacoco.core.runtime.IExecutionDataAccessorGenerator;
 import org.objectweb.asm.ClassReader;
-import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodTooLargeException;
 
 /**
  * Several APIs to instrument Java class definitions for coverage tracing.
@@ -46,8 +58,22 @@ public class Instrumenter {
 
 	private final IExecutionDataAccessorGenerator accessorGenerator;
 
+	/**
+	 * Maximum number of archive entries kept in memory while being instrumented
+	 * in parallel.
+	 */
+	private static final int PARALLEL_WINDOW = 64;
+
 	private final SignatureRemover signatureRemover;
 
+	private Executor executor;
+
+	private boolean optimizedProbes;
+
+	private int maxProbeBytes = Integer.MAX_VALUE;
+
+	private IMethodProbeListener methodProbeListener;
+
 	/**
 	 * Creates a new instance based on the given runtime.
 	 *
@@ -72,9 +98,94 @@ public class Instrumenter {
 		signatureRemover.setActive(flag);
 	}
 
+	/**
+	 * Sets an executor to instrument the entries of archives in parallel. The
+	 * entries are still read from the input stream and written to the output
+	 * stream sequentially, so the resulting archive contains the same entries
+	 * in the same order as with sequential processing. By default all entries
+	 * are processed sequentially on the calling thread.
+	 *
+	 * @param executor
+	 *            executor for parallel instrumentation or <code>null</code>
+	 */
+	public void setExecutor(final Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Determines whether probes are placed in optimized mode. In this mode no
+	 * probes are inserted where control flow has reached a jump target and
+	 * neither branched nor passed an instruction which might throw an exception
+	 * since then. The state of such probes is inferred exactly from the probes
+	 * at the jump target during analysis. This reduces the number of probes and
+	 * the runtime overhead without changing the reported coverage. Class files
+	 * instrumented in this mode must be analyzed with
+	 * {@link org.jacoco.core.analysis.Analyzer#setOptimizedProbes(boolean)}
+	 * enabled. Default is <code>false</code>.
+	 *
+	 * @param flag
+	 *            <code>true</code> for optimized probe placement
+	 */
+	public void setOptimizedProbes(final boolean flag) {
+		this.optimizedProbes = flag;
+	}
+
+	/**
+	 * Sets the maximum number of bytes probes may add to a single method.
+	 * Methods for which regular probes would exceed this estimated limit are
+	 * instrumented with a single probe at the method entry instead. All
+	 * instructions of such methods are reported as covered once they have been
+	 * entered, their branches are reported as missed as their status is not
+	 * recorded. This keeps the size of small and frequently executed methods
+	 * below the inlining thresholds of the JIT compiler. Independently of this
+	 * setting the fallback is applied to methods for which instrumentation with
+	 * regular probes actually exceeds the maximum method size of the JVM. The
+	 * resulting execution data has a different number of probes, which
+	 * {@link org.jacoco.core.analysis.Analyzer} detects. Class files
+	 * instrumented with a limit must be analyzed with the same limit set with
+	 * {@link org.jacoco.core.analysis.Analyzer#setMaxProbeBytes(int)}. Default
+	 * is {@link Integer#MAX_VALUE}.
+	 *
+	 * @param bytes
+	 *            maximum number of bytes added by probes per method
+	 */
+	public void setMaxProbeBytes(final int bytes) {
+		this.maxProbeBytes = bytes;
+	}
+
+	/**
+	 * Sets a listener which gets notified about every method which is
+	 * instrumented with a single method level probe.
+	 *
+	 * @param listener
+	 *            listener or <code>null</code>
+	 */
+	public void setMethodProbeListener(final IMethodProbeListener listener) {
+		this.methodProbeListener = listener;
+	}
+
 	private byte[] instrument(final byte[] source) {
 		final long classId = CRC64.classId(source);
 		final ClassReader reader = InstrSupport.classReaderFor(source);
+		final Set<String> methodProbes = new HashSet<String>();
+		while (true) {
+			final MethodProbeBuffer buffer = new MethodProbeBuffer();
+			try {
+				final byte[] result = instrument(reader, classId, methodProbes,
+						buffer);
+				buffer.replay(methodProbeListener);
+				return result;
+			} catch (final MethodTooLargeException e) {
+				// Retry with a method level probe for this method
+				if (!methodProbes.add(e.getMethodName() + e.getDescriptor())) {
+					throw e;
+				}
+			}
+		}
+	}
+
+	private byte[] instrument(final ClassReader reader, final long classId,
+			final Set<String> methodProbes, final MethodProbeBuffer buffer) {
 		final ClassWriter writer = new ClassWriter(reader, 0) {
 			@Override
 			protected String getCommonSuperClass(final String type1,
@@ -83,15 +194,47 @@ public class Instrumenter {
 			}
 		};
 		final IProbeArrayStrategy strategy = ProbeArrayStrategyFactory
-				.createFor(classId, reader, accessorGenerator);
+				.createFor(classId, reader, accessorGenerator, optimizedProbes,
+						maxProbeBytes, methodProbes);
 		final int version = InstrSupport.getMajorVersion(reader);
-		final ClassVisitor visitor = new ClassProbesAdapter(
+		final ClassProbesAdapter visitor = new ClassProbesAdapter(
 				new ClassInstrumenter(strategy, writer),
-				InstrSupport.needsFrames(version));
-		reader.accept(visitor, ClassReader.EXPAND_FRAMES);
+				InstrSupport.needsFrames(version), optimizedProbes,
+				maxProbeBytes);
+		visitor.setMethodProbes(methodProbes);
+		if (methodProbeListener != null) {
+			visitor.setMethodProbeListener(buffer);
+		}
+		reader.accept(visitor, 0);
 		return writer.toByteArray();
 	}
 
+	/**
+	 * Collects method probe notifications of a single instrumentation attempt
+	 * so that only the methods of the successful attempt are reported.
+	 */
+	private static class MethodProbeBuffer implements IMethodProbeListener {
+
+		private final List<Object[]> methods = new ArrayList<Object[]>();
+
+		public void methodProbe(final String className, final String methodName,
+				final String methodDesc, final int probeBytes) {
+			methods.add(new Object[] { className, methodName, methodDesc,
+					Integer.valueOf(probeBytes) });
+		}
+
+		void replay(final IMethodProbeListener listener) {
+			if (listener == null) {
+				return;
+			}
+			for (final Object[] m : methods) {
+				listener.methodProbe((String) m[0], (String) m[1],
+						(String) m[2], ((Integer) m[3]).intValue());
+			}
+		}
+
+	}
+
 	/**
 	 * Creates an instrumented version of the given class if possible.
 	 *
@@ -209,6 +352,9 @@ public class Instrumenter {
 
 	private int instrumentZip(final InputStream input,
 			final OutputStream output, final String name) throws IOException {
+		if (executor != null) {
+			return instrumentZipParallel(input, output, name);
+		}
 		final ZipInputStream zipin = new ZipInputStream(input);
 		final ZipOutputStream zipout = new ZipOutputStream(output);
 		ZipEntry entry;
@@ -247,6 +393,107 @@ public class Instrumenter {
 		return count;
 	}
 
+	/**
+	 * Instruments the entries of an archive on the executor. While the entries
+	 * are read and written on the calling thread in their original order, at
+	 * most {@link #PARALLEL_WINDOW} entries are instrumented concurrently.
+	 * Waiting for an entry which has not been started yet runs it on the
+	 * calling thread, so nested archives can't deadlock the executor.
+	 */
+	private int instrumentZipParallel(final InputStream input,
+			final OutputStream output, final String name) throws IOException {
+		final ZipInputStream zipin = new ZipInputStream(input);
+		final ZipOutputStream zipout = new ZipOutputStream(output);
+		final LinkedList<EntryTask> pending = new LinkedList<EntryTask>();
+		ZipEntry entry;
+		int count = 0;
+		while ((entry = nextEntry(zipin, name)) != null) {
+			final String entryName = entry.getName();
+			if (signatureRemover.removeEntry(entryName)) {
+				continue;
+			}
+			final byte[] content;
+			try {
+				content = InputStreams.readFully(zipin);
+			} catch (final IOException e) {
+				throw instrumentError(name, e);
+			}
+			final EntryTask task = new EntryTask(entry, content, name);
+			pending.add(task);
+			try {
+				executor.execute(task);
+			} catch (final RejectedExecutionException e) {
+				// Will be processed on the calling thread
+			}
+			if (pending.size() >= PARALLEL_WINDOW) {
+				count += pending.removeFirst().write(zipout);
+			}
+		}
+		while (!pending.isEmpty()) {
+			count += pending.removeFirst().write(zipout);
+		}
+		zipout.finish();
+		return count;
+	}
+
+	private class EntryTask extends FutureTask<Integer> {
+
+		private final ZipEntry entry;
+
+		private final ByteArrayOutputStream buffer;
+
+		EntryTask(final ZipEntry entry, final byte[] content,
+				final String name) {
+			this(entry, content, name, new ByteArrayOutputStream());
+		}
+
+		private EntryTask(final ZipEntry entry, final byte[] content,
+				final String name, final ByteArrayOutputStream buffer) {
+			super(new Callable<Integer>() {
+				public Integer call() throws IOException {
+					return Integer.valueOf(filterOrInstrument(
+							new ByteArrayInputStream(content), buffer, name,
+							entry.getName()));
+				}
+			});
+			this.entry = entry;
+			this.buffer = buffer;
+		}
+
+		int write(final ZipOutputStream zipout) throws IOException {
+			// No-op if the task has already been started by the executor
+			run();
+			final int count;
+			try {
+				count = get().intValue();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException();
+			} catch (final ExecutionException e) {
+				final Throwable cause = e.getCause();
+				if (cause instanceof IOException) {
+					throw (IOException) cause;
+				}
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				throw (Error) cause;
+			}
+			final byte[] bytes = buffer.toByteArray();
+			final ZipEntry newEntry = new ZipEntry(entry.getName());
+			newEntry.setMethod(entry.getMethod());
+			if (entry.getMethod() == ZipEntry.STORED) {
+				newEntry.setSize(bytes.length);
+				newEntry.setCompressedSize(bytes.length);
+				newEntry.setCrc(crc(bytes));
+			}
+			zipout.putNextEntry(newEntry);
+			zipout.write(bytes);
+			zipout.closeEntry();
+			return count;
+		}
+	}
+
 	private int filterOrInstrument(final InputStream in, final OutputStream out,
 			final String name, final String entryName) throws IOException {
 		if (signatureRemover.filterEntry(entryName, in, out)) {
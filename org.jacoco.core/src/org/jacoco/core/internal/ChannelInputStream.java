@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * {@link InputStream} reading a range of a {@link FileChannel} with positional
+ * reads. The position of the channel is not modified, so several streams can
+ * read from the same channel.
+ */
+public final class ChannelInputStream extends InputStream {
+
+	private final FileChannel channel;
+
+	private final long end;
+
+	private long position;
+
+	private final byte[] single = new byte[1];
+
+	/**
+	 * Creates a new stream for the given range of the channel.
+	 *
+	 * @param channel
+	 *            channel to read from
+	 * @param position
+	 *            position of the first byte to read
+	 * @param length
+	 *            number of bytes to read
+	 */
+	public ChannelInputStream(final FileChannel channel, final long position,
+			final long length) {
+		this.channel = channel;
+		this.position = position;
+		this.end = position + length;
+	}
+
+	@Override
+	public int read() throws IOException {
+		return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+	}
+
+	@Override
+	public int read(final byte[] b, final int off, final int len)
+			throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (position >= end) {
+			return -1;
+		}
+		final int n = (int) Math.min(len, end - position);
+		final int read = channel.read(ByteBuffer.wrap(b, off, n), position);
+		if (read == -1) {
+			return -1;
+		}
+		position += read;
+		return read;
+	}
+
+	@Override
+	public long skip(final long n) {
+		final long skipped = Math.max(0, Math.min(n, end - position));
+		position += skipped;
+		return skipped;
+	}
+
+}
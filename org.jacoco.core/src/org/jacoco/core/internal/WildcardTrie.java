@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.internal;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Prefix trees for wildcard expressions which can be matched without regular
+ * expressions: Expressions without wildcards, expressions with a single
+ * trailing <code>*</code> and expressions with a single leading <code>*</code>.
+ * A value is attached to every expression. Strings are tested against all
+ * expressions in a single pass, independently of the number of expressions.
+ *
+ * @param <T>
+ *            type of the values attached to the expressions
+ */
+public final class WildcardTrie<T> {
+
+	/** literals and prefixes of expressions like <code>com/foo/*</code> */
+	private final Node prefixes = new Node();
+
+	/** reversed suffixes of expressions like <code>*Test</code> */
+	private final Node suffixes = new Node();
+
+	/**
+	 * Checks whether the given expression can be added to a trie.
+	 *
+	 * @param expression
+	 *            single wildcard expression without colon separators
+	 * @return <code>true</code> if the expression is supported
+	 */
+	public static boolean isSupported(final String expression) {
+		if (expression.indexOf('?') != -1) {
+			return false;
+		}
+		final int first = expression.indexOf('*');
+		return first == -1 || first == expression.lastIndexOf('*')
+				&& (first == 0 || first == expression.length() - 1);
+	}
+
+	/**
+	 * Returns the value attached to the given expression.
+	 *
+	 * @param expression
+	 *            supported wildcard expression
+	 * @return attached value or <code>null</code>
+	 * @see #isSupported(String)
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(final String expression) {
+		final Node node = node(expression, false);
+		if (node == null) {
+			return null;
+		}
+		return (T) (isLiteral(expression) ? node.exact : node.wildcard);
+	}
+
+	/**
+	 * Attaches a value to the given expression.
+	 *
+	 * @param expression
+	 *            supported wildcard expression
+	 * @param value
+	 *            value to attach
+	 * @see #isSupported(String)
+	 */
+	public void put(final String expression, final T value) {
+		final Node node = node(expression, true);
+		if (isLiteral(expression)) {
+			node.exact = value;
+		} else {
+			node.wildcard = value;
+		}
+	}
+
+	private Node node(final String expression, final boolean create) {
+		final int length = expression.length();
+		if (length > 0 && expression.charAt(length - 1) == '*') {
+			return prefixes.path(expression, 0, length - 1, false, create);
+		}
+		if (length > 0 && expression.charAt(0) == '*') {
+			return suffixes.path(expression, 1, length, true, create);
+		}
+		return prefixes.path(expression, 0, length, false, create);
+	}
+
+	private static boolean isLiteral(final String expression) {
+		return expression.indexOf('*') == -1;
+	}
+
+	/**
+	 * Tests whether the given string matches any expression of this trie.
+	 *
+	 * @param s
+	 *            string to test
+	 * @return <code>true</code> if at least one expression matches
+	 */
+	public boolean matches(final String s) {
+		return prefixes.visit(s, false, null) || suffixes.visit(s, true, null);
+	}
+
+	/**
+	 * Adds the values of all expressions matching the given string to the given
+	 * collection, in no particular order.
+	 *
+	 * @param s
+	 *            string to test
+	 * @param values
+	 *            collection to add the values to
+	 */
+	public void collect(final String s, final Collection<? super T> values) {
+		prefixes.visit(s, false, values);
+		suffixes.visit(s, true, values);
+	}
+
+	/**
+	 * Node of a character tree. Children are kept in arrays sorted by their
+	 * character.
+	 */
+	private static final class Node {
+
+		private static final char[] NO_CHARS = new char[0];
+
+		private static final Node[] NO_CHILDREN = new Node[0];
+
+		private char[] chars = NO_CHARS;
+
+		private Node[] children = NO_CHILDREN;
+
+		/** value of the expression ending at this node */
+		Object exact;
+
+		/** value of the expression ending at this node followed by * */
+		Object wildcard;
+
+		/**
+		 * Returns the node for the given range of the string, optionally
+		 * creating missing nodes.
+		 */
+		Node path(final String s, final int start, final int end,
+				final boolean reverse, final boolean create) {
+			Node node = this;
+			for (int i = start; node != null && i < end; i++) {
+				final char c = s.charAt(reverse ? end - 1 - i + start : i);
+				node = create ? node.child(c) : node.find(c);
+			}
+			return node;
+		}
+
+		/**
+		 * Visits the nodes along the given string. If no collection is given
+		 * the visit stops at the first match.
+		 *
+		 * @return <code>true</code> if an expression matches
+		 */
+		@SuppressWarnings("unchecked")
+		boolean visit(final String s, final boolean reverse,
+				final Collection<?> values) {
+			final Collection<Object> result = (Collection<Object>) values;
+			boolean match = false;
+			Node node = this;
+			final int length = s.length();
+			for (int i = 0; i < length; i++) {
+				if (node.wildcard != null) {
+					if (result == null) {
+						return true;
+					}
+					result.add(node.wildcard);
+					match = true;
+				}
+				node = node.find(s.charAt(reverse ? length - 1 - i : i));
+				if (node == null) {
+					return match;
+				}
+			}
+			if (node.wildcard != null) {
+				if (result == null) {
+					return true;
+				}
+				result.add(node.wildcard);
+				match = true;
+			}
+			if (node.exact != null) {
+				if (result == null) {
+					return true;
+				}
+				result.add(node.exact);
+				match = true;
+			}
+			return match;
+		}
+
+		private Node child(final char c) {
+			final int idx = Arrays.binarySearch(chars, c);
+			if (idx >= 0) {
+				return children[idx];
+			}
+			final int pos = -idx - 1;
+			final int length = chars.length;
+			final char[] newChars = new char[length + 1];
+			final Node[] newChildren = new Node[length + 1];
+			System.arraycopy(chars, 0, newChars, 0, pos);
+			System.arraycopy(children, 0, newChildren, 0, pos);
+			System.arraycopy(chars, pos, newChars, pos + 1, length - pos);
+			System.arraycopy(children, pos, newChildren, pos + 1, length - pos);
+			final Node node = new Node();
+			newChars[pos] = c;
+			newChildren[pos] = node;
+			chars = newChars;
+			children = newChildren;
+			return node;
+		}
+
+		private Node find(final char c) {
+			final char[] chars = this.chars;
+			switch (chars.length) {
+			case 0:
+				return null;
+			case 1:
+				return chars[0] == c ? children[0] : null;
+			default:
+				final int idx = Arrays.binarySearch(chars, c);
+				return idx < 0 ? null : children[idx];
+			}
+		}
+
+	}
+
+}
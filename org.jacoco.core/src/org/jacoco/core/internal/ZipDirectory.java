@@ -0,0 +1,331 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.internal;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+
+/**
+ * Reads the central directory of a ZIP archive which is either available in a
+ * {@link ByteBuffer} or in a file. This allows to access the entries of the
+ * archive randomly and to read entries stored without compression in place.
+ * Only the common subset of the ZIP format is supported: Archives with ZIP64
+ * extensions, encrypted entries or compression methods other than
+ * {@link ZipEntry#STORED} and {@link ZipEntry#DEFLATED} are not read, so
+ * callers can fall back to sequential processing.
+ */
+public final class ZipDirectory {
+
+	private static final int LOCAL_HEADER = 0x04034b50;
+
+	private static final int LOCAL_HEADER_SIZE = 30;
+
+	private static final int CENTRAL_HEADER = 0x02014b50;
+
+	private static final int CENTRAL_HEADER_SIZE = 46;
+
+	private static final int END_HEADER = 0x06054b50;
+
+	private static final int END_HEADER_SIZE = 22;
+
+	private static final int MAX_COMMENT_SIZE = 0xffff;
+
+	private static final int FLAG_ENCRYPTED = 0x1;
+
+	/**
+	 * Entry of a ZIP archive.
+	 */
+	public static final class Entry {
+
+		private final String name;
+
+		private final int method;
+
+		private final int offset;
+
+		private final int compressedSize;
+
+		private final int size;
+
+		Entry(final String name, final int method, final int offset,
+				final int compressedSize, final int size) {
+			this.name = name;
+			this.method = method;
+			this.offset = offset;
+			this.compressedSize = compressedSize;
+			this.size = size;
+		}
+
+		/**
+		 * Returns the name of this entry.
+		 *
+		 * @return name of this entry
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Returns the compression method of this entry.
+		 *
+		 * @return either {@link ZipEntry#STORED} or {@link ZipEntry#DEFLATED}
+		 */
+		public int getMethod() {
+			return method;
+		}
+
+		/**
+		 * Returns the position of the entry data within the archive.
+		 *
+		 * @return position of the first byte of the entry data
+		 */
+		public int getOffset() {
+			return offset;
+		}
+
+		/**
+		 * Returns the size of the entry data within the archive.
+		 *
+		 * @return compressed size in bytes
+		 */
+		public int getCompressedSize() {
+			return compressedSize;
+		}
+
+		/**
+		 * Returns the size of the entry content.
+		 *
+		 * @return uncompressed size in bytes
+		 */
+		public int getSize() {
+			return size;
+		}
+
+	}
+
+	private ZipDirectory() {
+	}
+
+	/**
+	 * Reads the entries of the ZIP archive contained in the remaining bytes of
+	 * the given buffer. The position of the buffer is not modified. Offsets of
+	 * the returned entries are relative to the position of the buffer.
+	 *
+	 * @param archive
+	 *            buffer containing a complete ZIP archive
+	 * @return entries in the order of the central directory or
+	 *         <code>null</code> if the archive is malformed or uses unsupported
+	 *         features
+	 */
+	public static List<Entry> read(final ByteBuffer archive) {
+		try {
+			return read(new BufferSource(archive));
+		} catch (final IOException e) {
+			// Buffers are read without I/O
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * Reads the entries of the ZIP archive contained in the given file. Only
+	 * the central directory and the local headers are read, the position of the
+	 * channel is not modified. Offsets of the returned entries are relative to
+	 * the beginning of the file.
+	 *
+	 * @param archive
+	 *            channel of a file containing a complete ZIP archive
+	 * @return entries in the order of the central directory or
+	 *         <code>null</code> if the archive is malformed, larger than
+	 *         {@link Integer#MAX_VALUE} bytes or uses unsupported features
+	 * @throws IOException
+	 *             if the file can't be read
+	 */
+	public static List<Entry> read(final FileChannel archive)
+			throws IOException {
+		return read(new ChannelSource(archive));
+	}
+
+	private static List<Entry> read(final Source source) throws IOException {
+		final long size = source.size();
+		if (size > Integer.MAX_VALUE) {
+			return null;
+		}
+		final int tailSize = (int) Math.min(size,
+				END_HEADER_SIZE + MAX_COMMENT_SIZE);
+		final ByteBuffer tail = source.read(size - tailSize, tailSize);
+		final int end = findEndHeader(tail);
+		if (end == -1) {
+			return null;
+		}
+		final int count = tail.getShort(end + 10) & 0xffff;
+		final long directorySize = tail.getInt(end + 12) & 0xffffffffL;
+		final long directoryOffset = tail.getInt(end + 16) & 0xffffffffL;
+		if (tail.getShort(end + 4) != 0 || tail.getShort(end + 6) != 0
+				|| count != (tail.getShort(end + 8) & 0xffff) || count == 0xffff
+				|| directoryOffset + directorySize > size - tailSize + end) {
+			// Multi-disk and ZIP64 archives are not supported
+			return null;
+		}
+		if (count == 0) {
+			return Collections.emptyList();
+		}
+		final ByteBuffer directory = source.read(directoryOffset,
+				(int) directorySize);
+		final List<Entry> entries = new ArrayList<Entry>(count);
+		int pos = 0;
+		for (int i = 0; i < count; i++) {
+			if (pos + CENTRAL_HEADER_SIZE > directory.limit()
+					|| directory.getInt(pos) != CENTRAL_HEADER) {
+				return null;
+			}
+			final Entry entry = readEntry(source, size, directory, pos);
+			if (entry == null) {
+				return null;
+			}
+			entries.add(entry);
+			pos += CENTRAL_HEADER_SIZE + (directory.getShort(pos + 28) & 0xffff)
+					+ (directory.getShort(pos + 30) & 0xffff)
+					+ (directory.getShort(pos + 32) & 0xffff);
+		}
+		return entries;
+	}
+
+	private static int findEndHeader(final ByteBuffer buffer) {
+		final int limit = buffer.limit();
+		final int min = Math.max(0, limit - END_HEADER_SIZE - MAX_COMMENT_SIZE);
+		for (int pos = limit - END_HEADER_SIZE; pos >= min; pos--) {
+			if (buffer.getInt(pos) == END_HEADER && pos + END_HEADER_SIZE
+					+ (buffer.getShort(pos + 20) & 0xffff) == limit) {
+				return pos;
+			}
+		}
+		return -1;
+	}
+
+	private static Entry readEntry(final Source source, final long size,
+			final ByteBuffer directory, final int pos) throws IOException {
+		final int flags = directory.getShort(pos + 8) & 0xffff;
+		final int method = directory.getShort(pos + 10) & 0xffff;
+		final long compressedSize = directory.getInt(pos + 20) & 0xffffffffL;
+		final long uncompressedSize = directory.getInt(pos + 24) & 0xffffffffL;
+		final int nameLength = directory.getShort(pos + 28) & 0xffff;
+		final long localOffset = directory.getInt(pos + 42) & 0xffffffffL;
+		if ((flags & FLAG_ENCRYPTED) != 0
+				|| (method != ZipEntry.STORED && method != ZipEntry.DEFLATED)
+				|| uncompressedSize > Integer.MAX_VALUE) {
+			return null;
+		}
+		if (method == ZipEntry.STORED && uncompressedSize != compressedSize) {
+			return null;
+		}
+		if (pos + CENTRAL_HEADER_SIZE + nameLength > directory.limit()
+				|| localOffset + LOCAL_HEADER_SIZE > size) {
+			return null;
+		}
+		final ByteBuffer local = source.read(localOffset, LOCAL_HEADER_SIZE);
+		if (local.getInt(0) != LOCAL_HEADER) {
+			return null;
+		}
+		final long dataOffset = localOffset + LOCAL_HEADER_SIZE
+				+ (local.getShort(26) & 0xffff) + (local.getShort(28) & 0xffff);
+		if (dataOffset + compressedSize > size) {
+			return null;
+		}
+		final byte[] name = new byte[nameLength];
+		final ByteBuffer nameBuffer = directory.duplicate();
+		nameBuffer.position(pos + CENTRAL_HEADER_SIZE);
+		nameBuffer.get(name);
+		try {
+			return new Entry(new String(name, "UTF-8"), method,
+					(int) dataOffset, (int) compressedSize,
+					(int) uncompressedSize);
+		} catch (final UnsupportedEncodingException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * Random access to the bytes of an archive.
+	 */
+	private abstract static class Source {
+
+		abstract long size() throws IOException;
+
+		/**
+		 * Returns a little endian buffer with the given range of the archive,
+		 * the range has to be within the archive.
+		 */
+		abstract ByteBuffer read(long position, int length) throws IOException;
+
+	}
+
+	private static final class BufferSource extends Source {
+
+		private final ByteBuffer buffer;
+
+		BufferSource(final ByteBuffer archive) {
+			this.buffer = archive.slice();
+		}
+
+		@Override
+		long size() {
+			return buffer.limit();
+		}
+
+		@Override
+		ByteBuffer read(final long position, final int length) {
+			final ByteBuffer range = buffer.duplicate();
+			range.position((int) position);
+			range.limit((int) position + length);
+			return range.slice().order(ByteOrder.LITTLE_ENDIAN);
+		}
+
+	}
+
+	private static final class ChannelSource extends Source {
+
+		private final FileChannel channel;
+
+		ChannelSource(final FileChannel channel) {
+			this.channel = channel;
+		}
+
+		@Override
+		long size() throws IOException {
+			return channel.size();
+		}
+
+		@Override
+		ByteBuffer read(final long position, final int length)
+				throws IOException {
+			final ByteBuffer range = ByteBuffer.allocate(length);
+			while (range.hasRemaining()) {
+				if (channel.read(range, position + range.position()) == -1) {
+					throw new EOFException();
+				}
+			}
+			range.flip();
+			return range.order(ByteOrder.LITTLE_ENDIAN);
+		}
+
+	}
+
+}
@@ -18,6 +18,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+import org.jacoco.core.analysis.FilterProfile;
 import org.jacoco.core.internal.analysis.filter.Filters;
 import org.jacoco.core.internal.analysis.filter.IFilter;
 import org.jacoco.core.internal.analysis.filter.IFilterContext;
@@ -52,6 +53,8 @@ public class ClassAnalyzer extends ClassProbesVisitor
 
 	private final IFilter filter;
 
+	private boolean exactProbeCount;
+
 	/**
 	 * Creates a new analyzer that builds coverage data for a class.
 	 *
@@ -64,10 +67,29 @@ public class ClassAnalyzer extends ClassProbesVisitor
 	 */
 	public ClassAnalyzer(final ClassCoverageImpl coverage,
 			final boolean[] probes, final StringPool stringPool) {
+		this(coverage, probes, stringPool, null);
+	}
+
+	/**
+	 * Creates a new analyzer that builds coverage data for a class and records
+	 * the time spent in every filter.
+	 *
+	 * @param coverage
+	 *            coverage node for the analyzed class data
+	 * @param probes
+	 *            execution data for this class or <code>null</code>
+	 * @param stringPool
+	 *            shared pool to minimize the number of {@link String} instances
+	 * @param filterProfile
+	 *            profile for filter invocations or <code>null</code>
+	 */
+	public ClassAnalyzer(final ClassCoverageImpl coverage,
+			final boolean[] probes, final StringPool stringPool,
+			final FilterProfile filterProfile) {
 		this.coverage = coverage;
 		this.probes = probes;
 		this.stringPool = stringPool;
-		this.filter = Filters.all();
+		this.filter = Filters.all(filterProfile);
 	}
 
 	@Override
@@ -182,9 +204,26 @@ public class ClassAnalyzer extends ClassProbesVisitor
 		return super.visitField(access, name, desc, signature, value);
 	}
 
+	/**
+	 * Determines whether the execution data must contain exactly the number of
+	 * probes of the class. This is required to detect execution data which has
+	 * been collected with a different probe placement. By default only
+	 * execution data with less probes is rejected.
+	 *
+	 * @param exact
+	 *            <code>true</code> if the number of probes must match exactly
+	 */
+	public void setExactProbeCount(final boolean exact) {
+		this.exactProbeCount = exact;
+	}
+
 	@Override
 	public void visitTotalProbeCount(final int count) {
-		// nothing to do
+		if (probes != null && (probes.length < count
+				|| exactProbeCount && probes.length > count)) {
+			throw new ProbeCountMismatchException(coverage.getName(),
+					probes.length, count);
+		}
 	}
 
 	@Override
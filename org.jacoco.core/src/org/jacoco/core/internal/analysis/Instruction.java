@@ -63,6 +63,8 @@ public class Instruction {
 
 	private final BitSet coveredBranches;
 
+	private boolean executed;
+
 	private Instruction predecessor;
 
 	private int predecessorBranch;
@@ -122,6 +124,15 @@ public class Instruction {
 		}
 	}
 
+	/**
+	 * Marks this instruction as executed without marking any of its branches.
+	 * This is used for methods with a single method level probe, where the
+	 * execution status can't be derived for individual branches.
+	 */
+	public void setExecuted() {
+		executed = true;
+	}
+
 	private static void propagateExecutedBranch(Instruction insn, int branch) {
 		// No recursion here, as there can be very long chains of instructions
 		while (insn != null) {
@@ -155,6 +166,7 @@ public class Instruction {
 	public Instruction merge(final Instruction other) {
 		final Instruction result = new Instruction(this.line);
 		result.branches = this.branches;
+		result.executed = this.executed || other.executed;
 		result.coveredBranches.or(this.coveredBranches);
 		result.coveredBranches.or(other.coveredBranches);
 		return result;
@@ -188,6 +200,7 @@ public class Instruction {
 			branchIndex++;
 		}
 		result.branches = branchIndex;
+		result.executed = this.executed;
 		return result;
 	}
 
@@ -205,7 +218,7 @@ public class Instruction {
 	 * @return the instruction coverage counter
 	 */
 	public ICounter getInstructionCounter() {
-		return coveredBranches.isEmpty() ? CounterImpl.COUNTER_1_0
+		return coveredBranches.isEmpty() && !executed ? CounterImpl.COUNTER_1_0
 				: CounterImpl.COUNTER_0_1;
 	}
 
@@ -14,8 +14,10 @@ package org.jacoco.core.internal.analysis;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.jacoco.core.analysis.ISourceNode;
 import org.jacoco.core.internal.flow.LabelInfo;
@@ -58,6 +60,19 @@ class InstructionsBuilder {
 	 */
 	private final List<Jump> jumps;
 
+	/** Id of the method level probe or <code>-1</code> if there is none. */
+	private int methodProbe;
+
+	/** Targets of all executed probes. */
+	private final Set<Label> reachedLabels;
+
+	/**
+	 * All probes which have been omitted with optimized probes, mapped from the
+	 * label which implies them. Their state is only known after all probes of
+	 * the method have been added.
+	 */
+	private final Map<Label, List<ImpliedProbe>> impliedProbes;
+
 	/**
 	 * Creates a new builder instance which can be used to analyze a single
 	 * method.
@@ -73,6 +88,9 @@ class InstructionsBuilder {
 		this.instructions = new HashMap<AbstractInsnNode, Instruction>();
 		this.currentLabel = new ArrayList<Label>(2);
 		this.jumps = new ArrayList<Jump>();
+		this.methodProbe = -1;
+		this.reachedLabels = new HashSet<Label>();
+		this.impliedProbes = new HashMap<Label, List<ImpliedProbe>>();
 	}
 
 	/**
@@ -146,8 +164,65 @@ class InstructionsBuilder {
 	 *            unique branch number for the last instruction
 	 */
 	void addProbe(final int probeId, final int branch) {
-		final boolean executed = probes != null && probes[probeId];
+		currentInsn.addBranch(isExecuted(probeId), branch);
+	}
+
+	/**
+	 * Adds a new probe for the last instruction which leads to the given label.
+	 *
+	 * @param probeId
+	 *            index in the probe array
+	 * @param branch
+	 *            unique branch number for the last instruction
+	 * @param target
+	 *            label the probe leads to
+	 */
+	void addProbe(final int probeId, final int branch, final Label target) {
+		final boolean executed = isExecuted(probeId);
 		currentInsn.addBranch(executed, branch);
+		if (executed) {
+			reachedLabels.add(target);
+		}
+	}
+
+	/**
+	 * Adds a probe for the last instruction which has been omitted because it
+	 * is executed if and only if the given start label has been reached.
+	 *
+	 * @param start
+	 *            label which implies the probe
+	 * @param branch
+	 *            unique branch number for the last instruction
+	 * @param target
+	 *            label the probe leads to or <code>null</code> if the
+	 *            instruction terminates the method
+	 */
+	void addImpliedProbe(final Label start, final int branch,
+			final Label target) {
+		List<ImpliedProbe> list = impliedProbes.get(start);
+		if (list == null) {
+			list = new ArrayList<ImpliedProbe>(2);
+			impliedProbes.put(start, list);
+		}
+		list.add(new ImpliedProbe(currentInsn, branch, target));
+	}
+
+	/**
+	 * Sets a probe which determines the status of all instructions of the
+	 * method. If the probe has been executed all instructions and branches are
+	 * considered as covered.
+	 *
+	 * @param probeId
+	 *            index in the probe array
+	 */
+	void setMethodProbe(final int probeId) {
+		methodProbe = probeId;
+	}
+
+	private boolean isExecuted(final int probeId) {
+		// Execution data with less probes is rejected by ClassAnalyzer after
+		// all methods have been visited
+		return probes != null && probeId < probes.length && probes[probeId];
 	}
 
 	/**
@@ -158,14 +233,69 @@ class InstructionsBuilder {
 	 *         instances
 	 */
 	Map<AbstractInsnNode, Instruction> getInstructions() {
+		// Implied probes:
+		addImpliedProbes();
+
 		// Wire jumps:
 		for (final Jump j : jumps) {
 			j.wire();
 		}
 
+		if (methodProbe != -1 && isExecuted(methodProbe)) {
+			for (final Instruction i : instructions.values()) {
+				i.setExecuted();
+			}
+		}
+
 		return instructions;
 	}
 
+	/**
+	 * An implied probe has been executed if its start label has been reached. A
+	 * label has been reached if an executed probe leads to it, which might be
+	 * an implied probe itself.
+	 */
+	private void addImpliedProbes() {
+		if (impliedProbes.isEmpty()) {
+			return;
+		}
+		final List<Label> worklist = new ArrayList<Label>(reachedLabels);
+		while (!worklist.isEmpty()) {
+			final Label start = worklist.remove(worklist.size() - 1);
+			final List<ImpliedProbe> list = impliedProbes.get(start);
+			if (list == null) {
+				continue;
+			}
+			for (final ImpliedProbe p : list) {
+				p.executed = true;
+				if (p.target != null && reachedLabels.add(p.target)) {
+					worklist.add(p.target);
+				}
+			}
+		}
+		for (final List<ImpliedProbe> list : impliedProbes.values()) {
+			for (final ImpliedProbe p : list) {
+				p.source.addBranch(p.executed, p.branch);
+			}
+		}
+	}
+
+	private static class ImpliedProbe {
+
+		private final Instruction source;
+		private final int branch;
+		private final Label target;
+		private boolean executed;
+
+		ImpliedProbe(final Instruction source, final int branch,
+				final Label target) {
+			this.source = source;
+			this.branch = branch;
+			this.target = target;
+		}
+
+	}
+
 	private static class Jump {
 
 		private final Instruction source;
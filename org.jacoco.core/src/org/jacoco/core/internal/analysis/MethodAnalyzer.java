@@ -33,6 +33,12 @@ public class MethodAnalyzer extends MethodProbesVisitor {
 	/** Current node of the ASM tree API */
 	private AbstractInsnNode currentNode;
 
+	/** Id of the probe inserted before the next label or -1 */
+	private int pendingProbe = -1;
+
+	/** Label implying the probe before the next label or <code>null</code> */
+	private Label pendingImpliedProbe;
+
 	/**
 	 * New instance that uses the given builder.
 	 */
@@ -56,6 +62,15 @@ public class MethodAnalyzer extends MethodProbesVisitor {
 
 	@Override
 	public void visitLabel(final Label label) {
+		if (pendingProbe != -1) {
+			builder.addProbe(pendingProbe, 0, label);
+			builder.noSuccessor();
+			pendingProbe = -1;
+		} else if (pendingImpliedProbe != null) {
+			builder.addImpliedProbe(pendingImpliedProbe, 0, label);
+			builder.noSuccessor();
+			pendingImpliedProbe = null;
+		}
 		builder.addLabel(label);
 	}
 
@@ -150,17 +165,34 @@ public class MethodAnalyzer extends MethodProbesVisitor {
 		builder.addInstruction(currentNode);
 	}
 
+	@Override
+	public void visitMethodProbe(final int probeId) {
+		builder.setMethodProbe(probeId);
+	}
+
 	@Override
 	public void visitProbe(final int probeId) {
-		builder.addProbe(probeId, 0);
-		builder.noSuccessor();
+		// The probe is added with the subsequent label it leads to
+		pendingProbe = probeId;
+	}
+
+	@Override
+	public void visitImpliedProbe(final Label start) {
+		pendingImpliedProbe = start;
 	}
 
 	@Override
 	public void visitJumpInsnWithProbe(final int opcode, final Label label,
 			final int probeId, final IFrame frame) {
 		builder.addInstruction(currentNode);
-		builder.addProbe(probeId, 1);
+		builder.addProbe(probeId, 1, label);
+	}
+
+	@Override
+	public void visitJumpInsnWithImpliedProbe(final int opcode,
+			final Label label, final Label start) {
+		builder.addInstruction(currentNode);
+		builder.addImpliedProbe(start, 1, label);
 	}
 
 	@Override
@@ -169,6 +201,12 @@ public class MethodAnalyzer extends MethodProbesVisitor {
 		builder.addProbe(probeId, 0);
 	}
 
+	@Override
+	public void visitInsnWithImpliedProbe(final int opcode, final Label start) {
+		builder.addInstruction(currentNode);
+		builder.addImpliedProbe(start, 0, null);
+	}
+
 	@Override
 	public void visitTableSwitchInsnWithProbes(final int min, final int max,
 			final Label dflt, final Label[] labels, final IFrame frame) {
@@ -200,7 +238,7 @@ public class MethodAnalyzer extends MethodProbesVisitor {
 			if (id == LabelInfo.NO_PROBE) {
 				builder.addJump(label, branch);
 			} else {
-				builder.addProbe(id, branch);
+				builder.addProbe(id, branch, label);
 			}
 			LabelInfo.setDone(label);
 		}
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.internal.analysis;
+
+/**
+ * Thrown when the execution data of a class does not contain the number of
+ * probes the class has been analyzed with.
+ */
+public class ProbeCountMismatchException extends IllegalStateException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Creates a new exception for the given class.
+	 *
+	 * @param className
+	 *            VM name of the class
+	 * @param actual
+	 *            number of probes in the execution data
+	 * @param expected
+	 *            number of probes of the analyzed class
+	 */
+	public ProbeCountMismatchException(final String className, final int actual,
+			final int expected) {
+		super(String.format(
+				"Execution data for class %s contains %s instead of %s probes. "
+						+ "Probably a different probe placement has been used for instrumentation.",
+				className, Integer.valueOf(actual), Integer.valueOf(expected)));
+	}
+
+}
@@ -19,14 +19,43 @@ import org.jacoco.core.analysis.ISourceNode;
 
 /**
  * Implementation of {@link ISourceNode}.
+ *
+ * Line counters are stored in a compact form: every line of the range between
+ * the first and the last line occupies a single <code>char</code> with four
+ * bits per counter value. Only lines with a counter value exceeding this range
+ * are kept in a separate overflow table. As a node which is incremented by a
+ * single child only has exactly the same lines as the child, both nodes share
+ * the line storage until one of them is modified.
  */
 public class SourceNodeImpl extends CoverageNodeImpl implements ISourceNode {
 
-	private LineImpl[] lines;
+	/** Max counter value which can be stored in the packed representation */
+	private static final int PACKED_LIMIT = 0xF;
+
+	/** Packed value indicating a line stored in the overflow table */
+	private static final char OVERFLOW = 0xFFFF;
+
+	/** Number of <code>int</code> values per overflow table entry */
+	private static final int OVERFLOW_ENTRY = 5;
+
+	/** packed line counters, see {@link #pack(int, int, int, int)} */
+	private char[] lines;
 
 	/** first line number in {@link #lines} */
 	private int offset;
 
+	/**
+	 * entries of line number, missed and covered instructions, missed and
+	 * covered branches sorted by line number
+	 */
+	private int[] overflow;
+
+	/** number of entries in {@link #overflow} */
+	private int overflowSize;
+
+	/** line storage is shared with another node and must be copied on write */
+	private boolean shared;
+
 	/**
 	 * Create a new source node implementation instance.
 	 *
@@ -61,7 +90,7 @@ public class SourceNodeImpl extends CoverageNodeImpl implements ISourceNode {
 			} else {
 				counter = CounterImpl.COUNTER_1_0;
 			}
-			lines[line - offset] = LineImpl.EMPTY;
+			setLine(line, 0, 0, 0, 0);
 			if (l.instructions.covered > 0) {
 				lineCounter = lineCounter.increment(0, -1);
 			} else if (l.instructions.missed > 0) {
@@ -94,17 +123,21 @@ public class SourceNodeImpl extends CoverageNodeImpl implements ISourceNode {
 		}
 		if (lines == null) {
 			offset = first;
-			lines = new LineImpl[last - first + 1];
+			lines = new char[last - first + 1];
 		} else {
 			final int newFirst = Math.min(getFirstLine(), first);
 			final int newLast = Math.max(getLastLine(), last);
 			final int newLength = newLast - newFirst + 1;
 			if (newLength > lines.length) {
-				final LineImpl[] newLines = new LineImpl[newLength];
+				final char[] newLines = new char[newLength];
 				System.arraycopy(lines, 0, newLines, offset - newFirst,
 						lines.length);
 				offset = newFirst;
 				lines = newLines;
+				if (shared && overflow != null) {
+					overflow = overflow.clone();
+				}
+				shared = false;
 			}
 		}
 	}
@@ -126,13 +159,49 @@ public class SourceNodeImpl extends CoverageNodeImpl implements ISourceNode {
 		methodCounter = methodCounter.increment(child.getMethodCounter());
 		classCounter = classCounter.increment(child.getClassCounter());
 		final int firstLine = child.getFirstLine();
-		if (firstLine != UNKNOWN_LINE) {
-			final int lastLine = child.getLastLine();
-			ensureCapacity(firstLine, lastLine);
-			for (int i = firstLine; i <= lastLine; i++) {
-				final ILine line = child.getLine(i);
-				incrementLine(line.getInstructionCounter(),
-						line.getBranchCounter(), i);
+		if (firstLine == UNKNOWN_LINE) {
+			return;
+		}
+		if (child instanceof SourceNodeImpl) {
+			increment((SourceNodeImpl) child);
+			return;
+		}
+		final int lastLine = child.getLastLine();
+		ensureCapacity(firstLine, lastLine);
+		for (int i = firstLine; i <= lastLine; i++) {
+			final ILine line = child.getLine(i);
+			incrementLine(line.getInstructionCounter(), line.getBranchCounter(),
+					i);
+		}
+	}
+
+	private void increment(final SourceNodeImpl child) {
+		if (lines == null) {
+			lines = child.lines;
+			offset = child.offset;
+			overflow = child.overflow;
+			overflowSize = child.overflowSize;
+			lineCounter = lineCounter.increment(child.getLineCounter());
+			shared = true;
+			child.shared = true;
+			return;
+		}
+		ensureCapacity(child.getFirstLine(), child.getLastLine());
+		final char[] childLines = child.lines;
+		for (int i = 0; i < childLines.length; i++) {
+			final char c = childLines[i];
+			if (c == 0) {
+				continue;
+			}
+			final int line = child.offset + i;
+			if (c == OVERFLOW) {
+				final int pos = child.findOverflow(line);
+				final int[] o = child.overflow;
+				incrementLine(o[pos + 1], o[pos + 2], o[pos + 3], o[pos + 4],
+						line);
+			} else {
+				incrementLine(c & PACKED_LIMIT, (c >> 4) & PACKED_LIMIT,
+						(c >> 8) & PACKED_LIMIT, c >> 12, line);
 			}
 		}
 	}
@@ -160,15 +229,38 @@ public class SourceNodeImpl extends CoverageNodeImpl implements ISourceNode {
 
 	private void incrementLine(final ICounter instructions,
 			final ICounter branches, final int line) {
+		incrementLine(instructions.getMissedCount(),
+				instructions.getCoveredCount(), branches.getMissedCount(),
+				branches.getCoveredCount(), line);
+	}
+
+	private void incrementLine(final int im, final int ic, final int bm,
+			final int bc, final int line) {
 		ensureCapacity(line, line);
-		final LineImpl l = getLine(line);
-		final int oldTotal = l.getInstructionCounter().getTotalCount();
-		final int oldCovered = l.getInstructionCounter().getCoveredCount();
-		lines[line - offset] = l.increment(instructions, branches);
+		final int oldMissed;
+		final int oldCovered;
+		final int oldBranchesMissed;
+		final int oldBranchesCovered;
+		final char c = lines[line - offset];
+		if (c == OVERFLOW) {
+			final int pos = findOverflow(line);
+			oldMissed = overflow[pos + 1];
+			oldCovered = overflow[pos + 2];
+			oldBranchesMissed = overflow[pos + 3];
+			oldBranchesCovered = overflow[pos + 4];
+		} else {
+			oldMissed = c & PACKED_LIMIT;
+			oldCovered = (c >> 4) & PACKED_LIMIT;
+			oldBranchesMissed = (c >> 8) & PACKED_LIMIT;
+			oldBranchesCovered = c >> 12;
+		}
+		setLine(line, oldMissed + im, oldCovered + ic, oldBranchesMissed + bm,
+				oldBranchesCovered + bc);
 
 		// Increment line counter:
-		if (instructions.getTotalCount() > 0) {
-			if (instructions.getCoveredCount() == 0) {
+		if (im + ic > 0) {
+			final int oldTotal = oldMissed + oldCovered;
+			if (ic == 0) {
 				if (oldTotal == 0) {
 					lineCounter = lineCounter
 							.increment(CounterImpl.COUNTER_1_0);
@@ -186,6 +278,100 @@ public class SourceNodeImpl extends CoverageNodeImpl implements ISourceNode {
 		}
 	}
 
+	/**
+	 * Stores the given counter values for a line within the current range.
+	 */
+	private void setLine(final int line, final int im, final int ic,
+			final int bm, final int bc) {
+		if (shared) {
+			lines = lines.clone();
+			if (overflow != null) {
+				overflow = overflow.clone();
+			}
+			shared = false;
+		}
+		final int idx = line - offset;
+		final char packed = pack(im, ic, bm, bc);
+		if (packed != OVERFLOW) {
+			if (lines[idx] == OVERFLOW) {
+				removeOverflow(findOverflow(line));
+			}
+			lines[idx] = packed;
+			return;
+		}
+		final int pos;
+		if (lines[idx] == OVERFLOW) {
+			pos = findOverflow(line);
+		} else {
+			pos = insertOverflow(line);
+			lines[idx] = OVERFLOW;
+		}
+		overflow[pos + 1] = im;
+		overflow[pos + 2] = ic;
+		overflow[pos + 3] = bm;
+		overflow[pos + 4] = bc;
+	}
+
+	/**
+	 * Packs the given counter values into a single <code>char</code> with four
+	 * bits per value.
+	 *
+	 * @return packed values or {@link #OVERFLOW} if the values can't be packed,
+	 *         which includes the case where all values are at the limit
+	 */
+	private static char pack(final int im, final int ic, final int bm,
+			final int bc) {
+		if (im > PACKED_LIMIT || ic > PACKED_LIMIT || bm > PACKED_LIMIT
+				|| bc > PACKED_LIMIT) {
+			return OVERFLOW;
+		}
+		return (char) (im | ic << 4 | bm << 8 | bc << 12);
+	}
+
+	/**
+	 * @return position of the overflow entry for the given line or the negative
+	 *         insertion position minus one if there is no such entry
+	 */
+	private int findOverflow(final int line) {
+		int low = 0;
+		int high = overflowSize - 1;
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			final int midLine = overflow[mid * OVERFLOW_ENTRY];
+			if (midLine < line) {
+				low = mid + 1;
+			} else if (midLine > line) {
+				high = mid - 1;
+			} else {
+				return mid * OVERFLOW_ENTRY;
+			}
+		}
+		return -(low * OVERFLOW_ENTRY) - 1;
+	}
+
+	private int insertOverflow(final int line) {
+		final int pos = -findOverflow(line) - 1;
+		final int size = overflowSize * OVERFLOW_ENTRY;
+		if (overflow == null) {
+			overflow = new int[4 * OVERFLOW_ENTRY];
+		} else if (size == overflow.length) {
+			final int[] newOverflow = new int[2 * size];
+			System.arraycopy(overflow, 0, newOverflow, 0, size);
+			overflow = newOverflow;
+		}
+		System.arraycopy(overflow, pos, overflow, pos + OVERFLOW_ENTRY,
+				size - pos);
+		overflow[pos] = line;
+		overflowSize++;
+		return pos;
+	}
+
+	private void removeOverflow(final int pos) {
+		overflowSize--;
+		System.arraycopy(overflow, pos + OVERFLOW_ENTRY, overflow, pos,
+				overflowSize * OVERFLOW_ENTRY - pos);
+	}
+
 	// === ISourceNode implementation ===
 
 	public int getFirstLine() {
@@ -200,8 +386,14 @@ public class SourceNodeImpl extends CoverageNodeImpl implements ISourceNode {
 		if (lines == null || nr < getFirstLine() || nr > getLastLine()) {
 			return LineImpl.EMPTY;
 		}
-		final LineImpl line = lines[nr - offset];
-		return line == null ? LineImpl.EMPTY : line;
+		final char c = lines[nr - offset];
+		if (c == OVERFLOW) {
+			final int pos = findOverflow(nr);
+			return LineImpl.getInstance(overflow[pos + 1], overflow[pos + 2],
+					overflow[pos + 3], overflow[pos + 4]);
+		}
+		return LineImpl.getInstance(c & PACKED_LIMIT, (c >> 4) & PACKED_LIMIT,
+				(c >> 8) & PACKED_LIMIT, c >> 12);
 	}
 
 }
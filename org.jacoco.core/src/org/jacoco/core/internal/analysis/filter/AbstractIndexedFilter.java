@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.internal.analysis.filter;
+
+import org.objectweb.asm.tree.MethodNode;
+
+/**
+ * Base class for filters which look up instructions with a {@link MethodIndex}
+ * instead of walking the instruction list. Within a {@link FilterSet} the index
+ * of a method is created once and shared by all filters.
+ */
+abstract class AbstractIndexedFilter implements IFilter {
+
+	public final void filter(final MethodNode methodNode,
+			final IFilterContext context, final IFilterOutput output) {
+		filter(methodNode, new MethodIndex(methodNode), context, output);
+	}
+
+	/**
+	 * Inspects the given method with the help of the given index.
+	 *
+	 * @param methodNode
+	 *            method to inspect
+	 * @param index
+	 *            index of the method
+	 * @param context
+	 *            context information for the method
+	 * @param output
+	 *            callback to report filtering results to
+	 */
+	abstract void filter(MethodNode methodNode, MethodIndex index,
+			IFilterContext context, IFilterOutput output);
+
+}
@@ -19,7 +19,14 @@ import org.objectweb.asm.tree.MethodNode;
 /**
  * Filters code that is generated for an <code>assert</code> statement.
  */
-final class AssertFilter implements IFilter {
+final class AssertFilter implements IOpcodeFilter {
+
+	private static final int[] OPCODES = { Opcodes.GETSTATIC,
+			Opcodes.PUTSTATIC };
+
+	public int[] getOpcodes() {
+		return OPCODES;
+	}
 
 	public void filter(final MethodNode methodNode,
 			final IFilterContext context, final IFilterOutput output) {
@@ -25,17 +25,22 @@ import org.objectweb.asm.tree.TypeInsnNode;
  * Filters default branch generated by compilers for exhaustive switch
  * expressions.
  */
-final class ExhaustiveSwitchFilter implements IFilter {
+final class ExhaustiveSwitchFilter extends AbstractIndexedFilter
+		implements IOpcodeFilter {
 
-	public void filter(final MethodNode methodNode,
+	private static final int[] OPCODES = { Opcodes.TABLESWITCH,
+			Opcodes.LOOKUPSWITCH };
+
+	public int[] getOpcodes() {
+		return OPCODES;
+	}
+
+	@Override
+	void filter(final MethodNode methodNode, final MethodIndex index,
 			final IFilterContext context, final IFilterOutput output) {
 		final Matcher matcher = new Matcher();
-		int line = -1;
-		for (final AbstractInsnNode i : methodNode.instructions) {
-			if (i.getType() == AbstractInsnNode.LINE) {
-				line = ((LineNumberNode) i).line;
-			}
-			matcher.match(i, line, output);
+		for (final AbstractInsnNode i : index.getInstructions(OPCODES)) {
+			matcher.match(i, index.getLine(i), output);
 		}
 	}
 
@@ -12,22 +12,72 @@
  *******************************************************************************/
 package org.jacoco.core.internal.analysis.filter;
 
+import org.jacoco.core.analysis.FilterProfile;
 import org.objectweb.asm.tree.MethodNode;
 
 /**
- * Filter that combines other filters.
+ * Filter that combines other filters. Filters implementing
+ * {@link IOpcodeFilter} are only invoked for methods containing one of their
+ * opcodes. A single {@link MethodIndex} is shared by all filters.
  */
 final class FilterSet implements IFilter {
 
 	private final IFilter[] filters;
 
+	private final String[] names;
+
+	private final FilterProfile profile;
+
 	FilterSet(final IFilter... filters) {
+		this(null, filters);
+	}
+
+	FilterSet(final FilterProfile profile, final IFilter... filters) {
 		this.filters = filters;
+		this.profile = profile;
+		if (profile == null) {
+			this.names = null;
+		} else {
+			this.names = new String[filters.length];
+			for (int i = 0; i < filters.length; i++) {
+				names[i] = filters[i].getClass().getSimpleName();
+			}
+		}
 	}
 
 	public void filter(final MethodNode methodNode,
 			final IFilterContext context, final IFilterOutput output) {
-		for (final IFilter filter : filters) {
+		filter(methodNode, context, output, new MethodIndex(methodNode));
+	}
+
+	void filter(final MethodNode methodNode, final IFilterContext context,
+			final IFilterOutput output, final MethodIndex index) {
+		for (int i = 0; i < filters.length; i++) {
+			final IFilter filter = filters[i];
+			if (filter instanceof IOpcodeFilter && !index
+					.containsAny(((IOpcodeFilter) filter).getOpcodes())) {
+				if (profile != null) {
+					profile.skipped(names[i]);
+				}
+				continue;
+			}
+			if (profile == null) {
+				filter(filter, methodNode, index, context, output);
+			} else {
+				final long start = System.nanoTime();
+				filter(filter, methodNode, index, context, output);
+				profile.invoked(names[i], System.nanoTime() - start);
+			}
+		}
+	}
+
+	private static void filter(final IFilter filter,
+			final MethodNode methodNode, final MethodIndex index,
+			final IFilterContext context, final IFilterOutput output) {
+		if (filter instanceof AbstractIndexedFilter) {
+			((AbstractIndexedFilter) filter).filter(methodNode, index, context,
+					output);
+		} else {
 			filter.filter(methodNode, context, output);
 		}
 	}
@@ -12,6 +12,7 @@
  *******************************************************************************/
 package org.jacoco.core.internal.analysis.filter;
 
+import org.jacoco.core.analysis.FilterProfile;
 import org.objectweb.asm.tree.MethodNode;
 
 /**
@@ -34,24 +35,41 @@ public final class Filters {
 	 * @return filter that combines all filters
 	 */
 	public static IFilter all() {
-		final IFilter allCommonFilters = allCommonFilters();
-		final IFilter allKotlinFilters = allKotlinFilters();
-		final IFilter allNonKotlinFilters = allNonKotlinFilters();
+		return all(null);
+	}
+
+	/**
+	 * Creates a filter that combines all filters and optionally records
+	 * profiling information for every filter. Kotlin specific filters are only
+	 * applied to Kotlin classes and filters implementing {@link IOpcodeFilter}
+	 * are only applied to methods containing one of their opcodes.
+	 *
+	 * @param profile
+	 *            profile to record invocations and time of every filter to or
+	 *            <code>null</code>
+	 * @return filter that combines all filters
+	 */
+	public static IFilter all(final FilterProfile profile) {
+		final FilterSet allCommonFilters = allCommonFilters(profile);
+		final FilterSet allKotlinFilters = allKotlinFilters(profile);
+		final FilterSet allNonKotlinFilters = allNonKotlinFilters(profile);
 		return new IFilter() {
 			public void filter(final MethodNode methodNode,
 					final IFilterContext context, final IFilterOutput output) {
-				allCommonFilters.filter(methodNode, context, output);
+				final MethodIndex index = new MethodIndex(methodNode);
+				allCommonFilters.filter(methodNode, context, output, index);
 				if (isKotlinClass(context)) {
-					allKotlinFilters.filter(methodNode, context, output);
+					allKotlinFilters.filter(methodNode, context, output, index);
 				} else {
-					allNonKotlinFilters.filter(methodNode, context, output);
+					allNonKotlinFilters.filter(methodNode, context, output,
+							index);
 				}
 			}
 		};
 	}
 
-	private static IFilter allCommonFilters() {
-		return new FilterSet( //
+	private static FilterSet allCommonFilters(final FilterProfile profile) {
+		return new FilterSet(profile, //
 				new EnumFilter(), //
 				new BridgeFilter(), //
 				new SynchronizedFilter(), //
@@ -70,13 +88,13 @@ public final class Filters {
 				new AnnotationGeneratedFilter());
 	}
 
-	private static IFilter allNonKotlinFilters() {
-		return new FilterSet( //
+	private static FilterSet allNonKotlinFilters(final FilterProfile profile) {
+		return new FilterSet(profile, //
 				new SyntheticFilter());
 	}
 
-	private static IFilter allKotlinFilters() {
-		return new FilterSet( //
+	private static FilterSet allKotlinFilters(final FilterProfile profile) {
+		return new FilterSet(profile, //
 				new KotlinGeneratedFilter(), //
 				new KotlinSyntheticAccessorsFilter(), //
 				new KotlinSerializableFilter(), //
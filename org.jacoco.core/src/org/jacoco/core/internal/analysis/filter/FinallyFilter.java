@@ -19,6 +19,7 @@ import java.util.Set;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.AbstractInsnNode;
 import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
 import org.objectweb.asm.tree.MethodNode;
 import org.objectweb.asm.tree.TryCatchBlockNode;
 import org.objectweb.asm.tree.VarInsnNode;
@@ -66,21 +67,29 @@ import org.objectweb.asm.tree.VarInsnNode;
  * at once, because execution can branch from one region to another (like it is
  * in given example due to "if" statement).
  */
-final class FinallyFilter implements IFilter {
+final class FinallyFilter extends AbstractIndexedFilter {
 
-	public void filter(final MethodNode methodNode,
+	@Override
+	void filter(final MethodNode methodNode, final MethodIndex index,
 			final IFilterContext context, final IFilterOutput output) {
+		final Set<LabelNode> handlers = new HashSet<LabelNode>();
 		for (final TryCatchBlockNode tryCatchBlock : methodNode.tryCatchBlocks) {
-			if (tryCatchBlock.type == null) {
-				filter(output, methodNode.tryCatchBlocks, tryCatchBlock);
+			if (tryCatchBlock.type == null
+					&& handlers.add(tryCatchBlock.handler)) {
+				filter(output, methodNode.tryCatchBlocks,
+						index.getTryCatchBlocks(tryCatchBlock.handler));
 			}
 		}
 	}
 
+	/**
+	 * @param regions
+	 *            all try/catch blocks with the same "catch-any" handler
+	 */
 	private static void filter(final IFilterOutput output,
 			final List<TryCatchBlockNode> tryCatchBlocks,
-			final TryCatchBlockNode catchAnyBlock) {
-		final AbstractInsnNode e = next(catchAnyBlock.handler);
+			final List<TryCatchBlockNode> regions) {
+		final AbstractInsnNode e = next(regions.get(0).handler);
 		final int size = size(e);
 		if (size <= 0) {
 			return;
@@ -88,70 +97,79 @@ final class FinallyFilter implements IFilter {
 
 		// Determine instructions inside regions
 		final Set<AbstractInsnNode> inside = new HashSet<AbstractInsnNode>();
-		for (final TryCatchBlockNode t : tryCatchBlocks) {
-			if (t.handler == catchAnyBlock.handler) {
-				AbstractInsnNode i = t.start;
-				while (i != t.end) {
-					inside.add(i);
-					i = i.getNext();
-				}
+		for (final TryCatchBlockNode t : regions) {
+			AbstractInsnNode i = t.start;
+			while (i != t.end) {
+				inside.add(i);
+				i = i.getNext();
 			}
 		}
 
 		// Find and merge duplicates at exits of regions
-		for (final TryCatchBlockNode t : tryCatchBlocks) {
-			if (t.handler == catchAnyBlock.handler) {
-				boolean continues = false;
-				AbstractInsnNode i = t.start;
-
-				while (i != t.end) {
-					switch (i.getType()) {
-					case AbstractInsnNode.FRAME:
-					case AbstractInsnNode.LINE:
-					case AbstractInsnNode.LABEL:
-						break;
-					case AbstractInsnNode.JUMP_INSN:
-						final AbstractInsnNode jumpTarget = next(
-								((JumpInsnNode) i).label);
-						if (!inside.contains(jumpTarget)) {
-							merge(output, size, e, jumpTarget);
-						}
-						continues = i.getOpcode() != Opcodes.GOTO;
-						break;
-					default:
-						switch (i.getOpcode()) {
-						case Opcodes.IRETURN:
-						case Opcodes.LRETURN:
-						case Opcodes.FRETURN:
-						case Opcodes.DRETURN:
-						case Opcodes.ARETURN:
-						case Opcodes.RETURN:
-						case Opcodes.ATHROW:
-							continues = false;
-							break;
-						default:
-							continues = true;
-							break;
-						}
-						break;
-					}
-					i = i.getNext();
-				}
+		for (final TryCatchBlockNode t : regions) {
+			mergeExits(output, size, e, inside, t);
+		}
 
-				i = next(i);
-				if (continues && !inside.contains(i)) {
-					merge(output, size, e, i);
+		for (final TryCatchBlockNode catchAnyBlock : regions) {
+			if (catchAnyBlock.type != null) {
+				continue;
+			}
+			for (final TryCatchBlockNode t : tryCatchBlocks) {
+				if (t != catchAnyBlock && t.start == catchAnyBlock.start
+						&& t.end == catchAnyBlock.end) {
+					final AbstractInsnNode i = next(next(t.handler));
+					if (!inside.contains(i)) {
+						// javac's empty catch - merge after ASTORE
+						merge(output, size, e, i);
+					}
 				}
 			}
+		}
+	}
 
-			if (t != catchAnyBlock && t.start == catchAnyBlock.start
-					&& t.end == catchAnyBlock.end) {
-				final AbstractInsnNode i = next(next(t.handler));
-				if (!inside.contains(i)) {
-					// javac's empty catch - merge after ASTORE
-					merge(output, size, e, i);
+	private static void mergeExits(final IFilterOutput output, final int size,
+			final AbstractInsnNode e, final Set<AbstractInsnNode> inside,
+			final TryCatchBlockNode t) {
+		boolean continues = false;
+		AbstractInsnNode i = t.start;
+
+		while (i != t.end) {
+			switch (i.getType()) {
+			case AbstractInsnNode.FRAME:
+			case AbstractInsnNode.LINE:
+			case AbstractInsnNode.LABEL:
+				break;
+			case AbstractInsnNode.JUMP_INSN:
+				final AbstractInsnNode jumpTarget = next(
+						((JumpInsnNode) i).label);
+				if (!inside.contains(jumpTarget)) {
+					merge(output, size, e, jumpTarget);
 				}
+				continues = i.getOpcode() != Opcodes.GOTO;
+				break;
+			default:
+				switch (i.getOpcode()) {
+				case Opcodes.IRETURN:
+				case Opcodes.LRETURN:
+				case Opcodes.FRETURN:
+				case Opcodes.DRETURN:
+				case Opcodes.ARETURN:
+				case Opcodes.RETURN:
+				case Opcodes.ATHROW:
+					continues = false;
+					break;
+				default:
+					continues = true;
+					break;
+				}
+				break;
 			}
+			i = i.getNext();
+		}
+
+		i = next(i);
+		if (continues && !inside.contains(i)) {
+			merge(output, size, e, i);
 		}
 	}
 
@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.internal.analysis.filter;
+
+/**
+ * Filter which can only produce results for methods containing at least one of
+ * the declared opcodes. A {@link FilterSet} skips such filters for all other
+ * methods without invoking them.
+ */
+interface IOpcodeFilter extends IFilter {
+
+	/**
+	 * @return opcodes of which at least one must be present in a method for
+	 *         this filter to apply
+	 */
+	int[] getOpcodes();
+
+}
@@ -26,7 +26,13 @@ import org.objectweb.asm.tree.TableSwitchInsnNode;
 /**
  * Filters branches that Kotlin compiler generates for coroutines.
  */
-final class KotlinCoroutineFilter implements IFilter {
+final class KotlinCoroutineFilter implements IOpcodeFilter {
+
+	private static final int[] OPCODES = { Opcodes.INVOKESTATIC };
+
+	public int[] getOpcodes() {
+		return OPCODES;
+	}
 
 	public void filter(final MethodNode methodNode,
 			final IFilterContext context, final IFilterOutput output) {
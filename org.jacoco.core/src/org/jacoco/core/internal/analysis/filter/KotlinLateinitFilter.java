@@ -22,12 +22,20 @@ import org.objectweb.asm.tree.MethodNode;
  * Filters branch in bytecode that Kotlin compiler generates for reading from
  * <code>lateinit</code> properties.
  */
-final class KotlinLateinitFilter implements IFilter {
+final class KotlinLateinitFilter extends AbstractIndexedFilter
+		implements IOpcodeFilter {
 
-	public void filter(final MethodNode methodNode,
+	private static final int[] OPCODES = { Opcodes.IFNONNULL, Opcodes.IFNULL };
+
+	public int[] getOpcodes() {
+		return OPCODES;
+	}
+
+	@Override
+	void filter(final MethodNode methodNode, final MethodIndex index,
 			final IFilterContext context, final IFilterOutput output) {
 		final Matcher matcher = new Matcher();
-		for (final AbstractInsnNode node : methodNode.instructions) {
+		for (final AbstractInsnNode node : index.getInstructions(OPCODES)) {
 			matcher.match(node, output);
 		}
 	}
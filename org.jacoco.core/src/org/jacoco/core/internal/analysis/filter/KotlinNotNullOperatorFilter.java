@@ -20,12 +20,21 @@ import org.objectweb.asm.tree.MethodNode;
  * Filters branch in bytecode that Kotlin compiler generates for not-null
  * assertion operator.
  */
-final class KotlinNotNullOperatorFilter implements IFilter {
+final class KotlinNotNullOperatorFilter extends AbstractIndexedFilter
+		implements IOpcodeFilter {
 
-	public void filter(final MethodNode methodNode,
+	private static final int[] OPCODES = { Opcodes.IFNONNULL };
+
+	public int[] getOpcodes() {
+		return OPCODES;
+	}
+
+	@Override
+	void filter(final MethodNode methodNode, final MethodIndex index,
 			final IFilterContext context, final IFilterOutput output) {
 		final Matcher matcher = new Matcher();
-		for (final AbstractInsnNode i : methodNode.instructions) {
+		for (final AbstractInsnNode i : index
+				.getInstructions(Opcodes.IFNONNULL)) {
 			matcher.match(i, output);
 		}
 	}
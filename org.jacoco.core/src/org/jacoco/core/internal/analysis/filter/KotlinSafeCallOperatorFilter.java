@@ -27,11 +27,19 @@ import org.objectweb.asm.tree.VarInsnNode;
  * Filters bytecode that Kotlin compiler generates for chains of safe call
  * operators ({@code ?.}).
  */
-final class KotlinSafeCallOperatorFilter implements IFilter {
+final class KotlinSafeCallOperatorFilter extends AbstractIndexedFilter
+		implements IOpcodeFilter {
 
-	public void filter(final MethodNode methodNode,
+	private static final int[] OPCODES = { Opcodes.IFNULL };
+
+	public int[] getOpcodes() {
+		return OPCODES;
+	}
+
+	@Override
+	void filter(final MethodNode methodNode, final MethodIndex index,
 			final IFilterContext context, final IFilterOutput output) {
-		for (final ArrayList<JumpInsnNode> chain : findChains(methodNode)) {
+		for (final ArrayList<JumpInsnNode> chain : findChains(index)) {
 			final AbstractInsnNode ifNonNullInstruction = chain.get(0).label
 					.getPrevious();
 			if (chain.size() == 1
@@ -117,12 +125,9 @@ final class KotlinSafeCallOperatorFilter implements IFilter {
 	 * </pre>
 	 */
 	private static Collection<ArrayList<JumpInsnNode>> findChains(
-			final MethodNode methodNode) {
+			final MethodIndex index) {
 		final HashMap<AbstractInsnNode, ArrayList<JumpInsnNode>> chains = new HashMap<AbstractInsnNode, ArrayList<JumpInsnNode>>();
-		for (final AbstractInsnNode i : methodNode.instructions) {
-			if (i.getOpcode() != Opcodes.IFNULL) {
-				continue;
-			}
+		for (final AbstractInsnNode i : index.getInstructions(Opcodes.IFNULL)) {
 			final JumpInsnNode jump = (JumpInsnNode) i;
 			final LabelNode label = jump.label;
 			final AbstractInsnNode target = AbstractMatcher
@@ -22,12 +22,21 @@ import org.objectweb.asm.tree.MethodNode;
  * Filters branch in bytecode that Kotlin compiler generates for "unsafe" cast
  * operator.
  */
-final class KotlinUnsafeCastOperatorFilter implements IFilter {
+final class KotlinUnsafeCastOperatorFilter extends AbstractIndexedFilter
+		implements IOpcodeFilter {
 
-	public void filter(final MethodNode methodNode,
+	private static final int[] OPCODES = { Opcodes.IFNONNULL };
+
+	public int[] getOpcodes() {
+		return OPCODES;
+	}
+
+	@Override
+	void filter(final MethodNode methodNode, final MethodIndex index,
 			final IFilterContext context, final IFilterOutput output) {
 		final Matcher matcher = new Matcher();
-		for (final AbstractInsnNode i : methodNode.instructions) {
+		for (final AbstractInsnNode i : index
+				.getInstructions(Opcodes.IFNONNULL)) {
 			matcher.match("kotlin/TypeCastException", i, output);
 			// Since Kotlin 1.4.0:
 			matcher.match("java/lang/NullPointerException", i, output);
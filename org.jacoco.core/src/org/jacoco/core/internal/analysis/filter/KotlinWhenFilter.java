@@ -26,16 +26,36 @@ import org.objectweb.asm.tree.TableSwitchInsnNode;
  * expressions and statements with subject of type <code>enum class</code> or
  * <code>sealed class</code>.
  */
-final class KotlinWhenFilter implements IFilter {
+final class KotlinWhenFilter extends AbstractIndexedFilter
+		implements IOpcodeFilter {
+
+	private static final int[] OPCODES = { Opcodes.ATHROW, Opcodes.IFNONNULL };
 
 	private static final String EXCEPTION = "kotlin/NoWhenBranchMatchedException";
 
-	public void filter(final MethodNode methodNode,
+	public int[] getOpcodes() {
+		return OPCODES;
+	}
+
+	@Override
+	void filter(final MethodNode methodNode, final MethodIndex index,
 			final IFilterContext context, final IFilterOutput output) {
 		final Matcher matcher = new Matcher();
-		for (final AbstractInsnNode i : methodNode.instructions) {
-			matcher.match(i, output);
-			matcher.matchNullableEnum(i, output);
+		for (final AbstractInsnNode i : index.getInstructions(Opcodes.NEW,
+				Opcodes.DUP)) {
+			if (i.getOpcode() == Opcodes.NEW) {
+				// labels directly preceding the exception instantiation
+				AbstractInsnNode start = i;
+				while (start.getPrevious() != null
+						&& start.getPrevious().getOpcode() == -1) {
+					start = start.getPrevious();
+				}
+				for (; start != i; start = start.getNext()) {
+					matcher.match(start, output);
+				}
+			} else {
+				matcher.matchNullableEnum(i, output);
+			}
 		}
 	}
 
@@ -25,12 +25,21 @@ import org.objectweb.asm.tree.VarInsnNode;
  * Filters bytecode that Kotlin compiler generates for <code>when</code>
  * expressions with a <code>String</code>.
  */
-final class KotlinWhenStringFilter implements IFilter {
+final class KotlinWhenStringFilter extends AbstractIndexedFilter
+		implements IOpcodeFilter {
 
-	public void filter(final MethodNode methodNode,
+	private static final int[] OPCODES = { Opcodes.TABLESWITCH,
+			Opcodes.LOOKUPSWITCH };
+
+	public int[] getOpcodes() {
+		return OPCODES;
+	}
+
+	@Override
+	void filter(final MethodNode methodNode, final MethodIndex index,
 			final IFilterContext context, final IFilterOutput output) {
 		final Matcher matcher = new Matcher();
-		for (final AbstractInsnNode i : methodNode.instructions) {
+		for (final AbstractInsnNode i : index.getInstructions(Opcodes.ALOAD)) {
 			matcher.match(i, output);
 		}
 	}
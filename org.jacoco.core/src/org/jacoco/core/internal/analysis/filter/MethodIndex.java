@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.internal.analysis.filter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LineNumberNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+
+/**
+ * Index of a single method which is shared by all filters applied to this
+ * method. Filters look up instructions by opcode, try/catch blocks by handler
+ * and line numbers of instructions instead of walking the instruction list on
+ * their own. Every part of the index is created lazily on first access.
+ */
+final class MethodIndex {
+
+	private static final int OPCODES = 256;
+
+	private final MethodNode methodNode;
+
+	private long[] opcodes;
+
+	private List<AbstractInsnNode>[] instructions;
+
+	private Map<LabelNode, List<TryCatchBlockNode>> handlers;
+
+	private int[] lines;
+
+	/**
+	 * Creates a new index for the given method.
+	 *
+	 * @param methodNode
+	 *            method to index
+	 */
+	MethodIndex(final MethodNode methodNode) {
+		this.methodNode = methodNode;
+	}
+
+	/**
+	 * @param opcodes
+	 *            opcodes to check
+	 * @return <code>true</code> if the method contains at least one instruction
+	 *         with one of the given opcodes
+	 */
+	boolean containsAny(final int[] opcodes) {
+		if (this.opcodes == null) {
+			final long[] bits = new long[OPCODES / 64];
+			for (final AbstractInsnNode i : methodNode.instructions) {
+				final int opcode = i.getOpcode();
+				if (opcode != -1) {
+					bits[opcode >> 6] |= 1L << opcode;
+				}
+			}
+			this.opcodes = bits;
+		}
+		for (final int opcode : opcodes) {
+			if ((this.opcodes[opcode >> 6] & (1L << opcode)) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param opcode
+	 *            opcode of the instructions
+	 * @return all instructions with the given opcode in the order of the
+	 *         instruction list
+	 */
+	List<AbstractInsnNode> getInstructions(final int opcode) {
+		if (instructions == null) {
+			indexInstructions();
+		}
+		final List<AbstractInsnNode> list = instructions[opcode];
+		return list == null ? Collections.<AbstractInsnNode> emptyList() : list;
+	}
+
+	/**
+	 * @param opcodes
+	 *            opcodes of the instructions
+	 * @return all instructions with one of the given opcodes in the order of
+	 *         the instruction list
+	 */
+	List<AbstractInsnNode> getInstructions(final int... opcodes) {
+		if (opcodes.length == 1) {
+			return getInstructions(opcodes[0]);
+		}
+		final List<AbstractInsnNode> list = new ArrayList<AbstractInsnNode>();
+		for (final int opcode : opcodes) {
+			list.addAll(getInstructions(opcode));
+		}
+		final InsnList insnList = methodNode.instructions;
+		Collections.sort(list, new Comparator<AbstractInsnNode>() {
+			public int compare(final AbstractInsnNode i1,
+					final AbstractInsnNode i2) {
+				return insnList.indexOf(i1) - insnList.indexOf(i2);
+			}
+		});
+		return list;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void indexInstructions() {
+		instructions = new List[OPCODES];
+		for (final AbstractInsnNode i : methodNode.instructions) {
+			final int opcode = i.getOpcode();
+			if (opcode == -1) {
+				continue;
+			}
+			List<AbstractInsnNode> list = instructions[opcode];
+			if (list == null) {
+				list = new ArrayList<AbstractInsnNode>();
+				instructions[opcode] = list;
+			}
+			list.add(i);
+		}
+	}
+
+	/**
+	 * @param handler
+	 *            handler label
+	 * @return all try/catch blocks with the given handler in the order of
+	 *         {@link MethodNode#tryCatchBlocks}
+	 */
+	List<TryCatchBlockNode> getTryCatchBlocks(final LabelNode handler) {
+		if (handlers == null) {
+			handlers = new HashMap<LabelNode, List<TryCatchBlockNode>>();
+			for (final TryCatchBlockNode t : methodNode.tryCatchBlocks) {
+				List<TryCatchBlockNode> list = handlers.get(t.handler);
+				if (list == null) {
+					list = new ArrayList<TryCatchBlockNode>(1);
+					handlers.put(t.handler, list);
+				}
+				list.add(t);
+			}
+		}
+		final List<TryCatchBlockNode> list = handlers.get(handler);
+		return list == null ? Collections.<TryCatchBlockNode> emptyList()
+				: list;
+	}
+
+	/**
+	 * @param instruction
+	 *            instruction of the method
+	 * @return line number of the last {@link LineNumberNode} preceding the
+	 *         given instruction or <code>-1</code> if there is none
+	 */
+	int getLine(final AbstractInsnNode instruction) {
+		final InsnList insnList = methodNode.instructions;
+		if (lines == null) {
+			lines = new int[insnList.size()];
+			int line = -1;
+			int pos = 0;
+			for (final AbstractInsnNode i : insnList) {
+				if (i.getType() == AbstractInsnNode.LINE) {
+					line = ((LineNumberNode) i).line;
+				}
+				lines[pos++] = line;
+			}
+		}
+		return lines[insnList.indexOf(instruction)];
+	}
+
+}
@@ -26,12 +26,21 @@ import org.objectweb.asm.tree.VarInsnNode;
  * with a <code>String</code> and by Kotlin compiler 1.5 and above for a
  * <code>when</code> expression with a <code>String</code>.
  */
-final class StringSwitchFilter implements IFilter {
+final class StringSwitchFilter extends AbstractIndexedFilter
+		implements IOpcodeFilter {
 
-	public void filter(final MethodNode methodNode,
+	private static final int[] OPCODES = { Opcodes.TABLESWITCH,
+			Opcodes.LOOKUPSWITCH };
+
+	public int[] getOpcodes() {
+		return OPCODES;
+	}
+
+	@Override
+	void filter(final MethodNode methodNode, final MethodIndex index,
 			final IFilterContext context, final IFilterOutput output) {
 		final Matcher matcher = new Matcher();
-		for (final AbstractInsnNode i : methodNode.instructions) {
+		for (final AbstractInsnNode i : index.getInstructions(Opcodes.ASTORE)) {
 			matcher.match(i, output);
 		}
 	}
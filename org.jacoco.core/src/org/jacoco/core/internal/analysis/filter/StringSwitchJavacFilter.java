@@ -23,11 +23,20 @@ import org.objectweb.asm.tree.TableSwitchInsnNode;
 /**
  * Filters code that is generated by javac for a switch statement with a String.
  */
-final class StringSwitchJavacFilter implements IFilter {
+final class StringSwitchJavacFilter extends AbstractIndexedFilter
+		implements IOpcodeFilter {
 
-	public void filter(final MethodNode methodNode,
+	private static final int[] OPCODES = { Opcodes.TABLESWITCH,
+			Opcodes.LOOKUPSWITCH };
+
+	public int[] getOpcodes() {
+		return OPCODES;
+	}
+
+	@Override
+	void filter(final MethodNode methodNode, final MethodIndex index,
 			final IFilterContext context, final IFilterOutput output) {
-		for (final AbstractInsnNode i : methodNode.instructions) {
+		for (final AbstractInsnNode i : index.getInstructions(OPCODES)) {
 			filter(i, output);
 		}
 	}
@@ -12,10 +12,22 @@
  *******************************************************************************/
 package org.jacoco.core.internal.flow;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.jacoco.core.instr.IMethodProbeListener;
 import org.jacoco.core.internal.instr.InstrSupport;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.commons.AnalyzerAdapter;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
 
 /**
  * A {@link org.objectweb.asm.ClassVisitor} that calculates probes for every
@@ -31,6 +43,14 @@ public class ClassProbesAdapter extends ClassVisitor
 
 	private final boolean trackFrames;
 
+	private final boolean optimizedProbes;
+
+	private final int maxProbeBytes;
+
+	private IMethodProbeListener methodProbeListener;
+
+	private Set<String> methodProbeMethods = Collections.emptySet();
+
 	private int counter = 0;
 
 	private String name;
@@ -41,13 +61,82 @@ public class ClassProbesAdapter extends ClassVisitor
 	 * @param cv
 	 *            instance to delegate to
 	 * @param trackFrames
-	 *            if <code>true</code> stackmap frames are tracked and provided
+	 *            if <code>true</code> stackmap frames are tracked and provided.
+	 *            Frames are only expanded and tracked for methods which
+	 *            actually require frames at inserted probes, all other methods
+	 *            keep their frames in the format they have been read with
+	 *            except for the first frame which is provided as
+	 *            {@link Opcodes#F_FULL} frame.
 	 */
 	public ClassProbesAdapter(final ClassProbesVisitor cv,
 			final boolean trackFrames) {
+		this(cv, trackFrames, false);
+	}
+
+	/**
+	 * Creates a new adapter that delegates to the given visitor.
+	 *
+	 * @param cv
+	 *            instance to delegate to
+	 * @param trackFrames
+	 *            if <code>true</code> stackmap frames are tracked and provided
+	 * @param optimizedProbes
+	 *            if <code>true</code> probes whose state is implied by a
+	 *            previous jump target are omitted, see
+	 *            {@link MethodProbesAdapter#MethodProbesAdapter(MethodProbesVisitor, IProbeIdGenerator, boolean, boolean)}
+	 */
+	public ClassProbesAdapter(final ClassProbesVisitor cv,
+			final boolean trackFrames, final boolean optimizedProbes) {
+		this(cv, trackFrames, optimizedProbes, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Creates a new adapter that delegates to the given visitor.
+	 *
+	 * @param cv
+	 *            instance to delegate to
+	 * @param trackFrames
+	 *            if <code>true</code> stackmap frames are tracked and provided
+	 * @param optimizedProbes
+	 *            if <code>true</code> probes whose state is implied by a
+	 *            previous jump target are omitted, see
+	 *            {@link MethodProbesAdapter#MethodProbesAdapter(MethodProbesVisitor, IProbeIdGenerator, boolean, boolean)}
+	 * @param maxProbeBytes
+	 *            estimated maximum number of bytes regular probes may add to a
+	 *            method. Methods exceeding this limit get a single method level
+	 *            probe only. {@link Integer#MAX_VALUE} disables the limit.
+	 */
+	public ClassProbesAdapter(final ClassProbesVisitor cv,
+			final boolean trackFrames, final boolean optimizedProbes,
+			final int maxProbeBytes) {
 		super(InstrSupport.ASM_API_VERSION, cv);
 		this.cv = cv;
 		this.trackFrames = trackFrames;
+		this.optimizedProbes = optimizedProbes;
+		this.maxProbeBytes = maxProbeBytes;
+	}
+
+	/**
+	 * Sets a listener which is notified about every method which gets a single
+	 * method level probe only.
+	 *
+	 * @param listener
+	 *            listener or <code>null</code>
+	 */
+	public void setMethodProbeListener(final IMethodProbeListener listener) {
+		this.methodProbeListener = listener;
+	}
+
+	/**
+	 * Sets the methods which get a single method level probe independently of
+	 * the limit, typically because instrumentation with regular probes exceeded
+	 * the maximum method size of the JVM.
+	 *
+	 * @param methods
+	 *            method names directly followed by their descriptors
+	 */
+	public void setMethodProbes(final Set<String> methods) {
+		this.methodProbeMethods = methods;
 	}
 
 	@Override
@@ -79,21 +168,122 @@ public class ClassProbesAdapter extends ClassVisitor
 			public void visitEnd() {
 				super.visitEnd();
 				LabelFlowAnalyzer.markLabels(this);
+				final boolean methodProbe = isMethodProbe(this);
 				final MethodProbesAdapter probesAdapter = new MethodProbesAdapter(
-						methodProbes, ClassProbesAdapter.this);
-				if (trackFrames) {
+						methodProbes, ClassProbesAdapter.this, methodProbe,
+						optimizedProbes);
+				if (trackFrames && needsFrames(this, !methodProbe)) {
+					FrameExpander.expandAll(ClassProbesAdapter.this.name, this);
 					final AnalyzerAdapter analyzer = new AnalyzerAdapter(
 							ClassProbesAdapter.this.name, access, name, desc,
 							probesAdapter);
 					probesAdapter.setAnalyzer(analyzer);
 					methodProbes.accept(this, analyzer);
 				} else {
+					if (trackFrames) {
+						FrameExpander.expandFirst(ClassProbesAdapter.this.name,
+								this);
+					}
 					methodProbes.accept(this, probesAdapter);
 				}
 			}
 		};
 	}
 
+	/**
+	 * Decides whether the given method gets a single method level probe only,
+	 * because it has been set explicitly or its regular probes would exceed the
+	 * configured limit. The decision only depends on the method itself and the
+	 * settings, so analysis reproduces the probe ids of instrumentation.
+	 */
+	private boolean isMethodProbe(final MethodNode method) {
+		final boolean forced = methodProbeMethods
+				.contains(method.name + method.desc);
+		if (!forced && maxProbeBytes == Integer.MAX_VALUE) {
+			return false;
+		}
+		final int probeBytes = MethodSizeEstimator.probeBytes(method);
+		if (!forced && (probeBytes <= maxProbeBytes
+				|| probeBytes <= MethodSizeEstimator
+						.methodProbeBytes(method))) {
+			// Within limit or nothing to save
+			return false;
+		}
+		if (methodProbeListener != null) {
+			methodProbeListener.methodProbe(name, method.name, method.desc,
+					probeBytes);
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether frames need to be calculated for the given method, i.e.
+	 * whether probes are inserted at conditional jumps or switches. Also
+	 * methods with consecutive frames are processed with expanded frames, as
+	 * dropping one of them would break the compressed frames which follow.
+	 */
+	private static boolean needsFrames(final MethodNode method,
+			final boolean branchProbes) {
+		boolean instruction = true;
+		for (AbstractInsnNode node = method.instructions
+				.getFirst(); node != null; node = node.getNext()) {
+			switch (node.getType()) {
+			case AbstractInsnNode.FRAME:
+				if (!instruction) {
+					return true;
+				}
+				instruction = false;
+				continue;
+			case AbstractInsnNode.JUMP_INSN:
+				if (!branchProbes) {
+					break;
+				}
+				final JumpInsnNode jump = (JumpInsnNode) node;
+				if (jump.getOpcode() != Opcodes.GOTO
+						&& isMultiTarget(jump.label)) {
+					return true;
+				}
+				break;
+			case AbstractInsnNode.TABLESWITCH_INSN:
+				if (!branchProbes) {
+					break;
+				}
+				final TableSwitchInsnNode table = (TableSwitchInsnNode) node;
+				if (isMultiTarget(table.dflt) || isMultiTarget(table.labels)) {
+					return true;
+				}
+				break;
+			case AbstractInsnNode.LOOKUPSWITCH_INSN:
+				if (!branchProbes) {
+					break;
+				}
+				final LookupSwitchInsnNode lookup = (LookupSwitchInsnNode) node;
+				if (isMultiTarget(lookup.dflt)
+						|| isMultiTarget(lookup.labels)) {
+					return true;
+				}
+				break;
+			}
+			if (node.getOpcode() >= 0) {
+				instruction = true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isMultiTarget(final LabelNode label) {
+		return LabelInfo.isMultiTarget(label.getLabel());
+	}
+
+	private static boolean isMultiTarget(final List<LabelNode> labels) {
+		for (final LabelNode l : labels) {
+			if (isMultiTarget(l)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public void visitEnd() {
 		cv.visitTotalProbeCount(counter);
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.internal.flow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.FrameNode;
+import org.objectweb.asm.tree.MethodNode;
+
+/**
+ * Expands compressed stackmap frames of a single method in the same way as
+ * {@link org.objectweb.asm.ClassReader#EXPAND_FRAMES} does for all methods of a
+ * class. This allows to read classes with compressed frames and only pay for
+ * the expansion in methods where expanded frames are actually required.
+ */
+final class FrameExpander {
+
+	private FrameExpander() {
+		// no instances
+	}
+
+	/**
+	 * Expands all frames of the given method to {@link Opcodes#F_NEW} frames.
+	 * Methods which already have expanded frames are not modified.
+	 *
+	 * @param owner
+	 *            VM name of the class declaring the method
+	 * @param method
+	 *            method to expand frames of
+	 */
+	static void expandAll(final String owner, final MethodNode method) {
+		expand(owner, method, true);
+	}
+
+	/**
+	 * Replaces the first frame of the given method with an equivalent
+	 * {@link Opcodes#F_FULL} frame so that all subsequent compressed frames can
+	 * be interpreted without knowledge of the implicit initial frame of the
+	 * method. Methods which already have expanded frames are not modified.
+	 *
+	 * @param owner
+	 *            VM name of the class declaring the method
+	 * @param method
+	 *            method to expand the first frame of
+	 */
+	static void expandFirst(final String owner, final MethodNode method) {
+		expand(owner, method, false);
+	}
+
+	private static void expand(final String owner, final MethodNode method,
+			final boolean all) {
+		List<Object> locals = null;
+		for (AbstractInsnNode node = method.instructions
+				.getFirst(); node != null; node = node.getNext()) {
+			if (node.getType() != AbstractInsnNode.FRAME) {
+				continue;
+			}
+			final FrameNode frame = (FrameNode) node;
+			if (frame.type == Opcodes.F_NEW) {
+				return;
+			}
+			if (locals == null) {
+				locals = getImplicitLocals(owner, method);
+			}
+			final List<Object> stack;
+			switch (frame.type) {
+			case Opcodes.F_FULL:
+				locals = new ArrayList<Object>(frame.local);
+				stack = frame.stack;
+				break;
+			case Opcodes.F_APPEND:
+				locals.addAll(frame.local);
+				stack = Collections.emptyList();
+				break;
+			case Opcodes.F_CHOP:
+				locals.subList(locals.size() - frame.local.size(),
+						locals.size()).clear();
+				stack = Collections.emptyList();
+				break;
+			case Opcodes.F_SAME1:
+				stack = frame.stack;
+				break;
+			default: // F_SAME
+				stack = Collections.emptyList();
+				break;
+			}
+			frame.type = all ? Opcodes.F_NEW : Opcodes.F_FULL;
+			frame.local = new ArrayList<Object>(locals);
+			frame.stack = new ArrayList<Object>(stack);
+			if (!all) {
+				return;
+			}
+		}
+	}
+
+	private static List<Object> getImplicitLocals(final String owner,
+			final MethodNode method) {
+		final List<Object> locals = new ArrayList<Object>();
+		if ((method.access & Opcodes.ACC_STATIC) == 0) {
+			if ("<init>".equals(method.name)) {
+				locals.add(Opcodes.UNINITIALIZED_THIS);
+			} else {
+				locals.add(owner);
+			}
+		}
+		for (final Type t : Type.getArgumentTypes(method.desc)) {
+			switch (t.getSort()) {
+			case Type.BOOLEAN:
+			case Type.CHAR:
+			case Type.BYTE:
+			case Type.SHORT:
+			case Type.INT:
+				locals.add(Opcodes.INTEGER);
+				break;
+			case Type.FLOAT:
+				locals.add(Opcodes.FLOAT);
+				break;
+			case Type.LONG:
+				locals.add(Opcodes.LONG);
+				break;
+			case Type.DOUBLE:
+				locals.add(Opcodes.DOUBLE);
+				break;
+			case Type.ARRAY:
+				locals.add(t.getDescriptor());
+				break;
+			default: // OBJECT
+				locals.add(t.getInternalName());
+				break;
+			}
+		}
+		return locals;
+	}
+
+}
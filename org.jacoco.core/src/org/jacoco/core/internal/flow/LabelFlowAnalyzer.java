@@ -76,7 +76,7 @@ public final class LabelFlowAnalyzer extends MethodVisitor {
 		LabelInfo.setTarget(start);
 
 		// Mark exception handler as possible target of the block
-		LabelInfo.setTarget(handler);
+		LabelInfo.setImplicitTarget(handler);
 	}
 
 	@Override
@@ -92,7 +92,7 @@ public final class LabelFlowAnalyzer extends MethodVisitor {
 	@Override
 	public void visitLabel(final Label label) {
 		if (first) {
-			LabelInfo.setTarget(label);
+			LabelInfo.setImplicitTarget(label);
 		}
 		if (successor) {
 			LabelInfo.setSuccessor(label);
@@ -31,6 +31,8 @@ public final class LabelInfo {
 
 	private boolean multiTarget = false;
 
+	private boolean implicitTarget = false;
+
 	private boolean successor = false;
 
 	private boolean methodInvocationLine = false;
@@ -62,6 +64,31 @@ public final class LabelInfo {
 		}
 	}
 
+	/**
+	 * Defines that the given label is the target of a control path which is not
+	 * a jump or switch instruction: the method entry or an exception handler.
+	 *
+	 * @param label
+	 *            label to define
+	 */
+	public static void setImplicitTarget(final Label label) {
+		setTarget(label);
+		create(label).implicitTarget = true;
+	}
+
+	/**
+	 * Checks whether the given label is the target of an implicit control path,
+	 * i.e. the method entry or an exception handler.
+	 *
+	 * @param label
+	 *            label to check
+	 * @return <code>true</code> if the given label is an implicit target
+	 */
+	public static boolean isImplicitTarget(final Label label) {
+		final LabelInfo info = get(label);
+		return info == null ? false : info.implicitTarget;
+	}
+
 	/**
 	 * Defines that the given label is the possible successor of the previous
 	 * instruction in the method.
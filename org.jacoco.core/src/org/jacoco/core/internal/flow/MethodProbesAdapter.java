@@ -16,6 +16,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.jacoco.core.internal.instr.InstrSupport;
+import org.objectweb.asm.Handle;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
@@ -31,6 +32,16 @@ public final class MethodProbesAdapter extends MethodVisitor {
 
 	private final IProbeIdGenerator idGenerator;
 
+	private final boolean methodProbe;
+
+	private final boolean optimizedProbes;
+
+	/**
+	 * Label which implies the execution of the current position or
+	 * <code>null</code>. Only used with optimized probes.
+	 */
+	private Label impliedBy;
+
 	private AnalyzerAdapter analyzer;
 
 	private final Map<Label, Label> tryCatchProbeLabels;
@@ -45,9 +56,53 @@ public final class MethodProbesAdapter extends MethodVisitor {
 	 */
 	public MethodProbesAdapter(final MethodProbesVisitor probesVisitor,
 			final IProbeIdGenerator idGenerator) {
+		this(probesVisitor, idGenerator, false);
+	}
+
+	/**
+	 * Create a new adapter instance.
+	 *
+	 * @param probesVisitor
+	 *            visitor to delegate to
+	 * @param idGenerator
+	 *            generator for unique probe ids
+	 * @param methodProbe
+	 *            if <code>true</code> only a single probe is emitted at the
+	 *            beginning of the method with
+	 *            {@link MethodProbesVisitor#visitMethodProbe(int)}
+	 */
+	public MethodProbesAdapter(final MethodProbesVisitor probesVisitor,
+			final IProbeIdGenerator idGenerator, final boolean methodProbe) {
+		this(probesVisitor, idGenerator, methodProbe, false);
+	}
+
+	/**
+	 * Create a new adapter instance.
+	 *
+	 * @param probesVisitor
+	 *            visitor to delegate to
+	 * @param idGenerator
+	 *            generator for unique probe ids
+	 * @param methodProbe
+	 *            if <code>true</code> only a single probe is emitted at the
+	 *            beginning of the method with
+	 *            {@link MethodProbesVisitor#visitMethodProbe(int)}
+	 * @param optimizedProbes
+	 *            if <code>true</code> probes are omitted where their state is
+	 *            implied by a previous jump target. Such probes are emitted
+	 *            with {@link MethodProbesVisitor#visitImpliedProbe(Label)},
+	 *            {@link MethodProbesVisitor#visitInsnWithImpliedProbe(int, Label)}
+	 *            and
+	 *            {@link MethodProbesVisitor#visitJumpInsnWithImpliedProbe(int, Label, Label)}
+	 */
+	public MethodProbesAdapter(final MethodProbesVisitor probesVisitor,
+			final IProbeIdGenerator idGenerator, final boolean methodProbe,
+			final boolean optimizedProbes) {
 		super(InstrSupport.ASM_API_VERSION, probesVisitor);
 		this.probesVisitor = probesVisitor;
 		this.idGenerator = idGenerator;
+		this.methodProbe = methodProbe;
+		this.optimizedProbes = optimizedProbes && !methodProbe;
 		this.tryCatchProbeLabels = new HashMap<Label, Label>();
 	}
 
@@ -62,6 +117,14 @@ public final class MethodProbesAdapter extends MethodVisitor {
 		this.analyzer = analyzer;
 	}
 
+	@Override
+	public void visitCode() {
+		super.visitCode();
+		if (methodProbe) {
+			probesVisitor.visitMethodProbe(idGenerator.nextId());
+		}
+	}
+
 	@Override
 	public void visitTryCatchBlock(final Label start, final Label end,
 			final Label handler, final String type) {
@@ -72,7 +135,7 @@ public final class MethodProbesAdapter extends MethodVisitor {
 	private Label getTryCatchLabel(Label label) {
 		if (tryCatchProbeLabels.containsKey(label)) {
 			label = tryCatchProbeLabels.get(label);
-		} else if (LabelInfo.needsProbe(label)) {
+		} else if (!methodProbe && LabelInfo.needsProbe(label)) {
 			// If a probe will be inserted before the label, we'll need to use a
 			// different label to define the range of the try-catch block.
 			final Label probeLabel = new Label();
@@ -85,17 +148,49 @@ public final class MethodProbesAdapter extends MethodVisitor {
 
 	@Override
 	public void visitLabel(final Label label) {
-		if (LabelInfo.needsProbe(label)) {
+		if (!methodProbe && LabelInfo.needsProbe(label)) {
 			if (tryCatchProbeLabels.containsKey(label)) {
 				probesVisitor.visitLabel(tryCatchProbeLabels.get(label));
 			}
-			probesVisitor.visitProbe(idGenerator.nextId());
+			if (impliedBy == null) {
+				probesVisitor.visitProbe(idGenerator.nextId());
+			} else {
+				probesVisitor.visitImpliedProbe(impliedBy);
+			}
+		}
+		if (optimizedProbes) {
+			updateImpliedBy(label);
 		}
 		probesVisitor.visitLabel(label);
 	}
 
+	/**
+	 * A label implies the execution of subsequent probes if every control path
+	 * which reaches it passes a probe. This is the case for jump targets with
+	 * multiple sources, except for the method entry and exception handlers.
+	 */
+	private void updateImpliedBy(final Label label) {
+		if (LabelInfo.isMultiTarget(label)) {
+			impliedBy = LabelInfo.isImplicitTarget(label) ? null : label;
+		} else if (!LabelInfo.isSuccessor(label)) {
+			impliedBy = null;
+		}
+	}
+
+	/**
+	 * Called for every instruction which may throw an exception. Probes after
+	 * such instructions can not be implied by a previous label.
+	 */
+	private void mayThrow() {
+		impliedBy = null;
+	}
+
 	@Override
 	public void visitInsn(final int opcode) {
+		if (methodProbe) {
+			probesVisitor.visitInsn(opcode);
+			return;
+		}
 		switch (opcode) {
 		case Opcodes.IRETURN:
 		case Opcodes.LRETURN:
@@ -104,7 +199,38 @@ public final class MethodProbesAdapter extends MethodVisitor {
 		case Opcodes.ARETURN:
 		case Opcodes.RETURN:
 		case Opcodes.ATHROW:
-			probesVisitor.visitInsnWithProbe(opcode, idGenerator.nextId());
+			if (impliedBy == null) {
+				probesVisitor.visitInsnWithProbe(opcode, idGenerator.nextId());
+			} else {
+				probesVisitor.visitInsnWithImpliedProbe(opcode, impliedBy);
+			}
+			impliedBy = null;
+			break;
+		case Opcodes.IALOAD:
+		case Opcodes.LALOAD:
+		case Opcodes.FALOAD:
+		case Opcodes.DALOAD:
+		case Opcodes.AALOAD:
+		case Opcodes.BALOAD:
+		case Opcodes.CALOAD:
+		case Opcodes.SALOAD:
+		case Opcodes.IASTORE:
+		case Opcodes.LASTORE:
+		case Opcodes.FASTORE:
+		case Opcodes.DASTORE:
+		case Opcodes.AASTORE:
+		case Opcodes.BASTORE:
+		case Opcodes.CASTORE:
+		case Opcodes.SASTORE:
+		case Opcodes.IDIV:
+		case Opcodes.LDIV:
+		case Opcodes.IREM:
+		case Opcodes.LREM:
+		case Opcodes.ARRAYLENGTH:
+		case Opcodes.MONITORENTER:
+		case Opcodes.MONITOREXIT:
+			mayThrow();
+			probesVisitor.visitInsn(opcode);
 			break;
 		default:
 			probesVisitor.visitInsn(opcode);
@@ -112,14 +238,78 @@ public final class MethodProbesAdapter extends MethodVisitor {
 		}
 	}
 
+	@Override
+	public void visitIntInsn(final int opcode, final int operand) {
+		if (opcode == Opcodes.NEWARRAY) {
+			mayThrow();
+		}
+		probesVisitor.visitIntInsn(opcode, operand);
+	}
+
+	@Override
+	public void visitTypeInsn(final int opcode, final String type) {
+		mayThrow();
+		probesVisitor.visitTypeInsn(opcode, type);
+	}
+
+	@Override
+	public void visitFieldInsn(final int opcode, final String owner,
+			final String name, final String descriptor) {
+		mayThrow();
+		probesVisitor.visitFieldInsn(opcode, owner, name, descriptor);
+	}
+
+	@Override
+	public void visitMethodInsn(final int opcode, final String owner,
+			final String name, final String descriptor,
+			final boolean isInterface) {
+		mayThrow();
+		probesVisitor.visitMethodInsn(opcode, owner, name, descriptor,
+				isInterface);
+	}
+
+	@Override
+	public void visitInvokeDynamicInsn(final String name,
+			final String descriptor, final Handle bootstrapMethodHandle,
+			final Object... bootstrapMethodArguments) {
+		mayThrow();
+		probesVisitor.visitInvokeDynamicInsn(name, descriptor,
+				bootstrapMethodHandle, bootstrapMethodArguments);
+	}
+
+	@Override
+	public void visitLdcInsn(final Object value) {
+		if (!(value instanceof Integer || value instanceof Float
+				|| value instanceof Long || value instanceof Double
+				|| value instanceof String)) {
+			// Class, method type, method handle and dynamic constants are
+			// resolved at runtime
+			mayThrow();
+		}
+		probesVisitor.visitLdcInsn(value);
+	}
+
+	@Override
+	public void visitMultiANewArrayInsn(final String descriptor,
+			final int numDimensions) {
+		mayThrow();
+		probesVisitor.visitMultiANewArrayInsn(descriptor, numDimensions);
+	}
+
 	@Override
 	public void visitJumpInsn(final int opcode, final Label label) {
-		if (LabelInfo.isMultiTarget(label)) {
-			probesVisitor.visitJumpInsnWithProbe(opcode, label,
-					idGenerator.nextId(), frame(jumpPopCount(opcode)));
+		if (!methodProbe && LabelInfo.isMultiTarget(label)) {
+			if (impliedBy != null && opcode == Opcodes.GOTO) {
+				probesVisitor.visitJumpInsnWithImpliedProbe(opcode, label,
+						impliedBy);
+			} else {
+				probesVisitor.visitJumpInsnWithProbe(opcode, label,
+						idGenerator.nextId(), frame(jumpPopCount(opcode)));
+			}
 		} else {
 			probesVisitor.visitJumpInsn(opcode, label);
 		}
+		impliedBy = null;
 	}
 
 	private int jumpPopCount(final int opcode) {
@@ -143,7 +333,8 @@ public final class MethodProbesAdapter extends MethodVisitor {
 	@Override
 	public void visitLookupSwitchInsn(final Label dflt, final int[] keys,
 			final Label[] labels) {
-		if (markLabels(dflt, labels)) {
+		impliedBy = null;
+		if (!methodProbe && markLabels(dflt, labels)) {
 			probesVisitor.visitLookupSwitchInsnWithProbes(dflt, keys, labels,
 					frame(1));
 		} else {
@@ -154,7 +345,8 @@ public final class MethodProbesAdapter extends MethodVisitor {
 	@Override
 	public void visitTableSwitchInsn(final int min, final int max,
 			final Label dflt, final Label... labels) {
-		if (markLabels(dflt, labels)) {
+		impliedBy = null;
+		if (!methodProbe && markLabels(dflt, labels)) {
 			probesVisitor.visitTableSwitchInsnWithProbes(min, max, dflt, labels,
 					frame(1));
 		} else {
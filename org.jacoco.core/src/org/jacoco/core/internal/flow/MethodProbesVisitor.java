@@ -51,6 +51,18 @@ public abstract class MethodProbesVisitor extends MethodVisitor {
 	public void visitProbe(final int probeId) {
 	}
 
+	/**
+	 * Visits a probe which represents the entire method. It is emitted directly
+	 * after {@link #visitCode()} for methods which are instrumented with a
+	 * single method level probe. No other probes are emitted for such methods.
+	 *
+	 * @param probeId
+	 *            id of the probe to insert
+	 */
+	@SuppressWarnings("unused")
+	public void visitMethodProbe(final int probeId) {
+	}
+
 	/**
 	 * Visits a jump instruction. A probe with the given id should be inserted
 	 * in a way that it is executed only when the jump to the given label is
@@ -95,6 +107,55 @@ public abstract class MethodProbesVisitor extends MethodVisitor {
 	public void visitInsnWithProbe(final int opcode, final int probeId) {
 	}
 
+	/**
+	 * Visits a probe which is not inserted at the current position because its
+	 * state is implied: The probe has been executed if and only if the given
+	 * label has been reached. The code between the label and the current
+	 * position neither branches nor throws exceptions.
+	 *
+	 * @param start
+	 *            label which implies the probe
+	 * @see #visitProbe(int)
+	 */
+	@SuppressWarnings("unused")
+	public void visitImpliedProbe(final Label start) {
+	}
+
+	/**
+	 * Visits a zero operand instruction which terminates the method and whose
+	 * probe is implied by the given label, see
+	 * {@link #visitImpliedProbe(Label)}.
+	 *
+	 * @param opcode
+	 *            the opcode of the instruction to be visited. This opcode is
+	 *            either IRETURN, LRETURN, FRETURN, DRETURN, ARETURN, RETURN or
+	 *            ATHROW.
+	 * @param start
+	 *            label which implies the probe
+	 * @see #visitInsnWithProbe(int, int)
+	 */
+	@SuppressWarnings("unused")
+	public void visitInsnWithImpliedProbe(final int opcode, final Label start) {
+	}
+
+	/**
+	 * Visits a GOTO instruction whose probe is implied by the given label, see
+	 * {@link #visitImpliedProbe(Label)}.
+	 *
+	 * @param opcode
+	 *            the opcode of the instruction to be visited. This opcode is
+	 *            always GOTO.
+	 * @param label
+	 *            the operand of the instruction to be visited.
+	 * @param start
+	 *            label which implies the probe
+	 * @see #visitJumpInsnWithProbe(int, Label, int, IFrame)
+	 */
+	@SuppressWarnings("unused")
+	public void visitJumpInsnWithImpliedProbe(final int opcode,
+			final Label label, final Label start) {
+	}
+
 	/**
 	 * Visits a TABLESWITCH instruction with optional probes for each target
 	 * label. Implementations can be optimized based on the fact that the same
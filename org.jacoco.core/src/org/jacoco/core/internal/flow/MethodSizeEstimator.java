@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.internal.flow;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+
+/**
+ * Estimates the number of bytes probes add to a method. The estimates are upper
+ * bounds of the sizes actually written by {@link org.objectweb.asm.ClassWriter}
+ * for regular probe placement. They only depend on the original method and the
+ * labels marked by {@link LabelFlowAnalyzer}, so instrumentation and analysis
+ * come to the same results.
+ */
+final class MethodSizeEstimator {
+
+	/** Maximum size of the code which stores the probe array in a local. */
+	private static final int INIT_SIZE = 32;
+
+	/** Size of probe code without the instruction loading the probe array. */
+	private static final int PROBE_SIZE = 5;
+
+	/** Size of the additional jump required by probes at branches. */
+	private static final int BRANCH_SIZE = 3;
+
+	private MethodSizeEstimator() {
+		// no instances
+	}
+
+	/**
+	 * Estimates the number of bytes added by regular probes.
+	 *
+	 * @param method
+	 *            method with labels marked by {@link LabelFlowAnalyzer}
+	 * @return added bytes
+	 */
+	static int probeBytes(final MethodNode method) {
+		final int probeSize = varSize(probeVariable(method)) + PROBE_SIZE;
+		int size = INIT_SIZE;
+		for (AbstractInsnNode node = method.instructions
+				.getFirst(); node != null; node = node.getNext()) {
+			switch (node.getType()) {
+			case AbstractInsnNode.LABEL:
+				if (LabelInfo.needsProbe(((LabelNode) node).getLabel())) {
+					size += probeSize;
+				}
+				break;
+			case AbstractInsnNode.JUMP_INSN:
+				if (isMultiTarget(((JumpInsnNode) node).label)) {
+					size += probeSize + BRANCH_SIZE;
+				}
+				break;
+			case AbstractInsnNode.TABLESWITCH_INSN:
+				final TableSwitchInsnNode table = (TableSwitchInsnNode) node;
+				size += switchProbes(table.dflt, table.labels)
+						* (probeSize + BRANCH_SIZE);
+				break;
+			case AbstractInsnNode.LOOKUPSWITCH_INSN:
+				final LookupSwitchInsnNode lookup = (LookupSwitchInsnNode) node;
+				size += switchProbes(lookup.dflt, lookup.labels)
+						* (probeSize + BRANCH_SIZE);
+				break;
+			default:
+				if (isExit(node.getOpcode())) {
+					size += probeSize;
+				}
+				break;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Estimates the number of bytes added by a single method level probe.
+	 *
+	 * @param method
+	 *            method to estimate
+	 * @return added bytes
+	 */
+	static int methodProbeBytes(final MethodNode method) {
+		return INIT_SIZE + varSize(probeVariable(method)) + PROBE_SIZE;
+	}
+
+	/**
+	 * Calculates the position of the local variable holding the probe array,
+	 * see <code>ProbeInserter</code>.
+	 */
+	private static int probeVariable(final MethodNode method) {
+		int pos = (method.access & Opcodes.ACC_STATIC) == 0 ? 1 : 0;
+		for (final Type t : Type.getArgumentTypes(method.desc)) {
+			pos += t.getSize();
+		}
+		return pos + 1;
+	}
+
+	private static int varSize(final int var) {
+		if (var <= 3) {
+			return 1;
+		}
+		return var <= 255 ? 2 : 4;
+	}
+
+	private static boolean isExit(final int opcode) {
+		switch (opcode) {
+		case Opcodes.IRETURN:
+		case Opcodes.LRETURN:
+		case Opcodes.FRETURN:
+		case Opcodes.DRETURN:
+		case Opcodes.ARETURN:
+		case Opcodes.RETURN:
+		case Opcodes.ATHROW:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	private static int switchProbes(final LabelNode dflt,
+			final List<LabelNode> labels) {
+		final Set<Label> probes = new HashSet<Label>();
+		if (isMultiTarget(dflt)) {
+			probes.add(dflt.getLabel());
+		}
+		for (final LabelNode l : labels) {
+			if (isMultiTarget(l)) {
+				probes.add(l.getLabel());
+			}
+		}
+		return probes.size();
+	}
+
+	private static boolean isMultiTarget(final LabelNode label) {
+		return LabelInfo.isMultiTarget(label.getLabel());
+	}
+
+}
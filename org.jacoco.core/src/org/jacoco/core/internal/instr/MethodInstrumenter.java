@@ -48,6 +48,22 @@ class MethodInstrumenter extends MethodProbesVisitor {
 		probeInserter.insertProbe(probeId);
 	}
 
+	@Override
+	public void visitMethodProbe(final int probeId) {
+		probeInserter.insertProbe(probeId);
+	}
+
+	@Override
+	public void visitInsnWithImpliedProbe(final int opcode, final Label start) {
+		mv.visitInsn(opcode);
+	}
+
+	@Override
+	public void visitJumpInsnWithImpliedProbe(final int opcode,
+			final Label label, final Label start) {
+		mv.visitJumpInsn(opcode, label);
+	}
+
 	@Override
 	public void visitInsnWithProbe(final int opcode, final int probeId) {
 		probeInserter.insertProbe(probeId);
@@ -12,6 +12,8 @@
  *******************************************************************************/
 package org.jacoco.core.internal.instr;
 
+import java.util.Set;
+
 import org.jacoco.core.internal.flow.ClassProbesAdapter;
 import org.jacoco.core.runtime.IExecutionDataAccessorGenerator;
 import org.objectweb.asm.ClassReader;
@@ -37,24 +39,42 @@ public final class ProbeArrayStrategyFactory {
 	 *            reader to get information about the class
 	 * @param accessorGenerator
 	 *            accessor to the coverage runtime
+	 * @param optimizedProbes
+	 *            whether the class is instrumented with optimized probe
+	 *            placement
+	 * @param maxProbeBytes
+	 *            maximum number of bytes regular probes may add to a method
+	 * @param methodProbes
+	 *            methods which get a single method level probe independently of
+	 *            the limit, see {@link ClassProbesAdapter#setMethodProbes(Set)}
 	 * @return strategy instance
 	 */
 	public static IProbeArrayStrategy createFor(final long classId,
 			final ClassReader reader,
-			final IExecutionDataAccessorGenerator accessorGenerator) {
+			final IExecutionDataAccessorGenerator accessorGenerator,
+			final boolean optimizedProbes, final int maxProbeBytes,
+			final Set<String> methodProbes) {
 
 		final String className = reader.getClassName();
 		final int version = InstrSupport.getMajorVersion(reader);
 
 		if (isInterfaceOrModule(reader)) {
-			final ProbeCounter counter = getProbeCounter(reader);
-			if (counter.getCount() == 0) {
+			// Class strategies get the probe count after all methods have
+			// been instrumented. Only interfaces may require the count in
+			// advance, so we first look at the method headers and count the
+			// probes with a separate pass only when necessary.
+			final ProbeCounter counter = new ProbeCounter();
+			reader.accept(counter, ClassReader.SKIP_CODE
+					| ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+			if (!counter.hasCode()) {
 				return new NoneProbeArrayStrategy();
 			}
 			if (version >= Opcodes.V11 && counter.hasMethods()) {
 				return new CondyProbeArrayStrategy(className, true, classId,
 						accessorGenerator);
 			}
+			countProbes(reader, counter, optimizedProbes, maxProbeBytes,
+					methodProbes);
 			if (version >= Opcodes.V1_8 && counter.hasMethods()) {
 				return new InterfaceFieldProbeArrayStrategy(className, classId,
 						counter.getCount(), accessorGenerator);
@@ -77,10 +97,13 @@ public final class ProbeArrayStrategyFactory {
 				& (Opcodes.ACC_INTERFACE | Opcodes.ACC_MODULE)) != 0;
 	}
 
-	private static ProbeCounter getProbeCounter(final ClassReader reader) {
-		final ProbeCounter counter = new ProbeCounter();
-		reader.accept(new ClassProbesAdapter(counter, false), 0);
-		return counter;
+	private static void countProbes(final ClassReader reader,
+			final ProbeCounter counter, final boolean optimizedProbes,
+			final int maxProbeBytes, final Set<String> methodProbes) {
+		final ClassProbesAdapter adapter = new ClassProbesAdapter(counter,
+				false, optimizedProbes, maxProbeBytes);
+		adapter.setMethodProbes(methodProbes);
+		reader.accept(adapter, 0);
 	}
 
 }
@@ -23,16 +23,21 @@ class ProbeCounter extends ClassProbesVisitor {
 
 	private int count;
 	private boolean methods;
+	private boolean code;
 
 	ProbeCounter() {
 		count = 0;
 		methods = false;
+		code = false;
 	}
 
 	@Override
 	public MethodProbesVisitor visitMethod(final int access, final String name,
 			final String desc, final String signature,
 			final String[] exceptions) {
+		if ((access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) == 0) {
+			code = true;
+		}
 		if (!InstrSupport.CLINIT_NAME.equals(name)
 				&& (access & Opcodes.ACC_ABSTRACT) == 0) {
 			methods = true;
@@ -57,4 +62,15 @@ class ProbeCounter extends ClassProbesVisitor {
 		return methods;
 	}
 
+	/**
+	 * As every method with code gets at least one probe this information is
+	 * already available after visiting the method headers.
+	 *
+	 * @return <code>true</code> if the class has methods with code, including a
+	 *         static initializer
+	 */
+	boolean hasCode() {
+		return code;
+	}
+
 }
@@ -12,6 +12,10 @@
  *******************************************************************************/
 package org.jacoco.core.internal.instr;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
@@ -47,6 +51,12 @@ class ProbeInserter extends MethodVisitor implements IProbeInserter {
 	/** Label for the new beginning of the method */
 	private final Label beginLabel;
 
+	/**
+	 * Locals of the current frame of the original method if the method has
+	 * compressed frames.
+	 */
+	private List<Object> frameLocals;
+
 	/** Maximum stack usage of the code to access the probe array. */
 	private int accessorStackSize;
 
@@ -165,12 +175,72 @@ class ProbeInserter extends MethodVisitor implements IProbeInserter {
 	@Override
 	public final void visitFrame(final int type, final int nLocal,
 			final Object[] local, final int nStack, final Object[] stack) {
+		switch (type) {
+		case Opcodes.F_NEW:
+			visitFullFrame(type, nLocal, local, nStack, stack);
+			return;
+		case Opcodes.F_FULL:
+			frameLocals = new ArrayList<Object>(
+					Arrays.asList(local).subList(0, nLocal));
+			visitFullFrame(type, nLocal, local, nStack, stack);
+			return;
+		}
 
-		if (type != Opcodes.F_NEW) { // uncompressed frame
+		// Compressed frames are relative to the previous frame which must be
+		// known. The first frame is provided as F_FULL by ClassProbesAdapter.
+		if (frameLocals == null) {
 			throw new IllegalArgumentException(
-					"ClassReader.accept() should be called with EXPAND_FRAMES flag");
+					"Compressed frames must start with a full frame");
+		}
+		final boolean boundary = isArgumentsBoundary();
+		switch (type) {
+		case Opcodes.F_SAME:
+		case Opcodes.F_SAME1:
+			mv.visitFrame(type, nLocal, local, nStack, stack);
+			return;
+		case Opcodes.F_APPEND:
+			frameLocals.addAll(Arrays.asList(local).subList(0, nLocal));
+			if (boundary) {
+				mv.visitFrame(type, nLocal, local, nStack, stack);
+				return;
+			}
+			break;
+		case Opcodes.F_CHOP:
+			frameLocals.subList(frameLocals.size() - nLocal, frameLocals.size())
+					.clear();
+			if (boundary && isArgumentsBoundary()) {
+				mv.visitFrame(type, nLocal, local, nStack, stack);
+				return;
+			}
+			break;
+		default:
+			throw new IllegalArgumentException();
 		}
 
+		// The changed locals overlap with the inserted variables
+		visitFullFrame(Opcodes.F_FULL, frameLocals.size(),
+				frameLocals.toArray(), 0, new Object[0]);
+	}
+
+	/**
+	 * Checks whether the locals of the current compressed frame end exactly at
+	 * the end of the method arguments or beyond. In this case the inserted
+	 * variables directly follow the argument slots and local variables appended
+	 * or chopped by a compressed frame are not affected.
+	 */
+	private boolean isArgumentsBoundary() {
+		int pos = 0;
+		for (final Object t : frameLocals) {
+			if (pos == variable - 1) {
+				return true;
+			}
+			pos += t == Opcodes.LONG || t == Opcodes.DOUBLE ? 2 : 1;
+		}
+		return pos == variable - 1;
+	}
+
+	private void visitFullFrame(final int type, final int nLocal,
+			final Object[] local, final int nStack, final Object[] stack) {
 		final Object[] newLocal = new Object[Math.max(nLocal + 2,
 				variable + 1)];
 		int idx = 0; // Arrays index for existing locals
@@ -93,6 +93,26 @@ public final class AgentOptions {
 	 */
 	public static final String INCLNOLOCATIONCLASSES = "inclnolocationclasses";
 
+	/**
+	 * Specifies whether probes should be placed in optimized mode which omits
+	 * probes whose state can be inferred from other probes. The resulting
+	 * execution data must be analyzed in the same mode. Default is
+	 * <code>false</code>.
+	 *
+	 * @see org.jacoco.core.instr.Instrumenter#setOptimizedProbes(boolean)
+	 */
+	public static final String OPTIMIZEPROBES = "optimizeprobes";
+
+	/**
+	 * Specifies the maximum number of bytes probes may add to a single method.
+	 * Methods exceeding this limit are instrumented with a single probe at the
+	 * method entry. The resulting execution data must be analyzed with the same
+	 * limit. Default is no limit.
+	 *
+	 * @see org.jacoco.core.instr.Instrumenter#setMaxProbeBytes(int)
+	 */
+	public static final String MAXPROBEBYTES = "maxprobebytes";
+
 	/**
 	 * Specifies a session identifier that is written with the execution data.
 	 * Without this parameter a random identifier is created by the agent.
@@ -191,8 +211,9 @@ public final class AgentOptions {
 
 	private static final Collection<String> VALID_OPTIONS = Arrays.asList(
 			DESTFILE, APPEND, INCLUDES, EXCLUDES, EXCLCLASSLOADER,
-			INCLBOOTSTRAPCLASSES, INCLNOLOCATIONCLASSES, SESSIONID, DUMPONEXIT,
-			OUTPUT, ADDRESS, PORT, CLASSDUMPDIR, JMX);
+			INCLBOOTSTRAPCLASSES, INCLNOLOCATIONCLASSES, OPTIMIZEPROBES,
+			MAXPROBEBYTES, SESSIONID, DUMPONEXIT, OUTPUT, ADDRESS, PORT,
+			CLASSDUMPDIR, JMX);
 
 	private final Map<String, String> options;
 
@@ -403,6 +424,44 @@ public final class AgentOptions {
 		setOption(INCLNOLOCATIONCLASSES, include);
 	}
 
+	/**
+	 * Returns whether probes are placed in optimized mode.
+	 *
+	 * @return <code>true</code> if probes are placed in optimized mode
+	 */
+	public boolean getOptimizeProbes() {
+		return getOption(OPTIMIZEPROBES, false);
+	}
+
+	/**
+	 * Sets whether probes should be placed in optimized mode.
+	 *
+	 * @param optimize
+	 *            <code>true</code> if probes should be placed in optimized mode
+	 */
+	public void setOptimizeProbes(final boolean optimize) {
+		setOption(OPTIMIZEPROBES, optimize);
+	}
+
+	/**
+	 * Returns the maximum number of bytes probes may add to a single method.
+	 *
+	 * @return maximum number of bytes added by probes per method
+	 */
+	public int getMaxProbeBytes() {
+		return getOption(MAXPROBEBYTES, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Sets the maximum number of bytes probes may add to a single method.
+	 *
+	 * @param bytes
+	 *            maximum number of bytes added by probes per method
+	 */
+	public void setMaxProbeBytes(final int bytes) {
+		setOption(MAXPROBEBYTES, bytes);
+	}
+
 	/**
 	 * Returns the session identifier.
 	 *
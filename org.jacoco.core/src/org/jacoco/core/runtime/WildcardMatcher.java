@@ -14,14 +14,26 @@ package org.jacoco.core.runtime;
 
 import java.util.regex.Pattern;
 
+import org.jacoco.core.internal.WildcardTrie;
+
 /**
  * Matches strings against glob like wildcard expressions where <code>?</code>
  * matches any single character and <code>*</code> matches any number of any
  * character. Multiple expressions can be separated with a colon (:). In this
  * case the expression matches if at least one part matches.
+ *
+ * Expressions without wildcards, expressions with a single trailing
+ * <code>*</code> and expressions with a single leading <code>*</code> are
+ * compiled into prefix trees so that strings are tested in a single pass
+ * independently of the number of such expressions. Only the remaining
+ * expressions are evaluated with a regular expression.
  */
 public class WildcardMatcher {
 
+	/** expressions which can be matched without regular expression */
+	private final WildcardTrie<Boolean> trie;
+
+	/** remaining expressions or <code>null</code> if there are none */
 	private final Pattern pattern;
 
 	/**
@@ -31,17 +43,24 @@ public class WildcardMatcher {
 	 *            wildcard expressions
 	 */
 	public WildcardMatcher(final String expression) {
-		final String[] parts = expression.split("\\:");
-		final StringBuilder regex = new StringBuilder(expression.length() * 2);
-		boolean next = false;
+		String[] parts = expression.split("\\:");
+		if (parts.length == 0) {
+			parts = new String[] { "" };
+		}
+		trie = new WildcardTrie<Boolean>();
+		final StringBuilder regex = new StringBuilder();
 		for (final String part : parts) {
-			if (next) {
-				regex.append('|');
+			if (WildcardTrie.isSupported(part)) {
+				trie.put(part, Boolean.TRUE);
+			} else {
+				if (regex.length() > 0) {
+					regex.append('|');
+				}
+				regex.append('(').append(toRegex(part)).append(')');
 			}
-			regex.append('(').append(toRegex(part)).append(')');
-			next = true;
 		}
-		pattern = Pattern.compile(regex.toString());
+		pattern = regex.length() == 0 ? null
+				: Pattern.compile(regex.toString());
 	}
 
 	private static CharSequence toRegex(final String expression) {
@@ -70,7 +89,8 @@ public class WildcardMatcher {
 	 * @return <code>true</code>, if the expression matches
 	 */
 	public boolean matches(final String s) {
-		return pattern.matcher(s).matches();
+		return trie.matches(s)
+				|| pattern != null && pattern.matcher(s).matches();
 	}
 
 }
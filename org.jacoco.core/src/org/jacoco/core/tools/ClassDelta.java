@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.tools;
+
+/**
+ * Difference of probe coverage of a single class between a baseline and a
+ * candidate set of execution data. Instances are created by {@link ExecDelta}.
+ */
+public final class ClassDelta {
+
+	private final long id;
+
+	private final String name;
+
+	private final int probeCount;
+
+	private final int baselineCovered;
+
+	private final int candidateCovered;
+
+	private final int newlyCovered;
+
+	private final int newlyUncovered;
+
+	ClassDelta(final long id, final String name, final int probeCount,
+			final int baselineCovered, final int candidateCovered,
+			final int newlyCovered, final int newlyUncovered) {
+		this.id = id;
+		this.name = name;
+		this.probeCount = probeCount;
+		this.baselineCovered = baselineCovered;
+		this.candidateCovered = candidateCovered;
+		this.newlyCovered = newlyCovered;
+		this.newlyUncovered = newlyUncovered;
+	}
+
+	/**
+	 * Returns the class identifier.
+	 *
+	 * @return class identifier
+	 */
+	public long getId() {
+		return id;
+	}
+
+	/**
+	 * Returns the VM name of the class.
+	 *
+	 * @return VM name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the number of probes of the class.
+	 *
+	 * @return number of probes
+	 */
+	public int getProbeCount() {
+		return probeCount;
+	}
+
+	/**
+	 * Returns the number of probes covered in the baseline.
+	 *
+	 * @return number of probes covered in the baseline
+	 */
+	public int getBaselineCovered() {
+		return baselineCovered;
+	}
+
+	/**
+	 * Returns the number of probes covered in the candidate.
+	 *
+	 * @return number of probes covered in the candidate
+	 */
+	public int getCandidateCovered() {
+		return candidateCovered;
+	}
+
+	/**
+	 * Returns the number of probes covered in the candidate but not in the
+	 * baseline.
+	 *
+	 * @return number of newly covered probes
+	 */
+	public int getNewlyCovered() {
+		return newlyCovered;
+	}
+
+	/**
+	 * Returns the number of probes covered in the baseline but not in the
+	 * candidate.
+	 *
+	 * @return number of newly uncovered probes
+	 */
+	public int getNewlyUncovered() {
+		return newlyUncovered;
+	}
+
+	/**
+	 * Checks whether the coverage of this class differs between baseline and
+	 * candidate.
+	 *
+	 * @return <code>true</code> if probes have been newly covered or uncovered
+	 */
+	public boolean isChanged() {
+		return newlyCovered != 0 || newlyUncovered != 0;
+	}
+
+}
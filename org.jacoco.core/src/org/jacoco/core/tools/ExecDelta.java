@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.tools;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataStore;
+
+/**
+ * Compares probe coverage of a candidate set of execution data with a baseline
+ * and determines newly covered and newly uncovered probes for every class. The
+ * comparison works on execution data only and does not require class files or a
+ * coverage analysis. Classes with different class ids in baseline and candidate
+ * (i.e. modified classes) are reported as separate entries, because their
+ * probes can't be related.
+ */
+public class ExecDelta {
+
+	private final List<ClassDelta> classes;
+
+	private int newlyCovered;
+
+	private int newlyUncovered;
+
+	/**
+	 * Computes the delta between the given execution data stores in a single
+	 * pass over both stores.
+	 *
+	 * @param baseline
+	 *            baseline execution data
+	 * @param candidate
+	 *            candidate execution data
+	 */
+	public ExecDelta(final ExecutionDataStore baseline,
+			final ExecutionDataStore candidate) {
+		classes = new ArrayList<ClassDelta>();
+		for (final ExecutionData c : candidate.getContents()) {
+			add(compare(baseline.get(c.getId()), c));
+		}
+		for (final ExecutionData b : baseline.getContents()) {
+			if (candidate.get(b.getId()) == null) {
+				add(compare(b, null));
+			}
+		}
+		Collections.sort(classes, new Comparator<ClassDelta>() {
+			public int compare(final ClassDelta d1, final ClassDelta d2) {
+				final int c = d1.getName().compareTo(d2.getName());
+				if (c != 0) {
+					return c;
+				}
+				return d1.getId() < d2.getId() ? -1
+						: (d1.getId() == d2.getId() ? 0 : 1);
+			}
+		});
+	}
+
+	private void add(final ClassDelta delta) {
+		classes.add(delta);
+		newlyCovered += delta.getNewlyCovered();
+		newlyUncovered += delta.getNewlyUncovered();
+	}
+
+	private static ClassDelta compare(final ExecutionData baseline,
+			final ExecutionData candidate) {
+		final ExecutionData data = candidate == null ? baseline : candidate;
+		final boolean[] b = baseline == null ? null : baseline.getProbes();
+		final boolean[] c = candidate == null ? null : candidate.getProbes();
+		final int length = data.getProbes().length;
+		int baselineCovered = 0;
+		int candidateCovered = 0;
+		int added = 0;
+		int removed = 0;
+		for (int i = 0; i < length; i++) {
+			final boolean inBaseline = b != null && i < b.length && b[i];
+			final boolean inCandidate = c != null && i < c.length && c[i];
+			if (inBaseline) {
+				baselineCovered++;
+			}
+			if (inCandidate) {
+				candidateCovered++;
+			}
+			if (inCandidate && !inBaseline) {
+				added++;
+			} else if (inBaseline && !inCandidate) {
+				removed++;
+			}
+		}
+		return new ClassDelta(data.getId(), data.getName(), length,
+				baselineCovered, candidateCovered, added, removed);
+	}
+
+	/**
+	 * Returns the deltas of all classes contained in either baseline or
+	 * candidate, sorted by class name.
+	 *
+	 * @return class deltas
+	 */
+	public List<ClassDelta> getClasses() {
+		return Collections.unmodifiableList(classes);
+	}
+
+	/**
+	 * Returns the total number of newly covered probes.
+	 *
+	 * @return number of newly covered probes
+	 */
+	public int getNewlyCovered() {
+		return newlyCovered;
+	}
+
+	/**
+	 * Returns the total number of newly uncovered probes.
+	 *
+	 * @return number of newly uncovered probes
+	 */
+	public int getNewlyUncovered() {
+		return newlyUncovered;
+	}
+
+}
@@ -0,0 +1,393 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.core.tools;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jacoco.core.internal.InputStreams;
+
+/**
+ * Set of source files and optionally source lines which have been changed
+ * relative to some base revision. A {@link SourceDiff} can be populated
+ * programmatically, read from the output of <code>git diff</code> (unified diff
+ * or a plain list of file names) or directly obtained from a local Git working
+ * tree. Source files are identified by their path and matched against Java
+ * package and file names by suffix, so paths may contain arbitrary source root
+ * prefixes like <code>module/src/main/java/</code>.
+ */
+public class SourceDiff {
+
+	private static final String NEW_FILE_PREFIX = "+++ ";
+
+	private static final String HUNK_PREFIX = "@@ ";
+
+	/** changes indexed by file name (last path segment) */
+	private final Map<String, List<FileChange>> changes = new HashMap<String, List<FileChange>>();
+
+	private final List<String> files = new ArrayList<String>();
+
+	private static class FileChange {
+
+		final String path;
+
+		/** changed lines or <code>null</code> if the entire file changed */
+		BitSet lines;
+
+		FileChange(final String path) {
+			this.path = path;
+		}
+
+		boolean matches(final String qualifiedName) {
+			return path.equals(qualifiedName)
+					|| path.endsWith(qualifiedName) && path.charAt(
+							path.length() - qualifiedName.length() - 1) == '/';
+		}
+
+		boolean intersects(final int first, final int last) {
+			if (lines == null) {
+				return true;
+			}
+			final int next = lines.nextSetBit(first);
+			return next != -1 && next <= last;
+		}
+	}
+
+	/**
+	 * Marks the given source file as changed entirely.
+	 *
+	 * @param path
+	 *            path of the source file, separated with slashes
+	 */
+	public void addFile(final String path) {
+		getChange(path).lines = null;
+	}
+
+	/**
+	 * Marks the given range of lines in a source file as changed. If the file
+	 * has already been marked as changed entirely this call has no effect.
+	 *
+	 * @param path
+	 *            path of the source file, separated with slashes
+	 * @param first
+	 *            first changed line (1-based)
+	 * @param last
+	 *            last changed line (inclusive)
+	 */
+	public void addLines(final String path, final int first, final int last) {
+		final FileChange change = getChange(path);
+		if (change.lines != null) {
+			change.lines.set(first, last + 1);
+		}
+	}
+
+	private FileChange getChange(final String path) {
+		final String normalized = path.replace('\\', '/');
+		final String name = normalized
+				.substring(normalized.lastIndexOf('/') + 1);
+		List<FileChange> list = changes.get(name);
+		if (list == null) {
+			list = new ArrayList<FileChange>(1);
+			changes.put(name, list);
+		}
+		for (final FileChange c : list) {
+			if (c.path.equals(normalized)) {
+				return c;
+			}
+		}
+		final FileChange change = new FileChange(normalized);
+		change.lines = new BitSet();
+		list.add(change);
+		files.add(normalized);
+		return change;
+	}
+
+	/**
+	 * Returns the paths of all changed source files in the order they have been
+	 * added.
+	 *
+	 * @return paths of changed source files
+	 */
+	public Collection<String> getFiles() {
+		return Collections.unmodifiableList(files);
+	}
+
+	/**
+	 * Checks whether no source file has changed.
+	 *
+	 * @return <code>true</code> if no changes are contained
+	 */
+	public boolean isEmpty() {
+		return files.isEmpty();
+	}
+
+	/**
+	 * Checks whether the given source file has changed.
+	 *
+	 * @param packageName
+	 *            VM name of the package, separated with slashes
+	 * @param sourceFileName
+	 *            name of the source file
+	 * @return <code>true</code> if the source file has changed
+	 */
+	public boolean containsFile(final String packageName,
+			final String sourceFileName) {
+		return find(packageName, sourceFileName) != null;
+	}
+
+	/**
+	 * Checks whether any line within the given range of a source file has
+	 * changed. Files which have been added with {@link #addFile(String)} are
+	 * considered to have all lines changed.
+	 *
+	 * @param packageName
+	 *            VM name of the package, separated with slashes
+	 * @param sourceFileName
+	 *            name of the source file
+	 * @param first
+	 *            first line of the range (1-based)
+	 * @param last
+	 *            last line of the range (inclusive)
+	 * @return <code>true</code> if a line within the range has changed
+	 */
+	public boolean containsLines(final String packageName,
+			final String sourceFileName, final int first, final int last) {
+		final FileChange change = find(packageName, sourceFileName);
+		return change != null && change.intersects(first, last);
+	}
+
+	/**
+	 * Checks whether only complete files have been recorded for the given
+	 * source file, i.e. there is no line level information for it.
+	 *
+	 * @param packageName
+	 *            VM name of the package, separated with slashes
+	 * @param sourceFileName
+	 *            name of the source file
+	 * @return <code>true</code> if the file has changed entirely
+	 */
+	public boolean isFileChanged(final String packageName,
+			final String sourceFileName) {
+		final FileChange change = find(packageName, sourceFileName);
+		return change != null && change.lines == null;
+	}
+
+	private FileChange find(final String packageName,
+			final String sourceFileName) {
+		final List<FileChange> list = changes.get(sourceFileName);
+		if (list == null) {
+			return null;
+		}
+		final String qualifiedName = packageName.length() == 0 ? sourceFileName
+				: packageName + '/' + sourceFileName;
+		for (final FileChange c : list) {
+			if (c.matches(qualifiedName)) {
+				return c;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Reads changes from the given reader. The content may either be a unified
+	 * diff as created by <code>git diff -U0</code>, in which case changed lines
+	 * are recorded, or a plain list of file paths with one path per line as
+	 * created by <code>git diff --name-only</code>, in which case the listed
+	 * files are considered changed entirely. The reader is not closed by this
+	 * method.
+	 *
+	 * @param reader
+	 *            reader providing the diff
+	 * @return changes read from the diff
+	 * @throws IOException
+	 *             if the reader can't be read or the diff is malformed
+	 */
+	public static SourceDiff read(final Reader reader) throws IOException {
+		final SourceDiff diff = new SourceDiff();
+		final BufferedReader lines = new BufferedReader(reader);
+		Boolean unified = null;
+		String current = null;
+		String line;
+		while ((line = lines.readLine()) != null) {
+			if (unified == null) {
+				if (line.trim().length() == 0) {
+					continue;
+				}
+				unified = Boolean.valueOf(
+						line.startsWith("diff ") || line.startsWith("--- ")
+								|| line.startsWith("Index: "));
+			}
+			if (!unified.booleanValue()) {
+				final String path = line.trim();
+				if (path.length() > 0) {
+					diff.addFile(path);
+				}
+			} else if (line.startsWith("diff ")) {
+				current = null;
+			} else if (line.startsWith(NEW_FILE_PREFIX)) {
+				current = parseNewFile(line);
+			} else if (line.startsWith(HUNK_PREFIX) && current != null) {
+				parseHunk(diff, current, line);
+			}
+		}
+		return diff;
+	}
+
+	private static String parseNewFile(final String line) {
+		String path = line.substring(NEW_FILE_PREFIX.length());
+		final int tab = path.indexOf('\t');
+		if (tab != -1) {
+			path = path.substring(0, tab);
+		}
+		if ("/dev/null".equals(path)) {
+			return null;
+		}
+		if (path.startsWith("b/")) {
+			path = path.substring(2);
+		}
+		return path;
+	}
+
+	private static void parseHunk(final SourceDiff diff, final String path,
+			final String line) throws IOException {
+		// @@ -a[,b] +c[,d] @@
+		final int plus = line.indexOf('+', HUNK_PREFIX.length());
+		final int end = line.indexOf(' ', plus);
+		if (plus == -1 || end == -1) {
+			throw new IOException("Malformed hunk header: " + line);
+		}
+		final String range = line.substring(plus + 1, end);
+		final int comma = range.indexOf(',');
+		final int start;
+		final int count;
+		try {
+			if (comma == -1) {
+				start = Integer.parseInt(range);
+				count = 1;
+			} else {
+				start = Integer.parseInt(range.substring(0, comma));
+				count = Integer.parseInt(range.substring(comma + 1));
+			}
+		} catch (final NumberFormatException e) {
+			throw new IOException("Malformed hunk header: " + line);
+		}
+		if (count > 0) {
+			diff.addLines(path, start, start + count - 1);
+		} else if (start > 0) {
+			// Pure deletion after line start: the surrounding code changed
+			diff.addLines(path, start, start);
+		} else {
+			diff.getChange(path);
+		}
+	}
+
+	/**
+	 * Obtains the changes between the given base revision and the working tree
+	 * of a local Git repository by running <code>git diff -U0</code>. The
+	 * <code>git</code> executable has to be available on the path.
+	 *
+	 * @param workdir
+	 *            directory within the Git working tree
+	 * @param base
+	 *            base revision in any format understood by Git, e.g. a branch,
+	 *            tag or commit id
+	 * @return changes since the base revision
+	 * @throws IOException
+	 *             if <code>git</code> can't be executed or fails
+	 */
+	public static SourceDiff fromGit(final File workdir, final String base)
+			throws IOException {
+		final Process process = new ProcessBuilder("git", "diff", "-U0",
+				"--no-color", "--no-ext-diff", base, "--").directory(workdir)
+				.start();
+		process.getOutputStream().close();
+		final ErrorReader errors = new ErrorReader(process.getErrorStream());
+		errors.start();
+		final InputStream in = process.getInputStream();
+		final byte[] output;
+		try {
+			output = InputStreams.readFully(in);
+		} finally {
+			in.close();
+		}
+		final int exitCode;
+		final String errorText;
+		try {
+			exitCode = process.waitFor();
+			errorText = errors.getText();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for git diff");
+		}
+		if (exitCode != 0) {
+			throw new IOException(
+					String.format("git diff %s failed with exit code %s: %s",
+							base, Integer.valueOf(exitCode), errorText.trim()));
+		}
+		final String text = new String(output, "UTF-8");
+		return read(new StringReader(text));
+	}
+
+	/**
+	 * Reads the error output of a process in the background, so the process
+	 * can't block on a full pipe while its standard output is read.
+	 */
+	private static class ErrorReader extends Thread {
+
+		private final InputStream in;
+
+		private byte[] content = new byte[0];
+
+		ErrorReader(final InputStream in) {
+			super("git diff error reader");
+			setDaemon(true);
+			this.in = in;
+		}
+
+		@Override
+		public void run() {
+			try {
+				content = InputStreams.readFully(in);
+			} catch (final IOException e) {
+				// The error output is only used for failure messages
+			} finally {
+				try {
+					in.close();
+				} catch (final IOException e) {
+					// ignore
+				}
+			}
+		}
+
+		/**
+		 * Waits until the error output has been read completely.
+		 */
+		String getText() throws InterruptedException {
+			join();
+			return new String(content);
+		}
+
+	}
+
+}
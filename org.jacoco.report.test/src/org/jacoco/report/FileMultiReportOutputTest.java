@@ -19,6 +19,8 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -52,6 +54,43 @@ public class FileMultiReportOutputTest {
 		actual.close();
 	}
 
+	@Test
+	public void testCreateFilesFromMultipleThreads() throws Exception {
+		final IMultiReportOutput output = new FileMultiReportOutput(
+				folder.getRoot());
+		final List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < 4; i++) {
+			final int thread = i;
+			threads.add(new Thread() {
+				@Override
+				public void run() {
+					try {
+						final OutputStream stream = output
+								.createFile("a/b/" + thread);
+						stream.write(thread);
+						stream.close();
+					} catch (IOException e) {
+						throw new RuntimeException(e);
+					}
+				}
+			});
+		}
+		for (final Thread t : threads) {
+			t.start();
+		}
+		for (final Thread t : threads) {
+			t.join();
+		}
+		output.close();
+
+		for (int i = 0; i < 4; i++) {
+			final InputStream actual = new FileInputStream(
+					new File(folder.getRoot(), "a/b/" + i));
+			assertEquals(i, actual.read());
+			actual.close();
+		}
+	}
+
 	@Test(expected = IOException.class)
 	public void testCreateFileNegative() throws IOException {
 		folder.newFile("a");
@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link IncrementalFileMultiReportOutput}.
+ */
+public class IncrementalFileMultiReportOutputTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void should_write_files_and_manifest_on_first_run()
+			throws IOException {
+		final IncrementalFileMultiReportOutput output = new IncrementalFileMultiReportOutput(
+				folder.getRoot());
+		write(output, "a/b/test.html", "content");
+		output.close();
+
+		assertEquals("content", read("a/b/test.html"));
+		assertTrue(new File(folder.getRoot(),
+				IncrementalFileMultiReportOutput.MANIFEST).isFile());
+		assertEquals(1, output.getWrittenFiles());
+		assertEquals(0, output.getUnchangedFiles());
+		assertEquals(0, output.getDeletedFiles());
+	}
+
+	@Test
+	public void should_keep_unchanged_files_and_rewrite_changed_files()
+			throws IOException {
+		IncrementalFileMultiReportOutput output = new IncrementalFileMultiReportOutput(
+				folder.getRoot());
+		write(output, "same.html", "same");
+		write(output, "changed.html", "old");
+		output.close();
+		final File same = new File(folder.getRoot(), "same.html");
+		same.setLastModified(1000000);
+
+		output = new IncrementalFileMultiReportOutput(folder.getRoot());
+		write(output, "same.html", "same");
+		write(output, "changed.html", "new");
+		output.close();
+
+		assertEquals(1000000, same.lastModified());
+		assertEquals("new", read("changed.html"));
+		assertEquals(1, output.getWrittenFiles());
+		assertEquals(1, output.getUnchangedFiles());
+	}
+
+	@Test
+	public void should_rewrite_files_modified_outside() throws IOException {
+		IncrementalFileMultiReportOutput output = new IncrementalFileMultiReportOutput(
+				folder.getRoot());
+		write(output, "test.html", "content");
+		output.close();
+		new File(folder.getRoot(), "test.html").delete();
+
+		output = new IncrementalFileMultiReportOutput(folder.getRoot());
+		write(output, "test.html", "content");
+		output.close();
+
+		assertEquals("content", read("test.html"));
+		assertEquals(1, output.getWrittenFiles());
+	}
+
+	@Test
+	public void should_delete_obsolete_files() throws IOException {
+		IncrementalFileMultiReportOutput output = new IncrementalFileMultiReportOutput(
+				folder.getRoot());
+		write(output, "keep.html", "keep");
+		write(output, "pkg/obsolete.html", "obsolete");
+		output.close();
+		final File unrelated = folder.newFile("unrelated.txt");
+
+		output = new IncrementalFileMultiReportOutput(folder.getRoot());
+		write(output, "keep.html", "keep");
+		output.close();
+
+		assertFalse(new File(folder.getRoot(), "pkg/obsolete.html").exists());
+		assertFalse(new File(folder.getRoot(), "pkg").exists());
+		assertTrue(unrelated.exists());
+		assertEquals(1, output.getDeletedFiles());
+	}
+
+	@Test
+	public void should_keep_files_with_unchanged_input_key()
+			throws IOException {
+		IncrementalFileMultiReportOutput output = new IncrementalFileMultiReportOutput(
+				folder.getRoot());
+		assertFalse(output.keepFile("same.html", "k1"));
+		write(output, "same.html", "same");
+		assertFalse(output.keepFile("changed.html", "k2"));
+		write(output, "changed.html", "old");
+		output.close();
+
+		output = new IncrementalFileMultiReportOutput(folder.getRoot());
+		assertTrue(output.keepFile("same.html", "k1"));
+		assertFalse(output.keepFile("changed.html", "k3"));
+		write(output, "changed.html", "new");
+		output.close();
+
+		assertEquals("same", read("same.html"));
+		assertEquals("new", read("changed.html"));
+		assertEquals(1, output.getWrittenFiles());
+		assertEquals(1, output.getUnchangedFiles());
+		assertEquals(0, output.getDeletedFiles());
+
+		output = new IncrementalFileMultiReportOutput(folder.getRoot());
+		assertTrue(output.keepFile("same.html", "k1"));
+		assertTrue(output.keepFile("changed.html", "k3"));
+		output.close();
+	}
+
+	@Test
+	public void should_not_keep_files_without_input_key() throws IOException {
+		IncrementalFileMultiReportOutput output = new IncrementalFileMultiReportOutput(
+				folder.getRoot());
+		write(output, "test.html", "content");
+		output.close();
+
+		output = new IncrementalFileMultiReportOutput(folder.getRoot());
+		assertFalse(output.keepFile("test.html", "k"));
+		write(output, "test.html", "content");
+		output.close();
+
+		assertEquals(1, output.getUnchangedFiles());
+	}
+
+	@Test
+	public void should_not_keep_deleted_files() throws IOException {
+		IncrementalFileMultiReportOutput output = new IncrementalFileMultiReportOutput(
+				folder.getRoot());
+		output.keepFile("test.html", "k");
+		write(output, "test.html", "content");
+		output.close();
+		new File(folder.getRoot(), "test.html").delete();
+
+		output = new IncrementalFileMultiReportOutput(folder.getRoot());
+
+		assertFalse(output.keepFile("test.html", "k"));
+	}
+
+	@Test
+	public void should_read_manifest_of_version_1() throws IOException {
+		write("test.html", "content");
+		write("obsolete.html", "obsolete");
+		write(IncrementalFileMultiReportOutput.MANIFEST, "# jacoco-manifest 1\n"
+				+ "040f06fd774092478d450774f5ba30c5da78acc8 test.html\n"
+				+ "0000000000000000000000000000000000000000 obsolete.html\n");
+
+		final IncrementalFileMultiReportOutput output = new IncrementalFileMultiReportOutput(
+				folder.getRoot());
+		write(output, "test.html", "content");
+		output.close();
+
+		assertEquals(1, output.getUnchangedFiles());
+		assertEquals(1, output.getDeletedFiles());
+	}
+
+	@Test
+	public void should_ignore_invalid_manifest() throws IOException {
+		final OutputStream out = new FileOutputStream(new File(folder.getRoot(),
+				IncrementalFileMultiReportOutput.MANIFEST));
+		out.write("invalid".getBytes());
+		out.close();
+
+		final IncrementalFileMultiReportOutput output = new IncrementalFileMultiReportOutput(
+				folder.getRoot());
+		write(output, "test.html", "content");
+		output.close();
+
+		assertEquals(1, output.getWrittenFiles());
+	}
+
+	@Test(expected = IOException.class)
+	public void should_throw_exception_when_directory_cannot_be_created()
+			throws IOException {
+		folder.newFile("a");
+		final IMultiReportOutput output = new IncrementalFileMultiReportOutput(
+				folder.getRoot());
+		output.createFile("a/b/c/test");
+	}
+
+	private void write(String path, String content) throws IOException {
+		final OutputStream out = new FileOutputStream(
+				new File(folder.getRoot(), path));
+		out.write(content.getBytes("UTF-8"));
+		out.close();
+	}
+
+	private void write(IMultiReportOutput output, String path, String content)
+			throws IOException {
+		final OutputStream out = output.createFile(path);
+		out.write(content.getBytes("UTF-8"));
+		out.close();
+	}
+
+	private String read(String path) throws IOException {
+		final InputStream in = new FileInputStream(
+				new File(folder.getRoot(), path));
+		final StringBuilder sb = new StringBuilder();
+		int c;
+		while ((c = in.read()) != -1) {
+			sb.append((char) c);
+		}
+		in.close();
+		return sb.toString();
+	}
+
+}
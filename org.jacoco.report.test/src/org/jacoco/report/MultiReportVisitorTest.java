@@ -21,6 +21,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.jacoco.core.analysis.IBundleCoverage;
 import org.jacoco.core.analysis.IPackageCoverage;
@@ -127,4 +129,44 @@ public class MultiReportVisitorTest {
 		assertEquals(MOCK_REPORT, mock2.toString());
 		assertEquals(MOCK_REPORT, mock3.toString());
 	}
+
+	@Test
+	public void testMultiFormatterWithExecutor() throws IOException {
+		IReportVisitor mock1 = new MockVisitor();
+		IReportVisitor mock2 = new MockVisitor();
+		IReportVisitor mock3 = new MockVisitor();
+		List<IReportVisitor> visitors = Arrays.asList(mock1, mock2, mock3);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			MultiReportVisitor multi = new MultiReportVisitor(visitors,
+					executor);
+			createMockReport(multi);
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(MOCK_REPORT, mock1.toString());
+		assertEquals(MOCK_REPORT, mock2.toString());
+		assertEquals(MOCK_REPORT, mock3.toString());
+	}
+
+	@Test(expected = IOException.class)
+	public void testMultiFormatterWithExecutorPropagatesFailures()
+			throws IOException {
+		IReportVisitor failing = new MockVisitor() {
+			@Override
+			public void visitBundle(IBundleCoverage bundle,
+					ISourceFileLocator locator) throws IOException {
+				throw new IOException("expected");
+			}
+		};
+		List<IReportVisitor> visitors = Arrays.asList(new MockVisitor(),
+				failing);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			new MultiReportVisitor(visitors, executor)
+					.visitBundle(createBundle("b"), null);
+		} finally {
+			executor.shutdown();
+		}
+	}
 }
@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.IPackageCoverage;
+import org.jacoco.core.analysis.ISourceFileCoverage;
+import org.jacoco.core.internal.analysis.BundleCoverageImpl;
+import org.jacoco.core.internal.analysis.CounterImpl;
+import org.jacoco.core.internal.analysis.PackageCoverageImpl;
+import org.jacoco.core.internal.analysis.SourceFileCoverageImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link PrefetchSourceFileLocator}.
+ */
+public class PrefetchSourceFileLocatorTest implements ISourceFileLocator {
+
+	private List<String> requests;
+
+	private List<Runnable> pending;
+
+	private Executor executor;
+
+	private PrefetchSourceFileLocator locator;
+
+	@Before
+	public void setup() {
+		requests = new ArrayList<String>();
+		pending = new ArrayList<Runnable>();
+		executor = new Executor() {
+			public void execute(final Runnable command) {
+				pending.add(command);
+			}
+		};
+		locator = new PrefetchSourceFileLocator(this, executor, 2);
+	}
+
+	@Test
+	public void getTabWidth_should_return_value_of_delegate() {
+		assertEquals(3, locator.getTabWidth());
+	}
+
+	@Test
+	public void getSourceFile_should_pass_unannounced_files_to_delegate()
+			throws IOException {
+		assertContent("org/A.java", locator.getSourceFile("org", "A.java"));
+		assertEquals(Collections.singletonList("org/A.java"), requests);
+		assertEquals(0, pending.size());
+	}
+
+	@Test
+	public void prefetch_should_read_files_within_capacity()
+			throws IOException {
+		locator.prefetch("org", "A.java");
+		locator.prefetch("org", "B.java");
+		locator.prefetch("org", "C.java");
+		assertEquals(2, pending.size());
+
+		runPending();
+		assertEquals(listOf("org/A.java", "org/B.java"), requests);
+
+		assertContent("org/A.java", locator.getSourceFile("org", "A.java"));
+		assertEquals(1, pending.size());
+		runPending();
+		assertEquals(listOf("org/A.java", "org/B.java", "org/C.java"),
+				requests);
+
+		assertContent("org/B.java", locator.getSourceFile("org", "B.java"));
+		assertContent("org/C.java", locator.getSourceFile("org", "C.java"));
+		assertEquals(3, requests.size());
+	}
+
+	@Test
+	public void getSourceFile_should_read_scheduled_file_if_not_started()
+			throws IOException {
+		locator.prefetch("org", "A.java");
+
+		assertContent("org/A.java", locator.getSourceFile("org", "A.java"));
+		assertEquals(Collections.singletonList("org/A.java"), requests);
+		runPending();
+		assertEquals(1, requests.size());
+	}
+
+	@Test
+	public void getSourceFile_should_hand_out_prefetched_content_once()
+			throws IOException {
+		locator.prefetch("org", "A.java");
+		runPending();
+
+		assertContent("org/A.java", locator.getSourceFile("org", "A.java"));
+		assertContent("org/A.java", locator.getSourceFile("org", "A.java"));
+		assertEquals(listOf("org/A.java", "org/A.java"), requests);
+	}
+
+	@Test
+	public void getSourceFile_should_return_null_for_missing_files()
+			throws IOException {
+		locator.prefetch("org", "Missing.java");
+		runPending();
+
+		assertNull(locator.getSourceFile("org", "Missing.java"));
+	}
+
+	@Test
+	public void getSourceFile_should_throw_exception_of_delegate()
+			throws IOException {
+		locator.prefetch("org", "Broken.java");
+		runPending();
+
+		try {
+			locator.getSourceFile("org", "Broken.java");
+			fail("IOException expected");
+		} catch (final IOException e) {
+			assertEquals("Broken", e.getMessage());
+		}
+	}
+
+	@Test
+	public void prefetch_should_read_files_if_executor_rejects_tasks()
+			throws IOException {
+		locator = new PrefetchSourceFileLocator(this, new Executor() {
+			public void execute(final Runnable command) {
+				throw new RejectedExecutionException();
+			}
+		}, 2);
+		locator.prefetch("org", "A.java");
+
+		assertContent("org/A.java", locator.getSourceFile("org", "A.java"));
+	}
+
+	@Test
+	public void prefetch_should_announce_source_files_with_code_of_bundle()
+			throws IOException {
+		final SourceFileCoverageImpl a = new SourceFileCoverageImpl("A.java",
+				"org");
+		a.increment(CounterImpl.COUNTER_1_0, CounterImpl.COUNTER_0_0, 1);
+		final SourceFileCoverageImpl empty = new SourceFileCoverageImpl(
+				"Empty.java", "org");
+		final SourceFileCoverageImpl b = new SourceFileCoverageImpl("B.java",
+				"org");
+		b.increment(CounterImpl.COUNTER_1_0, CounterImpl.COUNTER_0_0, 1);
+		final IPackageCoverage p = new PackageCoverageImpl("org",
+				Collections.<IClassCoverage> emptyList(),
+				listOf((ISourceFileCoverage) a, empty, b));
+
+		locator.prefetch(
+				new BundleCoverageImpl("bundle", Collections.singleton(p)));
+		runPending();
+
+		assertEquals(listOf("org/A.java", "org/B.java"), requests);
+	}
+
+	private void runPending() {
+		final List<Runnable> tasks = new ArrayList<Runnable>(pending);
+		pending.clear();
+		for (final Runnable r : tasks) {
+			r.run();
+		}
+	}
+
+	private static <T> List<T> listOf(final T... elements) {
+		final List<T> list = new ArrayList<T>();
+		Collections.addAll(list, elements);
+		return list;
+	}
+
+	private static void assertContent(final String expected,
+			final Reader source) throws IOException {
+		final BufferedReader buffer = new BufferedReader(source);
+		assertEquals(expected, buffer.readLine());
+		assertNull(buffer.readLine());
+		buffer.close();
+	}
+
+	// === ISourceFileLocator ===
+
+	public Reader getSourceFile(final String packageName, final String fileName)
+			throws IOException {
+		if ("Missing.java".equals(fileName)) {
+			return null;
+		}
+		if ("Broken.java".equals(fileName)) {
+			throw new IOException("Broken");
+		}
+		final String path = packageName + "/" + fileName;
+		requests.add(path);
+		return new StringReader(path);
+	}
+
+	public int getTabWidth() {
+		return 3;
+	}
+
+}
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link SourceFileIndex}.
+ */
+public class SourceFileIndexTest {
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private File root1;
+
+	private File root2;
+
+	private SourceFileIndex index;
+
+	@Before
+	public void setup() throws IOException {
+		root1 = folder.newFolder("root1");
+		root2 = folder.newFolder("root2");
+		index = new SourceFileIndex("UTF-8", 4);
+		index.addDirectory(root1);
+		index.addDirectory(root2);
+	}
+
+	@Test
+	public void getTabWidth_should_return_configured_value() {
+		assertEquals(4, index.getTabWidth());
+	}
+
+	@Test
+	public void getSourceFile_should_return_null_when_source_does_not_exist()
+			throws IOException {
+		assertNull(
+				index.getSourceFile("org/jacoco/example", "DoesNotExist.java"));
+	}
+
+	@Test
+	public void getSourceFile_should_return_null_when_source_is_folder()
+			throws IOException {
+		new File(root1, "org/jacoco/example").mkdirs();
+
+		assertNull(index.getSourceFile("org/jacoco", "example"));
+	}
+
+	@Test
+	public void getSourceFile_should_return_content_when_file_exists()
+			throws IOException {
+		createFile(root2, "org/jacoco/example/Test.java", "Source");
+
+		assertContent("Source",
+				index.getSourceFile("org/jacoco/example", "Test.java"));
+	}
+
+	@Test
+	public void getSourceFile_should_return_content_in_default_package()
+			throws IOException {
+		createFile(root1, "Test.java", "Source");
+
+		assertContent("Source", index.getSourceFile("", "Test.java"));
+	}
+
+	@Test
+	public void getSourceFile_should_prefer_first_directory()
+			throws IOException {
+		createFile(root1, "org/Test.java", "First");
+		createFile(root2, "org/Test.java", "Second");
+
+		assertContent("First", index.getSourceFile("org", "Test.java"));
+	}
+
+	@Test
+	public void getSourceFile_should_ignore_missing_directory()
+			throws IOException {
+		index.addDirectory(new File(folder.getRoot(), "missing"));
+		createFile(root1, "org/Test.java", "Source");
+
+		assertContent("Source", index.getSourceFile("org", "Test.java"));
+	}
+
+	@Test
+	public void getSourceFile_should_not_see_files_created_after_scan()
+			throws IOException {
+		index.scan(Collections.singleton("org"), null);
+		createFile(root1, "org/Test.java", "Source");
+
+		assertNull(index.getSourceFile("org", "Test.java"));
+	}
+
+	@Test
+	public void getSourceFile_should_list_package_on_first_lookup()
+			throws IOException {
+		index.scan(Collections.singleton("org"), null);
+		createFile(root1, "com/Test.java", "Source");
+
+		assertContent("Source", index.getSourceFile("com", "Test.java"));
+	}
+
+	@Test
+	public void scan_should_list_packages_with_executor() throws IOException {
+		final List<String> packageNames = new ArrayList<String>();
+		for (int i = 0; i < 20; i++) {
+			createFile(i % 2 == 0 ? root1 : root2,
+					"org/p" + i + "/sub/Test.java", "Source" + i);
+			packageNames.add("org/p" + i + "/sub");
+		}
+		createFile(root1, "org/p3/sub/Test.java", "Override");
+		final ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			index.scan(packageNames, executor);
+		} finally {
+			executor.shutdown();
+		}
+
+		assertContent("Source4",
+				index.getSourceFile("org/p4/sub", "Test.java"));
+		assertContent("Override",
+				index.getSourceFile("org/p3/sub", "Test.java"));
+	}
+
+	@Test
+	public void addDirectory_should_fail_after_scan() throws IOException {
+		index.scan(Collections.<String> emptySet(), null);
+		try {
+			index.addDirectory(root1);
+			fail("IllegalStateException expected");
+		} catch (final IllegalStateException e) {
+			assertEquals("Index has already been built.", e.getMessage());
+		}
+	}
+
+	private void createFile(File root, String path, String content)
+			throws IOException {
+		final File file = new File(root, path);
+		file.getParentFile().mkdirs();
+		final Writer writer = new OutputStreamWriter(new FileOutputStream(file),
+				"UTF-8");
+		writer.write(content);
+		writer.close();
+	}
+
+	private void assertContent(String expected, Reader source)
+			throws IOException {
+		assertNotNull(source);
+		final BufferedReader buffer = new BufferedReader(source);
+		assertEquals(expected, buffer.readLine());
+		assertNull(buffer.readLine());
+		buffer.close();
+	}
+
+}
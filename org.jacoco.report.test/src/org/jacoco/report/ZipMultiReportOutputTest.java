@@ -20,10 +20,12 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -139,6 +141,74 @@ public class ZipMultiReportOutputTest {
 		assertArrayEquals(content2, entries.get("readme.txt"));
 	}
 
+	@Test
+	public void testConcurrentFilesAreWrittenInCreationOrder()
+			throws Exception {
+		final OutputStream a = zipOutput.createFile("a.txt");
+		a.write('a');
+
+		final Thread other = new Thread() {
+			@Override
+			public void run() {
+				try {
+					final OutputStream b = zipOutput.createFile("b.txt");
+					b.write('b');
+					b.close();
+					zipOutput.createFile("c.txt").write('c');
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		};
+		other.start();
+		other.join();
+
+		a.write('a');
+		a.close();
+		zipOutput.close();
+
+		assertEquals(Arrays.asList("a.txt", "b.txt", "c.txt"),
+				readEntryNames());
+		final Map<String, byte[]> entries = readEntries();
+		assertArrayEquals("aa".getBytes(), entries.get("a.txt"));
+		assertArrayEquals("b".getBytes(), entries.get("b.txt"));
+		assertArrayEquals("c".getBytes(), entries.get("c.txt"));
+	}
+
+	@Test
+	public void testCreateFilesFromMultipleThreads() throws Exception {
+		final List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < 4; i++) {
+			final int thread = i;
+			threads.add(new Thread() {
+				@Override
+				public void run() {
+					try {
+						for (int j = 0; j < 50; j++) {
+							final OutputStream out = zipOutput
+									.createFile(thread + "/" + j + ".txt");
+							out.write(("content" + thread + j).getBytes());
+							out.close();
+						}
+					} catch (IOException e) {
+						throw new RuntimeException(e);
+					}
+				}
+			});
+		}
+		for (final Thread t : threads) {
+			t.start();
+		}
+		for (final Thread t : threads) {
+			t.join();
+		}
+		zipOutput.close();
+
+		final Map<String, byte[]> entries = readEntries();
+		assertEquals(200, entries.size());
+		assertArrayEquals("content349".getBytes(), entries.get("3/49.txt"));
+	}
+
 	@Test(expected = IOException.class)
 	public void testWriteToClosedStream1() throws IOException {
 		OutputStream out = zipOutput.createFile("index.html");
@@ -174,6 +244,17 @@ public class ZipMultiReportOutputTest {
 		out1.write(32);
 	}
 
+	private List<String> readEntryNames() throws IOException {
+		final List<String> names = new ArrayList<String>();
+		final ZipInputStream input = new ZipInputStream(
+				new ByteArrayInputStream(buffer.toByteArray()));
+		ZipEntry entry;
+		while ((entry = input.getNextEntry()) != null) {
+			names.add(entry.getName());
+		}
+		return names;
+	}
+
 	private Map<String, byte[]> readEntries() throws IOException {
 		final Map<String, byte[]> entries = new HashMap<String, byte[]>();
 		final byte[] bytes = buffer.toByteArray();
@@ -0,0 +1,344 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.binary;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.IPackageCoverage;
+import org.jacoco.core.analysis.ISourceFileCoverage;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.SessionInfo;
+import org.jacoco.core.internal.analysis.BundleCoverageImpl;
+import org.jacoco.core.internal.analysis.ClassCoverageImpl;
+import org.jacoco.core.internal.analysis.CounterImpl;
+import org.jacoco.core.internal.analysis.MethodCoverageImpl;
+import org.jacoco.core.internal.analysis.SourceFileCoverageImpl;
+import org.jacoco.report.IReportGroupVisitor;
+import org.jacoco.report.IReportVisitor;
+import org.jacoco.report.ISourceFileLocator;
+import org.jacoco.report.MemoryOutput;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link BinaryReportCombiner}.
+ */
+public class BinaryReportCombinerTest {
+
+	private BinaryReportCombiner combiner;
+
+	private List<String> structure;
+
+	private Map<String, IBundleCoverage> bundles;
+
+	private List<SessionInfo> sessionInfos;
+
+	private Collection<ExecutionData> executionData;
+
+	@Before
+	public void setup() {
+		combiner = new BinaryReportCombiner();
+		structure = new ArrayList<String>();
+		bundles = new HashMap<String, IBundleCoverage>();
+	}
+
+	@Test
+	public void should_combine_packages_of_partial_reports()
+			throws IOException {
+		combiner.add(partial(bundle("app", createClass("org/a/A", 1, false))));
+		combiner.add(partial(bundle("app", createClass("org/b/B", 2, true))));
+
+		accept();
+
+		assertEquals(Arrays.asList("bundle app"), structure);
+		final IBundleCoverage app = bundles.get("app");
+		assertEquals(2, app.getPackages().size());
+		assertEquals(2, app.getClassCounter().getTotalCount());
+		assertEquals(3, app.getLineCounter().getCoveredCount());
+		assertEquals(3, app.getLineCounter().getMissedCount());
+	}
+
+	@Test
+	public void should_pass_on_packages_contained_in_single_report()
+			throws IOException {
+		final BinaryReportReader report = partial(
+				bundle("app", createClass("org/a/A", 1, false)));
+		combiner.add(report);
+
+		accept();
+
+		assertSame(report.getBundles().get(0).getPackages().iterator().next(),
+				bundles.get("app").getPackages().iterator().next());
+	}
+
+	@Test
+	public void should_merge_packages_contained_in_several_reports()
+			throws IOException {
+		combiner.add(partial(bundle("app", createClass("org/a/A", 1, false))));
+		combiner.add(partial(bundle("app", createClass("org/a/A$1", 2, true))));
+
+		accept();
+
+		final IPackageCoverage p = getPackage("app", "org/a");
+		assertEquals(2, p.getClasses().size());
+		assertEquals(1, p.getSourceFiles().size());
+		final ISourceFileCoverage s = p.getSourceFiles().iterator().next();
+		assertEquals("A.java", s.getName());
+		assertEquals("org/a", s.getPackageName());
+		// Line 3 is covered by one of the classes
+		assertEquals(2, s.getLineCounter().getCoveredCount());
+		assertEquals(1, s.getLineCounter().getMissedCount());
+		assertEquals(3, p.getLineCounter().getTotalCount());
+	}
+
+	@Test
+	public void should_count_identical_classes_only_once() throws IOException {
+		combiner.add(partial(bundle("app", createClass("org/a/A", 1, false),
+				createClass("org/a/B", 1, false))));
+		combiner.add(partial(bundle("app", createClass("org/a/A", 1, false))));
+
+		accept();
+
+		final IPackageCoverage p = getPackage("app", "org/a");
+		assertEquals(2, p.getClasses().size());
+		assertEquals(2, p.getClassCounter().getTotalCount());
+		assertEquals(6, p.getLineCounter().getTotalCount());
+	}
+
+	@Test
+	public void should_fail_for_different_classes_with_same_name()
+			throws IOException {
+		combiner.add(partial(bundle("app", createClass("org/a/A", 1, false))));
+		combiner.add(partial(bundle("app", createClass("org/a/A", 2, false))));
+
+		try {
+			accept();
+			fail("IllegalStateException expected");
+		} catch (final IllegalStateException e) {
+			assertEquals("Can't add different class with same name: org/a/A",
+					e.getMessage());
+		}
+	}
+
+	@Test
+	public void should_merge_groups_and_bundles_by_name() throws IOException {
+		final IBundleCoverage a = bundle("a", createClass("org/a/A", 1, false));
+		final IBundleCoverage b = bundle("b", createClass("org/b/B", 1, false));
+		final IBundleCoverage c = bundle("a", createClass("org/c/C", 1, false));
+		combiner.add(partial(new Object[] { "group", "report", "group", "g1", a,
+				null, b, null }));
+		combiner.add(partial(new Object[] { "group", "report", "group", "g2", b,
+				null, "group", "g1", c, null, null }));
+
+		accept();
+
+		assertEquals(Arrays.asList("group report", "group report/g1",
+				"bundle report/g1/a", "bundle report/b", "group report/g2",
+				"bundle report/g2/b"), structure);
+		assertEquals(2, bundles.get("report/g1/a").getPackages().size());
+	}
+
+	@Test
+	public void should_merge_session_infos_and_execution_data()
+			throws IOException {
+		final SessionInfo s1 = new SessionInfo("node1", 10, 20);
+		final SessionInfo s2 = new SessionInfo("node2", 5, 15);
+		combiner.add(partial(Arrays.asList(s1, s2), Arrays.asList(
+				new ExecutionData(1, "Foo", new boolean[] { true, false }))));
+		combiner.add(partial(Arrays.asList(s1),
+				Arrays.asList(
+						new ExecutionData(1, "Foo",
+								new boolean[] { false, true }),
+						new ExecutionData(2, "Bar", new boolean[] { true }))));
+
+		accept();
+
+		assertEquals(2, sessionInfos.size());
+		assertEquals("node2", sessionInfos.get(0).getId());
+		assertEquals("node1", sessionInfos.get(1).getId());
+		final Map<String, ExecutionData> data = new HashMap<String, ExecutionData>();
+		for (final ExecutionData d : executionData) {
+			data.put(d.getName(), d);
+		}
+		assertEquals(2, data.size());
+		assertArrayEquals(new boolean[] { true, true },
+				data.get("Foo").getProbes());
+		assertArrayEquals(new boolean[] { true }, data.get("Bar").getProbes());
+	}
+
+	@Test
+	public void should_not_modify_execution_data_of_partial_reports()
+			throws IOException {
+		final BinaryReportReader report = partial(
+				Collections.<SessionInfo> emptyList(),
+				Arrays.asList(new ExecutionData(1, "Foo",
+						new boolean[] { true, false })));
+		combiner.add(report);
+		combiner.add(partial(Collections.<SessionInfo> emptyList(),
+				Arrays.asList(new ExecutionData(1, "Foo",
+						new boolean[] { false, true }))));
+
+		accept();
+
+		assertArrayEquals(new boolean[] { true, false },
+				report.getExecutionData().get(0).getProbes());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void should_fail_for_incompatible_execution_data()
+			throws IOException {
+		combiner.add(partial(Collections.<SessionInfo> emptyList(),
+				Arrays.asList(new ExecutionData(1, "Foo", new boolean[2]))));
+		combiner.add(partial(Collections.<SessionInfo> emptyList(),
+				Arrays.asList(new ExecutionData(1, "Bar", new boolean[2]))));
+	}
+
+	private IPackageCoverage getPackage(final String bundle,
+			final String name) {
+		for (final IPackageCoverage p : bundles.get(bundle).getPackages()) {
+			if (p.getName().equals(name)) {
+				return p;
+			}
+		}
+		throw new AssertionError(name);
+	}
+
+	/**
+	 * Creates a class with a missed line 1, a covered line 2 and line 3 which
+	 * is covered if requested.
+	 */
+	private static IClassCoverage createClass(final String name, final long id,
+			final boolean covered) {
+		final MethodCoverageImpl m = new MethodCoverageImpl("run", "()V", null);
+		m.increment(CounterImpl.COUNTER_1_0, CounterImpl.COUNTER_0_0, 1);
+		m.increment(CounterImpl.COUNTER_0_1, CounterImpl.COUNTER_0_0, 2);
+		m.increment(covered ? CounterImpl.COUNTER_0_1 : CounterImpl.COUNTER_1_0,
+				CounterImpl.COUNTER_0_0, 3);
+		m.incrementMethodCounter();
+		final ClassCoverageImpl c = new ClassCoverageImpl(name, id, false);
+		final int pos = name.indexOf('$');
+		c.setSourceFileName(name.substring(name.lastIndexOf('/') + 1,
+				pos == -1 ? name.length() : pos) + ".java");
+		c.addMethod(m);
+		return c;
+	}
+
+	private static IBundleCoverage bundle(final String name,
+			final IClassCoverage... classes) {
+		final Map<String, SourceFileCoverageImpl> sourcefiles = new HashMap<String, SourceFileCoverageImpl>();
+		for (final IClassCoverage c : classes) {
+			final String key = c.getPackageName() + "/" + c.getSourceFileName();
+			SourceFileCoverageImpl s = sourcefiles.get(key);
+			if (s == null) {
+				s = new SourceFileCoverageImpl(c.getSourceFileName(),
+						c.getPackageName());
+				sourcefiles.put(key, s);
+			}
+			s.increment(c);
+		}
+		return new BundleCoverageImpl(name, Arrays.asList(classes),
+				new ArrayList<ISourceFileCoverage>(sourcefiles.values()));
+	}
+
+	private static BinaryReportReader partial(final List<SessionInfo> infos,
+			final List<ExecutionData> data) throws IOException {
+		final MemoryOutput output = new MemoryOutput();
+		final IReportVisitor visitor = new BinaryFormatter()
+				.createVisitor(output);
+		visitor.visitInfo(infos, data);
+		visitor.visitEnd();
+		return new BinaryReportReader(output.toByteArray());
+	}
+
+	/**
+	 * Writes a partial report with the given structure. Strings "group" are
+	 * followed by the group name, <code>null</code> ends the current group.
+	 */
+	private static BinaryReportReader partial(final Object... content)
+			throws IOException {
+		final MemoryOutput output = new MemoryOutput();
+		final IReportVisitor visitor = new BinaryFormatter()
+				.createVisitor(output);
+		visitor.visitInfo(Collections.<SessionInfo> emptyList(),
+				Collections.<ExecutionData> emptyList());
+		write(visitor, content, 0);
+		visitor.visitEnd();
+		return new BinaryReportReader(output.toByteArray());
+	}
+
+	private static int write(final IReportGroupVisitor visitor,
+			final Object[] content, int pos) throws IOException {
+		while (pos < content.length) {
+			final Object item = content[pos++];
+			if (item == null) {
+				break;
+			}
+			if (item instanceof IBundleCoverage) {
+				visitor.visitBundle((IBundleCoverage) item, null);
+			} else {
+				pos = write(visitor.visitGroup((String) content[pos]), content,
+						pos + 1);
+			}
+		}
+		return pos;
+	}
+
+	private void accept() throws IOException {
+		combiner.accept(new Recorder(""), null);
+	}
+
+	private class Recorder implements IReportVisitor {
+
+		private final String path;
+
+		Recorder(final String path) {
+			this.path = path;
+		}
+
+		public void visitInfo(final List<SessionInfo> infos,
+				final Collection<ExecutionData> data) {
+			sessionInfos = infos;
+			executionData = data;
+		}
+
+		public void visitBundle(final IBundleCoverage bundle,
+				final ISourceFileLocator locator) {
+			structure.add("bundle " + path + bundle.getName());
+			bundles.put(path + bundle.getName(), bundle);
+		}
+
+		public IReportGroupVisitor visitGroup(final String name) {
+			structure.add("group " + path + name);
+			return new Recorder(path + name + "/");
+		}
+
+		public void visitEnd() {
+		}
+
+	}
+
+}
@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.binary;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.ICounter;
+import org.jacoco.core.analysis.ILine;
+import org.jacoco.core.analysis.IMethodCoverage;
+import org.jacoco.core.analysis.IPackageCoverage;
+import org.jacoco.core.analysis.ISourceFileCoverage;
+import org.jacoco.core.analysis.ISourceNode;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.SessionInfo;
+import org.jacoco.core.internal.analysis.BundleCoverageImpl;
+import org.jacoco.core.internal.analysis.ClassCoverageImpl;
+import org.jacoco.core.internal.analysis.CounterImpl;
+import org.jacoco.core.internal.analysis.MethodCoverageImpl;
+import org.jacoco.core.internal.analysis.PackageCoverageImpl;
+import org.jacoco.core.internal.analysis.SourceFileCoverageImpl;
+import org.jacoco.report.IReportVisitor;
+import org.jacoco.report.MemoryOutput;
+import org.jacoco.report.ReportStructureTestDriver;
+import org.jacoco.report.xml.XMLFormatter;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link BinaryFormatter} and {@link BinaryReportReader}.
+ */
+public class BinaryReportReaderTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private ReportStructureTestDriver driver;
+
+	private MemoryOutput output;
+
+	private IReportVisitor visitor;
+
+	@Before
+	public void setup() throws Exception {
+		driver = new ReportStructureTestDriver();
+		output = new MemoryOutput();
+		visitor = new BinaryFormatter().createVisitor(output);
+	}
+
+	@Test
+	public void should_restore_bundle_only() throws IOException {
+		driver.sendBundle(visitor);
+		output.assertClosed();
+
+		final BinaryReportReader reader = read();
+		final MemoryOutput expected = new MemoryOutput();
+		driver.sendBundle(new XMLFormatter().createVisitor(expected));
+		assertEquals(expected.toString("UTF-8"), toXML(reader));
+	}
+
+	@Test
+	public void should_restore_group() throws IOException {
+		driver.sendGroup(visitor);
+
+		final BinaryReportReader reader = read();
+		final MemoryOutput expected = new MemoryOutput();
+		driver.sendGroup(new XMLFormatter().createVisitor(expected));
+		assertEquals(expected.toString("UTF-8"), toXML(reader));
+	}
+
+	@Test
+	public void should_restore_nested_groups() throws IOException {
+		driver.sendNestedGroups(visitor);
+
+		final BinaryReportReader reader = read();
+		final MemoryOutput expected = new MemoryOutput();
+		driver.sendNestedGroups(new XMLFormatter().createVisitor(expected));
+		assertEquals(expected.toString("UTF-8"), toXML(reader));
+		assertEquals(2, reader.getBundles().size());
+	}
+
+	@Test
+	public void should_restore_session_infos_and_execution_data()
+			throws IOException {
+		visitor.visitInfo(
+				Collections.singletonList(new SessionInfo("session", 12, 34)),
+				Collections.singletonList(new ExecutionData(0x56, "Foo",
+						new boolean[] { true, false, true })));
+		visitor.visitEnd();
+
+		final BinaryReportReader reader = read();
+		final SessionInfo info = reader.getSessionInfos().get(0);
+		assertEquals("session", info.getId());
+		assertEquals(12, info.getStartTimeStamp());
+		assertEquals(34, info.getDumpTimeStamp());
+		final ExecutionData data = reader.getExecutionData().get(0);
+		assertEquals(0x56, data.getId());
+		assertEquals("Foo", data.getName());
+		assertArrayEquals(new boolean[] { true, false, true },
+				data.getProbes());
+	}
+
+	@Test
+	public void should_restore_coverage_details() throws IOException {
+		final MethodCoverageImpl m = new MethodCoverageImpl("run", "()V",
+				"<T:Ljava/lang/Object;>()V");
+		m.increment(CounterImpl.getInstance(20, 1000),
+				CounterImpl.getInstance(1, 2), 3);
+		m.increment(CounterImpl.getInstance(1, 0), CounterImpl.COUNTER_0_0, 7);
+		m.incrementMethodCounter();
+		final ClassCoverageImpl c = new ClassCoverageImpl("org/Foo", 42, true);
+		c.setSourceFileName("Foo.java");
+		c.setSignature("<T:Ljava/lang/Object;>Ljava/lang/Object;");
+		c.setSuperName("java/lang/Object");
+		c.setInterfaces(new String[] { "java/lang/Runnable" });
+		c.addMethod(m);
+		final ClassCoverageImpl d = new ClassCoverageImpl("org/Bar", 43, false);
+		final SourceFileCoverageImpl s = new SourceFileCoverageImpl("Foo.java",
+				"org");
+		s.increment(c);
+		writeBundle(new BundleCoverageImpl("bundle", Collections
+				.<IPackageCoverage> singletonList(new PackageCoverageImpl("org",
+						Arrays.<IClassCoverage> asList(c, d),
+						Collections.<ISourceFileCoverage> singletonList(s)))));
+
+		final IBundleCoverage bundle = read().getBundles().get(0);
+		assertEquals("bundle", bundle.getName());
+		final IPackageCoverage p = bundle.getPackages().iterator().next();
+		assertEquals("org", p.getName());
+		assertEquals(1021, p.getInstructionCounter().getTotalCount());
+
+		final IClassCoverage c2 = p.getClasses().iterator().next();
+		assertEquals("org/Foo", c2.getName());
+		assertEquals(42, c2.getId());
+		assertEquals(true, c2.isNoMatch());
+		assertEquals("<T:Ljava/lang/Object;>Ljava/lang/Object;",
+				c2.getSignature());
+		assertEquals("java/lang/Object", c2.getSuperName());
+		assertArrayEquals(new String[] { "java/lang/Runnable" },
+				c2.getInterfaceNames());
+		assertEquals("Foo.java", c2.getSourceFileName());
+		assertLines(c2);
+
+		final IMethodCoverage m2 = c2.getMethods().iterator().next();
+		assertEquals("run", m2.getName());
+		assertEquals("()V", m2.getDesc());
+		assertEquals("<T:Ljava/lang/Object;>()V", m2.getSignature());
+		assertEquals(CounterImpl.getInstance(0, 1), m2.getMethodCounter());
+		assertLines(m2);
+
+		final IClassCoverage d2 = p.getClasses()
+				.toArray(new IClassCoverage[0])[1];
+		assertNull(d2.getSignature());
+		assertNull(d2.getSuperName());
+		assertNull(d2.getInterfaceNames());
+		assertNull(d2.getSourceFileName());
+		assertEquals(ISourceNode.UNKNOWN_LINE, d2.getFirstLine());
+
+		final ISourceFileCoverage s2 = p.getSourceFiles().iterator().next();
+		assertEquals("Foo.java", s2.getName());
+		assertEquals("org", s2.getPackageName());
+		assertLines(s2);
+	}
+
+	private static void assertLines(final ISourceNode node) {
+		assertEquals(3, node.getFirstLine());
+		assertEquals(7, node.getLastLine());
+		final ILine line3 = node.getLine(3);
+		assertEquals(CounterImpl.getInstance(20, 1000),
+				line3.getInstructionCounter());
+		assertEquals(CounterImpl.getInstance(1, 2), line3.getBranchCounter());
+		assertEquals(ICounter.EMPTY, node.getLine(5).getStatus());
+		assertEquals(ICounter.NOT_COVERED, node.getLine(7).getStatus());
+	}
+
+	@Test
+	public void should_read_report_from_file() throws IOException {
+		driver.sendBundle(visitor);
+		final File file = folder.newFile();
+		final FileOutputStream out = new FileOutputStream(file);
+		out.write(output.toByteArray());
+		out.close();
+
+		assertEquals(1, new BinaryReportReader(file).getBundles().size());
+	}
+
+	@Test
+	public void should_read_report_from_stream() throws IOException {
+		driver.sendBundle(visitor);
+
+		assertEquals(1,
+				new BinaryReportReader(
+						new ByteArrayInputStream(output.toByteArray()))
+						.getBundles().size());
+	}
+
+	@Test
+	public void should_fail_for_invalid_header() {
+		assertInvalid(new byte[] { 0x01, 0x0C, 0x10, 0x00, 0x01 },
+				"Invalid binary report.");
+		assertInvalid(new byte[] { 0x01, (byte) 0xC0 },
+				"Invalid binary report.");
+	}
+
+	@Test
+	public void should_fail_for_incompatible_version() {
+		assertInvalid(new byte[] { 0x01, (byte) 0xC0, (byte) 0xC5, 0x12, 0x34 },
+				"Incompatible binary report version 0x1234.");
+	}
+
+	@Test
+	public void should_fail_for_unknown_record() {
+		assertInvalid(
+				new byte[] { 0x01, (byte) 0xC0, (byte) 0xC5, 0x00, 0x01, 0x42 },
+				"Unknown record type 42.");
+	}
+
+	@Test
+	public void should_fail_for_unexpected_end_of_group() {
+		assertInvalid(
+				new byte[] { 0x01, (byte) 0xC0, (byte) 0xC5, 0x00, 0x01, 0x12 },
+				"Unexpected end of group.");
+	}
+
+	private static void assertInvalid(final byte[] content,
+			final String message) {
+		try {
+			new BinaryReportReader(content);
+			fail("IOException expected");
+		} catch (final IOException e) {
+			assertEquals(message, e.getMessage());
+		}
+	}
+
+	private void writeBundle(final IBundleCoverage bundle) throws IOException {
+		visitor.visitInfo(Collections.<SessionInfo> emptyList(),
+				Collections.<ExecutionData> emptyList());
+		visitor.visitBundle(bundle, driver.sourceFileLocator);
+		visitor.visitEnd();
+	}
+
+	private BinaryReportReader read() throws IOException {
+		return new BinaryReportReader(output.toByteArray());
+	}
+
+	private String toXML(final BinaryReportReader reader) throws IOException {
+		final MemoryOutput actual = new MemoryOutput();
+		reader.accept(new XMLFormatter().createVisitor(actual),
+				driver.sourceFileLocator);
+		actual.assertClosed();
+		return actual.toString("UTF-8");
+	}
+
+}
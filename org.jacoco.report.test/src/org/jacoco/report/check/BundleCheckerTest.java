@@ -15,8 +15,11 @@ package org.jacoco.report.check;
 import static org.junit.Assert.assertEquals;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.jacoco.core.analysis.IBundleCoverage;
 import org.jacoco.core.analysis.IClassCoverage;
@@ -43,12 +46,14 @@ public class BundleCheckerTest implements IViolationsOutput {
 	private List<Rule> rules;
 	private ILanguageNames names;
 	private List<String> messages;
+	private List<Rule> violatedRules;
 
 	@Before
 	public void setup() {
 		rules = new ArrayList<Rule>();
 		names = new JavaNames();
 		messages = new ArrayList<String>();
+		violatedRules = new ArrayList<Rule>();
 	}
 
 	@Test
@@ -124,6 +129,45 @@ public class BundleCheckerTest implements IViolationsOutput {
 		assertEquals(Collections.emptyList(), messages);
 	}
 
+	@Test
+	public void testRulesReportedInConfigurationOrder() {
+		addRule(ElementType.PACKAGE).setIncludes("*.example");
+		addRule(ElementType.PACKAGE).setIncludes("org.jacoco.exampl?");
+		addRule(ElementType.PACKAGE).setIncludes("org.jacoco.example");
+		addRule(ElementType.PACKAGE).setExcludes("org.*");
+		addRule(ElementType.PACKAGE).setIncludes("org.*");
+		addRule(ElementType.PACKAGE).setIncludes("com.*:org.jacoco.*");
+		addRule(ElementType.PACKAGE).setIncludes("com.*");
+		final BundleChecker checker = new BundleChecker(rules, names, this);
+		checker.checkBundle(createBundle());
+		final String message = "Rule violated for package org.jacoco.example: instructions covered ratio is 0.50, but expected minimum is 0.75";
+		assertEquals(Arrays.asList(message, message, message, message, message),
+				messages);
+		assertEquals(Arrays.asList(rules.get(0), rules.get(1), rules.get(2),
+				rules.get(4), rules.get(5)), violatedRules);
+	}
+
+	@Test
+	public void testParallelCheckReportsViolationsInOrder() {
+		addRule(ElementType.CLASS);
+		final List<IPackageCoverage> packages = new ArrayList<IPackageCoverage>();
+		final List<String> expected = new ArrayList<String>();
+		for (int i = 0; i < 50; i++) {
+			packages.add(createPackage("org/jacoco/p" + i));
+			expected.add("Rule violated for class org.jacoco.p" + i
+					+ ".FooClass: instructions covered ratio is 0.50, but expected minimum is 0.75");
+		}
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final BundleChecker checker = new BundleChecker(rules, names, this,
+					executor);
+			checker.checkBundle(new BundleCoverageImpl("Test", packages));
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(expected, messages);
+	}
+
 	private Rule addRule(ElementType elementType) {
 		final Rule rule = new Rule();
 		rule.setElement(elementType);
@@ -134,24 +178,28 @@ public class BundleCheckerTest implements IViolationsOutput {
 	}
 
 	private IBundleCoverage createBundle() {
+		return new BundleCoverageImpl("Test",
+				Collections.singleton(createPackage("org/jacoco/example")));
+	}
+
+	private IPackageCoverage createPackage(String name) {
 		final MethodCoverageImpl m = new MethodCoverageImpl("fooMethod", "()V",
 				null);
 		m.increment(CounterImpl.getInstance(5, 5), CounterImpl.COUNTER_0_0, 1);
 		m.incrementMethodCounter();
 
-		final ClassCoverageImpl c = new ClassCoverageImpl(
-				"org/jacoco/example/FooClass", 1001, false);
+		final ClassCoverageImpl c = new ClassCoverageImpl(name + "/FooClass",
+				1001, false);
 		c.setSourceFileName("FooClass.java");
 		c.addMethod(m);
 
 		final SourceFileCoverageImpl s = new SourceFileCoverageImpl(
-				"FooClass.java", "org/jacoco/example");
+				"FooClass.java", name);
 		s.increment(c);
 
-		IPackageCoverage p = new PackageCoverageImpl("org/jacoco/example",
+		return new PackageCoverageImpl(name,
 				Collections.singleton((IClassCoverage) c),
 				Collections.singleton((ISourceFileCoverage) s));
-		return new BundleCoverageImpl("Test", Collections.singleton(p));
 	}
 
 	private void assertMessage(String expected) {
@@ -161,6 +209,7 @@ public class BundleCheckerTest implements IViolationsOutput {
 	public void onViolation(ICoverageNode node, Rule rule, Limit limit,
 			String message) {
 		messages.add(message);
+		violatedRules.add(rule);
 	}
 
 }
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.check;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link RuleIndex}.
+ */
+public class RuleIndexTest {
+
+	private static final String[] PATTERNS = { "*", "", "Foo", "Foo*", "*Foo",
+			"F*o", "F?o", "*o*", "Foo:Bar", "Foo*:*Bar", "Fo:Foo", "Foo.Bar",
+			"Foo.*", "*.Bar", ":", "Foo:", "::Foo" };
+
+	private static final String[] NAMES = { "", "F", "Foo", "Foo.Bar", "Bar",
+			"Fo", "Fooo", "xFoo", "FxBar", "Foo:Bar", "Fao" };
+
+	@Test
+	public void should_be_empty_without_rules() {
+		final RuleIndex index = new RuleIndex(Collections.<Rule> emptyList());
+
+		assertTrue(index.isEmpty());
+		assertEquals(Collections.emptyList(), index.getRules("Foo"));
+	}
+
+	@Test
+	public void should_match_like_rules() {
+		final List<Rule> rules = new ArrayList<Rule>();
+		for (final String include : PATTERNS) {
+			final Rule rule = new Rule();
+			rule.setIncludes(include);
+			rules.add(rule);
+		}
+		final RuleIndex index = new RuleIndex(rules);
+		assertFalse(index.isEmpty());
+
+		for (final String name : NAMES) {
+			final List<Rule> expected = new ArrayList<Rule>();
+			for (final Rule rule : rules) {
+				if (rule.matches(name)) {
+					expected.add(rule);
+				}
+			}
+			assertEquals(name, expected, index.getRules(name));
+		}
+	}
+
+	@Test
+	public void should_apply_excludes() {
+		final List<Rule> rules = new ArrayList<Rule>();
+		for (final String exclude : PATTERNS) {
+			final Rule literal = new Rule();
+			literal.setIncludes("Foo");
+			literal.setExcludes(exclude);
+			rules.add(literal);
+			final Rule other = new Rule();
+			other.setIncludes("F?o");
+			other.setExcludes(exclude);
+			rules.add(other);
+		}
+		final RuleIndex index = new RuleIndex(rules);
+
+		for (final String name : NAMES) {
+			final List<Rule> expected = new ArrayList<Rule>();
+			for (final Rule rule : rules) {
+				if (rule.matches(name)) {
+					expected.add(rule);
+				}
+			}
+			assertEquals(name, expected, index.getRules(name));
+		}
+	}
+
+}
@@ -21,6 +21,9 @@ import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.tools.ExecDelta;
 import org.jacoco.report.ILanguageNames;
 import org.jacoco.report.IReportVisitor;
 import org.jacoco.report.MemoryOutput;
@@ -92,6 +95,26 @@ public class CSVFormatterTest {
 		assertEquals(2, lines.size());
 	}
 
+	@Test
+	public void testDelta() throws IOException {
+		final ExecutionDataStore baseline = new ExecutionDataStore();
+		baseline.put(new ExecutionData(0x12, "org/Foo",
+				new boolean[] { true, false }));
+		final ExecutionDataStore candidate = new ExecutionDataStore();
+		candidate.put(new ExecutionData(0x12, "org/Foo",
+				new boolean[] { true, true }));
+		candidate.put(
+				new ExecutionData(0x34, "org/Bar", new boolean[] { false }));
+		formatter.createDeltaVisitor(output).visitDelta("delta",
+				new ExecDelta(baseline, candidate));
+		final List<String> lines = getLines();
+		assertEquals(
+				"CLASS,ID,PROBES,BASELINE_COVERED,CANDIDATE_COVERED,NEWLY_COVERED,NEWLY_UNCOVERED",
+				lines.get(0));
+		assertEquals("org.Foo,0000000000000012,2,1,2,1,0", lines.get(1));
+		assertEquals(2, lines.size());
+	}
+
 	@Test
 	public void testSetEncoding() throws Exception {
 		formatter.setOutputEncoding("UTF-16");
@@ -17,13 +17,39 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.IPackageCoverage;
+import org.jacoco.core.analysis.ISourceFileCoverage;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.data.SessionInfo;
+import org.jacoco.core.internal.analysis.BundleCoverageImpl;
+import org.jacoco.core.internal.analysis.ClassCoverageImpl;
+import org.jacoco.core.internal.analysis.CounterImpl;
+import org.jacoco.core.internal.analysis.MethodCoverageImpl;
+import org.jacoco.core.internal.analysis.PackageCoverageImpl;
+import org.jacoco.core.internal.analysis.SourceFileCoverageImpl;
+import org.jacoco.core.tools.ExecDelta;
 import org.jacoco.report.ILanguageNames;
+import org.jacoco.report.IReportVisitor;
 import org.jacoco.report.MemoryMultiReportOutput;
 import org.jacoco.report.ReportStructureTestDriver;
+import org.jacoco.report.ZipMultiReportOutput;
+import org.jacoco.report.internal.html.resources.Resources;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -98,6 +124,105 @@ public class HTMLFormatterTest {
 		output.assertNoFile("empty/Empty.java.html");
 	}
 
+	@Test
+	public void testStructureWithBundleOnlyAndExecutor() throws IOException {
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			formatter.setExecutor(executor);
+			driver.sendBundle(formatter.createVisitor(output));
+		} finally {
+			executor.shutdown();
+		}
+		output.assertFile("index.html");
+		output.assertFile("org.jacoco.example/index.html");
+		output.assertFile("org.jacoco.example/FooClass.html");
+		output.assertFile("org.jacoco.example/FooClass.java.html");
+		output.assertNoFile("empty/index.html");
+	}
+
+	@Test
+	public void testZipEntryOrderWithExecutor() throws IOException {
+		final List<String> expected = renderZipEntries(null);
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			assertEquals(expected, renderZipEntries(executor));
+			assertEquals(expected, renderZipEntries(executor));
+		} finally {
+			executor.shutdown();
+		}
+		output.close();
+	}
+
+	private List<String> renderZipEntries(final Executor executor)
+			throws IOException {
+		final List<IPackageCoverage> packages = new ArrayList<IPackageCoverage>();
+		for (int i = 0; i < 20; i++) {
+			final String name = "org/jacoco/example" + i;
+			final MethodCoverageImpl m = new MethodCoverageImpl("fooMethod",
+					"()V", null);
+			m.increment(CounterImpl.getInstance(3, 5), CounterImpl.COUNTER_0_0,
+					1);
+			m.incrementMethodCounter();
+			final ClassCoverageImpl c = new ClassCoverageImpl(name + "/Foo", i,
+					false);
+			c.setSourceFileName("Foo.java");
+			c.addMethod(m);
+			final SourceFileCoverageImpl s = new SourceFileCoverageImpl(
+					"Foo.java", name);
+			s.increment(c);
+			packages.add(new PackageCoverageImpl(name,
+					Collections.<IClassCoverage> singletonList(c),
+					Collections.<ISourceFileCoverage> singletonList(s)));
+		}
+		final HTMLFormatter formatter = new HTMLFormatter();
+		formatter.setExecutor(executor);
+		final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		final IReportVisitor visitor = formatter
+				.createVisitor(new ZipMultiReportOutput(buffer));
+		visitor.visitInfo(Collections.<SessionInfo> emptyList(),
+				Collections.<ExecutionData> emptyList());
+		visitor.visitBundle(new BundleCoverageImpl("bundle", packages),
+				driver.sourceFileLocator);
+		visitor.visitEnd();
+
+		final List<String> entries = new ArrayList<String>();
+		final ZipInputStream zip = new ZipInputStream(
+				new ByteArrayInputStream(buffer.toByteArray()));
+		ZipEntry entry;
+		while ((entry = zip.getNextEntry()) != null) {
+			entries.add(entry.getName());
+		}
+		return entries;
+	}
+
+	@Test
+	public void testDelta() throws IOException {
+		final ExecutionDataStore baseline = new ExecutionDataStore();
+		final ExecutionDataStore candidate = new ExecutionDataStore();
+		candidate.put(
+				new ExecutionData(0x12, "org/Foo", new boolean[] { true }));
+		formatter.createDeltaVisitor(output).visitDelta("delta",
+				new ExecDelta(baseline, candidate));
+		output.assertFile("index.html");
+		output.assertFile("jacoco-resources/report.css");
+	}
+
+	@Test
+	public void testDeltaKeepsResourcesOfReport() throws IOException {
+		final IReportVisitor visitor = formatter.createVisitor(output);
+		final Resources resources = formatter.getResources();
+		final MemoryMultiReportOutput deltaOutput = new MemoryMultiReportOutput();
+		formatter.createDeltaVisitor(deltaOutput).visitDelta("delta",
+				new ExecDelta(new ExecutionDataStore(),
+						new ExecutionDataStore()));
+		assertSame(resources, formatter.getResources());
+
+		driver.sendBundle(visitor);
+		output.assertFile("index.html");
+		deltaOutput.assertFile("index.html");
+		deltaOutput.assertAllClosed();
+	}
+
 	@Test
 	public void testDefaultEncoding() throws Exception {
 		driver.sendBundle(formatter.createVisitor(output));
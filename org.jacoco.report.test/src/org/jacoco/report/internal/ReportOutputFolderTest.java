@@ -65,6 +65,20 @@ public class ReportOutputFolderTest {
 		output.assertAllClosed();
 	}
 
+	@Test
+	public void testBufferedFiles() throws IOException {
+		final ReportOutputFolder folder = root.subFolder("f1").buffered();
+		folder.createFile("b.html").close();
+		folder.subFolder("f2").createFile("a.html").close();
+		output.assertNoFile("f1/b.html");
+
+		folder.writeBufferedFiles();
+
+		output.assertFile("f1/b.html");
+		output.assertFile("f1/f2/a.html");
+		assertEquals("f1/b.html", folder.getLink(root, "b.html"));
+	}
+
 	@Test
 	public void testRelativeLinkInSameFolder() throws IOException {
 		final ReportOutputFolder base = root.subFolder("f1").subFolder("f2");
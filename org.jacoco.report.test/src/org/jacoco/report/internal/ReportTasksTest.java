@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ReportTasks}.
+ */
+public class ReportTasksTest {
+
+	private ExecutorService executor;
+
+	private List<String> log;
+
+	@Before
+	public void setup() {
+		executor = Executors.newSingleThreadExecutor();
+		log = Collections.synchronizedList(new ArrayList<String>());
+	}
+
+	@After
+	public void teardown() {
+		executor.shutdown();
+	}
+
+	@Test
+	public void should_run_tasks_in_order_without_executor()
+			throws IOException {
+		ReportTasks.execute(null, Arrays.asList(task("a"), task("b")));
+
+		assertEquals(Arrays.asList("a", "b"), log);
+	}
+
+	@Test
+	public void should_run_all_tasks_with_executor() throws IOException {
+		ReportTasks.execute(executor,
+				Arrays.asList(task("a"), task("b"), task("c")));
+
+		Collections.sort(log);
+		assertEquals(Arrays.asList("a", "b", "c"), log);
+	}
+
+	@Test
+	public void should_commit_ordered_tasks_in_list_order_in_calling_thread()
+			throws IOException {
+		final Thread caller = Thread.currentThread();
+		final List<ReportTasks.OrderedTask> tasks = new ArrayList<ReportTasks.OrderedTask>();
+		for (final String name : Arrays.asList("a", "b", "c", "d")) {
+			tasks.add(new ReportTasks.OrderedTask() {
+				public void run() {
+				}
+
+				public void commit() {
+					assertSame(caller, Thread.currentThread());
+					log.add(name);
+				}
+			});
+		}
+
+		ReportTasks.execute(executor, tasks);
+
+		assertEquals(Arrays.asList("a", "b", "c", "d"), log);
+	}
+
+	@Test
+	public void should_run_rejected_tasks_in_calling_thread()
+			throws IOException {
+		final Executor rejecting = new Executor() {
+			public void execute(Runnable command) {
+				throw new RejectedExecutionException();
+			}
+		};
+
+		ReportTasks.execute(rejecting, Arrays.asList(task("a"), task("b")));
+
+		assertEquals(Arrays.asList("a", "b"), log);
+	}
+
+	@Test
+	public void should_not_deadlock_when_nested_on_same_executor()
+			throws IOException {
+		final ReportTasks.Task outer = new ReportTasks.Task() {
+			public void run() throws IOException {
+				ReportTasks.execute(executor,
+						Arrays.asList(task("x"), task("y")));
+			}
+		};
+
+		ReportTasks.execute(executor, Arrays.asList(outer, outer));
+
+		assertEquals(4, log.size());
+	}
+
+	@Test
+	public void should_throw_first_failure_after_all_tasks_completed() {
+		final IOException first = new IOException("first");
+		final IOException second = new IOException("second");
+		try {
+			ReportTasks.execute(executor,
+					Arrays.asList(failing(first), task("a"), failing(second)));
+			fail("IOException expected");
+		} catch (IOException e) {
+			assertSame(first, e);
+		}
+		assertEquals(Arrays.asList("a"), log);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void should_rethrow_runtime_exceptions() throws IOException {
+		final ReportTasks.Task task = new ReportTasks.Task() {
+			public void run() {
+				throw new IllegalStateException();
+			}
+		};
+		ReportTasks.execute(executor, Arrays.asList(task, task("a")));
+	}
+
+	private ReportTasks.Task task(final String name) {
+		return new ReportTasks.Task() {
+			public void run() {
+				log.add(name);
+			}
+		};
+	}
+
+	private ReportTasks.Task failing(final IOException e) {
+		return new ReportTasks.Task() {
+			public void run() throws IOException {
+				throw e;
+			}
+		};
+	}
+
+}
@@ -74,6 +74,16 @@ public class HTMLElementTest {
 				"<link rel=\"stylesheet\" href=\"style.css\" type=\"text/css\"/>");
 	}
 
+	@Test
+	public void span_should_write_complete_span_with_text() throws IOException {
+		final char[] text = "xa<b".toCharArray();
+		root.span("c", "i", "t", text, 1, 3);
+		root.span("c", "i", null, text, 0, 0);
+		root.body();
+		assertContent(
+				"<span class=\"c\" id=\"i\" title=\"t\">a&lt;b</span><span class=\"c\" id=\"i\"></span><body/>");
+	}
+
 	@Test
 	public void title_should_create_title_tag() throws IOException {
 		root.title();
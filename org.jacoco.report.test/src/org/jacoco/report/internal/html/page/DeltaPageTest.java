@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.internal.html.page;
+
+import static org.junit.Assert.assertEquals;
+
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.tools.ExecDelta;
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+/**
+ * Unit tests for {@link DeltaPage}.
+ */
+public class DeltaPageTest extends PageTestBase {
+
+	private ExecutionDataStore baseline;
+
+	private ExecutionDataStore candidate;
+
+	@Before
+	@Override
+	public void setup() throws Exception {
+		super.setup();
+		baseline = new ExecutionDataStore();
+		candidate = new ExecutionDataStore();
+	}
+
+	@Test
+	public void testGetLinkStyle() {
+		final DeltaPage page = new DeltaPage("Delta",
+				new ExecDelta(baseline, candidate), rootFolder, context);
+		assertEquals("el_report", page.getLinkStyle());
+	}
+
+	@Test
+	public void testGetFileName() {
+		final DeltaPage page = new DeltaPage("Delta",
+				new ExecDelta(baseline, candidate), rootFolder, context);
+		assertEquals("index.html", page.getFileName());
+	}
+
+	@Test
+	public void testGetLinkLabel() {
+		final DeltaPage page = new DeltaPage("Delta",
+				new ExecDelta(baseline, candidate), rootFolder, context);
+		assertEquals("Delta", page.getLinkLabel());
+	}
+
+	@Test
+	public void testEmptyContent() throws Exception {
+		baseline.put(
+				new ExecutionData(0x1000, "ClassA", new boolean[] { true }));
+		candidate.put(
+				new ExecutionData(0x1000, "ClassA", new boolean[] { true }));
+		final DeltaPage page = new DeltaPage("Delta",
+				new ExecDelta(baseline, candidate), rootFolder, context);
+		page.render();
+		final Document doc = support.parse(output.getFile("index.html"));
+		assertEquals("Coverage has not changed.",
+				support.findStr(doc, "/html/body/p[1]"));
+	}
+
+	@Test
+	public void testDeltaContent() throws Exception {
+		baseline.put(new ExecutionData(0x1000, "ClassB",
+				new boolean[] { true, false }));
+		candidate.put(new ExecutionData(0x1000, "ClassB",
+				new boolean[] { false, true }));
+		candidate.put(
+				new ExecutionData(0x1001, "ClassA", new boolean[] { true }));
+		candidate.put(
+				new ExecutionData(0x1002, "ClassC", new boolean[] { false }));
+		final DeltaPage page = new DeltaPage("Delta",
+				new ExecDelta(baseline, candidate), rootFolder, context);
+		page.render();
+		final Document doc = support.parse(output.getFile("index.html"));
+		assertEquals("2",
+				support.findStr(doc, "count(/html/body/table[1]/tbody/tr)"));
+		assertEquals("ClassA", support.findStr(doc,
+				"/html/body/table[1]/tbody/tr[1]/td[1]/span"));
+		assertEquals("0000000000001001", support.findStr(doc,
+				"/html/body/table[1]/tbody/tr[1]/td[2]/code"));
+		assertEquals("ClassB",
+				support.findStr(doc, "/html/body/table[1]/tbody/tr[2]/td[1]"));
+		assertEquals("1",
+				support.findStr(doc, "/html/body/table[1]/tbody/tr[2]/td[6]"));
+		assertEquals("1",
+				support.findStr(doc, "/html/body/table[1]/tbody/tr[2]/td[7]"));
+		assertEquals("2",
+				support.findStr(doc, "/html/body/table[1]/tfoot/tr/td[6]"));
+		assertEquals("1",
+				support.findStr(doc, "/html/body/table[1]/tfoot/tr/td[7]"));
+	}
+
+}
@@ -22,6 +22,8 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.jacoco.core.analysis.IClassCoverage;
 import org.jacoco.core.analysis.ISourceFileCoverage;
@@ -135,6 +137,30 @@ public class PackageSourcePageTest extends PageTestBase {
 				support.findStr(doc, "count(/html/body/table[1]/tbody/tr)"));
 	}
 
+	@Test
+	public void should_render_source_pages_in_parallel_when_executor_is_given()
+			throws Exception {
+		final ExecutorService service = Executors.newFixedThreadPool(2);
+		try {
+			executor = service;
+			page = new PackageSourcePage(node, null, sourceLocator, rootFolder,
+					context, packagePageLink);
+			page.render();
+		} finally {
+			service.shutdown();
+		}
+
+		output.assertFile("Src1.java.html");
+		output.assertNoFile("Src2.java.html");
+		assertNotNull(page.getSourceFilePage("Src1.java"));
+		assertNull(page.getSourceFilePage("Src2.java"));
+		final Document doc = support.parse(output.getFile("index.source.html"));
+		assertEquals("Src1.java", support.findStr(doc,
+				"/html/body/table[1]/tbody/tr[1]/td[1]/a"));
+		assertEquals("Src2.java", support.findStr(doc,
+				"/html/body/table[1]/tbody/tr[2]/td[1]/span"));
+	}
+
 	@Test
 	public void testGetSourceFilePages() throws Exception {
 		page = new PackageSourcePage(node, null, sourceLocator, rootFolder,
@@ -14,6 +14,7 @@ package org.jacoco.report.internal.html.page;
 
 import java.io.IOException;
 import java.util.Locale;
+import java.util.concurrent.Executor;
 
 import org.jacoco.report.ILanguageNames;
 import org.jacoco.report.JavaNames;
@@ -39,14 +40,18 @@ public abstract class PageTestBase {
 
 	protected ReportOutputFolder rootFolder;
 
+	protected Resources resources;
+
 	protected IHTMLReportContext context;
 
 	protected HTMLSupport support;
 
+	protected Executor executor;
+
 	protected void setup() throws Exception {
 		output = new MemoryMultiReportOutput();
 		rootFolder = new ReportOutputFolder(output);
-		final Resources resources = new Resources(rootFolder);
+		resources = new Resources(rootFolder);
 		final Table table = new Table();
 		table.add("Element", null, new LabelColumn(), true);
 		context = new IHTMLReportContext() {
@@ -87,6 +92,10 @@ public abstract class PageTestBase {
 				return Locale.ENGLISH;
 			}
 
+			public Executor getExecutor() {
+				return executor;
+			}
+
 		};
 		support = new HTMLSupport();
 	}
@@ -14,14 +14,26 @@ package org.jacoco.report.internal.html.page;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.io.StringReader;
 
+import org.jacoco.core.internal.analysis.CounterImpl;
 import org.jacoco.core.internal.analysis.SourceFileCoverageImpl;
+import org.jacoco.report.IncrementalFileMultiReportOutput;
+import org.jacoco.report.internal.ReportOutputFolder;
+import org.jacoco.report.internal.html.resources.Resources;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.w3c.dom.Document;
 
 /**
@@ -29,6 +41,9 @@ import org.w3c.dom.Document;
  */
 public class SourceFilePageTest extends PageTestBase {
 
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
 	private Reader sourceReader;
 
 	@Before
@@ -68,4 +83,60 @@ public class SourceFilePageTest extends PageTestBase {
 		// source code
 		assertNotNull(support.findStr(result, "/html/body/pre"));
 	}
+
+	@Test
+	public void should_keep_page_with_unchanged_inputs_in_incremental_output()
+			throws Exception {
+		sourceReader.close();
+		final SourceFileCoverageImpl node = new SourceFileCoverageImpl(
+				"Foo.java", "org/example");
+		node.increment(CounterImpl.COUNTER_1_0, CounterImpl.COUNTER_0_0, 2);
+		final File file = new File(folder.getRoot(), "Foo.java.html");
+
+		renderIncremental(node, "class Foo {\n}\n");
+		assertTrue(read(file).endsWith("</html>"));
+		marker(file);
+
+		renderIncremental(node, "class Foo {\n}\n");
+		assertEquals("marker", read(file));
+
+		renderIncremental(node, "class Foo {\n  int i;\n}\n");
+		assertTrue(read(file).endsWith("</html>"));
+		marker(file);
+
+		node.increment(CounterImpl.COUNTER_0_1, CounterImpl.COUNTER_0_0, 2);
+		renderIncremental(node, "class Foo {\n  int i;\n}\n");
+		assertTrue(read(file).endsWith("</html>"));
+	}
+
+	private void renderIncremental(final SourceFileCoverageImpl node,
+			final String source) throws IOException {
+		final IncrementalFileMultiReportOutput incremental = new IncrementalFileMultiReportOutput(
+				folder.getRoot());
+		final ReportOutputFolder incrementalFolder = new ReportOutputFolder(
+				incremental);
+		resources = new Resources(incrementalFolder);
+		new SourceFilePage(node, new StringReader(source), 4, null,
+				incrementalFolder, context).render();
+		incremental.close();
+	}
+
+	private static String read(final File file) throws IOException {
+		final Reader reader = new InputStreamReader(new FileInputStream(file),
+				"UTF-8");
+		final StringBuilder content = new StringBuilder();
+		int c;
+		while ((c = reader.read()) != -1) {
+			content.append((char) c);
+		}
+		reader.close();
+		return content.toString();
+	}
+
+	private static void marker(final File file) throws IOException {
+		final OutputStream out = new FileOutputStream(file);
+		out.write("marker".getBytes("UTF-8"));
+		out.close();
+	}
+
 }
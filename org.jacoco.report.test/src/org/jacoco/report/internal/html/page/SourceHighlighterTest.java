@@ -102,18 +102,92 @@ public class SourceHighlighterTest {
 				htmlSupport.findStr(doc, "//pre/span[text() = 'D']/@class"));
 	}
 
+	@Test
+	public void testLineTerminators() throws Exception {
+		source.increment(CounterImpl.COUNTER_1_0, CounterImpl.COUNTER_0_0, 2);
+		source.increment(CounterImpl.COUNTER_1_0, CounterImpl.COUNTER_0_0, 3);
+		source.increment(CounterImpl.COUNTER_1_0, CounterImpl.COUNTER_0_0, 5);
+		final String src = "A\r\nB\rC\n\nE\n";
+		sourceHighlighter.render(parent, source, new StringReader(src));
+		final Document doc = parseDoc();
+		assertEquals("A\nB\nC\n\nE\n", htmlSupport.findStr(doc, "//pre"));
+		assertEquals("B", htmlSupport.findStr(doc, "//pre/span[@id='L2']"));
+		assertEquals("C", htmlSupport.findStr(doc, "//pre/span[@id='L3']"));
+		assertEquals("E", htmlSupport.findStr(doc, "//pre/span[@id='L5']"));
+	}
+
+	@Test
+	public void testEmptyHighlightedLine() throws Exception {
+		source.increment(CounterImpl.COUNTER_1_0, CounterImpl.COUNTER_0_0, 1);
+		sourceHighlighter.render(parent, source, new StringReader("\n"));
+		html.close();
+		assertEquals(
+				"<pre class=\"source lang-java linenums\"><span class=\"nc\" id=\"L1\"></span>\n</pre>",
+				extractPre());
+	}
+
+	@Test
+	public void testEscaping() throws Exception {
+		source.increment(CounterImpl.COUNTER_1_0, CounterImpl.COUNTER_0_0, 1);
+		final String src = "a < b && \"c\" > d\n<>&\"";
+		sourceHighlighter.render(parent, source, new StringReader(src));
+		html.close();
+		assertEquals("<pre class=\"source lang-java linenums\">"
+				+ "<span class=\"nc\" id=\"L1\">a &lt; b &amp;&amp; &quot;c&quot; &gt; d</span>\n"
+				+ "&lt;&gt;&amp;&quot;\n</pre>", extractPre());
+	}
+
+	@Test
+	public void testLargeSource() throws Exception {
+		final StringBuilder src = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			src.append("line").append(i).append('\n');
+		}
+		source.increment(CounterImpl.COUNTER_1_0, CounterImpl.COUNTER_0_0,
+				5000);
+		sourceHighlighter.render(parent, source,
+				new StringReader(src.toString()));
+		final Document doc = parseDoc();
+		assertEquals(src.toString(), htmlSupport.findStr(doc, "//pre"));
+		assertEquals("line4999",
+				htmlSupport.findStr(doc, "//pre/span[@id='L5000']"));
+	}
+
+	@Test
+	public void testLinesAcrossChunks() throws Exception {
+		final StringBuilder longLine = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			longLine.append((char) ('a' + i % 26));
+		}
+		final StringBuilder src = new StringBuilder();
+		for (int i = 0; i < 4095; i++) {
+			src.append('x');
+		}
+		src.append("\r\nB\n").append(longLine).append("\nD");
+		source.increment(CounterImpl.COUNTER_1_0, CounterImpl.COUNTER_0_0, 2);
+		source.increment(CounterImpl.COUNTER_1_0, CounterImpl.COUNTER_0_0, 4);
+		sourceHighlighter.render(parent, source,
+				new StringReader(src.toString()));
+		final Document doc = parseDoc();
+		assertEquals(src.toString().replace("\r\n", "\n") + "\n",
+				htmlSupport.findStr(doc, "//pre"));
+		assertEquals("B", htmlSupport.findStr(doc, "//pre/span[@id='L2']"));
+		assertEquals("D", htmlSupport.findStr(doc, "//pre/span[@id='L4']"));
+	}
+
 	@Test
 	public void testHighlightNone() throws Exception {
-		sourceHighlighter.highlight(parent, source.getLine(1), 1);
+		sourceHighlighter.render(parent, source, new StringReader("A"));
 		final Document doc = parseDoc();
-		assertEquals("", htmlSupport.findStr(doc, "//pre"));
+		assertEquals("A\n", htmlSupport.findStr(doc, "//pre"));
+		assertEquals("", htmlSupport.findStr(doc, "//pre/span"));
 	}
 
 	@Test
 	public void testHighlightBranchesFC() throws Exception {
 		source.increment(CounterImpl.COUNTER_0_1, CounterImpl.getInstance(0, 5),
 				1);
-		sourceHighlighter.highlight(parent.pre(null), source.getLine(1), 1);
+		sourceHighlighter.render(parent, source, new StringReader("A"));
 		final Document doc = parseDoc();
 		assertEquals("fc bfc", htmlSupport.findStr(doc, "//pre/span/@class"));
 		assertEquals("All 5 branches covered.",
@@ -124,7 +198,7 @@ public class SourceHighlighterTest {
 	public void testHighlightBranchesPC() throws Exception {
 		source.increment(CounterImpl.COUNTER_0_1, CounterImpl.getInstance(2, 3),
 				1);
-		sourceHighlighter.highlight(parent.pre(null), source.getLine(1), 1);
+		sourceHighlighter.render(parent, source, new StringReader("A"));
 		final Document doc = parseDoc();
 		assertEquals("pc bpc", htmlSupport.findStr(doc, "//pre/span/@class"));
 		assertEquals("2 of 5 branches missed.",
@@ -135,13 +209,19 @@ public class SourceHighlighterTest {
 	public void testHighlightBranchesNC() throws Exception {
 		source.increment(CounterImpl.COUNTER_0_1, CounterImpl.getInstance(5, 0),
 				1);
-		sourceHighlighter.highlight(parent.pre(null), source.getLine(1), 1);
+		sourceHighlighter.render(parent, source, new StringReader("A"));
 		final Document doc = parseDoc();
 		assertEquals("pc bnc", htmlSupport.findStr(doc, "//pre/span/@class"));
 		assertEquals("All 5 branches missed.",
 				htmlSupport.findStr(doc, "//pre/span/@title"));
 	}
 
+	private String extractPre() throws Exception {
+		final String content = buffer.toString("UTF-8");
+		return content.substring(content.indexOf("<pre"),
+				content.indexOf("</pre>") + 6);
+	}
+
 	private Document parseDoc() throws Exception {
 		html.close();
 		return htmlSupport.parse(buffer);
@@ -13,12 +13,14 @@
 package org.jacoco.report.internal.html.table;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -82,6 +84,48 @@ public class SortIndexTest {
 		assertSequence(list);
 	}
 
+	@Test
+	public void testDecreaseSize() {
+		index.init(createList(100));
+		final List<Integer> list = createList(10);
+		Collections.reverse(list);
+		index.init(list);
+		assertSequence(list);
+	}
+
+	@Test
+	public void testGetIndex() {
+		final List<Integer> list = createList(1000);
+		Collections.shuffle(list, new Random(42));
+		index.init(list);
+		for (int pos = 0; pos < list.size(); pos++) {
+			assertEquals(pos, list.get(index.getIndex(pos)).intValue());
+			assertEquals(pos, index.getPosition(index.getIndex(pos)));
+		}
+	}
+
+	@Test
+	public void testStable() {
+		final SortIndex<Integer> tens = new SortIndex<Integer>(
+				new Comparator<Integer>() {
+					public int compare(Integer i1, Integer i2) {
+						return i1.intValue() / 10 - i2.intValue() / 10;
+					}
+				});
+		final List<Integer> list = createList(500);
+		Collections.reverse(list);
+		tens.init(list);
+		for (int pos = 1; pos < list.size(); pos++) {
+			final int prev = list.get(tens.getIndex(pos - 1)).intValue();
+			final int next = list.get(tens.getIndex(pos)).intValue();
+			assertTrue(prev / 10 <= next / 10);
+			if (prev / 10 == next / 10) {
+				// equal items keep their order from the list
+				assertTrue(prev > next);
+			}
+		}
+	}
+
 	private List<Integer> createList(int length) {
 		List<Integer> list = new ArrayList<Integer>(length);
 		for (int i = 0; i < length; i++) {
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.internal.json;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link JSONWriter} and {@link DataChunk}.
+ */
+public class JSONWriterTest {
+
+	private StringWriter buffer;
+
+	private JSONWriter writer;
+
+	@Before
+	public void setup() {
+		buffer = new StringWriter();
+		writer = new JSONWriter(buffer);
+	}
+
+	@Test
+	public void should_write_empty_object() throws IOException {
+		writer.beginObject().endObject();
+
+		assertEquals("{}", buffer.toString());
+	}
+
+	@Test
+	public void should_separate_members_and_values() throws IOException {
+		writer.beginObject();
+		writer.name("a").value(1);
+		writer.name("b").beginArray().value(2).value(true).value((String) null)
+				.endArray();
+		writer.name("c").beginArray().beginObject().endObject().beginArray()
+				.endArray().endArray();
+		writer.endObject();
+
+		assertEquals("{\"a\":1,\"b\":[2,true,null],\"c\":[{},[]]}",
+				buffer.toString());
+	}
+
+	@Test
+	public void should_escape_strings() throws IOException {
+		writer.value("\"\\\n\r\t\u0001\u2028x");
+
+		assertEquals("\"\\\"\\\\\\n\\r\\t\\u0001\\u2028x\"",
+				buffer.toString());
+	}
+
+	@Test
+	public void should_wrap_chunk_into_callback() throws IOException {
+		final DataChunk chunk = new DataChunk("p1", buffer);
+		chunk.beginArray().value("a").endArray();
+		chunk.close();
+
+		assertEquals("jacoco.load(\"p1\",[\"a\"]);\n", buffer.toString());
+	}
+
+}
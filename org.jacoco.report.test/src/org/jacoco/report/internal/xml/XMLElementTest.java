@@ -106,6 +106,21 @@ public class XMLElementTest {
 		assertContent("<root>world</root>");
 	}
 
+	@Test
+	public void text_should_emit_character_range() throws IOException {
+		root.text("a".toCharArray(), 0, 1);
+		root.element("child");
+		root.text("x<y>z".toCharArray(), 1, 3);
+		assertContent("<root>a<child/>&lt;y&gt;</root>");
+	}
+
+	@Test(expected = IOException.class)
+	public void text_with_character_range_should_throw_exception_when_closed()
+			throws IOException {
+		root.close();
+		root.text("x".toCharArray(), 0, 1);
+	}
+
 	@Test
 	public void text_should_allow_mixing_with_elements() throws IOException {
 		root.element("tag1");
@@ -168,6 +183,42 @@ public class XMLElementTest {
 		root.attr("id", "12345");
 	}
 
+	@Test
+	public void emptyElement_should_close_previous_child() throws IOException {
+		final EmptyElementsRoot root = new EmptyElementsRoot(buffer);
+		root.element("child").attr("id", "1");
+		root.emptyElement("a", "<", 1);
+		root.element("child");
+		root.emptyElement("b", "", -2);
+		this.root = root;
+		assertContent(
+				"<root><child id=\"1\"/><a s=\"&lt;\" n=\"1\"/><child/><b s=\"\" n=\"-2\"/></root>");
+	}
+
+	@Test(expected = IOException.class)
+	public void emptyElement_should_throw_exception_when_closed()
+			throws IOException {
+		final EmptyElementsRoot root = new EmptyElementsRoot(buffer);
+		root.close();
+		root.emptyElement("a", "", 0);
+	}
+
+	private static class EmptyElementsRoot extends XMLElement {
+
+		EmptyElementsRoot(final ByteArrayOutputStream buffer)
+				throws IOException {
+			super("root", null, null, false, "UTF-8", buffer);
+		}
+
+		void emptyElement(final String name, final String s, final long n)
+				throws IOException {
+			startEmptyElement(name);
+			emptyElementAttr("s", s);
+			emptyElementAttr("n", n);
+			endEmptyElement();
+		}
+	}
+
 	private void assertContent(String expected) throws IOException {
 		assertEquals(DECL + expected, actual());
 	}
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.internal.xml;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link XMLOutput}.
+ */
+public class XMLOutputTest {
+
+	private ByteArrayOutputStream buffer;
+
+	private XMLOutput output;
+
+	@Before
+	public void setup() throws IOException {
+		buffer = new ByteArrayOutputStream();
+		output = new XMLOutput(buffer, "UTF-8");
+	}
+
+	@Test
+	public void writeEscaped_should_replace_special_characters()
+			throws IOException {
+		output.writeEscaped("<a href=\"x\">&amp;</a>");
+		output.writeEscaped("");
+		output.writeEscaped("plain");
+
+		assertEquals("&lt;a href=&quot;x&quot;&gt;&amp;amp;&lt;/a&gt;plain",
+				actual());
+	}
+
+	@Test
+	public void writeEscaped_should_replace_special_characters_in_range()
+			throws IOException {
+		final char[] text = "x<a>&\"b\"x".toCharArray();
+		output.writeEscaped(text, 1, text.length - 2);
+		output.writeEscaped(text, 0, 0);
+
+		assertEquals("&lt;a&gt;&amp;&quot;b&quot;", actual());
+	}
+
+	@Test
+	public void should_reuse_buffer_after_close() throws IOException {
+		output.write("first");
+		output.close();
+		output.close();
+		final ByteArrayOutputStream buffer2 = new ByteArrayOutputStream();
+		final XMLOutput output2 = new XMLOutput(buffer2, "UTF-8");
+		final ByteArrayOutputStream buffer3 = new ByteArrayOutputStream();
+		final XMLOutput output3 = new XMLOutput(buffer3, "UTF-8");
+		output2.write("second");
+		output3.write("third");
+		output2.close();
+		output3.close();
+
+		assertEquals("first", buffer.toString("UTF-8"));
+		assertEquals("second", buffer2.toString("UTF-8"));
+		assertEquals("third", buffer3.toString("UTF-8"));
+	}
+
+	@Test
+	public void writeNumber_should_write_decimal_representation()
+			throws IOException {
+		final long[] values = { 0, 7, -1, 10, 99, 100, Integer.MAX_VALUE,
+				Integer.MIN_VALUE, 1000000000000000000L, Long.MAX_VALUE,
+				Long.MIN_VALUE };
+		final StringBuilder expected = new StringBuilder();
+		for (final long v : values) {
+			output.writeNumber(v);
+			output.write(' ');
+			expected.append(v).append(' ');
+		}
+
+		assertEquals(expected.toString(), actual());
+	}
+
+	@Test
+	public void should_write_content_larger_than_buffer() throws IOException {
+		final StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			text.append("<").append(i).append('é');
+		}
+		final char[] chars = text.toString().toCharArray();
+
+		output.writeEscaped(text.toString());
+		output.write(chars, 0, chars.length);
+		output.write(chars, 1, 10);
+		output.write(text.toString());
+
+		final String s = text.toString();
+		assertEquals(s.replace("<", "&lt;") + s + s.substring(1, 11) + s,
+				actual());
+	}
+
+	@Test
+	public void should_encode_surrogate_pairs_across_buffer_boundaries()
+			throws IOException {
+		final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		final Writer reference = new OutputStreamWriter(expected, "UTF-8");
+		for (int i = 0; i < 20000; i++) {
+			final String s = i % 7 == 0 ? "\ud83d" : "x😀";
+			output.write(s);
+			reference.write(s);
+		}
+		output.close();
+		reference.close();
+
+		assertArrayEquals(expected.toByteArray(), buffer.toByteArray());
+	}
+
+	@Test
+	public void should_use_given_encoding() throws IOException {
+		output = new XMLOutput(buffer, "ISO-8859-1");
+		output.write("é€");
+		output.close();
+
+		assertArrayEquals(new byte[] { (byte) 0xe9, '?' },
+				buffer.toByteArray());
+	}
+
+	@Test
+	public void flush_should_write_buffered_content() throws IOException {
+		output.write("abc");
+		output.flush();
+
+		assertEquals("abc", buffer.toString("UTF-8"));
+	}
+
+	private String actual() throws IOException {
+		output.close();
+		return buffer.toString("UTF-8");
+	}
+
+}
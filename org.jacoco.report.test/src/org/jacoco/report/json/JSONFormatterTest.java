@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.json;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import org.jacoco.report.MemoryMultiReportOutput;
+import org.jacoco.report.ReportStructureTestDriver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link JSONFormatter}.
+ */
+public class JSONFormatterTest {
+
+	private ReportStructureTestDriver driver;
+
+	private JSONFormatter formatter;
+
+	private MemoryMultiReportOutput output;
+
+	@Before
+	public void setup() {
+		driver = new ReportStructureTestDriver();
+		formatter = new JSONFormatter();
+		output = new MemoryMultiReportOutput();
+	}
+
+	@After
+	public void teardown() {
+		output.assertAllClosed();
+	}
+
+	@Test
+	public void testStructureWithNestedGroups() throws IOException {
+		driver.sendNestedGroups(formatter.createVisitor(output));
+		output.assertFile("index.html");
+		output.assertFile("jacoco-resources/viewer.js");
+		output.assertFile("data/info.js");
+		output.assertFile("data/execdata.js");
+		output.assertFile("data/p0.js");
+		output.assertFile("data/p1.js");
+		output.assertNoFile("data/p2.js");
+
+		final String tree = getFile("data/tree.js");
+		assertTrue(tree, tree.startsWith(
+				"jacoco.load(\"tree\",{\"name\":\"report\",\"type\":\"GROUP\","
+						+ "\"children\":[{\"name\":\"group1\""));
+	}
+
+	@Test
+	public void testStructureWithBundleOnly() throws IOException {
+		driver.sendBundle(formatter.createVisitor(output));
+		output.assertFile("index.html");
+		output.assertFile("data/p0.js");
+		output.assertFile("data/p0s.js");
+		output.assertNoFile("data/p1.js");
+
+		final String tree = getFile("data/tree.js");
+		assertTrue(tree, tree.startsWith(
+				"jacoco.load(\"tree\",{\"name\":\"bundle\",\"type\":\"BUNDLE\","
+						+ "\"c\":[10,15,1,2,0,3,1,2,0,1,0,1],"
+						+ "\"children\":[{\"name\":\"org.jacoco.example\","
+						+ "\"type\":\"PACKAGE\""));
+		assertTrue(tree, tree.endsWith("\"chunk\":\"p0\"}]});\n"));
+
+		final String classes = getFile("data/p0.js");
+		assertTrue(classes, classes.contains("\"name\":\"FooClass\""));
+		assertTrue(classes, classes.contains("\"name\":\"fooMethod()\""));
+		assertTrue(classes, classes.contains("\"sourceChunk\":\"p0s\""));
+
+		final String sources = getFile("data/p0s.js");
+		assertTrue(sources, sources.contains(
+				"{\"name\":\"FooClass.java\",\"lines\":[],\"coverage\":["));
+	}
+
+	@Test
+	public void testInfo() throws IOException {
+		formatter.setLocale(Locale.GERMANY);
+		formatter.setFooterText("Footer");
+		driver.sendBundle(formatter.createVisitor(output));
+
+		final String info = getFile("data/info.js");
+		assertTrue(info, info.contains("\"title\":\"bundle\""));
+		assertTrue(info, info.contains("\"locale\":\"de-DE\""));
+		assertTrue(info, info.contains("\"footer\":\"Footer\""));
+		assertTrue(info,
+				info.contains(
+						"{\"label\":\"Missed Instructions\",\"style\":\"bar\","
+								+ "\"type\":\"bar\",\"entity\":0,"
+								+ "\"defaultSorting\":true}"));
+
+		final String index = getFile("index.html");
+		assertTrue(index, index.contains("lang=\"de\""));
+		assertTrue(index, index.contains("src=\"data/tree.js\""));
+	}
+
+	private String getFile(final String path) throws IOException {
+		return new String(output.getFile(path), "UTF-8");
+	}
+
+}
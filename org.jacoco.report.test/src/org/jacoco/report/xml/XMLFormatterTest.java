@@ -22,7 +22,9 @@ import java.util.Collection;
 import java.util.List;
 
 import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataStore;
 import org.jacoco.core.data.SessionInfo;
+import org.jacoco.core.tools.ExecDelta;
 import org.jacoco.report.IReportVisitor;
 import org.jacoco.report.MemoryOutput;
 import org.jacoco.report.ReportStructureTestDriver;
@@ -227,6 +229,31 @@ public class XMLFormatterTest {
 				line.startsWith("<?xml version=\"1.0\" encoding=\"UTF-16\""));
 	}
 
+	@Test
+	public void testDelta() throws Exception {
+		final ExecutionDataStore baseline = new ExecutionDataStore();
+		baseline.put(new ExecutionData(0x12, "org/Foo",
+				new boolean[] { true, false }));
+		final ExecutionDataStore candidate = new ExecutionDataStore();
+		candidate.put(new ExecutionData(0x12, "org/Foo",
+				new boolean[] { false, true }));
+		candidate.put(
+				new ExecutionData(0x34, "org/Bar", new boolean[] { false }));
+		formatter.createDeltaVisitor(output).visitDelta("delta",
+				new ExecDelta(baseline, candidate));
+		assertPathMatches("delta", "/delta/@name");
+		assertPathMatches("1", "/delta/@newlycovered");
+		assertPathMatches("1", "/delta/@newlyuncovered");
+		assertPathMatches("1", "count(/delta/class)");
+		assertPathMatches("org/Foo", "/delta/class/@name");
+		assertPathMatches("0000000000000012", "/delta/class/@id");
+		assertPathMatches("2", "/delta/class/@probes");
+		assertPathMatches("1", "/delta/class/@baseline");
+		assertPathMatches("1", "/delta/class/@candidate");
+		assertPathMatches("1", "/delta/class/@newlycovered");
+		assertPathMatches("1", "/delta/class/@newlyuncovered");
+	}
+
 	private void assertPathMatches(String expected, String path)
 			throws Exception {
 		XMLSupport support = new XMLSupport(XMLFormatter.class);
@@ -22,7 +22,8 @@ import java.io.OutputStream;
 
 /**
  * Implementation of {@link IMultiReportOutput} that writes files directly to a
- * given directory.
+ * given directory. Instances are thread-safe, i.e. files can be created and
+ * written concurrently.
  */
 public class FileMultiReportOutput implements IMultiReportOutput {
 
@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report;
+
+import java.io.IOException;
+
+import org.jacoco.core.tools.ExecDelta;
+
+/**
+ * Output for a coverage delta between two sets of execution data. Only classes
+ * with newly covered or newly uncovered probes are written.
+ */
+public interface IDeltaVisitor {
+
+	/**
+	 * Writes the given delta and completes the output. This method must be
+	 * called exactly once.
+	 *
+	 * @param name
+	 *            name of the delta report
+	 * @param delta
+	 *            delta to write
+	 * @throws IOException
+	 *             in case of IO problems with the report writer
+	 */
+	void visitDelta(String name, ExecDelta delta) throws IOException;
+
+}
@@ -0,0 +1,294 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report;
+
+import static java.lang.String.format;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jacoco.report.internal.ContentHash;
+
+/**
+ * Implementation of {@link IMultiReportOutput} that updates an existing report
+ * in a given directory. Content hashes of all files are recorded in a manifest
+ * file in the base directory. On subsequent runs into the same directory only
+ * files with changed content are written, files of the previous run which are
+ * not created again are deleted. Unchanged files keep their time stamps. Files
+ * are buffered in memory until they are closed. Instances are thread-safe.
+ * <p>
+ * Report generators may additionally record a key for the inputs of a file, see
+ * {@link #keepFile(String, String)}. Files with unchanged input keys are not
+ * created at all.
+ */
+public class IncrementalFileMultiReportOutput implements IMultiReportOutput {
+
+	/** Name of the manifest file in the base directory */
+	public static final String MANIFEST = ".jacoco-manifest";
+
+	private static final String HEADER_V1 = "# jacoco-manifest 1";
+
+	private static final String HEADER = "# jacoco-manifest 2";
+
+	private static final String NO_KEY = "-";
+
+	private final File basedir;
+
+	private final Map<String, Entry> previous;
+
+	private final Map<String, Entry> current = new HashMap<String, Entry>();
+
+	private final Map<String, String> inputKeys = new HashMap<String, String>();
+
+	private int written;
+
+	private int unchanged;
+
+	private int deleted;
+
+	/**
+	 * Creates a new instance for document output in the given base directory.
+	 * An existing manifest in this directory is read.
+	 *
+	 * @param basedir
+	 *            base directory
+	 */
+	public IncrementalFileMultiReportOutput(final File basedir) {
+		this.basedir = basedir;
+		this.previous = readManifest(new File(basedir, MANIFEST));
+	}
+
+	public OutputStream createFile(final String path) throws IOException {
+		final File file = new File(basedir, path);
+		final File parent = file.getParentFile();
+		parent.mkdirs();
+		if (!parent.isDirectory()) {
+			throw new IOException(format("Can't create directory %s.", parent));
+		}
+		return new ByteArrayOutputStream() {
+
+			private boolean closed = false;
+
+			@Override
+			public void close() throws IOException {
+				if (!closed) {
+					closed = true;
+					commit(path, file, buf, count);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Checks whether the file with the given path can be kept from the previous
+	 * run because the inputs it has been created from did not change. In this
+	 * case the file must not be created again. Otherwise the given key is
+	 * recorded for the file which has to be created subsequently.
+	 *
+	 * @param path
+	 *            path of the file
+	 * @param inputKey
+	 *            key over all inputs of the file, must not contain line breaks
+	 * @return <code>true</code> if the file is kept
+	 */
+	public boolean keepFile(final String path, final String inputKey) {
+		final Entry entry;
+		synchronized (this) {
+			entry = previous.get(path);
+		}
+		final boolean keep = entry != null && inputKey.equals(entry.inputKey)
+				&& new File(basedir, path).isFile();
+		synchronized (this) {
+			if (keep) {
+				current.put(path, entry);
+				unchanged++;
+			} else {
+				inputKeys.put(path, inputKey);
+			}
+		}
+		return keep;
+	}
+
+	private void commit(final String path, final File file,
+			final byte[] content, final int length) throws IOException {
+		final String hash = ContentHash.of(content, 0, length);
+		final Entry previousEntry;
+		synchronized (this) {
+			current.put(path, new Entry(hash, inputKeys.remove(path)));
+			previousEntry = previous.get(path);
+		}
+		if (previousEntry != null && hash.equals(previousEntry.hash)
+				&& file.isFile() && file.length() == length) {
+			synchronized (this) {
+				unchanged++;
+			}
+			return;
+		}
+		final OutputStream out = new FileOutputStream(file);
+		try {
+			out.write(content, 0, length);
+		} finally {
+			out.close();
+		}
+		synchronized (this) {
+			written++;
+		}
+	}
+
+	/**
+	 * Deletes files of the previous run which have not been created again and
+	 * writes the new manifest.
+	 */
+	public synchronized void close() throws IOException {
+		for (final String path : previous.keySet()) {
+			if (!current.containsKey(path)) {
+				final File file = new File(basedir, path);
+				if (file.delete()) {
+					deleted++;
+					// Remove the parent folder if it became empty
+					file.getParentFile().delete();
+				}
+			}
+		}
+		writeManifest();
+	}
+
+	/**
+	 * Returns the number of files which have been written because they did not
+	 * exist or their content has changed.
+	 *
+	 * @return number of written files
+	 */
+	public synchronized int getWrittenFiles() {
+		return written;
+	}
+
+	/**
+	 * Returns the number of files which have been kept because their content or
+	 * their inputs did not change.
+	 *
+	 * @return number of unchanged files
+	 */
+	public synchronized int getUnchangedFiles() {
+		return unchanged;
+	}
+
+	/**
+	 * Returns the number of files of the previous run which have been deleted
+	 * because they are not part of the report any more. Only valid after
+	 * {@link #close()}.
+	 *
+	 * @return number of deleted files
+	 */
+	public synchronized int getDeletedFiles() {
+		return deleted;
+	}
+
+	private static Map<String, Entry> readManifest(final File file) {
+		final Map<String, Entry> entries = new HashMap<String, Entry>();
+		if (!file.isFile()) {
+			return entries;
+		}
+		try {
+			final BufferedReader reader = new BufferedReader(
+					new InputStreamReader(new FileInputStream(file), "UTF-8"));
+			try {
+				final String header = reader.readLine();
+				// Manifests of version 1 have no input keys
+				final boolean keys = HEADER.equals(header);
+				if (!keys && !HEADER_V1.equals(header)) {
+					return entries;
+				}
+				String line;
+				while ((line = reader.readLine()) != null) {
+					final int sep = line.indexOf(' ');
+					final int keySep = keys ? line.indexOf(' ', sep + 1) : sep;
+					if (sep <= 0 || keySep < sep) {
+						continue;
+					}
+					final String key = keys ? line.substring(sep + 1, keySep)
+							: NO_KEY;
+					entries.put(line.substring(keySep + 1),
+							new Entry(line.substring(0, sep),
+									NO_KEY.equals(key) ? null : key));
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (final IOException e) {
+			// An unreadable manifest causes a complete rewrite
+			entries.clear();
+		}
+		return entries;
+	}
+
+	private void writeManifest() throws IOException {
+		final List<String> paths = new ArrayList<String>(current.keySet());
+		Collections.sort(paths);
+		basedir.mkdirs();
+		final File target = new File(basedir, MANIFEST);
+		final File temp = new File(basedir, MANIFEST + ".tmp");
+		final Writer writer = new OutputStreamWriter(new FileOutputStream(temp),
+				"UTF-8");
+		try {
+			writer.write(HEADER);
+			writer.write('\n');
+			for (final String path : paths) {
+				final Entry entry = current.get(path);
+				writer.write(entry.hash);
+				writer.write(' ');
+				writer.write(entry.inputKey == null ? NO_KEY : entry.inputKey);
+				writer.write(' ');
+				writer.write(path);
+				writer.write('\n');
+			}
+		} finally {
+			writer.close();
+		}
+		if (!temp.renameTo(target)) {
+			target.delete();
+			if (!temp.renameTo(target)) {
+				temp.delete();
+				throw new IOException(
+						format("Can't write manifest %s.", target));
+			}
+		}
+	}
+
+	private static class Entry {
+
+		final String hash;
+
+		final String inputKey;
+
+		Entry(final String hash, final String inputKey) {
+			this.hash = hash;
+			this.inputKey = inputKey;
+		}
+
+	}
+
+}
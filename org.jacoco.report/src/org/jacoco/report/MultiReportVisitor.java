@@ -16,14 +16,18 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.jacoco.core.analysis.IBundleCoverage;
 import org.jacoco.core.data.ExecutionData;
 import org.jacoco.core.data.SessionInfo;
+import org.jacoco.report.internal.ReportTasks;
 
 /**
  * A report visitor that is composed from multiple other visitors. This can be
- * used to create more than one report format in one run.
+ * used to create more than one report format in one run. Optionally an
+ * {@link Executor} can be specified to let every delegate consume bundles and
+ * complete its output on a separate thread.
  */
 public class MultiReportVisitor extends MultiGroupVisitor
 		implements IReportVisitor {
@@ -37,7 +41,26 @@ public class MultiReportVisitor extends MultiGroupVisitor
 	 *            visitors to delegate to
 	 */
 	public MultiReportVisitor(final List<IReportVisitor> visitors) {
-		super(visitors);
+		this(visitors, null);
+	}
+
+	/**
+	 * New visitor delegating to all given visitors. Calls to
+	 * {@link #visitBundle(IBundleCoverage, ISourceFileLocator)} and
+	 * {@link #visitEnd()} are passed to the delegates in parallel using the
+	 * given executor and return when all delegates have completed. The given
+	 * {@link ISourceFileLocator} instances must therefore support concurrent
+	 * access.
+	 *
+	 * @param visitors
+	 *            visitors to delegate to
+	 * @param executor
+	 *            executor for parallel delegation or <code>null</code> for
+	 *            sequential delegation
+	 */
+	public MultiReportVisitor(final List<IReportVisitor> visitors,
+			final Executor executor) {
+		super(visitors, executor);
 		this.visitors = visitors;
 	}
 
@@ -49,9 +72,15 @@ public class MultiReportVisitor extends MultiGroupVisitor
 	}
 
 	public void visitEnd() throws IOException {
+		final List<ReportTasks.Task> tasks = new ArrayList<ReportTasks.Task>();
 		for (final IReportVisitor v : visitors) {
-			v.visitEnd();
+			tasks.add(new ReportTasks.Task() {
+				public void run() throws IOException {
+					v.visitEnd();
+				}
+			});
 		}
+		ReportTasks.execute(executor, tasks);
 	}
 
 }
@@ -60,15 +89,25 @@ class MultiGroupVisitor implements IReportGroupVisitor {
 
 	private final List<? extends IReportGroupVisitor> visitors;
 
-	MultiGroupVisitor(final List<? extends IReportGroupVisitor> visitors) {
+	final Executor executor;
+
+	MultiGroupVisitor(final List<? extends IReportGroupVisitor> visitors,
+			final Executor executor) {
 		this.visitors = visitors;
+		this.executor = executor;
 	}
 
 	public void visitBundle(final IBundleCoverage bundle,
 			final ISourceFileLocator locator) throws IOException {
+		final List<ReportTasks.Task> tasks = new ArrayList<ReportTasks.Task>();
 		for (final IReportGroupVisitor v : visitors) {
-			v.visitBundle(bundle, locator);
+			tasks.add(new ReportTasks.Task() {
+				public void run() throws IOException {
+					v.visitBundle(bundle, locator);
+				}
+			});
 		}
+		ReportTasks.execute(executor, tasks);
 	}
 
 	public IReportGroupVisitor visitGroup(final String name)
@@ -77,7 +116,7 @@ class MultiGroupVisitor implements IReportGroupVisitor {
 		for (final IReportGroupVisitor v : visitors) {
 			children.add(v.visitGroup(name));
 		}
-		return new MultiGroupVisitor(children);
+		return new MultiGroupVisitor(children, executor);
 	}
 
 }
@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report;
+
+import java.io.CharArrayReader;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.analysis.IPackageCoverage;
+import org.jacoco.core.analysis.ISourceFileCoverage;
+
+/**
+ * Locator which reads source files from another locator ahead of time. Source
+ * files which will be requested are announced with
+ * {@link #prefetch(IBundleCoverage)} and read in the background in the
+ * announced order, so reading overlaps with report rendering. At most a given
+ * number of source files is held in memory. The content of a prefetched source
+ * file is handed out once, all other requests are passed to the underlying
+ * locator.
+ */
+public class PrefetchSourceFileLocator implements ISourceFileLocator {
+
+	private final ISourceFileLocator delegate;
+
+	private final Executor executor;
+
+	private final int capacity;
+
+	/** announced source files which have not been scheduled yet */
+	private final LinkedList<String[]> queue = new LinkedList<String[]>();
+
+	/** scheduled source files which have not been requested yet */
+	private final Map<String, FutureTask<char[]>> scheduled = new HashMap<String, FutureTask<char[]>>();
+
+	/**
+	 * Creates a new locator.
+	 *
+	 * @param delegate
+	 *            locator to read source files from
+	 * @param executor
+	 *            executor to read source files in the background
+	 * @param capacity
+	 *            maximum number of source files read in advance
+	 */
+	public PrefetchSourceFileLocator(final ISourceFileLocator delegate,
+			final Executor executor, final int capacity) {
+		this.delegate = delegate;
+		this.executor = executor;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Announces all source files containing code of the given bundle in the
+	 * order they are rendered by the report formatters.
+	 *
+	 * @param bundle
+	 *            bundle whose source files will be requested
+	 */
+	public void prefetch(final IBundleCoverage bundle) {
+		for (final IPackageCoverage p : bundle.getPackages()) {
+			for (final ISourceFileCoverage s : p.getSourceFiles()) {
+				if (s.containsCode()) {
+					prefetch(p.getName(), s.getName());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Announces a single source file.
+	 *
+	 * @param packageName
+	 *            VM name of the package
+	 * @param fileName
+	 *            name of the source file
+	 */
+	public void prefetch(final String packageName, final String fileName) {
+		synchronized (this) {
+			queue.add(new String[] { packageName, fileName });
+		}
+		schedule();
+	}
+
+	public Reader getSourceFile(final String packageName, final String fileName)
+			throws IOException {
+		final FutureTask<char[]> task;
+		synchronized (this) {
+			task = scheduled.remove(key(packageName, fileName));
+		}
+		if (task == null) {
+			return delegate.getSourceFile(packageName, fileName);
+		}
+		schedule();
+		// No-op if the task has already been started by the executor
+		task.run();
+		final char[] content;
+		try {
+			content = task.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException(
+					"Interrupted while reading source file");
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IOException(String.valueOf(cause));
+		}
+		return content == null ? null : new CharArrayReader(content);
+	}
+
+	public int getTabWidth() {
+		return delegate.getTabWidth();
+	}
+
+	private void schedule() {
+		while (true) {
+			final FutureTask<char[]> task;
+			synchronized (this) {
+				if (queue.isEmpty() || scheduled.size() >= capacity) {
+					return;
+				}
+				final String[] file = queue.removeFirst();
+				final String key = key(file[0], file[1]);
+				if (scheduled.containsKey(key)) {
+					continue;
+				}
+				task = new FutureTask<char[]>(new Callable<char[]>() {
+					public char[] call() throws IOException {
+						return read(file[0], file[1]);
+					}
+				});
+				scheduled.put(key, task);
+			}
+			try {
+				executor.execute(task);
+			} catch (final RejectedExecutionException e) {
+				// will be read by the requesting thread
+			}
+		}
+	}
+
+	private char[] read(final String packageName, final String fileName)
+			throws IOException {
+		final Reader reader = delegate.getSourceFile(packageName, fileName);
+		if (reader == null) {
+			return null;
+		}
+		try {
+			final CharArrayWriter content = new CharArrayWriter();
+			final char[] buffer = new char[4096];
+			int n;
+			while ((n = reader.read(buffer)) != -1) {
+				content.write(buffer, 0, n);
+			}
+			return content.toCharArray();
+		} finally {
+			reader.close();
+		}
+	}
+
+	private static String key(final String packageName, final String fileName) {
+		return packageName + "/" + fileName;
+	}
+
+}
@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import org.jacoco.report.internal.ReportTasks;
+
+/**
+ * Locator for source files in multiple directories of the file system. Unlike a
+ * {@link MultiSourceFileLocator} with a {@link DirectorySourceFileLocator} for
+ * every directory, which probes all directories for every lookup, the package
+ * directories are listed once and lookups are answered from an index. This
+ * avoids most file system round trips, which is significant for source
+ * directories on network file systems. Only the package directories which are
+ * looked up or explicitly scanned are listed, sub-directories are not
+ * traversed. If a relative path exists in multiple directories the directory
+ * added first wins.
+ */
+public class SourceFileIndex implements ISourceFileLocator {
+
+	private final String encoding;
+
+	private final int tabWidth;
+
+	private final List<File> directories = new ArrayList<File>();
+
+	private final Map<String, Map<String, File>> packages = new HashMap<String, Map<String, File>>();
+
+	private boolean built;
+
+	/**
+	 * Creates a new empty index.
+	 *
+	 * @param encoding
+	 *            encoding of the source files, <code>null</code> for platform
+	 *            default encoding
+	 * @param tabWidth
+	 *            tab width in source files as number of blanks
+	 */
+	public SourceFileIndex(final String encoding, final int tabWidth) {
+		this.encoding = encoding;
+		this.tabWidth = tabWidth;
+	}
+
+	/**
+	 * Adds a directory containing source files. Must be called before the first
+	 * scan or lookup.
+	 *
+	 * @param directory
+	 *            source directory
+	 */
+	public synchronized void addDirectory(final File directory) {
+		if (built) {
+			throw new IllegalStateException("Index has already been built.");
+		}
+		directories.add(directory);
+	}
+
+	/**
+	 * Lists the given package directories in all source directories. Packages
+	 * are listed in parallel if an executor is given. Packages which are not
+	 * scanned with this method are listed by the calling thread with their
+	 * first lookup.
+	 *
+	 * @param packageNames
+	 *            VM names of the packages to list
+	 * @param executor
+	 *            executor to list packages in parallel or <code>null</code>
+	 * @throws IOException
+	 *             if the calling thread is interrupted while waiting for the
+	 *             scan
+	 */
+	public void scan(final Collection<String> packageNames,
+			final Executor executor) throws IOException {
+		final List<PackageScan> tasks = new ArrayList<PackageScan>();
+		synchronized (this) {
+			built = true;
+			for (final String packageName : packageNames) {
+				if (!packages.containsKey(packageName)) {
+					tasks.add(new PackageScan(packageName));
+				}
+			}
+		}
+		ReportTasks.execute(executor, tasks);
+		for (final PackageScan task : tasks) {
+			task.addToIndex();
+		}
+	}
+
+	private Map<String, File> getPackage(final String packageName)
+			throws IOException {
+		synchronized (this) {
+			built = true;
+			final Map<String, File> files = packages.get(packageName);
+			if (files != null) {
+				return files;
+			}
+		}
+		final PackageScan task = new PackageScan(packageName);
+		task.run();
+		return task.addToIndex();
+	}
+
+	public Reader getSourceFile(final String packageName, final String fileName)
+			throws IOException {
+		final File file = getPackage(packageName).get(fileName);
+		if (file == null || !file.isFile()) {
+			return null;
+		}
+		final FileInputStream in = new FileInputStream(file);
+		if (encoding == null) {
+			return new InputStreamReader(in);
+		} else {
+			return new InputStreamReader(in, encoding);
+		}
+	}
+
+	public int getTabWidth() {
+		return tabWidth;
+	}
+
+	/**
+	 * Lists a single package directory in all source directories.
+	 */
+	private class PackageScan implements ReportTasks.Task {
+
+		private final String packageName;
+
+		private final Map<String, File> files = new HashMap<String, File>();
+
+		PackageScan(final String packageName) {
+			this.packageName = packageName;
+		}
+
+		public void run() {
+			for (final File directory : directories) {
+				final File[] entries = new File(directory, packageName)
+						.listFiles();
+				if (entries == null) {
+					continue;
+				}
+				for (final File entry : entries) {
+					if (!files.containsKey(entry.getName())) {
+						files.put(entry.getName(), entry);
+					}
+				}
+			}
+		}
+
+		Map<String, File> addToIndex() {
+			synchronized (SourceFileIndex.this) {
+				final Map<String, File> existing = packages.get(packageName);
+				if (existing != null) {
+					return existing;
+				}
+				packages.put(packageName, files);
+				return files;
+			}
+		}
+
+	}
+
+}
@@ -12,20 +12,29 @@
  *******************************************************************************/
 package org.jacoco.report;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.LinkedList;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 /**
  * Implementation of {@link IMultiReportOutput} that writes files into a
- * {@link ZipOutputStream}.
+ * {@link ZipOutputStream}. Instances are thread-safe: entries are added to the
+ * ZIP file in the order they have been created. Only the oldest open entry is
+ * written directly to the ZIP file, content of other open entries is buffered
+ * in memory until all preceding entries have been closed. Creating a new file
+ * implicitly closes the previous entry created by the same thread.
  */
 public class ZipMultiReportOutput implements IMultiReportOutput {
 
 	private final ZipOutputStream zip;
 
-	private OutputStream currentEntry;
+	/** Entries not yet completely written, in creation order */
+	private final LinkedList<EntryOutput> pending = new LinkedList<EntryOutput>();
+
+	private final ThreadLocal<EntryOutput> currentEntry = new ThreadLocal<EntryOutput>();
 
 	/**
 	 * Creates a new instance based on the given {@link ZipOutputStream}.
@@ -48,53 +57,111 @@ public class ZipMultiReportOutput implements IMultiReportOutput {
 	}
 
 	public OutputStream createFile(final String path) throws IOException {
-		if (currentEntry != null) {
-			currentEntry.close();
+		final EntryOutput previous = currentEntry.get();
+		if (previous != null) {
+			previous.close();
+		}
+		final EntryOutput entry = new EntryOutput(path);
+		synchronized (this) {
+			pending.add(entry);
+			commit();
 		}
-		final ZipEntry entry = new ZipEntry(path);
-		zip.putNextEntry(entry);
-		currentEntry = new EntryOutput();
-		return currentEntry;
+		currentEntry.set(entry);
+		return entry;
 	}
 
-	public void close() throws IOException {
+	public synchronized void close() throws IOException {
+		for (final EntryOutput entry : pending) {
+			entry.closed = true;
+		}
+		commit();
+		currentEntry.remove();
 		zip.close();
 	}
 
+	/**
+	 * Writes all leading closed entries and starts the oldest open entry. Must
+	 * be called while holding the lock of this instance.
+	 */
+	private void commit() throws IOException {
+		while (!pending.isEmpty()) {
+			final EntryOutput head = pending.getFirst();
+			if (head.buffer != null) {
+				zip.putNextEntry(new ZipEntry(head.path));
+				head.buffer.writeTo(zip);
+				head.buffer = null;
+			}
+			if (!head.closed) {
+				return;
+			}
+			zip.closeEntry();
+			pending.removeFirst();
+		}
+	}
+
 	private final class EntryOutput extends OutputStream {
 
+		private final String path;
+
+		/** Content until the entry is started, afterwards <code>null</code> */
+		private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
 		private boolean closed = false;
 
+		EntryOutput(final String path) {
+			this.path = path;
+		}
+
 		@Override
 		public void write(final byte[] b, final int off, final int len)
 				throws IOException {
-			ensureNotClosed();
-			zip.write(b, off, len);
+			synchronized (ZipMultiReportOutput.this) {
+				ensureNotClosed();
+				if (buffer == null) {
+					zip.write(b, off, len);
+				} else {
+					buffer.write(b, off, len);
+				}
+			}
 		}
 
 		@Override
 		public void write(final byte[] b) throws IOException {
-			ensureNotClosed();
-			zip.write(b);
+			write(b, 0, b.length);
 		}
 
 		@Override
 		public void write(final int b) throws IOException {
-			ensureNotClosed();
-			zip.write(b);
+			synchronized (ZipMultiReportOutput.this) {
+				ensureNotClosed();
+				if (buffer == null) {
+					zip.write(b);
+				} else {
+					buffer.write(b);
+				}
+			}
 		}
 
 		@Override
 		public void flush() throws IOException {
-			ensureNotClosed();
-			zip.flush();
+			synchronized (ZipMultiReportOutput.this) {
+				ensureNotClosed();
+				if (buffer == null) {
+					zip.flush();
+				}
+			}
 		}
 
 		@Override
 		public void close() throws IOException {
-			if (!closed) {
-				closed = true;
-				zip.closeEntry();
+			if (currentEntry.get() == this) {
+				currentEntry.remove();
+			}
+			synchronized (ZipMultiReportOutput.this) {
+				if (!closed) {
+					closed = true;
+					commit();
+				}
 			}
 		}
 
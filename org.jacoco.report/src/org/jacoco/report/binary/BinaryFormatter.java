@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.binary;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.SessionInfo;
+import org.jacoco.report.IReportGroupVisitor;
+import org.jacoco.report.IReportVisitor;
+import org.jacoco.report.ISourceFileLocator;
+import org.jacoco.report.internal.binary.BinaryFormat;
+import org.jacoco.report.internal.binary.BinaryGroupVisitor;
+import org.jacoco.report.internal.binary.BinaryOutput;
+
+/**
+ * Report formatter that writes the complete coverage data of a report, i.e.
+ * session infos, execution data, groups and all coverage nodes down to line
+ * level counters, to a single file in a compact binary format. Such reports can
+ * be loaded with {@link BinaryReportReader}.
+ */
+public class BinaryFormatter {
+
+	/**
+	 * Creates a new visitor to write a report to the given stream.
+	 *
+	 * @param output
+	 *            output stream to write the report to, will be closed at the
+	 *            end of the report
+	 * @return visitor to emit the report data to
+	 * @throws IOException
+	 *             in case of problems with the output stream
+	 */
+	public IReportVisitor createVisitor(final OutputStream output)
+			throws IOException {
+		final BinaryOutput out = new BinaryOutput(
+				new BufferedOutputStream(output));
+		out.writeByte(BinaryFormat.BLOCK_HEADER);
+		out.writeChar(BinaryFormat.MAGIC_NUMBER);
+		out.writeChar(BinaryFormat.FORMAT_VERSION);
+		return new IReportVisitor() {
+
+			private BinaryGroupVisitor groupVisitor;
+
+			public void visitInfo(final List<SessionInfo> sessionInfos,
+					final Collection<ExecutionData> executionData)
+					throws IOException {
+				out.writeByte(BinaryFormat.RECORD_INFO);
+				out.writeVarInt(sessionInfos.size());
+				for (final SessionInfo info : sessionInfos) {
+					out.writeUTF(info.getId());
+					out.writeLong(info.getStartTimeStamp());
+					out.writeLong(info.getDumpTimeStamp());
+				}
+				out.writeVarInt(executionData.size());
+				for (final ExecutionData data : executionData) {
+					out.writeLong(data.getId());
+					out.writeUTF(data.getName());
+					out.writeBooleanArray(data.getProbes());
+				}
+			}
+
+			public void visitBundle(final IBundleCoverage bundle,
+					final ISourceFileLocator locator) throws IOException {
+				BinaryFormat.writeBundle(bundle, out);
+			}
+
+			public IReportGroupVisitor visitGroup(final String name)
+					throws IOException {
+				out.writeByte(BinaryFormat.RECORD_GROUP);
+				out.writeUTF(name);
+				groupVisitor = new BinaryGroupVisitor(out, name);
+				return groupVisitor;
+			}
+
+			public void visitEnd() throws IOException {
+				if (groupVisitor != null) {
+					groupVisitor.visitEnd();
+				}
+				out.close();
+			}
+		};
+	}
+
+}
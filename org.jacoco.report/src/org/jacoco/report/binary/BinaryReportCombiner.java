@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.binary;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.IPackageCoverage;
+import org.jacoco.core.analysis.ISourceFileCoverage;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.data.SessionInfo;
+import org.jacoco.core.data.SessionInfoStore;
+import org.jacoco.core.internal.analysis.BundleCoverageImpl;
+import org.jacoco.core.internal.analysis.PackageCoverageImpl;
+import org.jacoco.core.internal.analysis.SourceFileCoverageImpl;
+import org.jacoco.report.IReportGroupVisitor;
+import org.jacoco.report.IReportVisitor;
+import org.jacoco.report.ISourceFileLocator;
+
+/**
+ * Combines partial reports, for example written by several machines which
+ * analyzed different packages of the same code base, into a single report.
+ * Groups and bundles with the same name at the same level are merged. Packages
+ * which are contained in only one partial report are passed on as they are, so
+ * their classes are not decoded by the combiner itself. Packages contained in
+ * several reports are merged class by class, where a class must not differ
+ * between the reports. Session infos and execution data of all reports are
+ * merged.
+ */
+public class BinaryReportCombiner {
+
+	private final SessionInfoStore sessionInfos = new SessionInfoStore();
+
+	private final Set<String> sessionKeys = new HashSet<String>();
+
+	private final ExecutionDataStore executionData = new ExecutionDataStore();
+
+	private final Group root = new Group(null);
+
+	private final IReportVisitor visitor = new IReportVisitor() {
+
+		public void visitInfo(final List<SessionInfo> infos,
+				final Collection<ExecutionData> data) {
+			for (final SessionInfo info : infos) {
+				// Partial reports typically share the same sessions
+				if (sessionKeys
+						.add(info.getId() + '\n' + info.getStartTimeStamp()
+								+ '\n' + info.getDumpTimeStamp())) {
+					sessionInfos.visitSessionInfo(info);
+				}
+			}
+			for (final ExecutionData d : data) {
+				executionData.put(new ExecutionData(d.getId(), d.getName(),
+						d.getProbes().clone()));
+			}
+		}
+
+		public void visitBundle(final IBundleCoverage bundle,
+				final ISourceFileLocator locator) {
+			root.visitBundle(bundle, locator);
+		}
+
+		public IReportGroupVisitor visitGroup(final String name) {
+			return root.visitGroup(name);
+		}
+
+		public void visitEnd() {
+			// nothing to do
+		}
+
+	};
+
+	/**
+	 * Adds the content of the given partial report.
+	 *
+	 * @param report
+	 *            partial report to add
+	 * @throws IllegalStateException
+	 *             if the execution data of the report is not compatible with
+	 *             the execution data of the previously added reports
+	 */
+	public void add(final BinaryReportReader report) {
+		try {
+			report.accept(visitor, null);
+		} catch (final IOException e) {
+			// The internal visitor does not throw IOExceptions
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * Emits the combined report including its group structure to the given
+	 * visitor.
+	 *
+	 * @param visitor
+	 *            visitor to emit the report to
+	 * @param locator
+	 *            source locator passed with every bundle
+	 * @throws IOException
+	 *             in case of problems with the visitor
+	 * @throws IllegalStateException
+	 *             if different versions of a class are contained in the partial
+	 *             reports
+	 */
+	public void accept(final IReportVisitor visitor,
+			final ISourceFileLocator locator) throws IOException {
+		visitor.visitInfo(sessionInfos.getInfos(), executionData.getContents());
+		accept(root, visitor, locator);
+		visitor.visitEnd();
+	}
+
+	private static void accept(final Group group,
+			final IReportGroupVisitor visitor, final ISourceFileLocator locator)
+			throws IOException {
+		for (final Object child : group.children.values()) {
+			if (child instanceof Group) {
+				final Group g = (Group) child;
+				accept(g, visitor.visitGroup(g.name), locator);
+			} else {
+				visitor.visitBundle(((Bundle) child).build(), locator);
+			}
+		}
+	}
+
+	private static class Group implements IReportGroupVisitor {
+
+		final String name;
+
+		/** child groups and bundles by name */
+		final Map<String, Object> children = new LinkedHashMap<String, Object>();
+
+		Group(final String name) {
+			this.name = name;
+		}
+
+		public void visitBundle(final IBundleCoverage bundle,
+				final ISourceFileLocator locator) {
+			final String key = "bundle:" + bundle.getName();
+			Bundle b = (Bundle) children.get(key);
+			if (b == null) {
+				b = new Bundle(bundle.getName());
+				children.put(key, b);
+			}
+			b.add(bundle);
+		}
+
+		public IReportGroupVisitor visitGroup(final String name) {
+			final String key = "group:" + name;
+			Group g = (Group) children.get(key);
+			if (g == null) {
+				g = new Group(name);
+				children.put(key, g);
+			}
+			return g;
+		}
+
+	}
+
+	private static class Bundle {
+
+		final String name;
+
+		/** parts of every package from all partial reports */
+		final Map<String, List<IPackageCoverage>> packages = new HashMap<String, List<IPackageCoverage>>();
+
+		Bundle(final String name) {
+			this.name = name;
+		}
+
+		void add(final IBundleCoverage bundle) {
+			for (final IPackageCoverage p : bundle.getPackages()) {
+				List<IPackageCoverage> parts = packages.get(p.getName());
+				if (parts == null) {
+					parts = new ArrayList<IPackageCoverage>(1);
+					packages.put(p.getName(), parts);
+				}
+				parts.add(p);
+			}
+		}
+
+		IBundleCoverage build() {
+			final Collection<IPackageCoverage> result = new ArrayList<IPackageCoverage>();
+			for (final List<IPackageCoverage> parts : packages.values()) {
+				result.add(parts.size() == 1 ? parts.get(0) : merge(parts));
+			}
+			return new BundleCoverageImpl(name, result);
+		}
+
+		private static IPackageCoverage merge(
+				final List<IPackageCoverage> parts) {
+			final String packageName = parts.get(0).getName();
+			final Map<String, IClassCoverage> classes = new LinkedHashMap<String, IClassCoverage>();
+			for (final IPackageCoverage p : parts) {
+				for (final IClassCoverage c : p.getClasses()) {
+					final IClassCoverage dup = classes.put(c.getName(), c);
+					if (dup != null && dup.getId() != c.getId()) {
+						throw new IllegalStateException(
+								"Can't add different class with same name: "
+										+ c.getName());
+					}
+				}
+			}
+			// Source files are recalculated as classes may be contained in
+			// several parts
+			final Map<String, SourceFileCoverageImpl> sourcefiles = new LinkedHashMap<String, SourceFileCoverageImpl>();
+			for (final IClassCoverage c : classes.values()) {
+				final String source = c.getSourceFileName();
+				if (source != null) {
+					SourceFileCoverageImpl s = sourcefiles.get(source);
+					if (s == null) {
+						s = new SourceFileCoverageImpl(source, packageName);
+						sourcefiles.put(source, s);
+					}
+					s.increment(c);
+				}
+			}
+			return new PackageCoverageImpl(packageName, classes.values(),
+					new ArrayList<ISourceFileCoverage>(sourcefiles.values()));
+		}
+
+	}
+
+}
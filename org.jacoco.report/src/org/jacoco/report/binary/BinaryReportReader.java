@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.binary;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.SessionInfo;
+import org.jacoco.core.internal.InputStreams;
+import org.jacoco.report.IReportGroupVisitor;
+import org.jacoco.report.IReportVisitor;
+import org.jacoco.report.ISourceFileLocator;
+import org.jacoco.report.internal.binary.BinaryFormat;
+import org.jacoco.report.internal.binary.BinaryInput;
+
+/**
+ * Reader for reports written by {@link BinaryFormatter}. The report structure
+ * and the counters of all bundles and packages are read immediately. Classes,
+ * methods and source files of a package are decoded when they are accessed for
+ * the first time, so loading a report takes time proportional to the number of
+ * packages rather than to the number of classes.
+ */
+public class BinaryReportReader {
+
+	private final List<SessionInfo> sessionInfos = new ArrayList<SessionInfo>();
+
+	private final List<ExecutionData> executionData = new ArrayList<ExecutionData>();
+
+	private final List<IBundleCoverage> bundles = new ArrayList<IBundleCoverage>();
+
+	private final Group root = new Group(null, null);
+
+	/**
+	 * Reads a report from the given stream. The stream is read completely but
+	 * not closed.
+	 *
+	 * @param input
+	 *            stream to read the report from
+	 * @throws IOException
+	 *             if the stream can't be read or does not contain a valid
+	 *             report
+	 */
+	public BinaryReportReader(final InputStream input) throws IOException {
+		this(InputStreams.readFully(input));
+	}
+
+	/**
+	 * Reads a report from the given file. The file content is read into a
+	 * buffer of the exact file size.
+	 *
+	 * @param file
+	 *            file to read the report from
+	 * @throws IOException
+	 *             if the file can't be read or does not contain a valid report
+	 */
+	public BinaryReportReader(final File file) throws IOException {
+		this(readFile(file));
+	}
+
+	private static byte[] readFile(final File file) throws IOException {
+		final long length = file.length();
+		if (length > Integer.MAX_VALUE) {
+			throw new IOException("Binary report too large.");
+		}
+		final byte[] content = new byte[(int) length];
+		final DataInputStream in = new DataInputStream(
+				new FileInputStream(file));
+		try {
+			in.readFully(content);
+		} finally {
+			in.close();
+		}
+		return content;
+	}
+
+	/**
+	 * Reads a report from the given content. The content must not be modified
+	 * afterwards as it is decoded on demand.
+	 *
+	 * @param content
+	 *            report content
+	 * @throws IOException
+	 *             if the content is not a valid report
+	 */
+	public BinaryReportReader(final byte[] content) throws IOException {
+		final BinaryInput in = new BinaryInput(content, 0, content.length);
+		if (content.length < 5 || in.readByte() != BinaryFormat.BLOCK_HEADER
+				|| in.readChar() != BinaryFormat.MAGIC_NUMBER) {
+			throw new IOException("Invalid binary report.");
+		}
+		final char version = in.readChar();
+		if (version != BinaryFormat.FORMAT_VERSION) {
+			throw new IOException(
+					String.format("Incompatible binary report version 0x%x.",
+							Integer.valueOf(version)));
+		}
+		Group current = root;
+		int type;
+		while ((type = in.read()) != -1) {
+			switch (type) {
+			case BinaryFormat.RECORD_INFO:
+				readInfo(in);
+				break;
+			case BinaryFormat.RECORD_GROUP:
+				final Group group = new Group(in.readUTF(), current);
+				current.children.add(group);
+				current = group;
+				break;
+			case BinaryFormat.RECORD_END:
+				if (current == root) {
+					throw new IOException("Unexpected end of group.");
+				}
+				current = current.parent;
+				break;
+			case BinaryFormat.RECORD_BUNDLE:
+				final IBundleCoverage bundle = BinaryFormat.readBundle(in);
+				current.children.add(bundle);
+				bundles.add(bundle);
+				break;
+			default:
+				throw new IOException(String.format("Unknown record type %x.",
+						Integer.valueOf(type)));
+			}
+		}
+	}
+
+	private void readInfo(final BinaryInput in) throws IOException {
+		for (int i = in.readVarInt(); i > 0; i--) {
+			sessionInfos.add(new SessionInfo(in.readUTF(), in.readLong(),
+					in.readLong()));
+		}
+		for (int i = in.readVarInt(); i > 0; i--) {
+			executionData.add(new ExecutionData(in.readLong(), in.readUTF(),
+					in.readBooleanArray()));
+		}
+	}
+
+	/**
+	 * @return session infos of the report
+	 */
+	public List<SessionInfo> getSessionInfos() {
+		return Collections.unmodifiableList(sessionInfos);
+	}
+
+	/**
+	 * @return execution data of the report
+	 */
+	public List<ExecutionData> getExecutionData() {
+		return Collections.unmodifiableList(executionData);
+	}
+
+	/**
+	 * Returns all bundles of the report in the order they have been written,
+	 * independently of the groups they belong to.
+	 *
+	 * @return bundles of the report
+	 */
+	public List<IBundleCoverage> getBundles() {
+		return Collections.unmodifiableList(bundles);
+	}
+
+	/**
+	 * Emits the complete report including its group structure to the given
+	 * visitor. This allows to create other report formats from a binary report.
+	 *
+	 * @param visitor
+	 *            visitor to emit the report to
+	 * @param locator
+	 *            source locator passed with every bundle
+	 * @throws IOException
+	 *             in case of problems with the visitor
+	 */
+	public void accept(final IReportVisitor visitor,
+			final ISourceFileLocator locator) throws IOException {
+		visitor.visitInfo(sessionInfos, executionData);
+		accept(root, visitor, locator);
+		visitor.visitEnd();
+	}
+
+	private static void accept(final Group group,
+			final IReportGroupVisitor visitor, final ISourceFileLocator locator)
+			throws IOException {
+		for (final Object child : group.children) {
+			if (child instanceof Group) {
+				final Group g = (Group) child;
+				accept(g, visitor.visitGroup(g.name), locator);
+			} else {
+				visitor.visitBundle((IBundleCoverage) child, locator);
+			}
+		}
+	}
+
+	private static class Group {
+
+		final String name;
+
+		final Group parent;
+
+		/** child groups and bundles */
+		final List<Object> children = new ArrayList<Object>();
+
+		Group(final String name, final Group parent) {
+			this.name = name;
+			this.parent = parent;
+		}
+
+	}
+
+}
@@ -0,0 +1,19 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+
+/**
+ * Binary report format for machine consumers, with a reader providing the
+ * coverage data as lazily decoded
+ * {@link org.jacoco.core.analysis.ICoverageNode} instances.
+ */
+package org.jacoco.report.binary;
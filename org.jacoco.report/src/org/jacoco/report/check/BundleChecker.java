@@ -12,8 +12,11 @@
  *******************************************************************************/
 package org.jacoco.report.check;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.jacoco.core.analysis.IBundleCoverage;
 import org.jacoco.core.analysis.IClassCoverage;
@@ -22,21 +25,25 @@ import org.jacoco.core.analysis.IMethodCoverage;
 import org.jacoco.core.analysis.IPackageCoverage;
 import org.jacoco.core.analysis.ISourceFileCoverage;
 import org.jacoco.report.ILanguageNames;
+import org.jacoco.report.internal.ReportTasks;
 
 /**
  * Internal class to check a list of rules against a {@link IBundleCoverage}
- * instance.
+ * instance. All rules are checked within a single traversal of the bundle.
+ * Optionally packages are checked in parallel, violations are reported in the
+ * same order in any case.
  */
 class BundleChecker {
 
 	private final ILanguageNames names;
 	private final IViolationsOutput output;
+	private final Executor executor;
 
-	private final Collection<Rule> bundleRules;
-	private final Collection<Rule> packageRules;
-	private final Collection<Rule> classRules;
-	private final Collection<Rule> sourceFileRules;
-	private final Collection<Rule> methodRules;
+	private final RuleIndex bundleRules;
+	private final RuleIndex packageRules;
+	private final RuleIndex classRules;
+	private final RuleIndex sourceFileRules;
+	private final RuleIndex methodRules;
 
 	private final boolean traversePackages;
 	private final boolean traverseClasses;
@@ -45,13 +52,20 @@ class BundleChecker {
 
 	public BundleChecker(final Collection<Rule> rules,
 			final ILanguageNames names, final IViolationsOutput output) {
+		this(rules, names, output, null);
+	}
+
+	public BundleChecker(final Collection<Rule> rules,
+			final ILanguageNames names, final IViolationsOutput output,
+			final Executor executor) {
 		this.names = names;
 		this.output = output;
-		this.bundleRules = new ArrayList<Rule>();
-		this.packageRules = new ArrayList<Rule>();
-		this.classRules = new ArrayList<Rule>();
-		this.sourceFileRules = new ArrayList<Rule>();
-		this.methodRules = new ArrayList<Rule>();
+		this.executor = executor;
+		final List<Rule> bundleRules = new ArrayList<Rule>();
+		final List<Rule> packageRules = new ArrayList<Rule>();
+		final List<Rule> classRules = new ArrayList<Rule>();
+		final List<Rule> sourceFileRules = new ArrayList<Rule>();
+		final List<Rule> methodRules = new ArrayList<Rule>();
 		for (final Rule rule : rules) {
 			switch (rule.getElement()) {
 			case BUNDLE:
@@ -71,6 +85,11 @@ class BundleChecker {
 				break;
 			}
 		}
+		this.bundleRules = new RuleIndex(bundleRules);
+		this.packageRules = new RuleIndex(packageRules);
+		this.classRules = new RuleIndex(classRules);
+		this.sourceFileRules = new RuleIndex(sourceFileRules);
+		this.methodRules = new RuleIndex(methodRules);
 		traverseMethods = !methodRules.isEmpty();
 		traverseClasses = !classRules.isEmpty() || traverseMethods;
 		traverseSourceFiles = !sourceFileRules.isEmpty();
@@ -79,74 +98,147 @@ class BundleChecker {
 	}
 
 	public void checkBundle(final IBundleCoverage bundleCoverage) {
-		final String name = bundleCoverage.getName();
-		checkRules(bundleCoverage, bundleRules, "bundle", name);
-		if (traversePackages) {
+		if (!bundleRules.isEmpty()) {
+			checkRules(bundleCoverage, bundleRules, "bundle",
+					bundleCoverage.getName(), output);
+		}
+		if (!traversePackages) {
+			return;
+		}
+		if (executor == null) {
 			for (final IPackageCoverage p : bundleCoverage.getPackages()) {
-				check(p);
+				check(p, output);
 			}
+			return;
+		}
+		final List<PackageTask> tasks = new ArrayList<PackageTask>();
+		for (final IPackageCoverage p : bundleCoverage.getPackages()) {
+			tasks.add(new PackageTask(p));
+		}
+		try {
+			ReportTasks.execute(executor, tasks);
+		} catch (final IOException e) {
+			// Checks do not perform I/O, only waiting for the tasks may be
+			// interrupted
+			throw new IllegalStateException(e);
 		}
 	}
 
-	private void check(final IPackageCoverage packageCoverage) {
-		final String name = names.getPackageName(packageCoverage.getName());
-		checkRules(packageCoverage, packageRules, "package", name);
+	private void check(final IPackageCoverage packageCoverage,
+			final IViolationsOutput out) {
+		if (!packageRules.isEmpty()) {
+			final String name = names.getPackageName(packageCoverage.getName());
+			checkRules(packageCoverage, packageRules, "package", name, out);
+		}
 		if (traverseClasses) {
 			for (final IClassCoverage c : packageCoverage.getClasses()) {
-				check(c);
+				check(c, out);
 			}
 		}
 		if (traverseSourceFiles) {
 			for (final ISourceFileCoverage s : packageCoverage
 					.getSourceFiles()) {
-				check(s);
+				check(s, out);
 			}
 		}
 	}
 
-	private void check(final IClassCoverage classCoverage) {
-		final String name = names
-				.getQualifiedClassName(classCoverage.getName());
-		checkRules(classCoverage, classRules, "class", name);
+	private void check(final IClassCoverage classCoverage,
+			final IViolationsOutput out) {
+		if (!classRules.isEmpty()) {
+			final String name = names
+					.getQualifiedClassName(classCoverage.getName());
+			checkRules(classCoverage, classRules, "class", name, out);
+		}
 		if (traverseMethods) {
 			for (final IMethodCoverage m : classCoverage.getMethods()) {
-				check(m, classCoverage.getName());
+				check(m, classCoverage.getName(), out);
 			}
 		}
 	}
 
-	private void check(final ISourceFileCoverage sourceFile) {
+	private void check(final ISourceFileCoverage sourceFile,
+			final IViolationsOutput out) {
 		final String name = sourceFile.getPackageName() + "/"
 				+ sourceFile.getName();
-		checkRules(sourceFile, sourceFileRules, "source file", name);
+		checkRules(sourceFile, sourceFileRules, "source file", name, out);
 	}
 
-	private void check(final IMethodCoverage method, final String className) {
+	private void check(final IMethodCoverage method, final String className,
+			final IViolationsOutput out) {
 		final String name = names.getQualifiedMethodName(className,
 				method.getName(), method.getDesc(), method.getSignature());
-		checkRules(method, methodRules, "method", name);
+		checkRules(method, methodRules, "method", name, out);
 	}
 
-	private void checkRules(final ICoverageNode node,
-			final Collection<Rule> rules, final String typename,
-			final String elementname) {
-		for (final Rule rule : rules) {
-			if (rule.matches(elementname)) {
-				for (final Limit limit : rule.getLimits()) {
-					checkLimit(node, typename, elementname, rule, limit);
-				}
+	private void checkRules(final ICoverageNode node, final RuleIndex rules,
+			final String typename, final String elementname,
+			final IViolationsOutput out) {
+		for (final Rule rule : rules.getRules(elementname)) {
+			for (final Limit limit : rule.getLimits()) {
+				checkLimit(node, typename, elementname, rule, limit, out);
 			}
 		}
 	}
 
 	private void checkLimit(final ICoverageNode node, final String elementtype,
-			final String elementname, final Rule rule, final Limit limit) {
+			final String elementname, final Rule rule, final Limit limit,
+			final IViolationsOutput out) {
 		final String message = limit.check(node);
 		if (message != null) {
-			output.onViolation(node, rule, limit,
+			out.onViolation(node, rule, limit,
 					String.format("Rule violated for %s %s: %s", elementtype,
 							elementname, message));
 		}
 	}
 
+	/**
+	 * Checks a single package and collects its violations, which are reported
+	 * to the actual output in package order.
+	 */
+	private class PackageTask
+			implements ReportTasks.OrderedTask, IViolationsOutput {
+
+		private final IPackageCoverage packageCoverage;
+
+		private final List<Violation> violations = new ArrayList<Violation>();
+
+		PackageTask(final IPackageCoverage packageCoverage) {
+			this.packageCoverage = packageCoverage;
+		}
+
+		public void run() {
+			check(packageCoverage, this);
+		}
+
+		public void onViolation(final ICoverageNode node, final Rule rule,
+				final Limit limit, final String message) {
+			violations.add(new Violation(node, rule, limit, message));
+		}
+
+		public void commit() {
+			for (final Violation v : violations) {
+				output.onViolation(v.node, v.rule, v.limit, v.message);
+			}
+		}
+
+	}
+
+	private static class Violation {
+
+		final ICoverageNode node;
+		final Rule rule;
+		final Limit limit;
+		final String message;
+
+		Violation(final ICoverageNode node, final Rule rule, final Limit limit,
+				final String message) {
+			this.node = node;
+			this.rule = rule;
+			this.limit = limit;
+			this.message = message;
+		}
+
+	}
+
 }
@@ -120,4 +120,8 @@ public final class Rule {
 		return includesMatcher.matches(name) && !excludesMatcher.matches(name);
 	}
 
+	boolean isExcluded(final String name) {
+		return excludesMatcher.matches(name);
+	}
+
 }
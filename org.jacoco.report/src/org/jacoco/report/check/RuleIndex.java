@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.check;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.jacoco.core.internal.WildcardTrie;
+
+/**
+ * Index of the rules for a single element type. Include patterns which are
+ * literals or which have a single leading or trailing <code>*</code> are stored
+ * in a {@link WildcardTrie}, so the candidate rules for an element name are
+ * found with a single pass over the name instead of evaluating the patterns of
+ * every rule. Rules with other patterns are evaluated directly. Matching rules
+ * are always returned in the order they have been configured.
+ */
+final class RuleIndex {
+
+	private final Rule[] rules;
+
+	/** indices of the rules with indexed patterns per pattern */
+	private final WildcardTrie<BitSet> patterns = new WildcardTrie<BitSet>();
+
+	/** indices of rules which can't be indexed */
+	private final int[] others;
+
+	RuleIndex(final Collection<Rule> rules) {
+		this.rules = rules.toArray(new Rule[rules.size()]);
+		final List<Integer> others = new ArrayList<Integer>();
+		for (int i = 0; i < this.rules.length; i++) {
+			if (!add(this.rules[i].getIncludes(), i)) {
+				others.add(Integer.valueOf(i));
+			}
+		}
+		this.others = new int[others.size()];
+		for (int i = 0; i < this.others.length; i++) {
+			this.others[i] = others.get(i).intValue();
+		}
+	}
+
+	private boolean add(final String includes, final int rule) {
+		String[] parts = includes.split("\\:");
+		if (parts.length == 0) {
+			parts = new String[] { "" };
+		}
+		for (final String part : parts) {
+			if (!WildcardTrie.isSupported(part)) {
+				return false;
+			}
+		}
+		for (final String part : parts) {
+			BitSet indices = patterns.get(part);
+			if (indices == null) {
+				indices = new BitSet();
+				patterns.put(part, indices);
+			}
+			indices.set(rule);
+		}
+		return true;
+	}
+
+	/**
+	 * @return <code>true</code> if no rules are contained
+	 */
+	boolean isEmpty() {
+		return rules.length == 0;
+	}
+
+	/**
+	 * Returns all rules matching the given element name.
+	 *
+	 * @param name
+	 *            element name
+	 * @return matching rules in configuration order
+	 */
+	List<Rule> getRules(final String name) {
+		if (rules.length == 0) {
+			return Collections.emptyList();
+		}
+		final List<BitSet> matching = new ArrayList<BitSet>();
+		patterns.collect(name, matching);
+		final BitSet candidates = new BitSet(rules.length);
+		for (final BitSet indices : matching) {
+			candidates.or(indices);
+		}
+		final List<Rule> matches = new ArrayList<Rule>();
+		int next = 0;
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates
+				.nextSetBit(i + 1)) {
+			next = addOthers(name, next, i, matches);
+			final Rule rule = rules[i];
+			if (!rule.isExcluded(name)) {
+				matches.add(rule);
+			}
+		}
+		addOthers(name, next, rules.length, matches);
+		return matches;
+	}
+
+	/**
+	 * Adds matching non-indexed rules with an index below the given limit.
+	 *
+	 * @return position of the first remaining non-indexed rule
+	 */
+	private int addOthers(final String name, int next, final int limit,
+			final List<Rule> matches) {
+		while (next < others.length && others[next] < limit) {
+			final Rule rule = rules[others[next++]];
+			if (rule.matches(name)) {
+				matches.add(rule);
+			}
+		}
+		return next;
+	}
+
+}
@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.jacoco.core.analysis.IBundleCoverage;
 import org.jacoco.core.data.ExecutionData;
@@ -34,6 +35,7 @@ public class RulesChecker {
 
 	private List<Rule> rules;
 	private ILanguageNames languageNames;
+	private Executor executor;
 
 	/**
 	 * New formatter instance.
@@ -64,6 +66,20 @@ public class RulesChecker {
 		this.languageNames = languageNames;
 	}
 
+	/**
+	 * Sets an executor to check the packages of a bundle in parallel. The
+	 * {@link IViolationsOutput} is always called by the thread visiting the
+	 * bundle and violations are reported in the same order as without an
+	 * executor. By default no executor is set and all checks are performed by
+	 * the calling thread.
+	 *
+	 * @param executor
+	 *            executor for parallel checks or <code>null</code>
+	 */
+	public void setExecutor(final Executor executor) {
+		this.executor = executor;
+	}
+
 	/**
 	 * Creates a new visitor to process the configured checks.
 	 *
@@ -73,7 +89,7 @@ public class RulesChecker {
 	 */
 	public IReportVisitor createVisitor(final IViolationsOutput output) {
 		final BundleChecker bundleChecker = new BundleChecker(rules,
-				languageNames, output);
+				languageNames, output, executor);
 		return new IReportVisitor() {
 
 			public IReportGroupVisitor visitGroup(final String name)
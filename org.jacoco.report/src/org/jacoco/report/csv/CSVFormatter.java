@@ -20,6 +20,9 @@ import java.util.List;
 
 import org.jacoco.core.data.ExecutionData;
 import org.jacoco.core.data.SessionInfo;
+import org.jacoco.core.tools.ClassDelta;
+import org.jacoco.core.tools.ExecDelta;
+import org.jacoco.report.IDeltaVisitor;
 import org.jacoco.report.ILanguageNames;
 import org.jacoco.report.IReportVisitor;
 import org.jacoco.report.JavaNames;
@@ -97,4 +100,38 @@ public class CSVFormatter {
 		return new Visitor();
 	}
 
+	/**
+	 * Creates a new visitor to write a coverage delta to the given stream.
+	 *
+	 * @param output
+	 *            output stream to write the delta to
+	 * @return visitor to emit the delta to
+	 */
+	public IDeltaVisitor createDeltaVisitor(final OutputStream output) {
+		return new IDeltaVisitor() {
+			public void visitDelta(final String name, final ExecDelta delta)
+					throws IOException {
+				final DelimitedWriter writer = new DelimitedWriter(
+						new OutputStreamWriter(output, outputEncoding));
+				writer.write("CLASS", "ID", "PROBES", "BASELINE_COVERED",
+						"CANDIDATE_COVERED", "NEWLY_COVERED",
+						"NEWLY_UNCOVERED");
+				writer.nextLine();
+				for (final ClassDelta c : delta.getClasses()) {
+					if (c.isChanged()) {
+						writer.write(languageNames
+								.getQualifiedClassName(c.getName()));
+						writer.write(String.format("%016x",
+								Long.valueOf(c.getId())));
+						writer.write(c.getProbeCount(), c.getBaselineCovered(),
+								c.getCandidateCovered(), c.getNewlyCovered(),
+								c.getNewlyUncovered());
+						writer.nextLine();
+					}
+				}
+				writer.close();
+			}
+		};
+	}
+
 }
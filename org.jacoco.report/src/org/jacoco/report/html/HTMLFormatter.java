@@ -16,17 +16,22 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.Executor;
 
 import org.jacoco.core.analysis.IBundleCoverage;
 import org.jacoco.core.analysis.ICoverageNode.CounterEntity;
 import org.jacoco.core.data.ExecutionData;
 import org.jacoco.core.data.SessionInfo;
+import org.jacoco.core.tools.ExecDelta;
+import org.jacoco.report.FileMultiReportOutput;
+import org.jacoco.report.IDeltaVisitor;
 import org.jacoco.report.ILanguageNames;
 import org.jacoco.report.IMultiReportOutput;
 import org.jacoco.report.IReportGroupVisitor;
 import org.jacoco.report.IReportVisitor;
 import org.jacoco.report.ISourceFileLocator;
 import org.jacoco.report.JavaNames;
+import org.jacoco.report.ZipMultiReportOutput;
 import org.jacoco.report.internal.ReportOutputFolder;
 import org.jacoco.report.internal.html.HTMLGroupVisitor;
 import org.jacoco.report.internal.html.IHTMLReportContext;
@@ -34,6 +39,7 @@ import org.jacoco.report.internal.html.ILinkable;
 import org.jacoco.report.internal.html.index.ElementIndex;
 import org.jacoco.report.internal.html.index.IIndexUpdate;
 import org.jacoco.report.internal.html.page.BundlePage;
+import org.jacoco.report.internal.html.page.DeltaPage;
 import org.jacoco.report.internal.html.page.ReportPage;
 import org.jacoco.report.internal.html.page.SessionsPage;
 import org.jacoco.report.internal.html.resources.Resources;
@@ -63,7 +69,14 @@ public class HTMLFormatter implements IHTMLReportContext {
 
 	private SessionsPage sessionsPage;
 
-	private Table table;
+	private Executor executor;
+
+	private final ThreadLocal<Table> table = new ThreadLocal<Table>() {
+		@Override
+		protected Table initialValue() {
+			return createTable();
+		}
+	};
 
 	/**
 	 * New instance with default settings.
@@ -113,6 +126,21 @@ public class HTMLFormatter implements IHTMLReportContext {
 		this.outputEncoding = outputEncoding;
 	}
 
+	/**
+	 * Sets an executor to render the packages of a bundle and the source pages
+	 * of a package in parallel. By default pages are rendered sequentially. If
+	 * an executor is set the {@link IMultiReportOutput} and the
+	 * {@link ISourceFileLocator} instances passed to this formatter must
+	 * support concurrent access, like {@link FileMultiReportOutput} and
+	 * {@link ZipMultiReportOutput} do.
+	 *
+	 * @param executor
+	 *            executor for parallel rendering or <code>null</code>
+	 */
+	public void setExecutor(final Executor executor) {
+		this.executor = executor;
+	}
+
 	// === IHTMLReportContext ===
 
 	public ILanguageNames getLanguageNames() {
@@ -124,10 +152,8 @@ public class HTMLFormatter implements IHTMLReportContext {
 	}
 
 	public Table getTable() {
-		if (table == null) {
-			table = createTable();
-		}
-		return table;
+		// Tables keep state while rendering, use one instance per thread
+		return table.get();
 	}
 
 	private Table createTable() {
@@ -176,6 +202,10 @@ public class HTMLFormatter implements IHTMLReportContext {
 		return locale;
 	}
 
+	public Executor getExecutor() {
+		return executor;
+	}
+
 	/**
 	 * Creates a new visitor to write a report to the given output.
 	 *
@@ -236,4 +266,80 @@ public class HTMLFormatter implements IHTMLReportContext {
 			}
 		};
 	}
+
+	/**
+	 * Creates a new visitor to write a coverage delta to the given output.
+	 *
+	 * @param output
+	 *            output to write the delta to
+	 * @return visitor to emit the delta to
+	 * @throws IOException
+	 *             in case of problems with the output stream
+	 */
+	public IDeltaVisitor createDeltaVisitor(final IMultiReportOutput output)
+			throws IOException {
+		final ReportOutputFolder root = new ReportOutputFolder(output);
+		// Resources of the delta output must not replace the ones of reports
+		// created with the same formatter
+		final Resources deltaResources = new Resources(root);
+		deltaResources.copyResources();
+		final IHTMLReportContext context = new DeltaContext(deltaResources);
+		return new IDeltaVisitor() {
+			public void visitDelta(final String name, final ExecDelta delta)
+					throws IOException {
+				new DeltaPage(name, delta, root, context).render();
+				output.close();
+			}
+		};
+	}
+
+	/**
+	 * Context for delta pages with their own resources, all other settings are
+	 * taken from the formatter.
+	 */
+	private class DeltaContext implements IHTMLReportContext {
+
+		private final Resources deltaResources;
+
+		DeltaContext(final Resources deltaResources) {
+			this.deltaResources = deltaResources;
+		}
+
+		public Resources getResources() {
+			return deltaResources;
+		}
+
+		public ILanguageNames getLanguageNames() {
+			return HTMLFormatter.this.getLanguageNames();
+		}
+
+		public Table getTable() {
+			return HTMLFormatter.this.getTable();
+		}
+
+		public String getFooterText() {
+			return HTMLFormatter.this.getFooterText();
+		}
+
+		public ILinkable getSessionsPage() {
+			return null;
+		}
+
+		public String getOutputEncoding() {
+			return HTMLFormatter.this.getOutputEncoding();
+		}
+
+		public IIndexUpdate getIndexUpdate() {
+			return HTMLFormatter.this.getIndexUpdate();
+		}
+
+		public Locale getLocale() {
+			return HTMLFormatter.this.getLocale();
+		}
+
+		public Executor getExecutor() {
+			return HTMLFormatter.this.getExecutor();
+		}
+
+	}
 }
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.internal;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Internal utility to calculate SHA-1 hashes over report inputs and outputs.
+ * Values are added with a length prefix, so different sequences of values
+ * result in different hashes.
+ */
+public final class ContentHash {
+
+	private final MessageDigest digest;
+
+	private final byte[] buffer = new byte[0x400];
+
+	/**
+	 * Creates a new hash without content.
+	 */
+	public ContentHash() {
+		try {
+			digest = MessageDigest.getInstance("SHA-1");
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Adds the given bytes.
+	 *
+	 * @param content
+	 *            byte array
+	 * @param off
+	 *            offset of the first byte
+	 * @param len
+	 *            number of bytes
+	 * @return this instance
+	 */
+	public ContentHash update(final byte[] content, final int off,
+			final int len) {
+		digest.update(content, off, len);
+		return this;
+	}
+
+	/**
+	 * Adds the given value.
+	 *
+	 * @param value
+	 *            value to add
+	 * @return this instance
+	 */
+	public ContentHash update(final int value) {
+		digest.update((byte) (value >>> 24));
+		digest.update((byte) (value >>> 16));
+		digest.update((byte) (value >>> 8));
+		digest.update((byte) value);
+		return this;
+	}
+
+	/**
+	 * Adds the given string with a length prefix.
+	 *
+	 * @param value
+	 *            string to add, may be <code>null</code>
+	 * @return this instance
+	 */
+	public ContentHash update(final String value) {
+		if (value == null) {
+			return update(-1);
+		}
+		final int length = value.length();
+		update(length);
+		int pos = 0;
+		for (int i = 0; i < length; i++) {
+			if (pos == buffer.length) {
+				digest.update(buffer, 0, pos);
+				pos = 0;
+			}
+			final char c = value.charAt(i);
+			buffer[pos++] = (byte) (c >>> 8);
+			buffer[pos++] = (byte) c;
+		}
+		digest.update(buffer, 0, pos);
+		return this;
+	}
+
+	/**
+	 * Completes the hash calculation. The instance is reset afterwards.
+	 *
+	 * @return hash as lower case hex string
+	 */
+	public String toHex() {
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * Calculates the hash of the given bytes.
+	 *
+	 * @param content
+	 *            byte array
+	 * @param off
+	 *            offset of the first byte
+	 * @param len
+	 *            number of bytes
+	 * @return hash as lower case hex string
+	 */
+	public static String of(final byte[] content, final int off,
+			final int len) {
+		return new ContentHash().update(content, off, len).toHex();
+	}
+
+	private static String toHex(final byte[] hash) {
+		final StringBuilder hex = new StringBuilder(hash.length * 2);
+		for (final byte b : hash) {
+			hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+			hex.append(Character.forDigit(b & 0xF, 16));
+		}
+		return hex.toString();
+	}
+
+}
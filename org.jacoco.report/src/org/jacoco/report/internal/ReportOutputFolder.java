@@ -12,12 +12,16 @@
  *******************************************************************************/
 package org.jacoco.report.internal;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.jacoco.report.IMultiReportOutput;
+import org.jacoco.report.IncrementalFileMultiReportOutput;
 
 /**
  * Logical representation of a folder in the output structure. This utility
@@ -36,6 +40,9 @@ public class ReportOutputFolder {
 
 	private final NormalizedFileNames fileNames;
 
+	/** Files kept in memory in creation order or <code>null</code> */
+	private final List<BufferedFile> buffer;
+
 	/**
 	 * Creates a new root folder for the given output.
 	 *
@@ -43,7 +50,7 @@ public class ReportOutputFolder {
 	 *            output for generated files
 	 */
 	public ReportOutputFolder(final IMultiReportOutput output) {
-		this(output, null, "");
+		this(output, null, "", new NormalizedFileNames(), null);
 	}
 
 	/**
@@ -53,11 +60,14 @@ public class ReportOutputFolder {
 	 *            output for generated files
 	 */
 	private ReportOutputFolder(final IMultiReportOutput output,
-			final ReportOutputFolder parent, final String path) {
+			final ReportOutputFolder parent, final String path,
+			final NormalizedFileNames fileNames,
+			final List<BufferedFile> buffer) {
 		this.output = output;
 		this.parent = parent;
 		this.path = path;
-		fileNames = new NormalizedFileNames();
+		this.fileNames = fileNames;
+		this.buffer = buffer;
 	}
 
 	/**
@@ -67,14 +77,14 @@ public class ReportOutputFolder {
 	 *            name of the sub-folder
 	 * @return handle for output into the sub-folder
 	 */
-	public ReportOutputFolder subFolder(final String name) {
+	public synchronized ReportOutputFolder subFolder(final String name) {
 		final String normalizedName = normalize(name);
 		ReportOutputFolder folder = subFolders.get(normalizedName);
 		if (folder != null) {
 			return folder;
 		}
 		folder = new ReportOutputFolder(output, this,
-				path + normalizedName + "/");
+				path + normalizedName + "/", new NormalizedFileNames(), buffer);
 		subFolders.put(normalizedName, folder);
 		return folder;
 	}
@@ -89,9 +99,95 @@ public class ReportOutputFolder {
 	 *             if the file creation fails
 	 */
 	public OutputStream createFile(final String name) throws IOException {
+		if (buffer != null) {
+			final BufferedFile file = new BufferedFile(path + normalize(name));
+			synchronized (buffer) {
+				buffer.add(file);
+			}
+			return file.content;
+		}
 		return output.createFile(path + normalize(name));
 	}
 
+	/**
+	 * Creates a handle for this folder which keeps all files created in this
+	 * folder and its sub-folders in memory until {@link #writeBufferedFiles()}
+	 * is called. This allows to render content in parallel and to write it in a
+	 * deterministic order.
+	 *
+	 * @return buffering handle for this folder
+	 */
+	public ReportOutputFolder buffered() {
+		return new ReportOutputFolder(output, parent, path, fileNames,
+				new ArrayList<BufferedFile>());
+	}
+
+	/**
+	 * Writes all files buffered by this handle in creation order to the output
+	 * and releases the buffers.
+	 *
+	 * @throws IOException
+	 *             if the file creation fails
+	 * @see #buffered()
+	 */
+	public void writeBufferedFiles() throws IOException {
+		synchronized (buffer) {
+			for (final BufferedFile file : buffer) {
+				final OutputStream out = output.createFile(file.path);
+				try {
+					file.content.writeTo(out);
+				} finally {
+					out.close();
+				}
+			}
+			buffer.clear();
+		}
+	}
+
+	/**
+	 * Checks whether the output supports to keep files of a previous report
+	 * whose inputs did not change.
+	 *
+	 * @return <code>true</code> if {@link #keepFile(String, String)} is
+	 *         supported
+	 */
+	public boolean isIncremental() {
+		return output instanceof IncrementalFileMultiReportOutput;
+	}
+
+	/**
+	 * Checks whether the file with the given local name can be kept from a
+	 * previous report because its inputs did not change. In this case the file
+	 * must not be created. Otherwise the key is recorded for the file which is
+	 * created subsequently.
+	 *
+	 * @param name
+	 *            name of the file
+	 * @param inputKey
+	 *            key over all inputs of the file
+	 * @return <code>true</code> if the file is kept
+	 * @see #isIncremental()
+	 */
+	public boolean keepFile(final String name, final String inputKey) {
+		if (!isIncremental()) {
+			return false;
+		}
+		return ((IncrementalFileMultiReportOutput) output)
+				.keepFile(path + normalize(name), inputKey);
+	}
+
+	/**
+	 * Reserves the normalized name of a file which is created later, possibly
+	 * by another thread. As names are normalized in the order of their first
+	 * use, this makes the names independent of thread scheduling.
+	 *
+	 * @param name
+	 *            name of the file
+	 */
+	public void reserveFile(final String name) {
+		normalize(name);
+	}
+
 	/**
 	 * Returns a link relative to a given base to a resource within this folder.
 	 *
@@ -124,4 +220,16 @@ public class ReportOutputFolder {
 		return fileNames.getFileName(name);
 	}
 
+	private static final class BufferedFile {
+
+		private final String path;
+
+		private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+		BufferedFile(final String path) {
+			this.path = path;
+		}
+
+	}
+
 }
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.internal;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Internal utility to execute independent report rendering tasks, optionally in
+ * parallel. Tasks which have not been started by the executor when their
+ * completion is awaited are run by the calling thread. Therefore nested task
+ * groups can share the same executor without dead-locking, even if the executor
+ * has only a few threads.
+ */
+public final class ReportTasks {
+
+	/**
+	 * A single rendering task.
+	 */
+	public interface Task {
+
+		/**
+		 * Performs the task.
+		 *
+		 * @throws IOException
+		 *             in case of problems with the report output
+		 */
+		void run() throws IOException;
+
+	}
+
+	/**
+	 * A task with an additional step which is always executed by the calling
+	 * thread in list order once the task has completed. This allows to produce
+	 * output in parallel and write it in a deterministic order.
+	 */
+	public interface OrderedTask extends Task {
+
+		/**
+		 * Completes the task. Not called if this or a preceding task failed.
+		 *
+		 * @throws IOException
+		 *             in case of problems with the report output
+		 */
+		void commit() throws IOException;
+
+	}
+
+	private ReportTasks() {
+	}
+
+	/**
+	 * Executes the given tasks and waits for their completion. If no executor
+	 * is given the tasks are run one after another by the calling thread. If
+	 * tasks fail the first failure in list order is thrown after all tasks have
+	 * completed. For instances of {@link OrderedTask}
+	 * {@link OrderedTask#commit()} is called by the calling thread in list
+	 * order.
+	 *
+	 * @param executor
+	 *            executor for parallel execution or <code>null</code>
+	 * @param tasks
+	 *            tasks to execute
+	 * @throws IOException
+	 *             if a task fails or the calling thread is interrupted
+	 */
+	public static void execute(final Executor executor,
+			final List<? extends Task> tasks) throws IOException {
+		if (executor == null || tasks.size() < 2) {
+			for (final Task t : tasks) {
+				t.run();
+				commit(t);
+			}
+			return;
+		}
+		final List<FutureTask<Void>> futures = new ArrayList<FutureTask<Void>>(
+				tasks.size());
+		for (final Task t : tasks) {
+			final FutureTask<Void> future = new FutureTask<Void>(
+					new Callable<Void>() {
+						public Void call() throws IOException {
+							t.run();
+							return null;
+						}
+					});
+			futures.add(future);
+			try {
+				executor.execute(future);
+			} catch (final RejectedExecutionException e) {
+				// will be run by the calling thread below
+			}
+		}
+		Throwable failure = null;
+		for (int i = 0; i < futures.size(); i++) {
+			final FutureTask<Void> future = futures.get(i);
+			// No-op if the task has already been started by the executor
+			future.run();
+			try {
+				future.get();
+				if (failure == null) {
+					commit(tasks.get(i));
+				}
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException(
+						"Interrupted while waiting for report tasks");
+			} catch (final ExecutionException e) {
+				if (failure == null) {
+					failure = e.getCause();
+				}
+			} catch (final IOException e) {
+				failure = e;
+			} catch (final RuntimeException e) {
+				failure = e;
+			}
+		}
+		if (failure != null) {
+			rethrow(failure);
+		}
+	}
+
+	private static void commit(final Task task) throws IOException {
+		if (task instanceof OrderedTask) {
+			((OrderedTask) task).commit();
+		}
+	}
+
+	private static void rethrow(final Throwable t) throws IOException {
+		if (t instanceof IOException) {
+			throw (IOException) t;
+		}
+		if (t instanceof RuntimeException) {
+			throw (RuntimeException) t;
+		}
+		if (t instanceof Error) {
+			throw (Error) t;
+		}
+		throw new IOException(String.valueOf(t));
+	}
+
+}
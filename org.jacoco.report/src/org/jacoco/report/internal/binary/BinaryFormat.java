@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.internal.binary;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.analysis.IPackageCoverage;
+import org.jacoco.core.internal.analysis.BundleCoverageImpl;
+
+/**
+ * Constants and bundle serialization of the binary report format. A report
+ * starts with a header followed by records. Coverage data of every package is
+ * written as a block prefixed with its length, so that readers can skip
+ * packages and decode them on demand.
+ */
+public final class BinaryFormat {
+
+	/** Block identifier for the file header. */
+	public static final byte BLOCK_HEADER = 0x01;
+
+	/** Magic number in header for file format identification. */
+	public static final char MAGIC_NUMBER = 0xC0C5;
+
+	/**
+	 * File format version, will be incremented for each incompatible change.
+	 */
+	public static final char FORMAT_VERSION = 0x0001;
+
+	/** Record with session infos and execution data. */
+	public static final byte RECORD_INFO = 0x10;
+
+	/** Record starting a group. */
+	public static final byte RECORD_GROUP = 0x11;
+
+	/** Record ending the current group. */
+	public static final byte RECORD_END = 0x12;
+
+	/** Record with a bundle. */
+	public static final byte RECORD_BUNDLE = 0x13;
+
+	/** String table entry for <code>null</code>. */
+	static final int STRING_NULL = 0;
+
+	/** String table entry for a new string followed by its content. */
+	static final int STRING_NEW = 1;
+
+	/** String table entry for a reference, added to the string index. */
+	static final int STRING_REF = 2;
+
+	/**
+	 * Writes a record for the given bundle.
+	 *
+	 * @param bundle
+	 *            bundle coverage data
+	 * @param out
+	 *            output to write to
+	 * @throws IOException
+	 *             if the output can't be written
+	 */
+	public static void writeBundle(final IBundleCoverage bundle,
+			final BinaryOutput out) throws IOException {
+		out.writeByte(BinaryFormat.RECORD_BUNDLE);
+		out.writeUTF(bundle.getName());
+		final Collection<IPackageCoverage> packages = bundle.getPackages();
+		out.writeVarInt(packages.size());
+		for (final IPackageCoverage p : packages) {
+			PackageNode.write(p, out);
+		}
+	}
+
+	/**
+	 * Reads the content of a bundle record written by
+	 * {@link #writeBundle(IBundleCoverage, BinaryOutput)} after the record
+	 * type. Classes and source files of the packages are decoded on demand.
+	 *
+	 * @param in
+	 *            input to read from
+	 * @return bundle coverage data
+	 * @throws IOException
+	 *             if the input can't be read
+	 */
+	public static IBundleCoverage readBundle(final BinaryInput in)
+			throws IOException {
+		final String name = in.readUTF();
+		final int packageCount = in.readVarInt();
+		final List<IPackageCoverage> packages = new ArrayList<IPackageCoverage>(
+				packageCount);
+		for (int i = 0; i < packageCount; i++) {
+			packages.add(PackageNode.read(in));
+		}
+		return new BundleCoverageImpl(name, packages);
+	}
+
+	private BinaryFormat() {
+	}
+
+}
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.internal.binary;
+
+import java.io.IOException;
+
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.report.ISourceFileLocator;
+import org.jacoco.report.internal.AbstractGroupVisitor;
+
+/**
+ * A {@link org.jacoco.report.IReportGroupVisitor} that writes the report
+ * structure as records of the binary report format.
+ */
+public class BinaryGroupVisitor extends AbstractGroupVisitor {
+
+	private final BinaryOutput out;
+
+	/**
+	 * New handler for a group with the given name. The record starting the
+	 * group must already be written.
+	 *
+	 * @param out
+	 *            output to write to
+	 * @param name
+	 *            name of the group
+	 */
+	public BinaryGroupVisitor(final BinaryOutput out, final String name) {
+		super(name);
+		this.out = out;
+	}
+
+	@Override
+	protected void handleBundle(final IBundleCoverage bundle,
+			final ISourceFileLocator locator) throws IOException {
+		BinaryFormat.writeBundle(bundle, out);
+	}
+
+	@Override
+	protected AbstractGroupVisitor handleGroup(final String name)
+			throws IOException {
+		out.writeByte(BinaryFormat.RECORD_GROUP);
+		out.writeUTF(name);
+		return new BinaryGroupVisitor(out, name);
+	}
+
+	@Override
+	protected void handleEnd() throws IOException {
+		out.writeByte(BinaryFormat.RECORD_END);
+	}
+
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.internal.binary;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jacoco.core.internal.analysis.CounterImpl;
+import org.jacoco.core.internal.data.CompactDataInput;
+
+/**
+ * Input for the binary report format written by {@link BinaryOutput}. The input
+ * reads from a region of a byte array which allows to refer to parts of the
+ * content for later decoding.
+ */
+public class BinaryInput extends CompactDataInput {
+
+	private final byte[] buffer;
+
+	private final int end;
+
+	private final List<String> strings = new ArrayList<String>();
+
+	/**
+	 * Creates a new input reading from the given region of a byte array.
+	 *
+	 * @param buffer
+	 *            content
+	 * @param offset
+	 *            start of the region
+	 * @param length
+	 *            length of the region
+	 */
+	public BinaryInput(final byte[] buffer, final int offset,
+			final int length) {
+		super(new ByteArrayInputStream(buffer, offset, length));
+		this.buffer = buffer;
+		this.end = offset + length;
+	}
+
+	/**
+	 * @return content this input reads from
+	 */
+	public byte[] getBuffer() {
+		return buffer;
+	}
+
+	/**
+	 * @return current position within the content
+	 * @throws IOException
+	 *             never thrown for byte array content
+	 */
+	public int getPosition() throws IOException {
+		return end - in.available();
+	}
+
+	/**
+	 * Reads an optional string written by
+	 * {@link BinaryOutput#writeString(String)}.
+	 *
+	 * @return string or <code>null</code>
+	 * @throws IOException
+	 *             if the input can't be read or is malformed
+	 */
+	public String readString() throws IOException {
+		final int entry = readVarInt();
+		switch (entry) {
+		case BinaryFormat.STRING_NULL:
+			return null;
+		case BinaryFormat.STRING_NEW:
+			final String s = readUTF();
+			strings.add(s);
+			return s;
+		default:
+			final int index = entry - BinaryFormat.STRING_REF;
+			if (index < 0 || index >= strings.size()) {
+				throw new IOException(
+						String.format("Invalid string reference %s.",
+								Integer.valueOf(entry)));
+			}
+			return strings.get(index);
+		}
+	}
+
+	/**
+	 * Reads a counter written by {@link BinaryOutput}.
+	 *
+	 * @return counter instance
+	 * @throws IOException
+	 *             if the input can't be read
+	 */
+	public CounterImpl readCounter() throws IOException {
+		final int missed = readVarInt();
+		final int covered = readVarInt();
+		return CounterImpl.getInstance(missed, covered);
+	}
+
+}
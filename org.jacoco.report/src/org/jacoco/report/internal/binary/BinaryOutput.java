@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.internal.binary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jacoco.core.analysis.ICounter;
+import org.jacoco.core.analysis.ICoverageNode;
+import org.jacoco.core.analysis.ICoverageNode.CounterEntity;
+import org.jacoco.core.analysis.ILine;
+import org.jacoco.core.analysis.ISourceNode;
+import org.jacoco.core.internal.data.CompactDataOutput;
+
+/**
+ * Output for the binary report format with support for coverage nodes and a
+ * string table. Strings written with {@link #writeString(String)} are written
+ * only once and referenced by their index afterwards until the table is reset.
+ */
+public class BinaryOutput extends CompactDataOutput {
+
+	private final Map<String, Integer> strings = new HashMap<String, Integer>();
+
+	/**
+	 * Creates a new output writing to the given stream.
+	 *
+	 * @param out
+	 *            underlying stream
+	 */
+	public BinaryOutput(final OutputStream out) {
+		super(out);
+	}
+
+	/**
+	 * Writes an optional string, either as a reference to a previously written
+	 * string or with its content.
+	 *
+	 * @param s
+	 *            string or <code>null</code>
+	 * @throws IOException
+	 *             if the output can't be written
+	 */
+	public void writeString(final String s) throws IOException {
+		if (s == null) {
+			writeVarInt(BinaryFormat.STRING_NULL);
+			return;
+		}
+		final Integer index = strings.get(s);
+		if (index == null) {
+			strings.put(s, Integer.valueOf(strings.size()));
+			writeVarInt(BinaryFormat.STRING_NEW);
+			writeUTF(s);
+		} else {
+			writeVarInt(BinaryFormat.STRING_REF + index.intValue());
+		}
+	}
+
+	/**
+	 * Discards all strings written so far, so that subsequent strings are
+	 * written with their content again.
+	 */
+	public void resetStrings() {
+		strings.clear();
+	}
+
+	/**
+	 * Writes all counters of the given node.
+	 *
+	 * @param node
+	 *            node to write counters of
+	 * @throws IOException
+	 *             if the output can't be written
+	 */
+	public void writeCounters(final ICoverageNode node) throws IOException {
+		for (final CounterEntity entity : CounterEntity.values()) {
+			writeCounter(node.getCounter(entity));
+		}
+	}
+
+	private void writeCounter(final ICounter counter) throws IOException {
+		writeVarInt(counter.getMissedCount());
+		writeVarInt(counter.getCoveredCount());
+	}
+
+	/**
+	 * Writes the line range and all lines with instructions of the given node.
+	 *
+	 * @param node
+	 *            node to write lines of
+	 * @throws IOException
+	 *             if the output can't be written
+	 */
+	public void writeLines(final ISourceNode node) throws IOException {
+		final int first = node.getFirstLine();
+		if (first == ISourceNode.UNKNOWN_LINE) {
+			writeVarInt(0);
+			return;
+		}
+		final int last = node.getLastLine();
+		writeVarInt(first + 1);
+		writeVarInt(last - first);
+		int count = 0;
+		for (int nr = first; nr <= last; nr++) {
+			if (node.getLine(nr).getStatus() != ICounter.EMPTY) {
+				count++;
+			}
+		}
+		writeVarInt(count);
+		int previous = first;
+		for (int nr = first; nr <= last; nr++) {
+			final ILine line = node.getLine(nr);
+			if (line.getStatus() != ICounter.EMPTY) {
+				writeVarInt(nr - previous);
+				writeCounter(line.getInstructionCounter());
+				writeCounter(line.getBranchCounter());
+				previous = nr;
+			}
+		}
+	}
+
+}
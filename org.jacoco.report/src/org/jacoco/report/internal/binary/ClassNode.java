@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.internal.binary;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.IMethodCoverage;
+
+/**
+ * Class coverage decoded from the binary report format.
+ */
+final class ClassNode extends SourceNode implements IClassCoverage {
+
+	private final long id;
+
+	private final boolean noMatch;
+
+	private String signature;
+
+	private String superName;
+
+	private String[] interfaces;
+
+	private String sourceFileName;
+
+	private List<IMethodCoverage> methods;
+
+	private ClassNode(final String name, final long id, final boolean noMatch) {
+		super(ElementType.CLASS, name);
+		this.id = id;
+		this.noMatch = noMatch;
+	}
+
+	static void write(final IClassCoverage c, final BinaryOutput out)
+			throws IOException {
+		out.writeString(c.getName());
+		out.writeLong(c.getId());
+		out.writeBoolean(c.isNoMatch());
+		out.writeString(c.getSignature());
+		out.writeString(c.getSuperName());
+		final String[] interfaces = c.getInterfaceNames();
+		if (interfaces == null) {
+			out.writeVarInt(0);
+		} else {
+			out.writeVarInt(interfaces.length + 1);
+			for (final String i : interfaces) {
+				out.writeString(i);
+			}
+		}
+		out.writeString(c.getSourceFileName());
+		out.writeCounters(c);
+		out.writeLines(c);
+		final Collection<IMethodCoverage> methods = c.getMethods();
+		out.writeVarInt(methods.size());
+		for (final IMethodCoverage m : methods) {
+			MethodNode.write(m, out);
+		}
+	}
+
+	static ClassNode read(final BinaryInput in) throws IOException {
+		final ClassNode c = new ClassNode(in.readString(), in.readLong(),
+				in.readBoolean());
+		c.signature = in.readString();
+		c.superName = in.readString();
+		final int interfaceCount = in.readVarInt() - 1;
+		if (interfaceCount >= 0) {
+			c.interfaces = new String[interfaceCount];
+			for (int i = 0; i < interfaceCount; i++) {
+				c.interfaces[i] = in.readString();
+			}
+		}
+		c.sourceFileName = in.readString();
+		c.readContent(in);
+		final int methodCount = in.readVarInt();
+		c.methods = new ArrayList<IMethodCoverage>(methodCount);
+		for (int i = 0; i < methodCount; i++) {
+			c.methods.add(MethodNode.read(in));
+		}
+		return c;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public boolean isNoMatch() {
+		return noMatch;
+	}
+
+	public String getSignature() {
+		return signature;
+	}
+
+	public String getSuperName() {
+		return superName;
+	}
+
+	public String[] getInterfaceNames() {
+		return interfaces;
+	}
+
+	public String getPackageName() {
+		final int pos = getName().lastIndexOf('/');
+		return pos == -1 ? "" : getName().substring(0, pos);
+	}
+
+	public String getSourceFileName() {
+		return sourceFileName;
+	}
+
+	public Collection<IMethodCoverage> getMethods() {
+		return methods;
+	}
+
+}
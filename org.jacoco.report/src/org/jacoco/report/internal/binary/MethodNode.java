@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.internal.binary;
+
+import java.io.IOException;
+
+import org.jacoco.core.analysis.IMethodCoverage;
+
+/**
+ * Method coverage decoded from the binary report format.
+ */
+final class MethodNode extends SourceNode implements IMethodCoverage {
+
+	private final String desc;
+
+	private final String signature;
+
+	private MethodNode(final String name, final String desc,
+			final String signature) {
+		super(ElementType.METHOD, name);
+		this.desc = desc;
+		this.signature = signature;
+	}
+
+	static void write(final IMethodCoverage method, final BinaryOutput out)
+			throws IOException {
+		out.writeString(method.getName());
+		out.writeString(method.getDesc());
+		out.writeString(method.getSignature());
+		out.writeCounters(method);
+		out.writeLines(method);
+	}
+
+	static MethodNode read(final BinaryInput in) throws IOException {
+		final MethodNode method = new MethodNode(in.readString(),
+				in.readString(), in.readString());
+		method.readContent(in);
+		return method;
+	}
+
+	public String getDesc() {
+		return desc;
+	}
+
+	public String getSignature() {
+		return signature;
+	}
+
+}
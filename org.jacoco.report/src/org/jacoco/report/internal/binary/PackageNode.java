@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.internal.binary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.jacoco.core.analysis.CoverageNodeImpl;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.IPackageCoverage;
+import org.jacoco.core.analysis.ISourceFileCoverage;
+import org.jacoco.core.internal.analysis.CounterImpl;
+
+/**
+ * Package coverage decoded from the binary report format. The counters of the
+ * package are read immediately while classes and source files are decoded when
+ * they are accessed for the first time.
+ */
+final class PackageNode extends CoverageNodeImpl implements IPackageCoverage {
+
+	private final byte[] buffer;
+
+	private final int offset;
+
+	private final int length;
+
+	private Collection<IClassCoverage> classes;
+
+	private Collection<ISourceFileCoverage> sourceFiles;
+
+	private PackageNode(final String name, final byte[] buffer,
+			final int offset, final int length) {
+		super(ElementType.PACKAGE, name);
+		this.buffer = buffer;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	static void write(final IPackageCoverage p, final BinaryOutput out)
+			throws IOException {
+		out.writeUTF(p.getName());
+		out.writeCounters(p);
+		final ByteArrayOutputStream block = new ByteArrayOutputStream();
+		final BinaryOutput blockOut = new BinaryOutput(block);
+		final Collection<IClassCoverage> classes = p.getClasses();
+		blockOut.writeVarInt(classes.size());
+		for (final IClassCoverage c : classes) {
+			ClassNode.write(c, blockOut);
+		}
+		final Collection<ISourceFileCoverage> sourceFiles = p.getSourceFiles();
+		blockOut.writeVarInt(sourceFiles.size());
+		for (final ISourceFileCoverage s : sourceFiles) {
+			SourceFileNode.write(s, blockOut);
+		}
+		blockOut.flush();
+		out.writeVarInt(block.size());
+		block.writeTo(out);
+	}
+
+	static PackageNode read(final BinaryInput in) throws IOException {
+		final String name = in.readUTF();
+		final CounterImpl instructions = in.readCounter();
+		final CounterImpl branches = in.readCounter();
+		final CounterImpl lines = in.readCounter();
+		final CounterImpl complexity = in.readCounter();
+		final CounterImpl methods = in.readCounter();
+		final CounterImpl classes = in.readCounter();
+		final int length = in.readVarInt();
+		final PackageNode p = new PackageNode(name, in.getBuffer(),
+				in.getPosition(), length);
+		if (in.skipBytes(length) != length) {
+			throw new EOFException();
+		}
+		p.instructionCounter = instructions;
+		p.branchCounter = branches;
+		p.lineCounter = lines;
+		p.complexityCounter = complexity;
+		p.methodCounter = methods;
+		p.classCounter = classes;
+		return p;
+	}
+
+	private synchronized void load() {
+		if (classes != null) {
+			return;
+		}
+		final BinaryInput in = new BinaryInput(buffer, offset, length);
+		try {
+			final int classCount = in.readVarInt();
+			final Collection<IClassCoverage> c = new ArrayList<IClassCoverage>(
+					classCount);
+			for (int i = 0; i < classCount; i++) {
+				c.add(ClassNode.read(in));
+			}
+			final int sourceFileCount = in.readVarInt();
+			final Collection<ISourceFileCoverage> s = new ArrayList<ISourceFileCoverage>(
+					sourceFileCount);
+			for (int i = 0; i < sourceFileCount; i++) {
+				s.add(SourceFileNode.read(in, getName()));
+			}
+			sourceFiles = s;
+			classes = c;
+		} catch (final IOException e) {
+			throw new IllegalStateException(
+					String.format("Malformed data for package %s.", getName()),
+					e);
+		}
+	}
+
+	public Collection<IClassCoverage> getClasses() {
+		load();
+		return classes;
+	}
+
+	public Collection<ISourceFileCoverage> getSourceFiles() {
+		load();
+		return sourceFiles;
+	}
+
+}
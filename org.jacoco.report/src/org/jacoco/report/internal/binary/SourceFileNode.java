@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.internal.binary;
+
+import java.io.IOException;
+
+import org.jacoco.core.analysis.ISourceFileCoverage;
+
+/**
+ * Source file coverage decoded from the binary report format.
+ */
+final class SourceFileNode extends SourceNode implements ISourceFileCoverage {
+
+	private final String packageName;
+
+	private SourceFileNode(final String name, final String packageName) {
+		super(ElementType.SOURCEFILE, name);
+		this.packageName = packageName;
+	}
+
+	static void write(final ISourceFileCoverage s, final BinaryOutput out)
+			throws IOException {
+		out.writeString(s.getName());
+		out.writeCounters(s);
+		out.writeLines(s);
+	}
+
+	static SourceFileNode read(final BinaryInput in, final String packageName)
+			throws IOException {
+		final SourceFileNode s = new SourceFileNode(in.readString(),
+				packageName);
+		s.readContent(in);
+		return s;
+	}
+
+	public String getPackageName() {
+		return packageName;
+	}
+
+}
@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.internal.binary;
+
+import java.io.IOException;
+
+import org.jacoco.core.internal.analysis.CounterImpl;
+import org.jacoco.core.internal.analysis.SourceNodeImpl;
+
+/**
+ * Source node decoded from the binary report format.
+ */
+abstract class SourceNode extends SourceNodeImpl {
+
+	SourceNode(final ElementType elementType, final String name) {
+		super(elementType, name);
+	}
+
+	/**
+	 * Reads the counters and lines written by
+	 * {@link BinaryOutput#writeCounters(org.jacoco.core.analysis.ICoverageNode)}
+	 * and
+	 * {@link BinaryOutput#writeLines(org.jacoco.core.analysis.ISourceNode)}.
+	 */
+	final void readContent(final BinaryInput in) throws IOException {
+		final CounterImpl instructions = in.readCounter();
+		final CounterImpl branches = in.readCounter();
+		final CounterImpl lines = in.readCounter();
+		final CounterImpl complexity = in.readCounter();
+		final CounterImpl methods = in.readCounter();
+		final CounterImpl classes = in.readCounter();
+		final int first = in.readVarInt() - 1;
+		if (first != UNKNOWN_LINE) {
+			ensureCapacity(first, first + in.readVarInt());
+			int nr = first;
+			for (int i = in.readVarInt(); i > 0; i--) {
+				nr += in.readVarInt();
+				increment(in.readCounter(), in.readCounter(), nr);
+			}
+		}
+		instructionCounter = instructions;
+		branchCounter = branches;
+		lineCounter = lines;
+		complexityCounter = complexity;
+		methodCounter = methods;
+		classCounter = classes;
+	}
+
+}
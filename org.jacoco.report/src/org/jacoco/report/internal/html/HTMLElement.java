@@ -198,6 +198,37 @@ public class HTMLElement extends XMLElement {
 		return span;
 	}
 
+	/**
+	 * Writes a complete 'span' element with the given text directly to the
+	 * output without creating an element instance.
+	 *
+	 * @param classattr
+	 *            value of the class attribute
+	 * @param idattr
+	 *            value of the id attribute
+	 * @param titleattr
+	 *            value of the title attribute or <code>null</code>
+	 * @param text
+	 *            characters of the text content
+	 * @param off
+	 *            offset of the first character
+	 * @param len
+	 *            number of characters
+	 * @throws IOException
+	 *             in case of problems with the underlying output
+	 */
+	public void span(final String classattr, final String idattr,
+			final String titleattr, final char[] text, final int off,
+			final int len) throws IOException {
+		startEmptyElement("span");
+		emptyElementAttr("class", classattr);
+		emptyElementAttr("id", idattr);
+		if (titleattr != null) {
+			emptyElementAttr("title", titleattr);
+		}
+		endElementWithText("span", text, off, len);
+	}
+
 	/**
 	 * Creates a 'div' element.
 	 *
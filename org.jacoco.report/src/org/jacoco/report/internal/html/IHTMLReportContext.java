@@ -13,6 +13,7 @@
 package org.jacoco.report.internal.html;
 
 import java.util.Locale;
+import java.util.concurrent.Executor;
 
 import org.jacoco.report.ILanguageNames;
 import org.jacoco.report.internal.html.index.IIndexUpdate;
@@ -80,4 +81,11 @@ public interface IHTMLReportContext {
 	 */
 	Locale getLocale();
 
+	/**
+	 * Returns the executor used to render independent pages in parallel.
+	 *
+	 * @return executor or <code>null</code> if pages are rendered sequentially
+	 */
+	Executor getExecutor();
+
 }
@@ -13,12 +13,15 @@
 package org.jacoco.report.internal.html.page;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.jacoco.core.analysis.IBundleCoverage;
 import org.jacoco.core.analysis.ICoverageNode;
 import org.jacoco.core.analysis.IPackageCoverage;
 import org.jacoco.report.ISourceFileLocator;
 import org.jacoco.report.internal.ReportOutputFolder;
+import org.jacoco.report.internal.ReportTasks;
 import org.jacoco.report.internal.html.HTMLElement;
 import org.jacoco.report.internal.html.IHTMLReportContext;
 
@@ -63,6 +66,7 @@ public class BundlePage extends TablePage<ICoverageNode> {
 	}
 
 	private void renderPackages() throws IOException {
+		final List<PackageTask> tasks = new ArrayList<PackageTask>();
 		for (final IPackageCoverage p : bundle.getPackages()) {
 			if (!p.containsCode()) {
 				continue;
@@ -70,9 +74,38 @@ public class BundlePage extends TablePage<ICoverageNode> {
 			final String packagename = p.getName();
 			final String foldername = packagename.length() == 0 ? "default"
 					: packagename.replace('/', '.');
-			final PackagePage page = new PackagePage(p, this, locator,
-					folder.subFolder(foldername), context);
+			tasks.add(new PackageTask(p, folder.subFolder(foldername)));
+		}
+		ReportTasks.execute(context.getExecutor(), tasks);
+	}
+
+	/**
+	 * Packages are independent and may be rendered in parallel. In this case
+	 * the files of every package are buffered and written in package order by
+	 * the calling thread, so the output does not depend on scheduling.
+	 */
+	private class PackageTask implements ReportTasks.OrderedTask {
+
+		private final ReportOutputFolder packageFolder;
+
+		private final PackagePage page;
+
+		PackageTask(final IPackageCoverage p,
+				final ReportOutputFolder packageFolder) {
+			this.packageFolder = context.getExecutor() == null ? packageFolder
+					: packageFolder.buffered();
+			this.page = new PackagePage(p, BundlePage.this, locator,
+					this.packageFolder, context);
+		}
+
+		public void run() throws IOException {
 			page.render();
+		}
+
+		public void commit() throws IOException {
+			if (context.getExecutor() != null) {
+				packageFolder.writeBufferedFiles();
+			}
 			addItem(page);
 		}
 	}
@@ -16,6 +16,7 @@ import java.io.IOException;
 
 import org.jacoco.core.analysis.IClassCoverage;
 import org.jacoco.core.analysis.IMethodCoverage;
+import org.jacoco.report.internal.ContentHash;
 import org.jacoco.report.internal.ReportOutputFolder;
 import org.jacoco.report.internal.html.HTMLElement;
 import org.jacoco.report.internal.html.IHTMLReportContext;
@@ -29,6 +30,9 @@ public class ClassPage extends TablePage<IClassCoverage> {
 
 	private final ILinkable sourcePage;
 
+	/** label is computed on first use as it is required for sorting */
+	private String label;
+
 	/**
 	 * Creates a new visitor in the given context.
 	 *
@@ -67,6 +71,18 @@ public class ClassPage extends TablePage<IClassCoverage> {
 		super.render();
 	}
 
+	@Override
+	protected String getInputKey() {
+		final ContentHash hash = new ContentHash();
+		addSkeletonInputs(hash);
+		hash.update(getNode().isNoMatch() ? 1 : 0);
+		hash.update(getNode().getPackageName());
+		hash.update(getNode().getSourceFileName());
+		hash.update(sourcePage == null ? 0 : 1);
+		addTableInputs(hash);
+		return hash.toHex();
+	}
+
 	@Override
 	protected String getFileName() {
 		final String vmname = getNode().getName();
@@ -77,9 +93,12 @@ public class ClassPage extends TablePage<IClassCoverage> {
 
 	@Override
 	public String getLinkLabel() {
-		return context.getLanguageNames().getClassName(getNode().getName(),
-				getNode().getSignature(), getNode().getSuperName(),
-				getNode().getInterfaceNames());
+		if (label == null) {
+			label = context.getLanguageNames().getClassName(getNode().getName(),
+					getNode().getSignature(), getNode().getSuperName(),
+					getNode().getInterfaceNames());
+		}
+		return label;
 	}
 
 	@Override
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.internal.html.page;
+
+import java.io.IOException;
+
+import org.jacoco.core.tools.ClassDelta;
+import org.jacoco.core.tools.ExecDelta;
+import org.jacoco.report.ILanguageNames;
+import org.jacoco.report.internal.ReportOutputFolder;
+import org.jacoco.report.internal.html.HTMLElement;
+import org.jacoco.report.internal.html.IHTMLReportContext;
+import org.jacoco.report.internal.html.resources.Styles;
+
+/**
+ * Page to display the coverage delta between two sets of execution data.
+ */
+public class DeltaPage extends ReportPage {
+
+	private static final String MSG_DELTA = "Classes with newly covered or "
+			+ "newly uncovered probes compared to the baseline:";
+
+	private static final String MSG_NO_DELTA = "Coverage has not changed.";
+
+	private final String name;
+
+	private final ExecDelta delta;
+
+	/**
+	 * Creates a new page to display a coverage delta.
+	 *
+	 * @param name
+	 *            name of the delta report
+	 * @param delta
+	 *            delta to display
+	 * @param folder
+	 *            base folder to create this page in
+	 * @param context
+	 *            settings context
+	 */
+	public DeltaPage(final String name, final ExecDelta delta,
+			final ReportOutputFolder folder, final IHTMLReportContext context) {
+		super(null, folder, context);
+		this.name = name;
+		this.delta = delta;
+	}
+
+	@Override
+	protected void infoLinks(final HTMLElement span) throws IOException {
+		// no sessions page for delta reports
+	}
+
+	@Override
+	protected void content(final HTMLElement body) throws IOException {
+		if (delta.getNewlyCovered() == 0 && delta.getNewlyUncovered() == 0) {
+			body.p().text(MSG_NO_DELTA);
+		} else {
+			body.p().text(MSG_DELTA);
+			deltaTable(body);
+		}
+	}
+
+	private void deltaTable(final HTMLElement body) throws IOException {
+		final HTMLElement table = body.table(Styles.COVERAGETABLE);
+		{
+			final HTMLElement tr = table.thead().tr();
+			tr.td().text("Class");
+			tr.td().text("Id");
+			tr.td(Styles.CTR2).text("Probes");
+			tr.td(Styles.CTR2).text("Baseline");
+			tr.td(Styles.CTR2).text("Candidate");
+			tr.td(Styles.CTR2).text("Newly Covered");
+			tr.td(Styles.CTR2).text("Newly Uncovered");
+		}
+		{
+			final HTMLElement tr = table.tfoot().tr();
+			tr.td().text("Total");
+			tr.td();
+			tr.td(Styles.CTR2);
+			tr.td(Styles.CTR2);
+			tr.td(Styles.CTR2);
+			tr.td(Styles.CTR2).text(Integer.toString(delta.getNewlyCovered()));
+			tr.td(Styles.CTR2)
+					.text(Integer.toString(delta.getNewlyUncovered()));
+		}
+		final HTMLElement tbody = table.tbody();
+		final ILanguageNames names = context.getLanguageNames();
+		for (final ClassDelta c : delta.getClasses()) {
+			if (!c.isChanged()) {
+				continue;
+			}
+			final HTMLElement tr = tbody.tr();
+			tr.td().span(Styles.EL_CLASS)
+					.text(names.getQualifiedClassName(c.getName()));
+			final String id = String.format("%016x", Long.valueOf(c.getId()));
+			tr.td().code().text(id);
+			tr.td(Styles.CTR2).text(Integer.toString(c.getProbeCount()));
+			tr.td(Styles.CTR2).text(Integer.toString(c.getBaselineCovered()));
+			tr.td(Styles.CTR2).text(Integer.toString(c.getCandidateCovered()));
+			tr.td(Styles.CTR2).text(Integer.toString(c.getNewlyCovered()));
+			tr.td(Styles.CTR2).text(Integer.toString(c.getNewlyUncovered()));
+		}
+	}
+
+	@Override
+	protected String getFileName() {
+		return "index.html";
+	}
+
+	public String getLinkStyle() {
+		return Styles.EL_REPORT;
+	}
+
+	public String getLinkLabel() {
+		return name;
+	}
+
+}
@@ -12,15 +12,20 @@
  *******************************************************************************/
 package org.jacoco.report.internal.html.page;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.jacoco.core.analysis.IPackageCoverage;
 import org.jacoco.core.analysis.ISourceFileCoverage;
 import org.jacoco.report.ISourceFileLocator;
 import org.jacoco.report.internal.ReportOutputFolder;
+import org.jacoco.report.internal.ReportTasks;
 import org.jacoco.report.internal.html.HTMLElement;
 import org.jacoco.report.internal.html.IHTMLReportContext;
 import org.jacoco.report.internal.html.ILinkable;
@@ -77,6 +82,10 @@ public class PackageSourcePage extends TablePage<IPackageCoverage> {
 	}
 
 	private final void renderSourceFilePages() throws IOException {
+		if (context.getExecutor() != null) {
+			renderSourceFilePagesInParallel();
+			return;
+		}
 		final String packagename = getNode().getName();
 		for (final ISourceFileCoverage s : getNode().getSourceFiles()) {
 			if (!s.containsCode()) {
@@ -98,6 +107,72 @@ public class PackageSourcePage extends TablePage<IPackageCoverage> {
 		}
 	}
 
+	/**
+	 * Source files are read and rendered to memory buffers in parallel. The
+	 * buffers are written to the output in source file order by the calling
+	 * thread, so the output does not depend on scheduling. For the same reason
+	 * the file names are reserved upfront, as pages of incremental outputs are
+	 * already looked up by the tasks.
+	 */
+	private void renderSourceFilePagesInParallel() throws IOException {
+		final List<SourceFileTask> tasks = new ArrayList<SourceFileTask>();
+		for (final ISourceFileCoverage s : getNode().getSourceFiles()) {
+			if (s.containsCode()) {
+				folder.reserveFile(SourceFilePage.getFileName(s));
+				tasks.add(new SourceFileTask(s));
+			}
+		}
+		ReportTasks.execute(context.getExecutor(), tasks);
+	}
+
+	private class SourceFileTask implements ReportTasks.OrderedTask {
+
+		private final ISourceFileCoverage source;
+
+		private SourceFilePage page;
+
+		private ByteArrayOutputStream buffer;
+
+		SourceFileTask(final ISourceFileCoverage source) {
+			this.source = source;
+		}
+
+		public void run() throws IOException {
+			final Reader reader = locator.getSourceFile(getNode().getName(),
+					source.getName());
+			if (reader != null) {
+				page = new SourceFilePage(source, reader, locator.getTabWidth(),
+						PackageSourcePage.this, folder, context);
+				if (folder.isIncremental()) {
+					final String key = page.getInputKey();
+					if (folder.keepFile(page.getFileName(), key)) {
+						return;
+					}
+				}
+				buffer = new ByteArrayOutputStream();
+				page.render(buffer);
+			}
+		}
+
+		public void commit() throws IOException {
+			if (page == null) {
+				addItem(new SourceFileItem(source));
+				return;
+			}
+			if (buffer != null) {
+				final OutputStream out = folder.createFile(page.getFileName());
+				try {
+					buffer.writeTo(out);
+				} finally {
+					out.close();
+				}
+				buffer = null;
+			}
+			sourceFilePages.put(source.getName(), page);
+			addItem(page);
+		}
+	}
+
 	@Override
 	protected String getOnload() {
 		return "initialSort(['breadcrumb', 'coveragetable'])";
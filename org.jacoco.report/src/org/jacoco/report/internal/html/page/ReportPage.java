@@ -13,8 +13,10 @@
 package org.jacoco.report.internal.html.page;
 
 import java.io.IOException;
+import java.io.OutputStream;
 
 import org.jacoco.core.JaCoCo;
+import org.jacoco.report.internal.ContentHash;
 import org.jacoco.report.internal.ReportOutputFolder;
 import org.jacoco.report.internal.html.HTMLElement;
 import org.jacoco.report.internal.html.IHTMLReportContext;
@@ -65,14 +67,80 @@ public abstract class ReportPage implements ILinkable {
 
 	/**
 	 * Renders this page's content and optionally additional pages. This method
-	 * must be called at most once.
+	 * must be called at most once. If the output folder supports incremental
+	 * updates and the {@link #getInputKey() input key} of this page did not
+	 * change, the page of the previous report is kept.
 	 *
 	 * @throws IOException
 	 *             if the page can't be written
 	 */
 	public void render() throws IOException {
-		final HTMLElement html = new HTMLElement(
-				folder.createFile(getFileName()), context.getOutputEncoding());
+		final String name = getFileName();
+		if (folder.isIncremental()) {
+			final String key = getInputKey();
+			if (key != null && folder.keepFile(name, key)) {
+				return;
+			}
+		}
+		render(folder.createFile(name));
+	}
+
+	/**
+	 * Calculates a key over all inputs this page is rendered from. Only called
+	 * for incremental outputs. Pages which can't calculate such a key return
+	 * <code>null</code> and are always rendered.
+	 *
+	 * @return key or <code>null</code>
+	 * @throws IOException
+	 *             if inputs of the page can't be read
+	 */
+	protected String getInputKey() throws IOException {
+		return null;
+	}
+
+	/**
+	 * Adds the inputs of the page skeleton, i.e. the report settings, the
+	 * breadcrumb and the title, to the given hash.
+	 *
+	 * @param hash
+	 *            hash to add the inputs to
+	 */
+	protected final void addSkeletonInputs(final ContentHash hash) {
+		hash.update(JaCoCo.VERSION);
+		hash.update(getClass().getName());
+		hash.update(context.getOutputEncoding());
+		hash.update(context.getLocale().toString());
+		hash.update(context.getFooterText());
+		hash.update(
+				context.getResources().getLink(folder, Resources.STYLESHEET));
+		hash.update(getOnload());
+		final ILinkable sessionsPage = context.getSessionsPage();
+		if (sessionsPage != null) {
+			addLinkInputs(hash, sessionsPage);
+		}
+		for (ReportPage page = this; page != null; page = page.parent) {
+			addLinkInputs(hash, page);
+		}
+	}
+
+	private void addLinkInputs(final ContentHash hash, final ILinkable link) {
+		hash.update(link.getLinkLabel());
+		hash.update(link.getLinkStyle());
+		hash.update(link.getLink(folder));
+	}
+
+	/**
+	 * Renders this page's content to the given stream instead of a new file in
+	 * the output folder. The stream is closed afterwards.
+	 *
+	 * @param output
+	 *            stream to write the page to
+	 * @throws IOException
+	 *             if the page can't be written
+	 */
+	protected final void render(final OutputStream output) throws IOException {
+		final HTMLElement html = new HTMLElement(output,
+				context.getOutputEncoding());
 		html.attr("lang", context.getLocale().getLanguage());
 		head(html.head());
 		body(html.body());
@@ -16,8 +16,12 @@ import static java.lang.String.format;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringReader;
 
+import org.jacoco.core.analysis.ICounter;
+import org.jacoco.core.analysis.ILine;
 import org.jacoco.core.analysis.ISourceNode;
+import org.jacoco.report.internal.ContentHash;
 import org.jacoco.report.internal.ReportOutputFolder;
 import org.jacoco.report.internal.html.HTMLElement;
 import org.jacoco.report.internal.html.IHTMLReportContext;
@@ -29,7 +33,7 @@ import org.jacoco.report.internal.html.resources.Resources;
  */
 public class SourceFilePage extends NodePage<ISourceNode> {
 
-	private final Reader sourceReader;
+	private Reader sourceReader;
 
 	private final int tabWidth;
 
@@ -65,6 +69,49 @@ public class SourceFilePage extends NodePage<ISourceNode> {
 		sourceReader.close();
 	}
 
+	/**
+	 * The key contains the source text, which is therefore read into memory for
+	 * incremental outputs.
+	 */
+	@Override
+	protected String getInputKey() throws IOException {
+		final String source = readSource();
+		sourceReader = new StringReader(source);
+		final ContentHash hash = new ContentHash();
+		addSkeletonInputs(hash);
+		hash.update(tabWidth);
+		hash.update(source);
+		final ISourceNode node = getNode();
+		final int first = node.getFirstLine();
+		final int last = node.getLastLine();
+		hash.update(first);
+		hash.update(last);
+		if (first != ISourceNode.UNKNOWN_LINE) {
+			for (int nr = first; nr <= last; nr++) {
+				final ILine line = node.getLine(nr);
+				final ICounter branches = line.getBranchCounter();
+				hash.update(line.getStatus());
+				hash.update(branches.getMissedCount());
+				hash.update(branches.getCoveredCount());
+			}
+		}
+		return hash.toHex();
+	}
+
+	private String readSource() throws IOException {
+		final StringBuilder source = new StringBuilder();
+		final char[] buffer = new char[0x1000];
+		int n;
+		try {
+			while ((n = sourceReader.read(buffer)) != -1) {
+				source.append(buffer, 0, n);
+			}
+		} finally {
+			sourceReader.close();
+		}
+		return source.toString();
+	}
+
 	@Override
 	protected void head(final HTMLElement head) throws IOException {
 		super.head(head);
@@ -82,7 +129,11 @@ public class SourceFilePage extends NodePage<ISourceNode> {
 
 	@Override
 	protected String getFileName() {
-		return getNode().getName() + ".html";
+		return getFileName(getNode());
+	}
+
+	static String getFileName(final ISourceNode sourceFileNode) {
+		return sourceFileNode.getName() + ".html";
 	}
 
 }
@@ -12,7 +12,6 @@
  *******************************************************************************/
 package org.jacoco.report.internal.html.page;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.Locale;
@@ -24,14 +23,40 @@ import org.jacoco.report.internal.html.HTMLElement;
 import org.jacoco.report.internal.html.resources.Styles;
 
 /**
- * Creates a highlighted output of a source file.
+ * Creates a highlighted output of a source file. The source content is read in
+ * chunks into a buffer and lines are written directly from this buffer without
+ * creating intermediate strings or element instances.
  */
 final class SourceHighlighter {
 
+	/** CSS classes of a line indexed by line status and branch status */
+	private static final String[][] STYLES = new String[4][4];
+
+	static {
+		final String[] lines = new String[4];
+		lines[ICounter.NOT_COVERED] = Styles.NOT_COVERED;
+		lines[ICounter.FULLY_COVERED] = Styles.FULLY_COVERED;
+		lines[ICounter.PARTLY_COVERED] = Styles.PARTLY_COVERED;
+		final String[] branches = new String[4];
+		branches[ICounter.NOT_COVERED] = Styles.BRANCH_NOT_COVERED;
+		branches[ICounter.FULLY_COVERED] = Styles.BRANCH_FULLY_COVERED;
+		branches[ICounter.PARTLY_COVERED] = Styles.BRANCH_PARTLY_COVERED;
+		for (int i = 0; i < 4; i++) {
+			if (lines[i] != null) {
+				for (int j = 0; j < 4; j++) {
+					STYLES[i][j] = Styles.combine(lines[i], branches[j]);
+				}
+			}
+		}
+	}
+
 	private final Locale locale;
 
 	private String lang;
 
+	/** buffer for source content, grows for lines exceeding its size */
+	private char[] buffer = new char[0x1000];
+
 	/**
 	 * Creates a new highlighter with default settings.
 	 *
@@ -70,63 +95,76 @@ final class SourceHighlighter {
 			final Reader contents) throws IOException {
 		final HTMLElement pre = parent
 				.pre(Styles.SOURCE + " lang-" + lang + " linenums");
-		final BufferedReader lineBuffer = new BufferedReader(contents);
-		String line;
 		int nr = 0;
-		while ((line = lineBuffer.readLine()) != null) {
+		int length = 0;
+		boolean skipLF = false;
+		int n;
+		while ((n = contents.read(buffer, length,
+				buffer.length - length)) != -1) {
+			int start = 0;
+			for (int i = length; i < length + n; i++) {
+				final char c = buffer[i];
+				if (skipLF) {
+					skipLF = false;
+					if (c == '\n') {
+						start = i + 1;
+						continue;
+					}
+				}
+				if (c == '\n' || c == '\r') {
+					nr++;
+					renderCodeLine(pre, start, i - start, source.getLine(nr),
+							nr);
+					skipLF = c == '\r';
+					start = i + 1;
+				}
+			}
+			// Keep the incomplete last line for the next chunk
+			length = length + n - start;
+			System.arraycopy(buffer, start, buffer, 0, length);
+			if (length == buffer.length) {
+				final char[] newBuffer = new char[buffer.length * 2];
+				System.arraycopy(buffer, 0, newBuffer, 0, length);
+				buffer = newBuffer;
+			}
+		}
+		if (length > 0) {
 			nr++;
-			renderCodeLine(pre, line, source.getLine(nr), nr);
+			renderCodeLine(pre, 0, length, source.getLine(nr), nr);
 		}
 	}
 
-	private void renderCodeLine(final HTMLElement pre, final String linesrc,
-			final ILine line, final int lineNr) throws IOException {
-		highlight(pre, line, lineNr).text(linesrc);
+	private void renderCodeLine(final HTMLElement pre, final int off,
+			final int len, final ILine line, final int lineNr)
+			throws IOException {
+		final ICounter branches = line.getBranchCounter();
+		final String style = STYLES[line.getStatus()][branches.getStatus()];
+		if (style == null) {
+			pre.text(buffer, off, len);
+		} else {
+			pre.span(style, "L" + Integer.toString(lineNr), getTitle(branches),
+					buffer, off, len);
+		}
 		pre.text("\n");
 	}
 
-	HTMLElement highlight(final HTMLElement pre, final ILine line,
-			final int lineNr) throws IOException {
-		final String style;
-		switch (line.getStatus()) {
-		case ICounter.NOT_COVERED:
-			style = Styles.NOT_COVERED;
-			break;
-		case ICounter.FULLY_COVERED:
-			style = Styles.FULLY_COVERED;
-			break;
-		case ICounter.PARTLY_COVERED:
-			style = Styles.PARTLY_COVERED;
-			break;
-		default:
-			return pre;
-		}
-
-		final String lineId = "L" + Integer.toString(lineNr);
-		final ICounter branches = line.getBranchCounter();
+	private String getTitle(final ICounter branches) {
 		switch (branches.getStatus()) {
 		case ICounter.NOT_COVERED:
-			return span(pre, lineId, style, Styles.BRANCH_NOT_COVERED,
-					"All %2$d branches missed.", branches);
+			return getTitle("All %2$d branches missed.", branches);
 		case ICounter.FULLY_COVERED:
-			return span(pre, lineId, style, Styles.BRANCH_FULLY_COVERED,
-					"All %2$d branches covered.", branches);
+			return getTitle("All %2$d branches covered.", branches);
 		case ICounter.PARTLY_COVERED:
-			return span(pre, lineId, style, Styles.BRANCH_PARTLY_COVERED,
-					"%1$d of %2$d branches missed.", branches);
+			return getTitle("%1$d of %2$d branches missed.", branches);
 		default:
-			return pre.span(style, lineId);
+			return null;
 		}
 	}
 
-	private HTMLElement span(final HTMLElement parent, final String id,
-			final String style1, final String style2, final String title,
-			final ICounter branches) throws IOException {
-		final HTMLElement span = parent.span(style1 + " " + style2, id);
+	private String getTitle(final String pattern, final ICounter branches) {
 		final Integer missed = Integer.valueOf(branches.getMissedCount());
 		final Integer total = Integer.valueOf(branches.getTotalCount());
-		span.attr("title", String.format(locale, title, missed, total));
-		return span;
+		return String.format(locale, pattern, missed, total);
 	}
 
 }
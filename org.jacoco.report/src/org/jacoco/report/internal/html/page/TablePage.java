@@ -16,7 +16,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.jacoco.core.analysis.ICounter;
 import org.jacoco.core.analysis.ICoverageNode;
+import org.jacoco.core.analysis.ICoverageNode.CounterEntity;
+import org.jacoco.report.internal.ContentHash;
 import org.jacoco.report.internal.ReportOutputFolder;
 import org.jacoco.report.internal.html.HTMLElement;
 import org.jacoco.report.internal.html.IHTMLReportContext;
@@ -62,6 +65,40 @@ public abstract class TablePage<NodeType extends ICoverageNode>
 		items.add(item);
 	}
 
+	@Override
+	public void render() throws IOException {
+		super.render();
+		// free memory, also if the page has been kept from a previous report:
+		items.clear();
+	}
+
+	/**
+	 * Adds the content of the coverage table, i.e. link and counters of all
+	 * items and the totals, to the given hash.
+	 *
+	 * @param hash
+	 *            hash to add the inputs to
+	 */
+	protected final void addTableInputs(final ContentHash hash) {
+		hash.update(items.size());
+		for (final ITableItem item : items) {
+			hash.update(item.getLinkLabel());
+			hash.update(item.getLinkStyle());
+			hash.update(item.getLink(folder));
+			addCounters(hash, item.getNode());
+		}
+		addCounters(hash, getNode());
+	}
+
+	private static void addCounters(final ContentHash hash,
+			final ICoverageNode node) {
+		for (final CounterEntity entity : CounterEntity.values()) {
+			final ICounter counter = node.getCounter(entity);
+			hash.update(counter.getMissedCount());
+			hash.update(counter.getCoveredCount());
+		}
+	}
+
 	@Override
 	protected void head(final HTMLElement head) throws IOException {
 		super.head(head);
@@ -73,8 +110,6 @@ public abstract class TablePage<NodeType extends ICoverageNode>
 	protected void content(final HTMLElement body) throws IOException {
 		context.getTable().render(body, items, getNode(),
 				context.getResources(), folder);
-		// free memory, otherwise we will keep the complete page tree:
-		items.clear();
 	}
 
 }
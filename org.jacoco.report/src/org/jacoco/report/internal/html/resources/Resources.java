@@ -37,6 +37,9 @@ public class Resources {
 	/** The name of the sort script */
 	public static final String SORT_SCRIPT = "sort.js";
 
+	/** The name of the viewer script for JSON reports */
+	public static final String VIEWER_SCRIPT = "viewer.js";
+
 	/** The name of the red part of the coverage bar */
 	public static final String REDBAR = "redbar.gif";
 
@@ -122,6 +125,17 @@ public class Resources {
 		copyResource(SORT_SCRIPT);
 	}
 
+	/**
+	 * Copies the additional resources required by the viewer of JSON reports
+	 * into the report.
+	 *
+	 * @throws IOException
+	 *             if the resources can't be written to the report
+	 */
+	public void copyViewerResources() throws IOException {
+		copyResource(VIEWER_SCRIPT);
+	}
+
 	private void copyResource(final String name) throws IOException {
 		final InputStream in = Resources.class.getResourceAsStream(name);
 		final OutputStream out = folder.createFile(name);
@@ -0,0 +1,614 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+
+/**
+ * Single page viewer for JSON reports. Coverage data is provided in chunks
+ * which are loaded with script elements on demand and passed to load().
+ * Pages are addressed by the location hash:
+ *
+ *   #<node>           group, bundle or package with the given tree path
+ *   #<node>:src       source files of a package
+ *   #<node>:c<i>      class with the given index in the package chunk
+ *   #<node>:f<i>[:L<n>] source file with the given index in the source chunk
+ *   #sessions         sessions and execution data
+ *
+ * where <node> is a list of child indexes separated by dots.
+ */
+var jacoco = (function () {
+
+  var CHUNK_FOLDER = 'data/';
+  var RESOURCES = 'jacoco-resources/';
+  var BAR_WIDTH = 120;
+
+  var chunks = {};
+  var callbacks = {};
+  var sorting = null;
+
+  /**
+   * Call-back for all data chunks.
+   */
+  function load(id, data) {
+    chunks[id] = data;
+    var pending = callbacks[id];
+    if (pending) {
+      delete callbacks[id];
+      for (var i = 0; i < pending.length; i++) {
+        pending[i](data);
+      }
+    }
+  }
+
+  /**
+   * Loads the chunk with the given id if required and passes it to the
+   * call-back.
+   */
+  function require(id, callback) {
+    if (chunks.hasOwnProperty(id)) {
+      callback(chunks[id]);
+      return;
+    }
+    if (callbacks[id]) {
+      callbacks[id].push(callback);
+      return;
+    }
+    callbacks[id] = [ callback ];
+    var script = document.createElement('script');
+    script.type = 'text/javascript';
+    script.src = CHUNK_FOLDER + id + '.js';
+    script.onerror = function () {
+      delete callbacks[id];
+      page([], 'Error', 'el_report', function (body) {
+        append(body, 'p', null, 'Coverage data ' + script.src + ' could not be loaded.');
+      });
+    };
+    document.getElementsByTagName('head')[0].appendChild(script);
+  }
+
+  // === DOM helpers ===
+
+  function append(parent, tag, className, text) {
+    var element = document.createElement(tag);
+    if (className) {
+      element.className = className;
+    }
+    if (text !== undefined && text !== null) {
+      element.appendChild(document.createTextNode(text));
+    }
+    parent.appendChild(element);
+    return element;
+  }
+
+  function link(parent, href, className, text) {
+    var a = append(parent, 'a', className, text);
+    a.href = href;
+    return a;
+  }
+
+  function text(parent, value) {
+    parent.appendChild(document.createTextNode(value));
+  }
+
+  function format(value) {
+    return value.toLocaleString(chunks.info.locale);
+  }
+
+  function formatPercentage(covered, total) {
+    var ratio = Math.floor(covered * 100 / total) / 100;
+    try {
+      return ratio.toLocaleString(chunks.info.locale, { style : 'percent' });
+    } catch (e) {
+      return Math.round(ratio * 100) + '%';
+    }
+  }
+
+  function formatDate(timestamp) {
+    return new Date(timestamp).toLocaleString(chunks.info.locale);
+  }
+
+  function elementStyle(type) {
+    return 'el_' + (type === 'SOURCEFILE' ? 'source' : type.toLowerCase());
+  }
+
+  // === Counters ===
+
+  function missed(node, entity) {
+    return node.c[2 * entity];
+  }
+
+  function covered(node, entity) {
+    return node.c[2 * entity + 1];
+  }
+
+  function total(node, entity) {
+    return missed(node, entity) + covered(node, entity);
+  }
+
+  function missedRatio(node, entity) {
+    var t = total(node, entity);
+    return t === 0 ? NaN : missed(node, entity) / t;
+  }
+
+  function compareNumbers(n1, n2) {
+    if (isNaN(n1)) {
+      return isNaN(n2) ? 0 : 1;
+    }
+    if (isNaN(n2)) {
+      return -1;
+    }
+    return n1 < n2 ? -1 : n1 > n2 ? 1 : 0;
+  }
+
+  /**
+   * Comparators with the same semantics as the columns of HTML reports.
+   */
+  var comparators = {
+    label : function (n1, n2) {
+      var l1 = n1.name.toLowerCase(), l2 = n2.name.toLowerCase();
+      return l1 < l2 ? -1 : l1 > l2 ? 1 : 0;
+    },
+    bar : function (n1, n2, e) {
+      return compareNumbers(missed(n2, e), missed(n1, e))
+          || compareNumbers(total(n2, e), total(n1, e));
+    },
+    ratio : function (n1, n2, e) {
+      return compareNumbers(missedRatio(n1, e), missedRatio(n2, e));
+    },
+    missed : function (n1, n2, e) {
+      return compareNumbers(missed(n2, e), missed(n1, e));
+    },
+    total : function (n1, n2, e) {
+      return compareNumbers(total(n2, e), total(n1, e));
+    }
+  };
+
+  // === Tables ===
+
+  function isVisible(column, items) {
+    if (column.type !== 'missed' && column.type !== 'total') {
+      return true;
+    }
+    for (var i = 0; i < items.length; i++) {
+      if (total(items[i], column.entity) > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  function defaultSorting(columns) {
+    for (var i = 0; i < columns.length; i++) {
+      if (columns[i].defaultSorting) {
+        return { column : i, up : false };
+      }
+    }
+    return { column : 0, up : false };
+  }
+
+  /**
+   * Renders a coverage table for the given items. Every item is a node with
+   * an optional href property.
+   */
+  function table(parent, items, totalNode) {
+    var columns = chunks.info.columns;
+    if (sorting === null) {
+      sorting = defaultSorting(columns);
+    }
+    var column = columns[sorting.column];
+    var compare = comparators[column.type];
+    var sorted = items.slice(0);
+    for (var i = 0; i < sorted.length; i++) {
+      sorted[i] = { node : sorted[i], idx : i };
+    }
+    sorted.sort(function (i1, i2) {
+      var result = compare(i1.node, i2.node, column.entity) || i1.idx - i2.idx;
+      return sorting.up ? -result : result;
+    });
+
+    var max = {};
+    for (var i = 0; i < items.length; i++) {
+      for (var e = 0; e < items[i].c.length / 2; e++) {
+        max[e] = Math.max(max[e] || 0, total(items[i], e));
+      }
+    }
+
+    var tableElement = append(parent, 'table', 'coverage');
+    tableElement.id = 'coveragetable';
+    var head = append(append(tableElement, 'thead'), 'tr');
+    var foot = append(append(tableElement, 'tfoot'), 'tr');
+    var body = append(tableElement, 'tbody');
+    var rows = [];
+    for (var i = 0; i < sorted.length; i++) {
+      rows.push(append(body, 'tr'));
+    }
+
+    for (var c = 0; c < columns.length; c++) {
+      var col = columns[c];
+      if (!isVisible(col, items)) {
+        continue;
+      }
+      var style = col.style ? col.style : '';
+      var headerStyle = 'sortable ' + style;
+      if (c === sorting.column) {
+        headerStyle = (sorting.up ? 'up ' : 'down ') + headerStyle;
+      }
+      var td = append(head, 'td', headerStyle, col.label);
+      td.onclick = sortHandler(c);
+      cell(append(foot, 'td', style), col, totalNode, null, true);
+      for (var r = 0; r < sorted.length; r++) {
+        cell(append(rows[r], 'td', style), col, sorted[r].node, max, false);
+      }
+    }
+  }
+
+  function sortHandler(column) {
+    return function () {
+      if (sorting.column === column) {
+        sorting.up = !sorting.up;
+      } else {
+        sorting = { column : column, up : false };
+      }
+      render();
+    };
+  }
+
+  function cell(td, column, node, max, footer) {
+    var e = column.entity;
+    switch (column.type) {
+    case 'label':
+      if (footer) {
+        text(td, 'Total');
+      } else if (node.href) {
+        link(td, node.href, elementStyle(node.type), node.name);
+      } else {
+        append(td, 'span', elementStyle(node.type), node.name);
+      }
+      break;
+    case 'bar':
+      if (footer) {
+        text(td, format(missed(node, e)) + ' of ' + format(total(node, e)));
+      } else if (max[e] > 0) {
+        bar(td, missed(node, e), max[e], 'redbar.gif');
+        bar(td, covered(node, e), max[e], 'greenbar.gif');
+      }
+      break;
+    case 'ratio':
+      text(td, total(node, e) === 0 ? 'n/a'
+          : formatPercentage(covered(node, e), total(node, e)));
+      break;
+    case 'missed':
+      text(td, format(missed(node, e)));
+      break;
+    case 'total':
+      text(td, format(total(node, e)));
+      break;
+    }
+  }
+
+  function bar(td, count, max, image) {
+    var width = Math.floor(count * BAR_WIDTH / max);
+    if (width > 0) {
+      var img = append(td, 'img');
+      img.src = RESOURCES + image;
+      img.width = width;
+      img.height = 10;
+      img.title = img.alt = format(count);
+    }
+  }
+
+  // === Pages ===
+
+  /**
+   * Renders a page with the given breadcrumb entries. Every entry has a name,
+   * a type and a href.
+   */
+  function page(parents, title, style, content) {
+    var body = document.body;
+    while (body.firstChild) {
+      body.removeChild(body.firstChild);
+    }
+    document.title = title;
+    var navigation = append(body, 'div', 'breadcrumb');
+    navigation.id = 'breadcrumb';
+    var info = append(navigation, 'span', 'info');
+    link(info, '#sessions', 'el_session', 'Sessions');
+    for (var i = 0; i < parents.length; i++) {
+      var p = parents[i];
+      link(navigation, p.href, p.style, p.name);
+      text(navigation, ' > ');
+    }
+    append(navigation, 'span', style, title);
+    append(body, 'h1', null, title);
+    content(body, info);
+    var footer = append(body, 'div', 'footer');
+    var version = append(footer, 'span', 'right');
+    text(version, 'Created with ');
+    link(version, chunks.info.homeUrl, null, 'JaCoCo');
+    text(version, ' ' + chunks.info.version);
+    text(footer, chunks.info.footer);
+  }
+
+  /**
+   * Resolves the given path of child indexes to the list of tree nodes.
+   */
+  function resolve(path) {
+    var nodes = [ chunks.tree ];
+    if (path.length > 0) {
+      var indexes = path.split('.');
+      for (var i = 0; i < indexes.length; i++) {
+        var children = nodes[nodes.length - 1].children;
+        var child = children && children[parseInt(indexes[i], 10)];
+        if (!child) {
+          return null;
+        }
+        nodes.push(child);
+      }
+    }
+    return nodes;
+  }
+
+  /**
+   * Creates the breadcrumb entries for the first nodes of the given list.
+   */
+  function breadcrumb(nodes, path, count) {
+    var indexes = path.length > 0 ? path.split('.') : [];
+    var parents = [];
+    for (var i = 0; i < count; i++) {
+      parents.push({
+        name : nodes[i].name,
+        style : i === 0 ? 'el_report' : elementStyle(nodes[i].type),
+        href : '#' + indexes.slice(0, i).join('.')
+      });
+    }
+    return parents;
+  }
+
+  function nodePage(nodes, path) {
+    var node = nodes[nodes.length - 1];
+    var items = [];
+    for (var i = 0; i < node.children.length; i++) {
+      var child = node.children[i];
+      child.href = '#' + (path.length > 0 ? path + '.' : '') + i;
+      items.push(child);
+    }
+    page(breadcrumb(nodes, path, nodes.length - 1), node.name,
+        nodes.length === 1 ? 'el_report' : elementStyle(node.type),
+        function (body) {
+          if (items.length === 0) {
+            append(body, 'p', null, 'No class files specified.');
+          } else {
+            table(body, items, node);
+          }
+        });
+  }
+
+  function packagePage(nodes, path, view) {
+    var node = nodes[nodes.length - 1];
+    require(node.chunk, function (data) {
+      var parents = breadcrumb(nodes, path, nodes.length - 1);
+      if (view === 'src') {
+        var sources = [];
+        for (var i = 0; i < data.sources.length; i++) {
+          var s = data.sources[i];
+          s.href = s.source === -1 ? null : '#' + path + ':f' + s.source;
+          sources.push(s);
+        }
+        page(parents, node.name, 'el_package', function (body, info) {
+          link(info, '#' + path, 'el_class', 'Classes');
+          table(body, sources, node);
+        });
+      } else if (view && view.charAt(0) === 'c') {
+        classPage(parents, node, path, data, data.classes[parseInt(view.slice(1), 10)]);
+      } else if (view && view.charAt(0) === 'f') {
+        sourcePage(parents, node, path, data, parseInt(view.slice(1), 10));
+      } else {
+        var classes = [];
+        for (var i = 0; i < data.classes.length; i++) {
+          var c = data.classes[i];
+          c.href = '#' + path + ':c' + i;
+          classes.push(c);
+        }
+        page(parents, node.name, 'el_package', function (body, info) {
+          if (data.sources.length > 0) {
+            link(info, '#' + path + ':src', 'el_source', 'Source Files');
+          }
+          table(body, classes, node);
+        });
+      }
+    });
+  }
+
+  function classPage(parents, packageNode, path, data, node) {
+    if (!node) {
+      notFound();
+      return;
+    }
+    parents.push({ name : packageNode.name, style : 'el_package', href : '#' + path });
+    var items = [];
+    for (var i = 0; i < node.children.length; i++) {
+      var m = node.children[i];
+      m.href = node.source === -1 || m.line === -1 ? null
+          : '#' + path + ':f' + node.source + ':L' + m.line;
+      items.push(m);
+    }
+    page(parents, node.name, 'el_class', function (body, info) {
+      if (node.source !== -1) {
+        link(info, '#' + path + ':f' + node.source, 'el_source', node.sourceFile);
+      }
+      if (node.noMatch) {
+        append(body, 'p', null, 'A different version of class was executed at runtime.');
+      }
+      if (total(node, 2) === 0) {
+        append(body, 'p', null, 'Class files must be compiled with debug information to show line coverage.');
+      }
+      if (node.sourceFile === null) {
+        append(body, 'p', null, 'Class files must be compiled with debug information to link with source files.');
+      } else if (node.source === -1) {
+        append(body, 'p', null, 'Source file "' + node.sourceFile
+            + '" was not found during generation of report.');
+      }
+      table(body, items, node);
+    });
+  }
+
+  function sourcePage(parents, packageNode, path, data, index) {
+    require(data.sourceChunk, function (sources) {
+      var file = sources.files[index];
+      if (!file) {
+        notFound();
+        return;
+      }
+      parents.push({ name : packageNode.name, style : 'el_package', href : '#' + path + ':src' });
+      page(parents, file.name, 'el_source', function (body, info) {
+        link(info, '#' + path, 'el_class', 'Classes');
+        source(body, file, sources.tabWidth);
+      });
+      var line = /:L(\d+)$/.exec(window.location.hash);
+      if (line) {
+        var target = document.getElementById('L' + line[1]);
+        if (target) {
+          target.scrollIntoView();
+        }
+      }
+    });
+  }
+
+  function source(body, file, tabWidth) {
+    var dot = file.name.lastIndexOf('.');
+    var lang = dot === -1 ? 'java' : file.name.slice(dot + 1);
+    var pre = append(body, 'pre', 'source lang-' + lang + ' linenums');
+    pre.style.tabSize = tabWidth;
+    pre.style.MozTabSize = tabWidth;
+    var coverage = {};
+    for (var i = 0; i < file.coverage.length; i += 4) {
+      coverage[file.coverage[i]] = file.coverage.slice(i + 1, i + 4);
+    }
+    for (var nr = 1; nr <= file.lines.length; nr++) {
+      var line = coverage[nr];
+      var parent = pre;
+      if (line) {
+        var style = [ null, 'nc', 'fc', 'pc' ][line[0]];
+        var branchMissed = line[1], branchTotal = line[1] + line[2];
+        if (branchTotal > 0) {
+          if (branchMissed === branchTotal) {
+            style += ' bnc';
+          } else if (branchMissed === 0) {
+            style += ' bfc';
+          } else {
+            style += ' bpc';
+          }
+        }
+        parent = append(pre, 'span', style);
+        parent.id = 'L' + nr;
+        if (branchTotal > 0) {
+          parent.title = branchMissed === branchTotal
+              ? 'All ' + branchTotal + ' branches missed.'
+              : branchMissed === 0 ? 'All ' + branchTotal + ' branches covered.'
+              : branchMissed + ' of ' + branchTotal + ' branches missed.';
+        }
+      }
+      text(parent, file.lines[nr - 1]);
+      text(pre, '\n');
+    }
+    if (window.prettyPrint) {
+      window.prettyPrint();
+    }
+  }
+
+  function sessionsPage() {
+    page([], 'Sessions', 'el_session', function (body) {
+      var sessions = chunks.info.sessions;
+      if (sessions.length === 0) {
+        append(body, 'p', null, 'No session information available.');
+      } else {
+        append(body, 'p', null, 'This coverage report is based on execution data from the following sessions:');
+        var t = append(body, 'table', 'coverage');
+        var tr = append(append(t, 'thead'), 'tr');
+        append(tr, 'td', null, 'Session');
+        append(tr, 'td', null, 'Start Time');
+        append(tr, 'td', null, 'Dump Time');
+        var tbody = append(t, 'tbody');
+        for (var i = 0; i < sessions.length; i++) {
+          tr = append(tbody, 'tr');
+          append(append(tr, 'td'), 'span', 'el_session', sessions[i].id);
+          append(tr, 'td', null, formatDate(sessions[i].start));
+          append(tr, 'td', null, formatDate(sessions[i].dump));
+        }
+      }
+      var placeholder = append(body, 'div');
+      require('execdata', function (executionData) {
+        if (executionData.length === 0) {
+          append(placeholder, 'p', null, 'No execution data available.');
+          return;
+        }
+        append(placeholder, 'p', null, 'Execution data for the following classes is considered in this report:');
+        var t = append(placeholder, 'table', 'coverage');
+        var tr = append(append(t, 'thead'), 'tr');
+        append(tr, 'td', null, 'Class');
+        append(tr, 'td', null, 'Id');
+        var tbody = append(t, 'tbody');
+        for (var i = 0; i < executionData.length; i++) {
+          tr = append(tbody, 'tr');
+          append(append(tr, 'td'), 'span', 'el_class', executionData[i].name);
+          append(append(tr, 'td'), 'code', null, executionData[i].id);
+        }
+      });
+    });
+  }
+
+  function notFound() {
+    page([], 'Not Found', 'el_report', function (body) {
+      append(body, 'p', null, 'The requested element does not exist in this report.');
+    });
+  }
+
+  /**
+   * Renders the page addressed by the current location hash.
+   */
+  function render() {
+    if (!chunks.info || !chunks.hasOwnProperty('tree')) {
+      return;
+    }
+    var hash = window.location.hash.replace(/^#/, '');
+    if (hash === 'sessions') {
+      sessionsPage();
+      return;
+    }
+    var parts = hash.split(':');
+    var path = parts[0];
+    var nodes = chunks.tree === null ? null : resolve(path);
+    if (nodes === null) {
+      notFound();
+      return;
+    }
+    var node = nodes[nodes.length - 1];
+    if (node.chunk) {
+      packagePage(nodes, path, parts[1]);
+    } else {
+      nodePage(nodes, path);
+    }
+  }
+
+  /**
+   * Renders the initial page and follows changes of the location hash.
+   */
+  function show() {
+    window.onhashchange = render;
+    render();
+  }
+
+  return {
+    load : load,
+    show : show
+  };
+
+})();
@@ -12,42 +12,36 @@
  *******************************************************************************/
 package org.jacoco.report.internal.html.table;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 
 /**
  * An index on a list of items sorted with a given {@link Comparator}. The index
- * does not change the list itself.
+ * does not change the list itself. The sort order is kept as a permutation of
+ * item indices in primitive arrays which are reused for subsequent lists, so no
+ * objects are created per item. Sorting is stable, items which compare equal
+ * keep their order from the list.
  *
  * @param <T>
  *            type of the items
  */
 final class SortIndex<T> {
 
-	private final Comparator<? super T> comparator;
-
-	private class Entry implements Comparable<Entry> {
-
-		final int idx;
+	/** ranges up to this size are sorted by insertion */
+	private static final int INSERTION_THRESHOLD = 8;
 
-		final T item;
-
-		Entry(final int idx, final T item) {
-			this.idx = idx;
-			this.item = item;
-		}
+	private final Comparator<? super T> comparator;
 
-		public int compareTo(final Entry o) {
-			return comparator.compare(item, o.item);
-		}
+	private Object[] items = new Object[0];
 
-	}
+	/** item indices in sorted order */
+	private int[] order = new int[0];
 
-	private final List<Entry> list = new ArrayList<Entry>();
+	/** sorted position for every item index */
+	private int[] positions = new int[0];
 
-	private int[] positions;
+	private int[] buffer = new int[0];
 
 	/**
 	 * Creates a new index based in the given comparator.
@@ -66,22 +60,65 @@ final class SortIndex<T> {
 	 *            list of items
 	 */
 	public void init(final List<? extends T> items) {
-		this.list.clear();
+		final int size = items.size();
+		if (order.length < size) {
+			this.items = new Object[size];
+			order = new int[size];
+			positions = new int[size];
+			buffer = new int[size];
+		}
 		int idx = 0;
 		for (final T i : items) {
-			final Entry entry = new Entry(idx++, i);
-			this.list.add(entry);
+			this.items[idx] = i;
+			order[idx] = idx;
+			idx++;
+		}
+		sort(0, size);
+		for (int pos = 0; pos < size; pos++) {
+			positions[order[pos]] = pos;
 		}
-		Collections.sort(list);
-		if (positions == null || positions.length < items.size()) {
-			positions = new int[items.size()];
+		// Do not keep references to the items beyond this call
+		Arrays.fill(this.items, 0, size, null);
+	}
+
+	private void sort(final int from, final int to) {
+		if (to - from <= INSERTION_THRESHOLD) {
+			for (int i = from + 1; i < to; i++) {
+				final int idx = order[i];
+				int j = i;
+				while (j > from && compare(order[j - 1], idx) > 0) {
+					order[j] = order[j - 1];
+					j--;
+				}
+				order[j] = idx;
+			}
+			return;
+		}
+		final int mid = (from + to) >>> 1;
+		sort(from, mid);
+		sort(mid, to);
+		if (compare(order[mid - 1], order[mid]) <= 0) {
+			// Both halves are already in sequence
+			return;
 		}
-		int pos = 0;
-		for (final Entry e : this.list) {
-			positions[e.idx] = pos++;
+		System.arraycopy(order, from, buffer, from, to - from);
+		int left = from;
+		int right = mid;
+		for (int pos = from; pos < to; pos++) {
+			if (right >= to || left < mid
+					&& compare(buffer[left], buffer[right]) <= 0) {
+				order[pos] = buffer[left++];
+			} else {
+				order[pos] = buffer[right++];
+			}
 		}
 	}
 
+	@SuppressWarnings("unchecked")
+	private int compare(final int idx1, final int idx2) {
+		return comparator.compare((T) items[idx1], (T) items[idx2]);
+	}
+
 	/**
 	 * Returns the sorted position of the element with the given index in the
 	 * items list provided to the init() method.
@@ -94,4 +131,16 @@ final class SortIndex<T> {
 		return positions[idx];
 	}
 
+	/**
+	 * Returns the index of the element in the items list provided to the init()
+	 * method which is at the given position in the sorted list.
+	 *
+	 * @param pos
+	 *            position in the sorted list
+	 * @return index of the element in the list
+	 */
+	public int getIndex(final int pos) {
+		return order[pos];
+	}
+
 }
@@ -14,8 +14,6 @@ package org.jacoco.report.internal.html.table;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 
 import org.jacoco.core.analysis.ICoverageNode;
@@ -31,7 +29,7 @@ public class Table {
 
 	private final List<Column> columns;
 
-	private Comparator<ITableItem> defaultComparator;
+	private SortIndex<ITableItem> defaultIndex;
 
 	/**
 	 * Create a new table without any columns yet.
@@ -57,15 +55,16 @@ public class Table {
 	 */
 	public void add(final String header, final String style,
 			final IColumnRenderer renderer, final boolean defaultSorting) {
-		columns.add(new Column(columns.size(), header, style, renderer,
-				defaultSorting));
 		if (defaultSorting) {
-			if (defaultComparator != null) {
+			if (defaultIndex != null) {
 				throw new IllegalStateException(
 						"Default sorting only allowed for one column.");
 			}
-			this.defaultComparator = renderer.getComparator();
+			this.defaultIndex = new SortIndex<ITableItem>(
+					renderer.getComparator());
 		}
+		columns.add(new Column(columns.size(), header, style, renderer,
+				defaultSorting));
 	}
 
 	/**
@@ -131,9 +130,13 @@ public class Table {
 
 	private List<? extends ITableItem> sort(
 			final List<? extends ITableItem> items) {
-		if (defaultComparator != null) {
-			final List<ITableItem> result = new ArrayList<ITableItem>(items);
-			Collections.sort(result, defaultComparator);
+		if (defaultIndex != null) {
+			defaultIndex.init(items);
+			final int size = items.size();
+			final List<ITableItem> result = new ArrayList<ITableItem>(size);
+			for (int pos = 0; pos < size; pos++) {
+				result.add(items.get(defaultIndex.getIndex(pos)));
+			}
 			return result;
 		}
 		return items;
@@ -154,7 +157,9 @@ public class Table {
 			this.idprefix = (char) ('a' + idx);
 			this.header = header;
 			this.renderer = renderer;
-			index = new SortIndex<ITableItem>(renderer.getComparator());
+			// Items are already in the default order, no index required
+			index = defaultSorting ? null
+					: new SortIndex<ITableItem>(renderer.getComparator());
 			this.style = style;
 			this.headerStyle = Styles.combine(
 					defaultSorting ? Styles.DOWN : null, Styles.SORTABLE,
@@ -165,7 +170,9 @@ public class Table {
 				final ICoverageNode total) throws IOException {
 			visible = renderer.init(items, total);
 			if (visible) {
-				index.init(items);
+				if (index != null) {
+					index.init(items);
+				}
 				final HTMLElement td = tr.td(headerStyle);
 				td.attr("id", String.valueOf(idprefix));
 				td.attr("onclick", "toggleSort(this)");
@@ -186,8 +193,8 @@ public class Table {
 				throws IOException {
 			if (visible) {
 				final HTMLElement td = tr.td(style);
-				td.attr("id",
-						idprefix + String.valueOf(index.getPosition(idx)));
+				final int pos = index == null ? idx : index.getPosition(idx);
+				td.attr("id", idprefix + String.valueOf(pos));
 				renderer.item(td, item, resources, base);
 			}
 		}
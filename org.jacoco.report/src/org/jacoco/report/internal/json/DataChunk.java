@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.internal.json;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * A JSON document which is wrapped into a JavaScript call-back. Unlike plain
+ * JSON files such chunks can be loaded with <code>script</code> elements, which
+ * also works for reports opened from the local file system.
+ */
+public class DataChunk extends JSONWriter {
+
+	/** Name of the JavaScript function receiving the chunks */
+	public static final String CALLBACK = "jacoco.load";
+
+	/** File extension of chunk files */
+	public static final String EXTENSION = ".js";
+
+	private final Writer writer;
+
+	/**
+	 * Creates a new chunk with the given id writing to the given stream.
+	 *
+	 * @param id
+	 *            identifier of the chunk
+	 * @param output
+	 *            stream which will be closed with this chunk
+	 * @throws IOException
+	 *             in case of problems with the underlying output
+	 */
+	public DataChunk(final String id, final OutputStream output)
+			throws IOException {
+		this(id, new BufferedWriter(new OutputStreamWriter(output, "UTF-8")));
+	}
+
+	/**
+	 * Creates a new chunk with the given id writing to the given writer.
+	 *
+	 * @param id
+	 *            identifier of the chunk
+	 * @param writer
+	 *            writer which will be closed with this chunk
+	 * @throws IOException
+	 *             in case of problems with the underlying writer
+	 */
+	public DataChunk(final String id, final Writer writer) throws IOException {
+		super(writer);
+		this.writer = writer;
+		writer.write(CALLBACK);
+		writer.write('(');
+		value(id);
+		writer.write(',');
+		reset();
+	}
+
+	/**
+	 * Terminates the call-back and closes the underlying writer. The chunk must
+	 * contain exactly one JSON value at this point.
+	 *
+	 * @throws IOException
+	 *             in case of problems with the underlying writer
+	 */
+	public void close() throws IOException {
+		writer.write(");\n");
+		writer.close();
+	}
+
+}
@@ -0,0 +1,371 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.internal.json;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.analysis.ICounter;
+import org.jacoco.core.analysis.ICoverageNode;
+import org.jacoco.core.analysis.ICoverageNode.CounterEntity;
+import org.jacoco.core.analysis.ILine;
+import org.jacoco.core.analysis.IMethodCoverage;
+import org.jacoco.core.analysis.IPackageCoverage;
+import org.jacoco.core.analysis.ISourceFileCoverage;
+import org.jacoco.core.analysis.ISourceNode;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.report.ILanguageNames;
+import org.jacoco.report.ISourceFileLocator;
+import org.jacoco.report.internal.ReportOutputFolder;
+
+/**
+ * Writes the coverage data of bundles into data chunks. The tree of groups,
+ * bundles and packages is emitted to a given writer while the classes and the
+ * source files of every package are written to separate chunks which are loaded
+ * by the viewer on demand. Hence the number of files created only depends on
+ * the number of packages.
+ */
+public class JSONCoverageWriter {
+
+	/** Name of the folder containing all data chunks */
+	public static final String FOLDER = "data";
+
+	/** Chunk id of the tree of groups, bundles and packages */
+	public static final String TREE_CHUNK = "tree";
+
+	/** Chunk id of the execution data list */
+	public static final String EXECUTIONDATA_CHUNK = "execdata";
+
+	private final ReportOutputFolder folder;
+
+	private final ILanguageNames names;
+
+	private final ByteArrayOutputStream treeBuffer = new ByteArrayOutputStream();
+
+	private DataChunk tree;
+
+	private int nextPackage;
+
+	/**
+	 * Creates a new writer creating chunks in the report with the given root.
+	 *
+	 * @param root
+	 *            root folder of the report
+	 * @param names
+	 *            language names for display labels
+	 */
+	public JSONCoverageWriter(final ReportOutputFolder root,
+			final ILanguageNames names) {
+		this.folder = root.subFolder(FOLDER);
+		this.names = names;
+	}
+
+	/**
+	 * Creates a new chunk with the given id.
+	 *
+	 * @param id
+	 *            chunk identifier
+	 * @return chunk which has to be closed by the caller
+	 * @throws IOException
+	 *             if the chunk can't be created
+	 */
+	public DataChunk createChunk(final String id) throws IOException {
+		return new DataChunk(id, folder.createFile(id + DataChunk.EXTENSION));
+	}
+
+	/**
+	 * Returns a relative link to the chunk with the given id.
+	 *
+	 * @param base
+	 *            base folder from where the link should be created
+	 * @param id
+	 *            chunk identifier
+	 * @return relative link
+	 */
+	public String getLink(final ReportOutputFolder base, final String id) {
+		return folder.getLink(base, id + DataChunk.EXTENSION);
+	}
+
+	/**
+	 * Returns the writer for the tree of groups, bundles and packages. The tree
+	 * is kept in memory until {@link #writeTree()} is called, so chunks of
+	 * packages can be created in the meantime.
+	 *
+	 * @return writer for the tree chunk
+	 * @throws IOException
+	 *             in case of problems with the writer
+	 */
+	public JSONWriter getTree() throws IOException {
+		if (tree == null) {
+			tree = new DataChunk(TREE_CHUNK, treeBuffer);
+		}
+		return tree;
+	}
+
+	/**
+	 * Writes the tree chunk to the report. The tree must contain at most one
+	 * root node at this point.
+	 *
+	 * @throws IOException
+	 *             in case of problems with the report output
+	 */
+	public void writeTree() throws IOException {
+		if (tree == null) {
+			getTree().value((String) null);
+		}
+		tree.close();
+		final OutputStream out = folder
+				.createFile(TREE_CHUNK + DataChunk.EXTENSION);
+		treeBuffer.writeTo(out);
+		out.close();
+	}
+
+	/**
+	 * Writes the counters of the given node as an array with missed and covered
+	 * items for every {@link CounterEntity} in declaration order.
+	 *
+	 * @param node
+	 *            node to write counters for
+	 * @param writer
+	 *            writer to emit the counters to
+	 * @throws IOException
+	 *             in case of problems with the writer
+	 */
+	public static void writeCounters(final ICoverageNode node,
+			final JSONWriter writer) throws IOException {
+		writer.name("c").beginArray();
+		for (final CounterEntity entity : CounterEntity.values()) {
+			final ICounter counter = node.getCounter(entity);
+			writer.value(counter.getMissedCount());
+			writer.value(counter.getCoveredCount());
+		}
+		writer.endArray();
+	}
+
+	private static void writeNode(final String name, final ICoverageNode node,
+			final JSONWriter writer) throws IOException {
+		writer.name("name").value(name);
+		writer.name("type").value(node.getElementType().name());
+		writeCounters(node, writer);
+	}
+
+	/**
+	 * Writes the given bundle as a node of the tree. The packages of the bundle
+	 * are written to separate chunks.
+	 *
+	 * @param bundle
+	 *            bundle to write
+	 * @param locator
+	 *            source file locator
+	 * @param tree
+	 *            writer for the node
+	 * @throws IOException
+	 *             in case of problems with the report output
+	 */
+	public void writeBundle(final IBundleCoverage bundle,
+			final ISourceFileLocator locator, final JSONWriter tree)
+			throws IOException {
+		tree.beginObject();
+		writeNode(bundle.getName(), bundle, tree);
+		tree.name("children").beginArray();
+		for (final IPackageCoverage p : bundle.getPackages()) {
+			if (!p.containsCode()) {
+				continue;
+			}
+			final String id = "p" + nextPackage++;
+			tree.beginObject();
+			writeNode(names.getPackageName(p.getName()), p, tree);
+			tree.name("chunk").value(id);
+			tree.endObject();
+			writePackage(id, p, locator);
+		}
+		tree.endArray();
+		tree.endObject();
+	}
+
+	private void writePackage(final String id, final IPackageCoverage p,
+			final ISourceFileLocator locator) throws IOException {
+		final Map<String, Integer> sources = writeSources(id + "s", p, locator);
+
+		final DataChunk chunk = createChunk(id);
+		chunk.beginObject();
+		chunk.name("sourceChunk").value(sources.isEmpty() ? null : id + "s");
+		chunk.name("classes").beginArray();
+		for (final IClassCoverage c : p.getClasses()) {
+			if (!c.containsCode()) {
+				continue;
+			}
+			chunk.beginObject();
+			writeNode(names.getClassName(c.getName(), c.getSignature(),
+					c.getSuperName(), c.getInterfaceNames()), c, chunk);
+			chunk.name("noMatch").value(c.isNoMatch());
+			chunk.name("sourceFile").value(c.getSourceFileName());
+			chunk.name("source")
+					.value(sourceIndex(sources, c.getSourceFileName()));
+			chunk.name("children").beginArray();
+			for (final IMethodCoverage m : c.getMethods()) {
+				chunk.beginObject();
+				writeNode(names.getMethodName(c.getName(), m.getName(),
+						m.getDesc(), m.getSignature()), m, chunk);
+				chunk.name("line").value(m.getFirstLine());
+				chunk.endObject();
+			}
+			chunk.endArray();
+			chunk.endObject();
+		}
+		chunk.endArray();
+		chunk.name("sources").beginArray();
+		for (final ISourceFileCoverage s : p.getSourceFiles()) {
+			if (!s.containsCode()) {
+				continue;
+			}
+			chunk.beginObject();
+			writeNode(s.getName(), s, chunk);
+			chunk.name("source").value(sourceIndex(sources, s.getName()));
+			chunk.endObject();
+		}
+		chunk.endArray();
+		chunk.endObject();
+		chunk.close();
+	}
+
+	private static int sourceIndex(final Map<String, Integer> sources,
+			final String name) {
+		final Integer idx = sources.get(name);
+		return idx == null ? -1 : idx.intValue();
+	}
+
+	/**
+	 * Writes the contents and line coverage of all source files of a package
+	 * which can be located into a single chunk. Line coverage is written as a
+	 * flat array with the line number, the status and the missed and covered
+	 * branches for every line containing code.
+	 */
+	private Map<String, Integer> writeSources(final String id,
+			final IPackageCoverage p, final ISourceFileLocator locator)
+			throws IOException {
+		final Map<String, Integer> indexes = new HashMap<String, Integer>();
+		DataChunk chunk = null;
+		for (final ISourceFileCoverage s : p.getSourceFiles()) {
+			if (!s.containsCode()) {
+				continue;
+			}
+			final Reader reader = locator.getSourceFile(p.getName(),
+					s.getName());
+			if (reader == null) {
+				continue;
+			}
+			try {
+				if (chunk == null) {
+					chunk = createChunk(id);
+					chunk.beginObject();
+					chunk.name("tabWidth").value(locator.getTabWidth());
+					chunk.name("files").beginArray();
+				}
+				chunk.beginObject();
+				chunk.name("name").value(s.getName());
+				chunk.name("lines").beginArray();
+				for (final String line : readLines(reader)) {
+					chunk.value(line);
+				}
+				chunk.endArray();
+				writeLines(s, chunk);
+				chunk.endObject();
+			} finally {
+				reader.close();
+			}
+			indexes.put(s.getName(), Integer.valueOf(indexes.size()));
+		}
+		if (chunk != null) {
+			chunk.endArray();
+			chunk.endObject();
+			chunk.close();
+		}
+		return indexes;
+	}
+
+	private static List<String> readLines(final Reader reader)
+			throws IOException {
+		final List<String> lines = new ArrayList<String>();
+		final BufferedReader buffer = new BufferedReader(reader);
+		String line;
+		while ((line = buffer.readLine()) != null) {
+			lines.add(line);
+		}
+		return lines;
+	}
+
+	private static void writeLines(final ISourceNode source,
+			final JSONWriter writer) throws IOException {
+		writer.name("coverage").beginArray();
+		final int last = source.getLastLine();
+		for (int nr = source.getFirstLine(); nr != ISourceNode.UNKNOWN_LINE
+				&& nr <= last; nr++) {
+			final ILine line = source.getLine(nr);
+			final int status = line.getStatus();
+			if (status != ICounter.EMPTY) {
+				final ICounter branches = line.getBranchCounter();
+				writer.value(nr);
+				writer.value(status);
+				writer.value(branches.getMissedCount());
+				writer.value(branches.getCoveredCount());
+			}
+		}
+		writer.endArray();
+	}
+
+	/**
+	 * Writes the list of classes for which execution data has been collected
+	 * into a separate chunk. The list is sorted by qualified class names.
+	 *
+	 * @param executionData
+	 *            execution data objects
+	 * @throws IOException
+	 *             in case of problems with the report output
+	 */
+	public void writeExecutionData(
+			final Collection<ExecutionData> executionData) throws IOException {
+		final List<ExecutionData> sorted = new ArrayList<ExecutionData>(
+				executionData);
+		Collections.sort(sorted, new Comparator<ExecutionData>() {
+			public int compare(final ExecutionData e1, final ExecutionData e2) {
+				return names.getQualifiedClassName(e1.getName())
+						.compareTo(names.getQualifiedClassName(e2.getName()));
+			}
+		});
+		final DataChunk chunk = createChunk(EXECUTIONDATA_CHUNK);
+		chunk.beginArray();
+		for (final ExecutionData e : sorted) {
+			chunk.beginObject();
+			chunk.name("name").value(names.getQualifiedClassName(e.getName()));
+			chunk.name("id")
+					.value(String.format("%016x", Long.valueOf(e.getId())));
+			chunk.endObject();
+		}
+		chunk.endArray();
+		chunk.close();
+	}
+
+}
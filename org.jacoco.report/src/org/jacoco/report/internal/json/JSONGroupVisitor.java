@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.internal.json;
+
+import java.io.IOException;
+
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.report.ISourceFileLocator;
+import org.jacoco.report.internal.AbstractGroupVisitor;
+
+/**
+ * A {@link org.jacoco.report.IReportGroupVisitor} that writes the report
+ * structure as nodes of a JSON tree.
+ */
+public class JSONGroupVisitor extends AbstractGroupVisitor {
+
+	private final JSONWriter tree;
+
+	private final JSONCoverageWriter coverage;
+
+	/**
+	 * New handler for a group with the given name.
+	 *
+	 * @param tree
+	 *            writer for the tree nodes
+	 * @param coverage
+	 *            writer for the bundles of this group
+	 * @param name
+	 *            name of the group
+	 * @throws IOException
+	 *             in case of problems with the underlying writer
+	 */
+	public JSONGroupVisitor(final JSONWriter tree,
+			final JSONCoverageWriter coverage, final String name)
+			throws IOException {
+		super(name);
+		this.tree = tree;
+		this.coverage = coverage;
+		tree.beginObject();
+		tree.name("name").value(name);
+		tree.name("type").value(total.getElementType().name());
+		tree.name("children").beginArray();
+	}
+
+	@Override
+	protected void handleBundle(final IBundleCoverage bundle,
+			final ISourceFileLocator locator) throws IOException {
+		coverage.writeBundle(bundle, locator, tree);
+	}
+
+	@Override
+	protected AbstractGroupVisitor handleGroup(final String name)
+			throws IOException {
+		return new JSONGroupVisitor(tree, coverage, name);
+	}
+
+	@Override
+	protected void handleEnd() throws IOException {
+		tree.endArray();
+		JSONCoverageWriter.writeCounters(total, tree);
+		tree.endObject();
+	}
+
+}
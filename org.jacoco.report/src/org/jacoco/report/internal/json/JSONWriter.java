@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.internal.json;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Simple API to create JSON streams with minimal memory overhead. Values are
+ * directly written to the underlying writer, the caller is responsible for a
+ * correct nesting of objects and arrays.
+ */
+public class JSONWriter {
+
+	private final Writer writer;
+
+	private boolean first;
+
+	private boolean afterName;
+
+	/**
+	 * Creates a new writer emitting to the given output.
+	 *
+	 * @param writer
+	 *            output for the JSON stream
+	 */
+	public JSONWriter(final Writer writer) {
+		this.writer = writer;
+		this.first = true;
+		this.afterName = false;
+	}
+
+	/**
+	 * Forgets about previously written values, the next value will not be
+	 * preceded by a separator.
+	 */
+	protected void reset() {
+		first = true;
+		afterName = false;
+	}
+
+	private void separator() throws IOException {
+		if (afterName) {
+			afterName = false;
+		} else if (first) {
+			first = false;
+		} else {
+			writer.write(',');
+		}
+	}
+
+	/**
+	 * Starts a new object.
+	 *
+	 * @return this writer
+	 * @throws IOException
+	 *             in case of problems with the underlying writer
+	 */
+	public JSONWriter beginObject() throws IOException {
+		separator();
+		writer.write('{');
+		first = true;
+		return this;
+	}
+
+	/**
+	 * Ends the current object.
+	 *
+	 * @return this writer
+	 * @throws IOException
+	 *             in case of problems with the underlying writer
+	 */
+	public JSONWriter endObject() throws IOException {
+		writer.write('}');
+		first = false;
+		return this;
+	}
+
+	/**
+	 * Starts a new array.
+	 *
+	 * @return this writer
+	 * @throws IOException
+	 *             in case of problems with the underlying writer
+	 */
+	public JSONWriter beginArray() throws IOException {
+		separator();
+		writer.write('[');
+		first = true;
+		return this;
+	}
+
+	/**
+	 * Ends the current array.
+	 *
+	 * @return this writer
+	 * @throws IOException
+	 *             in case of problems with the underlying writer
+	 */
+	public JSONWriter endArray() throws IOException {
+		writer.write(']');
+		first = false;
+		return this;
+	}
+
+	/**
+	 * Writes the name of the next member of the current object.
+	 *
+	 * @param name
+	 *            member name
+	 * @return this writer
+	 * @throws IOException
+	 *             in case of problems with the underlying writer
+	 */
+	public JSONWriter name(final String name) throws IOException {
+		separator();
+		quote(name);
+		writer.write(':');
+		afterName = true;
+		return this;
+	}
+
+	/**
+	 * Writes a string value.
+	 *
+	 * @param value
+	 *            string value or <code>null</code>
+	 * @return this writer
+	 * @throws IOException
+	 *             in case of problems with the underlying writer
+	 */
+	public JSONWriter value(final String value) throws IOException {
+		separator();
+		if (value == null) {
+			writer.write("null");
+		} else {
+			quote(value);
+		}
+		return this;
+	}
+
+	/**
+	 * Writes a numeric value.
+	 *
+	 * @param value
+	 *            numeric value
+	 * @return this writer
+	 * @throws IOException
+	 *             in case of problems with the underlying writer
+	 */
+	public JSONWriter value(final long value) throws IOException {
+		separator();
+		writer.write(Long.toString(value));
+		return this;
+	}
+
+	/**
+	 * Writes a boolean value.
+	 *
+	 * @param value
+	 *            boolean value
+	 * @return this writer
+	 * @throws IOException
+	 *             in case of problems with the underlying writer
+	 */
+	public JSONWriter value(final boolean value) throws IOException {
+		separator();
+		writer.write(value ? "true" : "false");
+		return this;
+	}
+
+	private void quote(final String text) throws IOException {
+		writer.write('"');
+		final int len = text.length();
+		for (int i = 0; i < len; i++) {
+			final char c = text.charAt(i);
+			switch (c) {
+			case '"':
+				writer.write("\\\"");
+				break;
+			case '\\':
+				writer.write("\\\\");
+				break;
+			case '\n':
+				writer.write("\\n");
+				break;
+			case '\r':
+				writer.write("\\r");
+				break;
+			case '\t':
+				writer.write("\\t");
+				break;
+			default:
+				// Line and paragraph separators are not allowed in JavaScript
+				// string literals
+				if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+					writer.write(String.format("\\u%04x", Integer.valueOf(c)));
+				} else {
+					writer.write(c);
+				}
+			}
+		}
+		writer.write('"');
+	}
+
+}
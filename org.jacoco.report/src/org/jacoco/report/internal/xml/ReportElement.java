@@ -169,10 +169,11 @@ public class ReportElement extends XMLElement {
 	 *             in case of problems with the underlying output
 	 */
 	public void line(final int nr, final ILine line) throws IOException {
-		final ReportElement element = element("line");
-		element.attr("nr", nr);
-		counterAttributes(element, "mi", "ci", line.getInstructionCounter());
-		counterAttributes(element, "mb", "cb", line.getBranchCounter());
+		startEmptyElement("line");
+		emptyElementAttr("nr", nr);
+		counterAttributes("mi", "ci", line.getInstructionCounter());
+		counterAttributes("mb", "cb", line.getBranchCounter());
+		endEmptyElement();
 	}
 
 	/**
@@ -189,16 +190,17 @@ public class ReportElement extends XMLElement {
 	 */
 	public void counter(final CounterEntity counterEntity,
 			final ICounter counter) throws IOException {
-		final ReportElement counterNode = element("counter");
-		counterNode.attr("type", counterEntity.name());
-		counterAttributes(counterNode, "missed", "covered", counter);
+		startEmptyElement("counter");
+		emptyElementAttr("type", counterEntity.name());
+		counterAttributes("missed", "covered", counter);
+		endEmptyElement();
 	}
 
-	private static void counterAttributes(final XMLElement element,
-			final String missedattr, final String coveredattr,
-			final ICounter counter) throws IOException {
-		element.attr(missedattr, counter.getMissedCount());
-		element.attr(coveredattr, counter.getCoveredCount());
+	private void counterAttributes(final String missedattr,
+			final String coveredattr, final ICounter counter)
+			throws IOException {
+		emptyElementAttr(missedattr, counter.getMissedCount());
+		emptyElementAttr(coveredattr, counter.getCoveredCount());
 	}
 
 }
@@ -16,8 +16,6 @@ import static java.lang.String.format;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
 
 /**
  * Simple API to create well formed XML streams with minimal memory overhead. An
@@ -37,7 +35,7 @@ public class XMLElement {
 	private static final String DOCTYPE = "<!DOCTYPE %s PUBLIC \"%s\" \"%s\">";
 
 	/** Writer for content output */
-	protected final Writer writer;
+	protected final XMLOutput writer;
 
 	private final String name;
 
@@ -49,7 +47,7 @@ public class XMLElement {
 
 	private final boolean root;
 
-	private XMLElement(final Writer writer, final String name,
+	private XMLElement(final XMLOutput writer, final String name,
 			final boolean root) throws IOException {
 		this.writer = writer;
 		this.name = name;
@@ -81,7 +79,7 @@ public class XMLElement {
 			final String system, final boolean standalone,
 			final String encoding, final OutputStream output)
 			throws IOException {
-		this(new OutputStreamWriter(output, encoding), name, true);
+		this(new XMLOutput(output, encoding), name, true);
 		if (standalone) {
 			writer.write(format(HEADER_STANDALONE, encoding));
 		} else {
@@ -127,33 +125,117 @@ public class XMLElement {
 
 	private void finishOpenTag() throws IOException {
 		if (!openTagDone) {
-			writer.append('>');
+			writer.write('>');
 			openTagDone = true;
 		}
 	}
 
-	private void quote(final String text) throws IOException {
-		final int len = text.length();
-		for (int i = 0; i < len; i++) {
-			final char c = text.charAt(i);
-			switch (c) {
-			case '<':
-				writer.write("&lt;");
-				break;
-			case '>':
-				writer.write("&gt;");
-				break;
-			case '"':
-				writer.write("&quot;");
-				break;
-			case '&':
-				writer.write("&amp;");
-				break;
-			default:
-				writer.write(c);
-				break;
-			}
+	/**
+	 * Starts an empty child element which is written directly to the output
+	 * without creating an element instance. Attributes can be added with
+	 * {@link #emptyElementAttr(String, String)} and
+	 * {@link #emptyElementAttr(String, long)} before the element is finished
+	 * with {@link #endEmptyElement()}. No other methods of this element may be
+	 * called in between.
+	 *
+	 * @param name
+	 *            element name
+	 * @throws IOException
+	 *             in case of problems with the underlying output or if this
+	 *             element is already closed
+	 */
+	protected final void startEmptyElement(final String name)
+			throws IOException {
+		addChildElement(null);
+		writer.write('<');
+		writer.write(name);
+	}
+
+	/**
+	 * Adds an attribute to the empty child element started with
+	 * {@link #startEmptyElement(String)}. The attribute value will be quoted.
+	 *
+	 * @param name
+	 *            attribute name
+	 * @param value
+	 *            attribute value
+	 * @throws IOException
+	 *             in case of problems with the underlying output
+	 */
+	protected final void emptyElementAttr(final String name, final String value)
+			throws IOException {
+		writer.write(' ');
+		writer.write(name);
+		writer.write("=\"");
+		writer.writeEscaped(value);
+		writer.write('"');
+	}
+
+	/**
+	 * Adds an attribute with the decimal representation of the given value to
+	 * the empty child element started with {@link #startEmptyElement(String)}.
+	 *
+	 * @param name
+	 *            attribute name
+	 * @param value
+	 *            attribute value
+	 * @throws IOException
+	 *             in case of problems with the underlying output
+	 */
+	protected final void emptyElementAttr(final String name, final long value)
+			throws IOException {
+		writer.write(' ');
+		writer.write(name);
+		writer.write("=\"");
+		writer.writeNumber(value);
+		writer.write('"');
+	}
+
+	/**
+	 * Finishes the empty child element started with
+	 * {@link #startEmptyElement(String)}.
+	 *
+	 * @throws IOException
+	 *             in case of problems with the underlying output
+	 */
+	protected final void endEmptyElement() throws IOException {
+		writer.write("/>");
+	}
+
+	/**
+	 * Finishes the child element started with
+	 * {@link #startEmptyElement(String)} with the given text content and an end
+	 * tag instead of an empty element tag. The text will be quoted.
+	 *
+	 * @param name
+	 *            element name as given to {@link #startEmptyElement(String)}
+	 * @param text
+	 *            characters of the text content
+	 * @param off
+	 *            offset of the first character
+	 * @param len
+	 *            number of characters
+	 * @throws IOException
+	 *             in case of problems with the underlying output
+	 */
+	protected final void endElementWithText(final String name,
+			final char[] text, final int off, final int len)
+			throws IOException {
+		writer.write('>');
+		writer.writeEscaped(text, off, len);
+		writer.write("</");
+		writer.write(name);
+		writer.write('>');
+	}
+
+	private void startAttr(final String name) throws IOException {
+		if (closed || openTagDone) {
+			throw new IOException(
+					format("Element %s already closed.", this.name));
 		}
+		writer.write(' ');
+		writer.write(name);
+		writer.write("=\"");
 	}
 
 	/**
@@ -175,15 +257,8 @@ public class XMLElement {
 		if (value == null) {
 			return;
 		}
-		if (closed || openTagDone) {
-			throw new IOException(
-					format("Element %s already closed.", this.name));
-		}
-		writer.write(' ');
-		writer.write(name);
-		writer.write('=');
-		writer.write('"');
-		quote(value);
+		startAttr(name);
+		writer.writeEscaped(value);
 		writer.write('"');
 	}
 
@@ -202,7 +277,7 @@ public class XMLElement {
 	 */
 	public final void attr(final String name, final int value)
 			throws IOException {
-		attr(name, String.valueOf(value));
+		attr(name, (long) value);
 	}
 
 	/**
@@ -220,7 +295,9 @@ public class XMLElement {
 	 */
 	public final void attr(final String name, final long value)
 			throws IOException {
-		attr(name, String.valueOf(value));
+		startAttr(name);
+		writer.writeNumber(value);
+		writer.write('"');
 	}
 
 	/**
@@ -234,6 +311,31 @@ public class XMLElement {
 	 *             element is already closed.
 	 */
 	public final void text(final String text) throws IOException {
+		startText();
+		writer.writeEscaped(text);
+	}
+
+	/**
+	 * Adds the given range of characters as a text child to this node. The text
+	 * will be quoted. May only be called before this element has been closed.
+	 *
+	 * @param text
+	 *            characters of the text to add
+	 * @param off
+	 *            offset of the first character
+	 * @param len
+	 *            number of characters
+	 * @throws IOException
+	 *             in case of problems with the underlying output or if the
+	 *             element is already closed.
+	 */
+	public final void text(final char[] text, final int off, final int len)
+			throws IOException {
+		startText();
+		writer.writeEscaped(text, off, len);
+	}
+
+	private void startText() throws IOException {
 		if (closed) {
 			throw new IOException(format("Element %s already closed.", name));
 		}
@@ -241,7 +343,6 @@ public class XMLElement {
 		if (lastchild != null) {
 			lastchild.close();
 		}
-		quote(text);
 	}
 
 	/**
@@ -270,13 +371,12 @@ public class XMLElement {
 				lastchild.close();
 			}
 			if (openTagDone) {
-				writer.write('<');
-				writer.write('/');
+				writer.write("</");
 				writer.write(name);
+				writer.write('>');
 			} else {
-				writer.write('/');
+				writer.write("/>");
 			}
-			writer.write('>');
 			closed = true;
 			openTagDone = true;
 			if (root) {
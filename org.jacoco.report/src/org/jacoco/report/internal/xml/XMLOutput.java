@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.internal.xml;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Unsynchronized buffered {@link Writer} for XML content. Characters are
+ * collected in a local buffer and passed to the character encoder in large
+ * blocks, so the encoded output is exactly the same as with an
+ * {@link OutputStreamWriter}. In addition the writer supports escaping of text
+ * and output of numbers without intermediate objects. The buffer is returned to
+ * a per-thread cache when the writer is closed and reused by the next writer
+ * created by the same thread, as reports typically consist of many small
+ * documents written one after another.
+ */
+public final class XMLOutput extends Writer {
+
+	private static final int BUFFER_SIZE = 0x4000;
+
+	private static final ThreadLocal<char[]> BUFFERS = new ThreadLocal<char[]>();
+
+	private final Writer encoder;
+
+	private char[] buffer;
+
+	private int pos;
+
+	/**
+	 * Creates a new writer for the given stream.
+	 *
+	 * @param output
+	 *            output stream, will be closed when this writer is closed
+	 * @param encoding
+	 *            character encoding used for output
+	 * @throws IOException
+	 *             if the encoding is not supported
+	 */
+	public XMLOutput(final OutputStream output, final String encoding)
+			throws IOException {
+		this.encoder = new OutputStreamWriter(output, encoding);
+		this.pos = 0;
+		final char[] cached = BUFFERS.get();
+		if (cached == null) {
+			this.buffer = new char[BUFFER_SIZE];
+		} else {
+			// Nested writers of the same thread allocate their own buffer
+			BUFFERS.set(null);
+			this.buffer = cached;
+		}
+	}
+
+	@Override
+	public void write(final int c) throws IOException {
+		if (pos == BUFFER_SIZE) {
+			flushBuffer();
+		}
+		buffer[pos++] = (char) c;
+	}
+
+	@Override
+	public void write(final String str) throws IOException {
+		write(str, 0, str.length());
+	}
+
+	@Override
+	public void write(final String str, final int off, final int len)
+			throws IOException {
+		int start = off;
+		int remaining = len;
+		while (remaining > 0) {
+			if (pos == BUFFER_SIZE) {
+				flushBuffer();
+			}
+			final int n = Math.min(remaining, BUFFER_SIZE - pos);
+			str.getChars(start, start + n, buffer, pos);
+			pos += n;
+			start += n;
+			remaining -= n;
+		}
+	}
+
+	@Override
+	public void write(final char[] cbuf, final int off, final int len)
+			throws IOException {
+		if (len > BUFFER_SIZE) {
+			flushBuffer();
+			encoder.write(cbuf, off, len);
+			return;
+		}
+		if (len > BUFFER_SIZE - pos) {
+			flushBuffer();
+		}
+		System.arraycopy(cbuf, off, buffer, pos, len);
+		pos += len;
+	}
+
+	/**
+	 * Writes the given text where the characters <code>&lt;</code>,
+	 * <code>&gt;</code>, <code>&quot;</code> and <code>&amp;</code> are
+	 * replaced with entity references. Runs of characters without special
+	 * meaning are copied in bulk.
+	 *
+	 * @param text
+	 *            text to write
+	 * @throws IOException
+	 *             in case of problems with the underlying output
+	 */
+	public void writeEscaped(final String text) throws IOException {
+		final int len = text.length();
+		int start = 0;
+		for (int i = 0; i < len; i++) {
+			final String entity;
+			switch (text.charAt(i)) {
+			case '<':
+				entity = "&lt;";
+				break;
+			case '>':
+				entity = "&gt;";
+				break;
+			case '"':
+				entity = "&quot;";
+				break;
+			case '&':
+				entity = "&amp;";
+				break;
+			default:
+				continue;
+			}
+			write(text, start, i - start);
+			write(entity);
+			start = i + 1;
+		}
+		write(text, start, len - start);
+	}
+
+	/**
+	 * Writes the given range of characters escaped like
+	 * {@link #writeEscaped(String)}.
+	 *
+	 * @param text
+	 *            characters to write
+	 * @param off
+	 *            offset of the first character
+	 * @param len
+	 *            number of characters
+	 * @throws IOException
+	 *             in case of problems with the underlying output
+	 */
+	public void writeEscaped(final char[] text, final int off, final int len)
+			throws IOException {
+		final int end = off + len;
+		int start = off;
+		for (int i = off; i < end; i++) {
+			final String entity;
+			switch (text[i]) {
+			case '<':
+				entity = "&lt;";
+				break;
+			case '>':
+				entity = "&gt;";
+				break;
+			case '"':
+				entity = "&quot;";
+				break;
+			case '&':
+				entity = "&amp;";
+				break;
+			default:
+				continue;
+			}
+			write(text, start, i - start);
+			write(entity);
+			start = i + 1;
+		}
+		write(text, start, end - start);
+	}
+
+	/**
+	 * Writes the decimal representation of the given value.
+	 *
+	 * @param value
+	 *            value to write
+	 * @throws IOException
+	 *             in case of problems with the underlying output
+	 */
+	public void writeNumber(final long value) throws IOException {
+		if (value == Long.MIN_VALUE) {
+			write(String.valueOf(value));
+			return;
+		}
+		if (BUFFER_SIZE - pos < 20) {
+			flushBuffer();
+		}
+		long v = value;
+		if (v < 0) {
+			buffer[pos++] = '-';
+			v = -v;
+		}
+		int digits = 1;
+		for (long limit = 10; digits < 19 && v >= limit; limit *= 10) {
+			digits++;
+		}
+		int i = pos + digits;
+		pos = i;
+		do {
+			buffer[--i] = (char) ('0' + (int) (v % 10));
+			v /= 10;
+		} while (v != 0);
+	}
+
+	private void flushBuffer() throws IOException {
+		if (pos > 0) {
+			encoder.write(buffer, 0, pos);
+			pos = 0;
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		flushBuffer();
+		encoder.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (buffer == null) {
+			return;
+		}
+		flushBuffer();
+		BUFFERS.set(buffer);
+		buffer = null;
+		encoder.close();
+	}
+
+}
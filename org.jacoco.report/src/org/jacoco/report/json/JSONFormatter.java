@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2009, 2025 Mountainminds GmbH & Co. KG and Contributors
+ * This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    bitdata - initial API and implementation
+ *
+ *******************************************************************************/
+package org.jacoco.report.json;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import org.jacoco.core.JaCoCo;
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.analysis.ICoverageNode.CounterEntity;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.SessionInfo;
+import org.jacoco.report.ILanguageNames;
+import org.jacoco.report.IMultiReportOutput;
+import org.jacoco.report.IReportGroupVisitor;
+import org.jacoco.report.IReportVisitor;
+import org.jacoco.report.ISourceFileLocator;
+import org.jacoco.report.JavaNames;
+import org.jacoco.report.internal.ReportOutputFolder;
+import org.jacoco.report.internal.html.HTMLElement;
+import org.jacoco.report.internal.html.resources.Resources;
+import org.jacoco.report.internal.html.resources.Styles;
+import org.jacoco.report.internal.json.DataChunk;
+import org.jacoco.report.internal.json.JSONCoverageWriter;
+import org.jacoco.report.internal.json.JSONGroupVisitor;
+import org.jacoco.report.internal.json.JSONWriter;
+
+/**
+ * Formatter for coverage reports as chunked JSON data together with a single
+ * HTML page which renders tables and source files on demand. Coverage data of
+ * every package is written to one chunk and the source files of every package
+ * to another one, so the size and the creation time of the report scale with
+ * the amount of data rather than with the number of pages. Tables use the same
+ * columns and sort orders as reports created by
+ * {@link org.jacoco.report.html.HTMLFormatter}.
+ */
+public class JSONFormatter {
+
+	/** Chunk id of the report information */
+	static final String INFO_CHUNK = "info";
+
+	private ILanguageNames languageNames = new JavaNames();
+
+	private Locale locale = Locale.getDefault();
+
+	private String footerText = "";
+
+	/**
+	 * New instance with default settings.
+	 */
+	public JSONFormatter() {
+	}
+
+	/**
+	 * Sets the implementation for language name display. Java language names
+	 * are defined by default.
+	 *
+	 * @param languageNames
+	 *            converter for language specific names
+	 */
+	public void setLanguageNames(final ILanguageNames languageNames) {
+		this.languageNames = languageNames;
+	}
+
+	/**
+	 * Sets the locale used by the viewer to format numbers and dates. The
+	 * current default locale is used by default.
+	 *
+	 * @param locale
+	 *            locale used for report rendering
+	 */
+	public void setLocale(final Locale locale) {
+		this.locale = locale;
+	}
+
+	/**
+	 * Sets the optional text that should be included in the footer of the
+	 * viewer.
+	 *
+	 * @param footerText
+	 *            footer text
+	 */
+	public void setFooterText(final String footerText) {
+		this.footerText = footerText;
+	}
+
+	/**
+	 * Creates a new visitor to write a report to the given output.
+	 *
+	 * @param output
+	 *            output to write the report to
+	 * @return visitor to emit the report data to
+	 * @throws IOException
+	 *             in case of problems with the output stream
+	 */
+	public IReportVisitor createVisitor(final IMultiReportOutput output)
+			throws IOException {
+		final ReportOutputFolder root = new ReportOutputFolder(output);
+		final Resources resources = new Resources(root);
+		resources.copyResources();
+		resources.copyViewerResources();
+		final JSONCoverageWriter coverage = new JSONCoverageWriter(root,
+				languageNames);
+		return new IReportVisitor() {
+
+			private List<SessionInfo> sessionInfos = Collections.emptyList();
+			private Collection<ExecutionData> executionData = Collections
+					.emptyList();
+
+			private String title = "";
+
+			private JSONGroupVisitor groupHandler;
+
+			public void visitInfo(final List<SessionInfo> sessionInfos,
+					final Collection<ExecutionData> executionData)
+					throws IOException {
+				this.sessionInfos = sessionInfos;
+				this.executionData = executionData;
+			}
+
+			public void visitBundle(final IBundleCoverage bundle,
+					final ISourceFileLocator locator) throws IOException {
+				title = bundle.getName();
+				coverage.writeBundle(bundle, locator, coverage.getTree());
+			}
+
+			public IReportGroupVisitor visitGroup(final String name)
+					throws IOException {
+				title = name;
+				groupHandler = new JSONGroupVisitor(coverage.getTree(),
+						coverage, name);
+				return groupHandler;
+			}
+
+			public void visitEnd() throws IOException {
+				if (groupHandler != null) {
+					groupHandler.visitEnd();
+				}
+				coverage.writeTree();
+				coverage.writeExecutionData(executionData);
+				writeInfo(coverage, title, sessionInfos);
+				writeViewer(root, resources, coverage, title);
+				output.close();
+			}
+		};
+	}
+
+	private void writeInfo(final JSONCoverageWriter coverage,
+			final String title, final List<SessionInfo> sessionInfos)
+			throws IOException {
+		final DataChunk chunk = coverage.createChunk(INFO_CHUNK);
+		chunk.beginObject();
+		chunk.name("title").value(title);
+		chunk.name("locale").value(locale.toString().replace('_', '-'));
+		chunk.name("footer").value(footerText);
+		chunk.name("version").value(JaCoCo.VERSION);
+		chunk.name("homeUrl").value(JaCoCo.HOMEURL);
+		chunk.name("columns").beginArray();
+		column(chunk, "Element", null, "label", null, false);
+		column(chunk, "Missed Instructions", Styles.BAR, "bar",
+				CounterEntity.INSTRUCTION, true);
+		column(chunk, "Cov.", Styles.CTR2, "ratio", CounterEntity.INSTRUCTION,
+				false);
+		column(chunk, "Missed Branches", Styles.BAR, "bar",
+				CounterEntity.BRANCH, false);
+		column(chunk, "Cov.", Styles.CTR2, "ratio", CounterEntity.BRANCH,
+				false);
+		missedTotalColumns(chunk, "Cxty", CounterEntity.COMPLEXITY);
+		missedTotalColumns(chunk, "Lines", CounterEntity.LINE);
+		missedTotalColumns(chunk, "Methods", CounterEntity.METHOD);
+		missedTotalColumns(chunk, "Classes", CounterEntity.CLASS);
+		chunk.endArray();
+		chunk.name("sessions").beginArray();
+		for (final SessionInfo i : sessionInfos) {
+			chunk.beginObject();
+			chunk.name("id").value(i.getId());
+			chunk.name("start").value(i.getStartTimeStamp());
+			chunk.name("dump").value(i.getDumpTimeStamp());
+			chunk.endObject();
+		}
+		chunk.endArray();
+		chunk.endObject();
+		chunk.close();
+	}
+
+	private static void missedTotalColumns(final JSONWriter writer,
+			final String label, final CounterEntity entity) throws IOException {
+		column(writer, "Missed", Styles.CTR1, "missed", entity, false);
+		column(writer, label, Styles.CTR2, "total", entity, false);
+	}
+
+	private static void column(final JSONWriter writer, final String label,
+			final String style, final String type, final CounterEntity entity,
+			final boolean defaultSorting) throws IOException {
+		writer.beginObject();
+		writer.name("label").value(label);
+		writer.name("style").value(style);
+		writer.name("type").value(type);
+		writer.name("entity").value(entity == null ? -1 : entity.ordinal());
+		writer.name("defaultSorting").value(defaultSorting);
+		writer.endObject();
+	}
+
+	private void writeViewer(final ReportOutputFolder root,
+			final Resources resources, final JSONCoverageWriter coverage,
+			final String title) throws IOException {
+		final HTMLElement html = new HTMLElement(root.createFile("index.html"),
+				"UTF-8");
+		html.attr("lang", locale.getLanguage());
+		final HTMLElement head = html.head();
+		head.meta("Content-Type", "text/html;charset=UTF-8");
+		head.link("stylesheet", resources.getLink(root, Resources.STYLESHEET),
+				"text/css");
+		head.link("stylesheet",
+				resources.getLink(root, Resources.PRETTIFY_STYLESHEET),
+				"text/css");
+		head.link("shortcut icon", resources.getLink(root, "report.gif"),
+				"image/gif");
+		head.title().text(title);
+		head.script(resources.getLink(root, Resources.PRETTIFY_SCRIPT));
+		head.script(resources.getLink(root, Resources.VIEWER_SCRIPT));
+		head.script(coverage.getLink(root, INFO_CHUNK));
+		head.script(coverage.getLink(root, JSONCoverageWriter.TREE_CHUNK));
+		final HTMLElement body = html.body();
+		body.attr("onload", "jacoco.show()");
+		body.p().text("Loading coverage data...");
+		html.close();
+	}
+
+}
@@ -20,11 +20,15 @@ import java.util.List;
 import org.jacoco.core.analysis.IBundleCoverage;
 import org.jacoco.core.data.ExecutionData;
 import org.jacoco.core.data.SessionInfo;
+import org.jacoco.core.tools.ClassDelta;
+import org.jacoco.core.tools.ExecDelta;
+import org.jacoco.report.IDeltaVisitor;
 import org.jacoco.report.IReportGroupVisitor;
 import org.jacoco.report.IReportVisitor;
 import org.jacoco.report.ISourceFileLocator;
 import org.jacoco.report.internal.xml.ReportElement;
 import org.jacoco.report.internal.xml.XMLCoverageWriter;
+import org.jacoco.report.internal.xml.XMLElement;
 import org.jacoco.report.internal.xml.XMLGroupVisitor;
 
 /**
@@ -32,6 +36,10 @@ import org.jacoco.report.internal.xml.XMLGroupVisitor;
  */
 public class XMLFormatter {
 
+	private static final String DELTA_PUBID = "-//JACOCO//DTD Delta 1.0//EN";
+
+	private static final String DELTA_SYSTEM = "delta.dtd";
+
 	private String outputEncoding = "UTF-8";
 
 	/**
@@ -98,4 +106,38 @@ public class XMLFormatter {
 		return new RootVisitor();
 	}
 
+	/**
+	 * Creates a new visitor to write a coverage delta to the given stream.
+	 *
+	 * @param output
+	 *            output stream to write the delta to
+	 * @return visitor to emit the delta to
+	 */
+	public IDeltaVisitor createDeltaVisitor(final OutputStream output) {
+		return new IDeltaVisitor() {
+			public void visitDelta(final String name, final ExecDelta delta)
+					throws IOException {
+				final XMLElement root = new XMLElement("delta", DELTA_PUBID,
+						DELTA_SYSTEM, true, outputEncoding, output);
+				root.attr("name", name);
+				root.attr("newlycovered", delta.getNewlyCovered());
+				root.attr("newlyuncovered", delta.getNewlyUncovered());
+				for (final ClassDelta c : delta.getClasses()) {
+					if (c.isChanged()) {
+						final XMLElement element = root.element("class");
+						element.attr("name", c.getName());
+						element.attr("id", String.format("%016x",
+								Long.valueOf(c.getId())));
+						element.attr("probes", c.getProbeCount());
+						element.attr("baseline", c.getBaselineCovered());
+						element.attr("candidate", c.getCandidateCovered());
+						element.attr("newlycovered", c.getNewlyCovered());
+						element.attr("newlyuncovered", c.getNewlyUncovered());
+					}
+				}
+				root.close();
+			}
+		};
+	}
+
 }